@@ -0,0 +1,189 @@
+package team3.eventos;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Várias threads publicam no barramento; cada evento leva na chave "produtor:contador", então o
+// consumidor confere tanto a sequência global quanto a ordem de cada produtor
+@Timeout(60)
+class BarramentoEventosTest {
+
+    private static final int PRODUTORES = 4;
+    private static final int EVENTOS_POR_PRODUTOR = 50_000;
+
+    @Test
+    void assinanteLentoRecebeTudoEmOrdemUmaVezSo() throws Exception {
+        BarramentoEventos barramento = new BarramentoEventos(256);
+        Verificador rapido = new Verificador(0, 0);
+        // Para a cada 1000 eventos: o buffer enche e quem publica tem que esperar por ele
+        Verificador lento = new Verificador(0, 1000);
+        Assinatura assinaturaRapida = barramento.assinar("rápido", rapido);
+        Assinatura assinaturaLenta = barramento.assinar("lento", lento);
+
+        publicarEmParalelo(barramento);
+        long ultima = barramento.getUltimaSequencia();
+        assertEquals(PRODUTORES * EVENTOS_POR_PRODUTOR - 1, ultima);
+        esperarAte(assinaturaRapida, ultima);
+        esperarAte(assinaturaLenta, ultima);
+
+        for (Verificador verificador : List.of(rapido, lento)) {
+            assertNull(verificador.erro);
+            assertEquals(PRODUTORES * EVENTOS_POR_PRODUTOR, verificador.recebidos);
+        }
+        assertEquals(PRODUTORES * EVENTOS_POR_PRODUTOR, assinaturaLenta.getEntregues());
+        assertEquals(0, assinaturaLenta.getFalhas());
+        assertTrue(barramento.getEsperasPorEspaco() > 0);
+        barramento.close();
+    }
+
+    @Test
+    void replaySoDentroDoBuffer() throws Exception {
+        BarramentoEventos barramento = new BarramentoEventos(64);
+        // sem assinaturas, quem publica não espera ninguém e o buffer dá várias voltas
+        for (int i = 0; i < 1000; i++) {
+            barramento.publicar(TipoEvento.VEICULO_ALTERADO, "0:" + i, null);
+        }
+        long maisAntiga = barramento.getSequenciaMaisAntiga();
+        assertEquals(1000 - barramento.getCapacidade(), maisAntiga);
+
+        ConsumidorEventos nada = (evento, fimDoLote) -> { };
+        assertThrows(IllegalArgumentException.class, () -> barramento.assinar("velha", nada, maisAntiga - 1));
+        assertThrows(IllegalArgumentException.class, () -> barramento.assinar("zero", nada, 0));
+        assertThrows(IllegalArgumentException.class, () -> barramento.assinar("futura", nada, 1001));
+        assertThrows(IllegalArgumentException.class, () -> barramento.assinar("negativa", nada, -1));
+        // as recusadas não ficaram penduradas segurando quem publica
+        assertEquals(0, barramento.getAssinaturas().length);
+
+        Verificador replay = new Verificador(maisAntiga, 0);
+        replay.ultimoPorProdutor[0] = maisAntiga - 1;
+        Assinatura assinatura = barramento.assinar("replay", replay, maisAntiga);
+        esperarAte(assinatura, 999);
+        assertNull(replay.erro);
+        assertEquals(barramento.getCapacidade(), replay.recebidos);
+
+        // Começar na próxima a publicar é o mesmo que assinar sem replay
+        List<Long> recebidas = Collections.synchronizedList(new ArrayList<>());
+        Assinatura proxima = barramento.assinar("próxima", (evento, fimDoLote) -> recebidas.add(evento.getSequencia()), 1000);
+        barramento.publicar(TipoEvento.VEICULO_ALTERADO, "0:1000", null);
+        esperarAte(proxima, 1000);
+        assertEquals(List.of(1000L), recebidas);
+        barramento.close();
+    }
+
+    @Test
+    void closeEntregaTudoQueFoiPublicadoComSucesso() throws Exception {
+        for (int rodada = 0; rodada < 50; rodada++) {
+            BarramentoEventos barramento = new BarramentoEventos(64);
+            ContadorEventos contador = new ContadorEventos();
+            Verificador lento = new Verificador(0, 100);
+            barramento.assinar("contador", contador);
+            Assinatura assinaturaLenta = barramento.assinar("lento", lento);
+
+            // Fecha com os produtores ainda publicando: todo publicar que retornou sem exceção
+            // tem que chegar às assinaturas antes de close() voltar
+            long[] publicados = new long[PRODUTORES];
+            Thread[] produtores = new Thread[PRODUTORES];
+            for (int p = 0; p < PRODUTORES; p++) {
+                int produtor = p;
+                produtores[p] = new Thread(() -> {
+                    try {
+                        for (long i = 0; ; i++) {
+                            barramento.publicar(TipoEvento.VEICULO_ALTERADO, produtor + ":" + i, null);
+                            publicados[produtor] = i + 1;
+                        }
+                    } catch (IllegalStateException fechado) {
+                        // fim da rodada
+                    }
+                });
+                produtores[p].start();
+            }
+            Thread.sleep(5);
+            barramento.close();
+            long total = 0;
+            for (int p = 0; p < PRODUTORES; p++) {
+                produtores[p].join();
+                total += publicados[p];
+            }
+
+            assertEquals(total, contador.getTotal(TipoEvento.VEICULO_ALTERADO), "rodada " + rodada);
+            assertEquals(total, lento.recebidos, "rodada " + rodada);
+            for (int p = 0; p < PRODUTORES; p++) {
+                assertEquals(publicados[p] - 1, lento.ultimoPorProdutor[p], "rodada " + rodada + ", produtor " + p);
+            }
+            assertNull(lento.erro);
+            assertEquals(barramento.getUltimaSequencia(), assinaturaLenta.getSequencia());
+            assertEquals(0, barramento.getAssinaturas().length);
+            assertThrows(IllegalStateException.class, () -> barramento.publicar(TipoEvento.VEICULO_ALTERADO, "0:0", null));
+            assertThrows(IllegalStateException.class, () -> barramento.assinar("tarde", contador));
+        }
+    }
+
+    private static void publicarEmParalelo(BarramentoEventos barramento) throws InterruptedException {
+        Thread[] produtores = new Thread[PRODUTORES];
+        for (int p = 0; p < PRODUTORES; p++) {
+            int produtor = p;
+            produtores[p] = new Thread(() -> {
+                for (int i = 0; i < EVENTOS_POR_PRODUTOR; i++) {
+                    barramento.publicar(TipoEvento.VEICULO_ALTERADO, produtor + ":" + i, null);
+                }
+            });
+            produtores[p].start();
+        }
+        for (Thread produtor : produtores) {
+            produtor.join();
+        }
+    }
+
+    private static void esperarAte(Assinatura assinatura, long sequencia) throws InterruptedException {
+        while (assinatura.getSequencia() < sequencia) {
+            Thread.sleep(1);
+        }
+    }
+
+    // Guarda só o primeiro erro: uma exceção dentro de aoReceber seria apenas contada em getFalhas
+    private static final class Verificador implements ConsumidorEventos {
+        private final long[] ultimoPorProdutor = new long[PRODUTORES];
+        private final int pausarACada;
+        private long esperada;
+        private volatile long recebidos;
+        private volatile String erro;
+
+        Verificador(long primeira, int pausarACada) {
+            this.esperada = primeira;
+            this.pausarACada = pausarACada;
+            Arrays.fill(ultimoPorProdutor, -1);
+        }
+
+        @Override
+        public void aoReceber(Evento evento, boolean fimDoLote) {
+            if (erro == null && evento.getSequencia() != esperada) {
+                erro = "sequência " + evento.getSequencia() + ", esperada " + esperada;
+            }
+            esperada = evento.getSequencia() + 1;
+            String[] chave = evento.getChave().split(":");
+            int produtor = Integer.parseInt(chave[0]);
+            long contador = Long.parseLong(chave[1]);
+            if (erro == null && contador != ultimoPorProdutor[produtor] + 1) {
+                erro = "produtor " + produtor + ": " + contador + " depois de " + ultimoPorProdutor[produtor];
+            }
+            ultimoPorProdutor[produtor] = contador;
+            recebidos++;
+            if (pausarACada > 0 && recebidos % pausarACada == 0) {
+                long ate = System.nanoTime() + 200_000;
+                while (System.nanoTime() < ate) {
+                    Thread.onSpinWait();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,330 @@
+package team3.persistencia;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import team3.domain.enums.TipoVeiculo;
+import team3.domain.model.PessoaFisica;
+import team3.domain.model.Reserva;
+import team3.domain.model.Veiculo;
+import team3.repository.ClienteRepository;
+import team3.repository.HistoricoAluguelRepository;
+import team3.repository.ReservaRepository;
+import team3.repository.VeiculoRepository;
+import team3.service.AluguelService;
+import team3.service.ClienteService;
+import team3.service.ReservaService;
+import team3.service.preco.MotorPreco;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Grava pelo sistema inteiro (repositórios duráveis + serviços), fecha, reabre sobre o mesmo
+// diretório e compara o que voltou
+class PersistenciaJournalTest {
+
+    @TempDir
+    Path diretorio;
+
+    @Test
+    void estadoVoltaIgualSoPeloJournal() throws Exception {
+        // Sem close(): nenhum snapshot é gravado e a segunda abertura reaplica só o journal
+        Sistema original = new Sistema(diretorio);
+        try {
+            movimentar(original, 4, 300);
+            List<String> esperado = retrato(original);
+            try (Sistema reaberto = new Sistema(diretorio)) {
+                assertFalse(Files.exists(diretorio.resolve("snapshot.bin")));
+                assertEquals(esperado, retrato(reaberto));
+            }
+        } finally {
+            original.close();
+        }
+    }
+
+    @Test
+    void snapshotsEmSegundoPlanoNaoPerdemNemRepetemRegistros() throws Exception {
+        List<String> esperado;
+        // Com um snapshot a cada 200 registros, vários trocam de journal no meio das gravações
+        // concorrentes; o que cai no journal novo e já está no snapshot não pode se repetir
+        try (Sistema sistema = new Sistema(diretorio, 200)) {
+            movimentar(sistema, 8, 500);
+            esperado = retrato(sistema);
+        }
+        try (Sistema reaberto = new Sistema(diretorio, 200)) {
+            assertEquals(esperado, retrato(reaberto));
+            movimentar(reaberto, 2, 200);
+            esperado = retrato(reaberto);
+        }
+        try (Sistema reaberto = new Sistema(diretorio, 200)) {
+            assertEquals(esperado, retrato(reaberto));
+        }
+    }
+
+    @Test
+    void journalJaContidoNoSnapshotNaoDuplicaNada() throws Exception {
+        // O pior caso da troca de journal: um journal inteiro que o snapshot já contém. Reaplicado
+        // por cima dele, o resultado tem que ser o mesmo estado, sem histórico repetido.
+        Sistema original = new Sistema(diretorio);
+        try {
+            movimentar(original, 4, 300);
+            LocalDateTime amanha = LocalDateTime.now().plusDays(1).withNano(0);
+            original.reservaService.reservar("R0T0V0", "R0T0C0", amanha, amanha.plusDays(1));
+            List<String> esperado = retrato(original);
+            Path antigo = ultimoJournal();
+            byte[] conteudo = Files.readAllBytes(antigo);
+            original.persistencia.snapshot();
+            assertFalse(Files.exists(antigo));
+            Path atual = ultimoJournal();
+            String nome = atual.getFileName().toString();
+            int numero = Integer.parseInt(nome.substring("journal-".length(), nome.length() - ".log".length()));
+            Files.write(diretorio.resolve(String.format("journal-%06d.log", numero + 1)), conteudo);
+
+            try (Sistema reaberto = new Sistema(diretorio)) {
+                assertEquals(esperado, retrato(reaberto));
+            }
+        } finally {
+            original.close();
+        }
+    }
+
+    @Test
+    void leituraParaNaCaudaTruncadaENoCrcErrado() throws IOException {
+        Path arquivo = diretorio.resolve("journal-000001.log");
+        Journal journal = new Journal(arquivo);
+        long seq = 0;
+        for (int i = 0; i < 10; i++) {
+            seq = journal.anexar(new byte[]{CodecRegistros.VEICULO, (byte) i, 1, 2, 3});
+        }
+        journal.aguardarGravacao(seq);
+        journal.close();
+        // cada registro ocupa 8 bytes de cabeçalho + 5 de conteúdo
+        assertEquals(130, Files.size(arquivo));
+
+        List<byte[]> lidos = new ArrayList<>();
+        assertEquals(10, Journal.ler(arquivo, lidos::add));
+        for (int i = 0; i < 10; i++) {
+            assertEquals(i, lidos.get(i)[1]);
+        }
+
+        try (RandomAccessFile acesso = new RandomAccessFile(arquivo.toFile(), "rw")) {
+            // gravação interrompida no meio do último registro
+            acesso.setLength(130 - 2);
+        }
+        assertEquals(9, Journal.ler(arquivo, registro -> { }));
+
+        try (RandomAccessFile acesso = new RandomAccessFile(arquivo.toFile(), "rw")) {
+            // um byte trocado no conteúdo do quinto registro: o CRC não confere e a leitura para nele
+            acesso.seek(4 * 13 + 8 + 2);
+            acesso.write(99);
+        }
+        assertEquals(4, Journal.ler(arquivo, registro -> { }));
+    }
+
+    @Test
+    void depoisDeCaudaTruncadaGravaNumJournalNovo() throws IOException {
+        Sistema original = new Sistema(diretorio);
+        original.cadastrar(3, 1);
+        original.close();
+        // close() deixou tudo no snapshot; o que vem agora fica só no journal
+        Sistema segundo = new Sistema(diretorio);
+        segundo.veiculos.cadastrar(new Veiculo("NOV0001", "Novo 1", "Fabricante", TipoVeiculo.PEQUENO));
+        segundo.veiculos.cadastrar(new Veiculo("NOV0002", "Novo 2", "Fabricante", TipoVeiculo.PEQUENO));
+        Path journal = ultimoJournal();
+        try (RandomAccessFile acesso = new RandomAccessFile(journal.toFile(), "rw")) {
+            acesso.setLength(acesso.length() - 3);
+        }
+
+        try (Sistema reaberto = new Sistema(diretorio)) {
+            assertTrue(reaberto.veiculos.buscarPorId("NOV0001").isPresent());
+            assertFalse(reaberto.veiculos.buscarPorId("NOV0002").isPresent());
+            assertFalse(journal.equals(ultimoJournal()));
+            reaberto.veiculos.cadastrar(new Veiculo("NOV0003", "Novo 3", "Fabricante", TipoVeiculo.PEQUENO));
+            // Simula uma queda: o próximo a abrir lê o journal novo inteiro, mesmo com o truncado antes dele
+            try (Sistema depois = new Sistema(diretorio)) {
+                assertTrue(depois.veiculos.buscarPorId("NOV0003").isPresent());
+                assertEquals(5, depois.veiculos.listarTodos().size());
+            }
+        } finally {
+            segundo.close();
+        }
+    }
+
+    @Test
+    void reservasVoltamDepoisDeReabrir() throws IOException {
+        LocalDateTime amanha = LocalDateTime.now().plusDays(1).withNano(0);
+        long cancelada;
+        long retirada;
+        try (Sistema sistema = new Sistema(diretorio)) {
+            sistema.cadastrar(3, 2);
+            sistema.reservaService.reservar("TST0000", "00000000001", amanha, amanha.plusDays(2));
+            cancelada = sistema.reservaService.reservar("TST0002", "00000000001", amanha, amanha.plusDays(1))
+                    .getReserva().getId();
+            retirada = sistema.reservaService.reservar("TST0001", "00000000002", amanha.plusDays(3), amanha.plusDays(4))
+                    .getReserva().getId();
+            assertTrue(sistema.reservaService.cancelarReserva(cancelada));
+            // A retirada no balcão consome a reserva do próprio cliente
+            assertTrue(sistema.aluguelService.alugarVeiculo("TST0001", "00000000002", "Centro", amanha.plusDays(5))
+                    .isSucesso());
+        }
+
+        try (Sistema sistema = new Sistema(diretorio)) {
+            assertEquals(List.of("TST0000"), placas(sistema.reservas.listarTodas()));
+            assertFalse(sistema.reservas.buscarPorId(cancelada).isPresent());
+            assertFalse(sistema.reservas.buscarPorId(retirada).isPresent());
+            Reserva reserva = sistema.reservas.listarTodas().get(0);
+            assertEquals(amanha, reserva.getInicio());
+            assertEquals(amanha.plusDays(2), reserva.getFim());
+            assertEquals("00000000001", reserva.getCliente().getDocumento());
+            // Os ids novos continuam depois dos que já foram usados
+            long nova = sistema.reservaService.reservar("TST0002", "00000000002", amanha, amanha.plusDays(1))
+                    .getReserva().getId();
+            assertTrue(nova > retirada);
+        }
+
+        // Desta vez tudo vem do snapshot gravado no close()
+        try (Sistema sistema = new Sistema(diretorio)) {
+            assertEquals(List.of("TST0000", "TST0002"), placas(sistema.reservas.listarTodas()));
+        }
+    }
+
+    private Path ultimoJournal() throws IOException {
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            return arquivos.filter(p -> p.getFileName().toString().startsWith("journal-")).sorted()
+                    .reduce((a, b) -> b).orElseThrow();
+        }
+    }
+
+    // Cada thread cadastra os próprios veículos e clientes e então aluga, devolve e altera só eles
+    private static void movimentar(Sistema sistema, int threads, int operacoesPorThread) throws Exception {
+        int rodada = sistema.veiculos.listarTodos().size();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> tarefas = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                String prefixo = String.format("R%dT%d", rodada, t);
+                long semente = rodada * 31L + t;
+                tarefas.add(executor.submit(() -> {
+                    Random aleatorio = new Random(semente);
+                    List<String> placas = new ArrayList<>();
+                    List<String> documentos = new ArrayList<>();
+                    for (int i = 0; i < 10; i++) {
+                        placas.add(prefixo + "V" + i);
+                        sistema.veiculos.cadastrar(new Veiculo(prefixo + "V" + i, "Modelo " + i, "Fabricante",
+                                TipoVeiculo.values()[i % TipoVeiculo.values().length]));
+                        documentos.add(prefixo + "C" + i);
+                        sistema.clienteService.cadastrarCliente(new PessoaFisica("Cliente " + i,
+                                prefixo.toLowerCase() + "c" + i + "@teste.com", "1199999" + i, prefixo + "C" + i));
+                    }
+                    for (int i = 0; i < operacoesPorThread; i++) {
+                        String placa = placas.get(aleatorio.nextInt(placas.size()));
+                        switch (aleatorio.nextInt(4)) {
+                            case 0:
+                                Veiculo veiculo = sistema.veiculos.buscarPorId(placa).orElseThrow();
+                                veiculo.setModelo("Modelo " + aleatorio.nextInt(1000));
+                                sistema.veiculos.alterar(veiculo);
+                                break;
+                            case 1:
+                                var cliente = sistema.clienteService.buscarClientePorDocumento(
+                                        documentos.get(aleatorio.nextInt(documentos.size()))).orElseThrow();
+                                cliente.setTelefone("11" + aleatorio.nextInt(100_000_000));
+                                sistema.clienteService.alterarCliente(cliente);
+                                break;
+                            default:
+                                if (!sistema.aluguelService.devolverVeiculo(placa).isSucesso()) {
+                                    sistema.aluguelService.alugarVeiculo(placa,
+                                            documentos.get(aleatorio.nextInt(documentos.size())), "Filial " + aleatorio.nextInt(3));
+                                }
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> tarefa : tarefas) {
+                tarefa.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    // Tudo o que a persistência guarda, em texto e em ordem estável
+    private static List<String> retrato(Sistema sistema) {
+        List<String> linhas = new ArrayList<>();
+        sistema.veiculos.listarTodos().forEach(v -> linhas.add("veículo " + v.getPlaca() + " " + v.getModelo() + " "
+                + v.getFabricante() + " " + v.getTipo() + " " + v.isDisponivel()));
+        sistema.clientes.listarTodos().forEach(c -> linhas.add("cliente " + c.getDocumento() + " " + c.getTipo() + " "
+                + c.getNome() + " " + c.getEmail() + " " + c.getTelefone()));
+        sistema.aluguelService.listarHistorico().forEach(r -> linhas.add("histórico " + r.getPlaca() + " "
+                + r.getDocumentoCliente() + " " + r.getLocal() + " " + r.getDataAluguel() + " " + r.getDataDevolucao()
+                + " " + r.getDiarias() + " " + r.getValorFinalCentavos()));
+        sistema.aluguelService.listarAlugueisAtivos().forEach(a -> linhas.add("ativo " + a.getVeiculo().getPlaca() + " "
+                + a.getCliente().getDocumento() + " " + a.getLocal() + " " + a.getDataAluguel()));
+        sistema.reservas.listarTodas().forEach(r -> linhas.add("reserva " + r.getId() + " " + r.getVeiculo().getPlaca()
+                + " " + r.getCliente().getDocumento() + " " + r.getInicio() + " " + r.getFim()));
+        linhas.sort(null);
+        return linhas;
+    }
+
+    private static List<String> placas(List<Reserva> reservas) {
+        return reservas.stream().map(r -> r.getVeiculo().getPlaca()).sorted().collect(Collectors.toList());
+    }
+
+    // Monta repositórios e serviços sobre o diretório como o Main faz com --dados
+    static final class Sistema implements Closeable {
+        final PersistenciaJournal persistencia;
+        final VeiculoRepositoryDuravel veiculos;
+        final ClienteRepositoryDuravel clientes;
+        final ClienteService clienteService;
+        final ReservaRepository reservas = new ReservaRepository();
+        final HistoricoAluguelRepository historico = new HistoricoAluguelRepository();
+        final AluguelService aluguelService;
+        final ReservaService reservaService;
+        final long registrosLidos;
+
+        Sistema(Path diretorio) throws IOException {
+            this(diretorio, 100_000);
+        }
+
+        Sistema(Path diretorio, long registrosPorSnapshot) throws IOException {
+            persistencia = new PersistenciaJournal(diretorio, registrosPorSnapshot);
+            veiculos = new VeiculoRepositoryDuravel(new VeiculoRepository(), persistencia);
+            clientes = new ClienteRepositoryDuravel(new ClienteRepository(), persistencia);
+            clienteService = new ClienteService(clientes);
+            aluguelService = new AluguelService(veiculos, clienteService, historico, MotorPreco.padrao(), reservas);
+            reservaService = new ReservaService(veiculos, clienteService, reservas);
+            registrosLidos = persistencia.recuperar(veiculos, clientes, aluguelService, reservas);
+        }
+
+        void cadastrar(int quantidadeVeiculos, int quantidadeClientes) {
+            for (int i = 0; i < quantidadeVeiculos; i++) {
+                veiculos.cadastrar(new Veiculo(String.format("TST%04d", i), "Modelo " + i, "Fabricante",
+                        TipoVeiculo.values()[i % TipoVeiculo.values().length]));
+            }
+            for (int i = 0; i < quantidadeClientes; i++) {
+                clienteService.cadastrarCliente(new PessoaFisica("Cliente " + i, "cliente" + i + "@teste.com",
+                        "1199999" + i, String.format("%011d", i + 1)));
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            persistencia.close();
+        }
+    }
+}
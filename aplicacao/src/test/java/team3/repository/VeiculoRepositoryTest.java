@@ -0,0 +1,103 @@
+package team3.repository;
+
+import org.junit.jupiter.api.Test;
+import team3.domain.enums.TipoVeiculo;
+import team3.domain.model.Veiculo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// alterar() tem um caminho sem trava para quando só a disponibilidade mudou; estes testes conferem
+// que mudanças de cadastro na própria instância sempre passam pelo caminho que reindexa
+class VeiculoRepositoryTest {
+
+    @Test
+    void alterarReindexaModeloETipoDaMesmaInstancia() {
+        VeiculoRepository repository = new VeiculoRepository();
+        Veiculo veiculo = new Veiculo("ABC1234", "Gol", "VW", TipoVeiculo.PEQUENO);
+        repository.cadastrar(veiculo);
+
+        // O mesmo texto em outra String também é uma mudança de cadastro
+        veiculo.setModelo(new String("Gol"));
+        veiculo.setTipo(TipoVeiculo.SUV);
+        repository.alterar(veiculo);
+        assertEquals(0, repository.contarDisponiveisPorTipo(TipoVeiculo.PEQUENO));
+        assertEquals(1, repository.contarDisponiveisPorTipo(TipoVeiculo.SUV));
+
+        veiculo.setModelo("Polo");
+        repository.alterar(veiculo);
+        assertTrue(repository.buscarPorParteDoNome("gol").isEmpty());
+        assertEquals(List.of(veiculo), repository.buscarPorParteDoNome("polo"));
+
+        assertTrue(veiculo.marcarComoAlugado());
+        repository.alterar(veiculo);
+        assertEquals(0, repository.contarDisponiveisPorTipo(TipoVeiculo.SUV));
+        assertEquals(List.of(), repository.buscarDisponiveisPorTipo(TipoVeiculo.SUV, 10));
+    }
+
+    @Test
+    void contagemPorTipoFechaComAluguelETrocaDeTipoConcorrentes() throws Exception {
+        VeiculoRepository repository = new VeiculoRepository();
+        List<Veiculo> veiculos = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            Veiculo veiculo = new Veiculo(String.format("TST%04d", i), "Modelo " + i, "Fabricante", TipoVeiculo.PEQUENO);
+            veiculos.add(veiculo);
+            repository.cadastrar(veiculo);
+        }
+        TipoVeiculo[] tipos = TipoVeiculo.values();
+        CountDownLatch largada = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(5);
+        List<Future<?>> tarefas = new ArrayList<>();
+        // quatro threads alugam e devolvem pelo caminho sem trava
+        for (int t = 0; t < 4; t++) {
+            long semente = t;
+            tarefas.add(executor.submit(() -> {
+                Random aleatorio = new Random(semente);
+                largada.await();
+                for (int i = 0; i < 200_000; i++) {
+                    Veiculo veiculo = veiculos.get(aleatorio.nextInt(veiculos.size()));
+                    if (veiculo.marcarComoAlugado()) {
+                        repository.alterar(veiculo);
+                        veiculo.setDisponivel(true);
+                        repository.alterar(veiculo);
+                    }
+                }
+                return null;
+            }));
+        }
+        // e uma troca tipo e modelo das mesmas instâncias, pelo caminho com trava
+        tarefas.add(executor.submit(() -> {
+            Random aleatorio = new Random(99);
+            largada.await();
+            for (int i = 0; i < 20_000; i++) {
+                Veiculo veiculo = veiculos.get(aleatorio.nextInt(veiculos.size()));
+                veiculo.setTipo(tipos[aleatorio.nextInt(tipos.length)]);
+                veiculo.setModelo("Modelo " + aleatorio.nextInt(1000));
+                repository.alterar(veiculo);
+            }
+            return null;
+        }));
+        largada.countDown();
+        for (Future<?> tarefa : tarefas) {
+            tarefa.get();
+        }
+        executor.shutdown();
+
+        for (TipoVeiculo tipo : tipos) {
+            long esperado = veiculos.stream().filter(v -> v.getTipo() == tipo && v.isDisponivel()).count();
+            assertEquals(esperado, repository.contarDisponiveisPorTipo(tipo), tipo.toString());
+            assertEquals(esperado, repository.buscarDisponiveisPorTipo(tipo, 100).size(), tipo.toString());
+        }
+        for (Veiculo veiculo : veiculos) {
+            assertTrue(repository.buscarPorParteDoNome(veiculo.getModelo()).contains(veiculo), veiculo.getPlaca());
+        }
+    }
+}
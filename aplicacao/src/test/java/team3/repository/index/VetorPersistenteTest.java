@@ -0,0 +1,93 @@
+package team3.repository.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// Aplica a mesma sequência aleatória de adicionar, adicionarTodos e substituir num VetorPersistente
+// e num ArrayList, guardando versões no caminho: cada versão antiga tem que continuar igual à cópia
+// do ArrayList feita naquele momento, por get, iterator, forEach e stream paralelo.
+class VetorPersistenteTest {
+
+    @Test
+    void versoesAntigasContinuamIguaisAoArrayList() {
+        Random aleatorio = new Random(7);
+        for (int rodada = 0; rodada < 40; rodada++) {
+            // as últimas rodadas passam de 32 * 32 * 32 elementos, com três níveis de nós
+            int alvo = rodada < 30 ? aleatorio.nextInt(3000) : 40_000 + aleatorio.nextInt(70_000);
+            VetorPersistente<Integer> vetor = VetorPersistente.vazio();
+            List<Integer> referencia = new ArrayList<>();
+            List<VetorPersistente<Integer>> versoes = new ArrayList<>();
+            List<List<Integer>> copias = new ArrayList<>();
+            while (referencia.size() < alvo) {
+                int operacao = aleatorio.nextInt(10);
+                if (operacao < 5) {
+                    int valor = aleatorio.nextInt();
+                    vetor = vetor.adicionar(valor);
+                    referencia.add(valor);
+                } else if (operacao < 7) {
+                    List<Integer> lote = new ArrayList<>();
+                    for (int i = aleatorio.nextInt(200); i > 0; i--) {
+                        lote.add(aleatorio.nextInt());
+                    }
+                    vetor = vetor.adicionarTodos(lote);
+                    referencia.addAll(lote);
+                } else if (!referencia.isEmpty()) {
+                    int posicao = aleatorio.nextInt(referencia.size());
+                    int valor = aleatorio.nextInt();
+                    vetor = vetor.substituir(posicao, valor);
+                    referencia.set(posicao, valor);
+                }
+                if (aleatorio.nextInt(50) == 0) {
+                    versoes.add(vetor);
+                    copias.add(new ArrayList<>(referencia));
+                }
+            }
+            versoes.add(vetor);
+            copias.add(new ArrayList<>(referencia));
+
+            for (int k = 0; k < versoes.size(); k++) {
+                conferir(versoes.get(k), copias.get(k), "rodada " + rodada + ", versão " + k);
+            }
+        }
+    }
+
+    @Test
+    void listaNaoAceitaAlteracaoNemIndiceForaDoTamanho() {
+        VetorPersistente<Integer> vetor = VetorPersistente.<Integer>vazio().adicionar(1).adicionar(2);
+        assertThrows(UnsupportedOperationException.class, () -> vetor.comoLista().add(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> vetor.get(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> vetor.substituir(-1, 0));
+        assertEquals(0, VetorPersistente.vazio().tamanho());
+    }
+
+    private static void conferir(VetorPersistente<Integer> vetor, List<Integer> esperado, String onde) {
+        List<Integer> lista = vetor.comoLista();
+        assertEquals(esperado.size(), vetor.tamanho(), onde);
+        assertEquals(esperado, lista, onde);
+        for (int i = 0; i < esperado.size(); i++) {
+            assertEquals(esperado.get(i), vetor.get(i), onde);
+        }
+
+        List<Integer> percorrida = new ArrayList<>();
+        for (Iterator<Integer> it = lista.iterator(); it.hasNext(); ) {
+            percorrida.add(it.next());
+        }
+        assertEquals(esperado, percorrida, onde + " (iterator)");
+
+        List<Integer> porForEach = new ArrayList<>();
+        lista.forEach(porForEach::add);
+        assertEquals(esperado, porForEach, onde + " (forEach)");
+
+        assertEquals(esperado, lista.parallelStream().collect(Collectors.toList()), onde + " (stream paralelo)");
+        assertEquals(esperado.stream().mapToLong(Integer::longValue).sum(),
+                lista.parallelStream().mapToLong(Integer::longValue).sum(), onde + " (soma paralela)");
+    }
+}
@@ -0,0 +1,108 @@
+package team3.service;
+
+import org.junit.jupiter.api.Test;
+import team3.domain.enums.TipoVeiculo;
+import team3.domain.model.PessoaFisica;
+import team3.domain.model.Veiculo;
+import team3.repository.ClienteRepository;
+import team3.repository.VeiculoRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Várias threads alugando e devolvendo uma frota pequena ao mesmo tempo. Cada thread só devolve o
+// que ela mesma alugou, então o contador de cada placa só passa de 1 se a mesma placa for alugada
+// duas vezes sem devolução no meio.
+class AluguelServiceConcorrenciaTest {
+
+    private static final int THREADS = 8;
+    private static final int OPERACOES_POR_THREAD = 20_000;
+    private static final int VEICULOS = 10;
+    private static final int CLIENTES = 20;
+
+    @Test
+    void nenhumVeiculoEAlugadoDuasVezesAoMesmoTempo() throws Exception {
+        VeiculoRepository veiculoRepository = new VeiculoRepository();
+        ClienteService clienteService = new ClienteService(new ClienteRepository());
+        AluguelService aluguelService = new AluguelService(veiculoRepository, clienteService);
+        List<String> placas = new ArrayList<>();
+        for (int i = 0; i < VEICULOS; i++) {
+            String placa = String.format("TST%04d", i);
+            placas.add(placa);
+            veiculoRepository.cadastrar(new Veiculo(placa, "Modelo " + i, "Fabricante", TipoVeiculo.values()[i % TipoVeiculo.values().length]));
+        }
+        for (int i = 0; i < CLIENTES; i++) {
+            clienteService.cadastrarCliente(new PessoaFisica("Cliente " + i, "cliente" + i + "@teste.com", "1199999" + i, String.format("%011d", i + 1)));
+        }
+
+        AtomicIntegerArray alugueisPorPlaca = new AtomicIntegerArray(VEICULOS);
+        AtomicInteger duplicados = new AtomicInteger();
+        LongAdder alugueis = new LongAdder();
+        LongAdder devolucoes = new LongAdder();
+        CountDownLatch largada = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<List<Integer>>> tarefas = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            long semente = t;
+            tarefas.add(executor.submit(() -> {
+                Random aleatorio = new Random(semente);
+                List<Integer> comigo = new ArrayList<>();
+                largada.await();
+                for (int i = 0; i < OPERACOES_POR_THREAD; i++) {
+                    if (!comigo.isEmpty() && aleatorio.nextBoolean()) {
+                        int veiculo = comigo.remove(aleatorio.nextInt(comigo.size()));
+                        alugueisPorPlaca.decrementAndGet(veiculo);
+                        assertTrue(aluguelService.devolverVeiculo(placas.get(veiculo)).isSucesso());
+                        devolucoes.increment();
+                    } else {
+                        int veiculo = aleatorio.nextInt(VEICULOS);
+                        String documento = String.format("%011d", aleatorio.nextInt(CLIENTES) + 1);
+                        if (aluguelService.alugarVeiculo(placas.get(veiculo), documento, "Centro").isSucesso()) {
+                            alugueis.increment();
+                            comigo.add(veiculo);
+                            if (alugueisPorPlaca.incrementAndGet(veiculo) > 1) {
+                                duplicados.incrementAndGet();
+                            }
+                        }
+                    }
+                }
+                return comigo;
+            }));
+        }
+        largada.countDown();
+        int aindaAlugados = 0;
+        for (Future<List<Integer>> tarefa : tarefas) {
+            aindaAlugados += tarefa.get(2, TimeUnit.MINUTES).size();
+        }
+        executor.shutdown();
+
+        assertEquals(0, duplicados.get(), "placa alugada duas vezes ao mesmo tempo");
+        long indisponiveis = veiculoRepository.listarTodos().stream().filter(v -> !v.isDisponivel()).count();
+        long ativos = alugueis.sum() - devolucoes.sum();
+        assertEquals(aindaAlugados, ativos);
+        assertEquals(ativos, indisponiveis);
+        assertEquals(ativos, aluguelService.listarAlugueisAtivos().size());
+        assertEquals(devolucoes.sum(), aluguelService.listarHistorico().size());
+        long alugadosPorTipo = 0;
+        for (Map.Entry<TipoVeiculo, Integer> tipo : aluguelService.contarAlugadosPorTipo().entrySet()) {
+            alugadosPorTipo += tipo.getValue();
+        }
+        assertEquals(ativos, alugadosPorTipo);
+        for (int i = 0; i < VEICULOS; i++) {
+            assertTrue(alugueisPorPlaca.get(i) == 0 || alugueisPorPlaca.get(i) == 1);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package team3.service.preco;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// minutosEntre não usa Duration para não alocar por cotação; Duration.between fica aqui como referência
+class MotorPrecoTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 2, 28, 23, 59, 59, 999_999_999);
+
+    @Test
+    void minutosEntreIgualAoDuration() {
+        Random aleatorio = new Random(11);
+        for (int i = 0; i < 1_000_000; i++) {
+            LocalDateTime inicio = BASE.plusSeconds(aleatorio.nextInt(400_000_000) - 200_000_000)
+                    .withNano(aleatorio.nextInt(4) == 0 ? 0 : aleatorio.nextInt(1_000_000_000));
+            // durações curtas, perto das bordas de minuto e de segundo, e longas, em ambos os sentidos
+            long segundos = aleatorio.nextBoolean() ? aleatorio.nextInt(7200) - 3600 : aleatorio.nextInt(200_000_000) - 100_000_000;
+            LocalDateTime fim = inicio.plusSeconds(segundos).withNano(aleatorio.nextInt(1_000_000_000));
+            conferir(inicio, fim);
+        }
+    }
+
+    @Test
+    void minutosEntreNasBordas() {
+        conferir(BASE, BASE);
+        conferir(BASE, BASE.plusNanos(1));
+        conferir(BASE, BASE.minusNanos(1));
+        conferir(BASE, BASE.plusSeconds(60).minusNanos(1));
+        conferir(BASE, BASE.plusSeconds(60));
+        conferir(BASE, BASE.minusSeconds(60).plusNanos(1));
+        conferir(BASE, BASE.minusSeconds(59).minusNanos(500_000_000));
+        conferir(BASE, BASE.minusSeconds(60));
+        conferir(LocalDateTime.of(1970, 1, 1, 0, 0), LocalDateTime.of(1969, 12, 31, 23, 58, 30, 1));
+        conferir(LocalDateTime.MIN, LocalDateTime.MAX);
+        conferir(LocalDateTime.MAX, LocalDateTime.MIN);
+    }
+
+    @Test
+    void diariasPelaDuracaoReal() {
+        MotorPreco motor = MotorPreco.padrao();
+        assertEquals(1, motor.diarias(BASE, BASE));
+        assertEquals(1, motor.diarias(BASE, BASE.plusHours(24)));
+        assertEquals(1, motor.diarias(BASE, BASE.plusHours(24).plusSeconds(59)));
+        assertEquals(2, motor.diarias(BASE, BASE.plusHours(24).plusMinutes(1)));
+        // 24h, 1min e 0,3s cruzando a meia-noite: o minuto a mais abre a segunda diária
+        assertEquals(2, motor.diarias(BASE.withNano(900_000_000), BASE.plusDays(1).plusNanos(200_000_000).plusMinutes(1)));
+    }
+
+    private static void conferir(LocalDateTime inicio, LocalDateTime fim) {
+        assertEquals(Duration.between(inicio, fim).toMinutes(), MotorPreco.minutosEntre(inicio, fim), inicio + " até " + fim);
+    }
+}
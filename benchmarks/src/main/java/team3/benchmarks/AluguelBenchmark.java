@@ -0,0 +1,103 @@
+package team3.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import team3.repository.ClienteRepository;
+import team3.repository.HistoricoAluguelRepository;
+import team3.repository.VeiculoRepository;
+import team3.service.AluguelService;
+import team3.service.ClienteService;
+import team3.service.ResultadoDevolucao;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Ciclo completo de aluguel + devolução. Cada thread (balcão) percorre a sua própria fatia da
+// frota, então as medições com várias threads refletem a contenção nas estruturas compartilhadas,
+// não aluguéis recusados.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class AluguelBenchmark {
+
+    private static final int MAXIMO_BALCOES = 64;
+    private static final int CLIENTES = 1000;
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int tamanhoFrota;
+
+    private final AtomicInteger balcoes = new AtomicInteger();
+    private VeiculoRepository veiculoRepository;
+    private ClienteService clienteService;
+    private AluguelService aluguelService;
+    private String[] placas;
+    private String[] documentos;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        veiculoRepository = new VeiculoRepository();
+        placas = new String[tamanhoFrota];
+        for (int i = 0; i < tamanhoFrota; i++) {
+            veiculoRepository.cadastrar(Frota.veiculo(i));
+            placas[i] = Frota.placa(i);
+        }
+        ClienteRepository clienteRepository = new ClienteRepository();
+        documentos = new String[CLIENTES];
+        for (int i = 0; i < CLIENTES; i++) {
+            clienteRepository.cadastrar(Frota.cliente(i));
+            documentos[i] = Frota.cliente(i).getDocumento();
+        }
+        clienteService = new ClienteService(clienteRepository);
+    }
+
+    // O histórico só cresce; um novo a cada iteração mantém o heap estável entre medições
+    @Setup(Level.Iteration)
+    public void novoHistorico() {
+        aluguelService = new AluguelService(veiculoRepository, clienteService, new HistoricoAluguelRepository());
+    }
+
+    @State(Scope.Thread)
+    public static class Balcao {
+        int numero;
+        int passo;
+
+        @Setup(Level.Trial)
+        public void abrir(AluguelBenchmark benchmark) {
+            numero = benchmark.balcoes.getAndIncrement() % MAXIMO_BALCOES;
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public ResultadoDevolucao alugarEDevolver(Balcao balcao) {
+        return cicloDeAluguel(balcao);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public ResultadoDevolucao alugarEDevolver4Balcoes(Balcao balcao) {
+        return cicloDeAluguel(balcao);
+    }
+
+    private ResultadoDevolucao cicloDeAluguel(Balcao balcao) {
+        int fatia = tamanhoFrota / MAXIMO_BALCOES;
+        int veiculo = balcao.numero * fatia + balcao.passo++ % fatia;
+        String placa = placas[veiculo];
+        aluguelService.alugarVeiculo(placa, documentos[veiculo % CLIENTES], "Balcão " + balcao.numero);
+        return aluguelService.devolverVeiculo(placa);
+    }
+}
@@ -0,0 +1,67 @@
+package team3.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import team3.domain.model.Cliente;
+import team3.repository.ClienteRepository;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ClienteRepositoryBenchmark {
+
+    private static final int CONSULTAS = 1 << 16;
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int quantidadeClientes;
+
+    private ClienteRepository repository;
+    private String[] documentosConsultados;
+    private String[] emailsConsultados;
+
+    @Setup
+    public void preparar() {
+        repository = new ClienteRepository();
+        for (int i = 0; i < quantidadeClientes; i++) {
+            repository.cadastrar(Frota.cliente(i));
+        }
+        int[] ordem = Frota.ordemAleatoria(quantidadeClientes, CONSULTAS);
+        documentosConsultados = new String[CONSULTAS];
+        emailsConsultados = new String[CONSULTAS];
+        for (int i = 0; i < CONSULTAS; i++) {
+            Cliente cliente = Frota.cliente(ordem[i]);
+            documentosConsultados[i] = cliente.getDocumento();
+            emailsConsultados[i] = cliente.getEmail();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int proxima;
+    }
+
+    @Benchmark
+    public Optional<Cliente> buscarPorId(Cursor cursor) {
+        return repository.buscarPorId(documentosConsultados[cursor.proxima++ & (CONSULTAS - 1)]);
+    }
+
+    @Benchmark
+    public Optional<Cliente> buscarPorEmail(Cursor cursor) {
+        return repository.buscarPorEmail(emailsConsultados[cursor.proxima++ & (CONSULTAS - 1)]);
+    }
+}
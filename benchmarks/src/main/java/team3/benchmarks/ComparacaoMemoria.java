@@ -0,0 +1,74 @@
+package team3.benchmarks;
+
+import team3.domain.model.Veiculo;
+import team3.repository.IVeiculoRepository;
+import team3.repository.VeiculoRepository;
+import team3.repository.VeiculoRepositoryColunar;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+// Memória ocupada pela frota em cada repositório, medida pelo heap depois de coletas completas.
+// Não é um benchmark JMH: rode com java -cp target/benchmarks.jar team3.benchmarks.ComparacaoMemoria
+// [tamanhos...] [--so-colunar], com heap suficiente (ex: -Xmx4g para 10^7 no colunar).
+public class ComparacaoMemoria {
+
+    private static final int LOTE = 10_000;
+
+    public static void main(String[] args) {
+        List<Integer> tamanhos = new ArrayList<>();
+        boolean soColunar = false;
+        for (String arg : args) {
+            if ("--so-colunar".equals(arg)) {
+                soColunar = true;
+            } else {
+                tamanhos.add(Integer.parseInt(arg));
+            }
+        }
+        if (tamanhos.isEmpty()) {
+            tamanhos.add(1_000_000);
+            tamanhos.add(10_000_000);
+        }
+        System.out.printf("%-28s %12s %12s %14s%n", "Repositório", "Veículos", "Heap (MB)", "Bytes/veículo");
+        for (int tamanho : tamanhos) {
+            if (!soColunar) {
+                medir("VeiculoRepository", VeiculoRepository::new, tamanho);
+            }
+            medir("VeiculoRepositoryColunar", VeiculoRepositoryColunar::new, tamanho);
+        }
+    }
+
+    private static void medir(String nome, Supplier<IVeiculoRepository> fabrica, int tamanho) {
+        long antes = heapUsado();
+        IVeiculoRepository repository = fabrica.get();
+        try {
+            List<Veiculo> lote = new ArrayList<>(LOTE);
+            for (int i = 0; i < tamanho; i++) {
+                lote.add(Frota.veiculo(i));
+                if (lote.size() == LOTE) {
+                    repository.cadastrarEmLote(lote);
+                    lote.clear();
+                }
+            }
+            repository.cadastrarEmLote(lote);
+        } catch (OutOfMemoryError e) {
+            repository = null;
+            System.out.printf("%-28s %12d %12s %14s%n", nome, tamanho, "sem memória", "-");
+            return;
+        }
+        long depois = heapUsado();
+        System.out.printf("%-28s %12d %12d %14d%n", nome, tamanho, (depois - antes) >> 20, (depois - antes) / tamanho);
+        if (repository.buscarPorId(Frota.placa(tamanho - 1)).isEmpty()) {
+            throw new IllegalStateException("Último veículo não encontrado.");
+        }
+    }
+
+    private static long heapUsado() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 4; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,48 @@
+package team3.benchmarks;
+
+import team3.domain.enums.TipoVeiculo;
+import team3.domain.model.Cliente;
+import team3.domain.model.PessoaFisica;
+import team3.domain.model.PessoaJuridica;
+import team3.domain.model.Veiculo;
+
+import java.util.Random;
+
+// Dados sintéticos dos benchmarks, sempre os mesmos para um dado tamanho
+final class Frota {
+
+    static final String[] MODELOS = {
+            "Civic", "Corolla", "Onix", "HB20", "Gol", "Polo", "Compass", "Renegade", "Kicks", "Creta",
+            "T-Cross", "Hilux", "Strada", "Toro", "Argo", "Mobi", "Kwid", "Sandero", "Tracker", "Nivus"
+    };
+
+    private Frota() {
+    }
+
+    static String placa(int i) {
+        return "V" + String.format("%07d", i);
+    }
+
+    // Modelo + número: "Civic" acerta 1/20 da frota, "Civic 42" fica em torno de 1/2000
+    static Veiculo veiculo(int i) {
+        String modelo = MODELOS[i % MODELOS.length] + " " + (i / MODELOS.length) % 1000;
+        return new Veiculo(placa(i), modelo, "Fabricante " + i % 7, TipoVeiculo.values()[i % TipoVeiculo.values().length]);
+    }
+
+    static Cliente cliente(int i) {
+        if (i % 4 == 3) {
+            return new PessoaJuridica("Empresa " + i, "empresa" + i + "@locatecar.com", "1130" + i, String.valueOf(10_000_000_000_000L + i));
+        }
+        return new PessoaFisica("Cliente " + i, "cliente" + i + "@locatecar.com", "1199" + i, String.valueOf(10_000_000_000L + i));
+    }
+
+    // Ordem de consulta embaralhada, tamanho potência de dois para o índice virar uma máscara
+    static int[] ordemAleatoria(int tamanho, int consultas) {
+        Random aleatorio = new Random(42);
+        int[] ordem = new int[consultas];
+        for (int i = 0; i < consultas; i++) {
+            ordem[i] = aleatorio.nextInt(tamanho);
+        }
+        return ordem;
+    }
+}
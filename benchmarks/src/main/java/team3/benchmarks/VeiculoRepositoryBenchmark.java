@@ -0,0 +1,77 @@
+package team3.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import team3.domain.enums.TipoVeiculo;
+import team3.domain.model.Veiculo;
+import team3.repository.VeiculoRepository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class VeiculoRepositoryBenchmark {
+
+    private static final int CONSULTAS = 1 << 16;
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int tamanhoFrota;
+
+    private VeiculoRepository repository;
+    private String[] placasConsultadas;
+
+    @Setup
+    public void preparar() {
+        repository = new VeiculoRepository();
+        for (int i = 0; i < tamanhoFrota; i++) {
+            repository.cadastrar(Frota.veiculo(i));
+        }
+        int[] ordem = Frota.ordemAleatoria(tamanhoFrota, CONSULTAS);
+        placasConsultadas = new String[CONSULTAS];
+        for (int i = 0; i < CONSULTAS; i++) {
+            // Formato com hífen e minúsculas, como vem do balcão: inclui o custo da normalização
+            String placa = Frota.placa(ordem[i]);
+            placasConsultadas[i] = (placa.substring(0, 3) + "-" + placa.substring(3)).toLowerCase();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int proxima;
+    }
+
+    @Benchmark
+    public Optional<Veiculo> buscarPorId(Cursor cursor) {
+        return repository.buscarPorId(placasConsultadas[cursor.proxima++ & (CONSULTAS - 1)]);
+    }
+
+    @Benchmark
+    public List<Veiculo> buscarPorParteDoNomeSeletiva() {
+        return repository.buscarPorParteDoNome("civic 42");
+    }
+
+    @Benchmark
+    public List<Veiculo> buscarPorParteDoNomeAmpla() {
+        return repository.buscarPorParteDoNome("civic");
+    }
+
+    @Benchmark
+    public List<Veiculo> buscarDisponiveisPorTipo() {
+        return repository.buscarDisponiveisPorTipo(TipoVeiculo.SUV, 20);
+    }
+}
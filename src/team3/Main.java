@@ -1,31 +1,83 @@
 package team3;
 
+import team3.analise.IndicadoresFrota;
 import team3.domain.enums.TipoVeiculo;
 import team3.domain.model.Cliente;
 import team3.domain.model.PessoaFisica;
 import team3.domain.model.PessoaJuridica;
+import team3.domain.model.Reserva;
 import team3.domain.model.Veiculo;
+import team3.eventos.Assinatura;
+import team3.eventos.BarramentoEventos;
+import team3.eventos.ClienteRepositoryComEventos;
+import team3.eventos.ContadorEventos;
+import team3.eventos.PublicadorEventosAluguel;
+import team3.eventos.VeiculoRepositoryComEventos;
+import team3.persistencia.ClienteRepositoryDuravel;
+import team3.persistencia.PersistenciaJournal;
+import team3.persistencia.VeiculoRepositoryDuravel;
+import team3.persistencia.VeiculoRepositoryMapeado;
+import team3.http.ServidorHttp;
+import team3.metricas.HistogramaLatencia;
+import team3.metricas.MetricasOperacao;
+import team3.metricas.RegistroMetricas;
 import team3.repository.*;
+import team3.repository.assincrono.ClienteRepositorySincrono;
+import team3.repository.assincrono.VeiculoRepositorySincrono;
+import team3.repository.cache.ClienteRepositoryComCache;
+import team3.repository.cache.VeiculoRepositoryComCache;
 import team3.service.*;
-
+import team3.service.preco.MotorPreco;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.Optional;
 import java.util.Scanner;
+import java.util.function.BiFunction;
 
 import static team3.domain.enums.TipoVeiculo.*;
 
 public class Main {
     private static final Scanner scanner = new Scanner(System.in);
-    private static final VeiculoRepository veiculoRepository = new VeiculoRepository();
-    private static final ClienteRepository clienteRepository = new ClienteRepository();
-    private static final VeiculoService veiculoService = new VeiculoService(veiculoRepository);
-    private static final ClienteService clienteService = new ClienteService(clienteRepository);
-    private static final AluguelService aluguelService = new AluguelService(veiculoRepository, clienteService);
+    private static final int ITENS_POR_PAGINA = 20;
+    private static final HistoricoAluguelRepository historicoAluguelRepository = new HistoricoAluguelRepository();
+    private static IVeiculoRepository veiculoRepository = new VeiculoRepository();
+    private static IClienteRepository clienteRepository = new ClienteRepository();
+    private static VeiculoRepositoryComCache veiculosEmCache;
+    private static ClienteRepositoryComCache clientesEmCache;
+    private static BarramentoEventos barramentoEventos;
+    private static final ContadorEventos contadorEventos = new ContadorEventos();
+    private static VeiculoService veiculoService;
+    private static ClienteService clienteService;
+    private static AluguelService aluguelService;
+    private static ReservaService reservaService;
+    private static IndicadoresFrota indicadores;
+    private static final ReservaRepository reservaRepository = new ReservaRepository();
+    private static final DateTimeFormatter DATA_HORA = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+    private static final RegistroMetricas metricas = new RegistroMetricas();
 
 
     public static void main(String[] args) {
 
+        inicializar(args);
+        iniciarIndicadores();
         seedDados();
+        transferirArquivos(args);
+        executarLote(args);
+        servirHttp(args);
 
         while (true) {
             exibirMenuPrincipal();
@@ -34,13 +86,141 @@ public class Main {
         }
     }
 
+    // Com "--dados <diretório>" os cadastros e aluguéis sobrevivem ao reinício (journal + snapshot).
+    // Com "--frota-mapeada <diretório>" os veículos ficam em um arquivo mapeado em memória.
+    // Com "--frota-colunar" os veículos ficam em colunas de tipos primitivos (VeiculoRepositoryColunar).
+    // Com "--recibos <arquivo>" cada recibo de devolução também é gravado no arquivo, em segundo plano.
+    // Com "--gravacao-em-lote" (junto com "--dados") as gravações passam por uma thread que junta
+    // as de várias threads num lote só, com um fsync por lote.
+    // Com "--cache <entradas>" as buscas por placa e por documento passam por um cache desse tamanho.
+    // Com "--eventos <capacidade>" cadastros, alterações, aluguéis e devoluções são publicados num
+    // BarramentoEventos com buffer dessa capacidade (acompanhado nas estatísticas).
+    private static void inicializar(String[] args) {
+        Path diretorioDados = null;
+        Path diretorioFrota = null;
+        Path arquivoRecibos = null;
+        int entradasCache = 0;
+        int capacidadeEventos = 0;
+        boolean gravacaoEmLote = List.of(args).contains("--gravacao-em-lote");
+        if (List.of(args).contains("--frota-colunar")) {
+            veiculoRepository = new VeiculoRepositoryColunar();
+        }
+        for (int i = 0; i < args.length - 1; i++) {
+            if ("--dados".equals(args[i])) {
+                diretorioDados = Path.of(args[i + 1]);
+            } else if ("--frota-mapeada".equals(args[i])) {
+                diretorioFrota = Path.of(args[i + 1]);
+            } else if ("--recibos".equals(args[i])) {
+                arquivoRecibos = Path.of(args[i + 1]);
+            } else if ("--cache".equals(args[i])) {
+                entradasCache = Integer.parseInt(args[i + 1]);
+            } else if ("--eventos".equals(args[i])) {
+                capacidadeEventos = Integer.parseInt(args[i + 1]);
+            }
+        }
+
+        if (diretorioFrota != null) {
+            try {
+                VeiculoRepositoryMapeado frota = new VeiculoRepositoryMapeado(diretorioFrota);
+                veiculoRepository = frota;
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                    try {
+                        frota.close();
+                    } catch (IOException e) {
+                        System.err.println("Erro ao fechar a frota: " + e.getMessage());
+                    }
+                }));
+            } catch (IOException e) {
+                System.out.println("Erro ao abrir a frota em " + diretorioFrota + ": " + e.getMessage());
+                System.exit(1);
+            }
+        }
+
+        PersistenciaJournal persistencia = null;
+        if (diretorioDados != null) {
+            persistencia = new PersistenciaJournal(diretorioDados);
+            veiculoRepository = new VeiculoRepositoryDuravel(veiculoRepository, persistencia);
+            clienteRepository = new ClienteRepositoryDuravel(clienteRepository, persistencia);
+            if (gravacaoEmLote) {
+                veiculoRepository = new VeiculoRepositorySincrono(veiculoRepository);
+                clienteRepository = new ClienteRepositorySincrono(clienteRepository);
+            }
+        }
+        if (capacidadeEventos > 0) {
+            barramentoEventos = new BarramentoEventos(capacidadeEventos);
+            barramentoEventos.assinar("contador", contadorEventos);
+            veiculoRepository = new VeiculoRepositoryComEventos(veiculoRepository, barramentoEventos);
+            clienteRepository = new ClienteRepositoryComEventos(clienteRepository, barramentoEventos);
+            Runtime.getRuntime().addShutdownHook(new Thread(barramentoEventos::close));
+        }
+        if (entradasCache > 0) {
+            veiculosEmCache = new VeiculoRepositoryComCache(veiculoRepository, entradasCache);
+            clientesEmCache = new ClienteRepositoryComCache(clienteRepository, entradasCache);
+            veiculoRepository = veiculosEmCache;
+            clienteRepository = clientesEmCache;
+        }
+        metricas.publicarNoJmx();
+        veiculoService = new VeiculoServiceInstrumentado(veiculoRepository, metricas);
+        clienteService = new ClienteServiceInstrumentado(clienteRepository, metricas);
+        aluguelService = new AluguelServiceInstrumentado(veiculoRepository, clienteService, historicoAluguelRepository,
+                MotorPreco.padrao(), reservaRepository, metricas);
+        reservaService = new ReservaService(veiculoRepository, clienteService, reservaRepository);
+        if (barramentoEventos != null) {
+            aluguelService.adicionarListener(new PublicadorEventosAluguel(barramentoEventos));
+        }
+        if (arquivoRecibos != null) {
+            try {
+                EscritorRecibos recibos = EscritorRecibos.paraArquivo(arquivoRecibos);
+                aluguelService.adicionarListener(recibos);
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                    try {
+                        recibos.close();
+                    } catch (IOException e) {
+                        System.err.println("Erro ao fechar o arquivo de recibos: " + e.getMessage());
+                    }
+                }));
+            } catch (IOException e) {
+                System.out.println("Erro ao abrir o arquivo de recibos " + arquivoRecibos + ": " + e.getMessage());
+                System.exit(1);
+            }
+        }
+        if (persistencia == null) {
+            return;
+        }
+
+        try {
+            long registros = persistencia.recuperar(veiculoRepository, clienteRepository, aluguelService, reservaRepository);
+            System.out.println("Dados carregados de " + diretorioDados + " (" + registros + " registros).");
+        } catch (IOException e) {
+            System.out.println("Erro ao abrir os dados em " + diretorioDados + ": " + e.getMessage());
+            System.exit(1);
+        }
+        PersistenciaJournal persistenciaAberta = persistencia;
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                persistenciaAberta.close();
+            } catch (IOException e) {
+                System.err.println("Erro ao fechar os dados: " + e.getMessage());
+            }
+        }));
+    }
+
+    // Parte do histórico recuperado e depois acompanha cada aluguel/devolução
+    private static void iniciarIndicadores() {
+        indicadores = new IndicadoresFrota(veiculoService);
+        indicadores.carregar(aluguelService.listarHistorico(), aluguelService.listarAlugueisAtivos());
+        aluguelService.adicionarListener(indicadores);
+    }
+
     private static void exibirMenuPrincipal() {
         System.out.println("\n--- ADA LocateCar - Locadora de Veículos ---");
         System.out.println("1. Gerenciar Veículos");
         System.out.println("2. Gerenciar Clientes");
         System.out.println("3. Alugar Veículo");
         System.out.println("4. Devolver Veículo");
-        System.out.println("5. Sair");
+        System.out.println("5. Reservas");
+        System.out.println("6. Estatísticas");
+        System.out.println("7. Sair");
         System.out.print("Escolha uma opção: ");
     }
 
@@ -79,6 +259,12 @@ public class Main {
                 devolverVeiculo();
                 break;
             case 5:
+                gerenciarReservas();
+                break;
+            case 6:
+                exibirEstatisticas();
+                break;
+            case 7:
                 System.out.println("Obrigado por utilizar o sistema!");
                 System.exit(0);
                 break;
@@ -87,6 +273,39 @@ public class Main {
         }
     }
 
+    // Latências em microssegundos, desde o início do programa; os mesmos dados ficam no JMX
+    private static void exibirEstatisticas() {
+        System.out.println("--- Estatísticas ---");
+        System.out.println(String.format("%-42s %9s %7s %9s %9s %9s %9s %9s",
+                "Operação", "Chamadas", "Erros", "ops/s", "p50 µs", "p99 µs", "p99.9 µs", "máx µs"));
+        for (MetricasOperacao operacao : metricas.listar()) {
+            if (operacao.getChamadas() == 0) {
+                continue;
+            }
+            HistogramaLatencia.Leitura latencias = operacao.lerLatencias();
+            System.out.println(String.format("%-42s %9d %7d %9.1f %9.1f %9.1f %9.1f %9.1f",
+                    operacao.getServico() + "." + operacao.getOperacao(), operacao.getChamadas(), operacao.getErros(),
+                    operacao.getChamadasPorSegundo(), latencias.percentil(50) / 1e3, latencias.percentil(99) / 1e3,
+                    latencias.percentil(99.9) / 1e3, latencias.maximo() / 1e3));
+            operacao.getErrosPorCausa().forEach((causa, total) -> System.out.println("    " + causa + ": " + total));
+        }
+        if (veiculosEmCache != null) {
+            System.out.println("Cache de veículos: " + veiculosEmCache);
+            System.out.println("Cache de clientes: " + clientesEmCache);
+        }
+        if (barramentoEventos != null) {
+            System.out.println("Barramento de eventos: " + barramentoEventos);
+            for (Assinatura assinatura : barramentoEventos.getAssinaturas()) {
+                System.out.println("    " + assinatura);
+            }
+            System.out.println("    Recebidos: " + contadorEventos);
+        }
+        System.out.println("--- Filiais ---");
+        aluguelService.listarResumosPorFilial().forEach(System.out::println);
+        System.out.println("--- Indicadores da Frota ---");
+        System.out.print(indicadores.ler());
+    }
+
     private static void gerenciarVeiculos() {
         while(true) {
             exibirSubMenu("Veículos");
@@ -171,13 +390,21 @@ public class Main {
     }
 
     private static void listarTodosVeiculos() {
-        List<Veiculo> veiculos = veiculoService.listarTodosVeiculos();
-        if (veiculos.isEmpty()) {
-            System.out.println("Nenhum veículo cadastrado.");
-        } else {
-            System.out.println("--- Lista de Veículos ---");
-            veiculos.forEach(System.out::println);
+        System.out.print("Filtrar por tipo (PEQUENO, MEDIO, SUV ou Enter para todos): ");
+        String tipoDigitado = scanner.nextLine().trim();
+        System.out.print("Disponibilidade (1-Disponíveis, 2-Alugados ou Enter para todos): ");
+        String disponibilidade = scanner.nextLine().trim();
+        FiltroVeiculo filtro;
+        try {
+            TipoVeiculo tipo = tipoDigitado.isEmpty() ? null : TipoVeiculo.valueOf(tipoDigitado.toUpperCase());
+            Boolean disponivel = disponibilidade.equals("1") ? Boolean.TRUE : disponibilidade.equals("2") ? Boolean.FALSE : null;
+            filtro = new FiltroVeiculo(tipo, disponivel);
+        } catch (IllegalArgumentException e) {
+            System.out.println("Tipo inválido.");
+            return;
         }
+        exibirPaginado("Lista de Veículos", "Nenhum veículo encontrado.",
+                (cursor, tamanho) -> veiculoService.listarVeiculos(filtro, cursor, tamanho));
     }
 
     private static void cadastrarCliente() {
@@ -217,6 +444,9 @@ public class Main {
 
         if (clienteOpt.isPresent()) {
             Cliente cliente = clienteOpt.get();
+            String nomeAnterior = cliente.getNome();
+            String emailAnterior = cliente.getEmail();
+            String telefoneAnterior = cliente.getTelefone();
             System.out.print("Novo nome (atual: " + cliente.getNome() + "): ");
             cliente.setNome(scanner.nextLine());
             System.out.print("Novo email (atual: " + cliente.getEmail() + "): ");
@@ -224,8 +454,15 @@ public class Main {
             System.out.print("Novo telefone (atual: " + cliente.getTelefone() + "): ");
             cliente.setTelefone(scanner.nextLine());
 
-            clienteService.alterarCliente(cliente);
-            System.out.println("Cliente alterado com sucesso!");
+            try {
+                clienteService.alterarCliente(cliente);
+                System.out.println("Cliente alterado com sucesso!");
+            } catch (IllegalArgumentException e) {
+                cliente.setNome(nomeAnterior);
+                cliente.setEmail(emailAnterior);
+                cliente.setTelefone(telefoneAnterior);
+                System.out.println("Erro: " + e.getMessage());
+            }
         } else {
             System.out.println("Cliente não encontrado.");
         }
@@ -245,12 +482,34 @@ public class Main {
     }
 
     private static void listarTodosClientes() {
-        List<Cliente> clientes = clienteService.listarTodosClientes();
-        if (clientes.isEmpty()) {
-            System.out.println("Nenhum cliente cadastrado.");
-        } else {
-            System.out.println("--- Lista de Clientes ---");
-            clientes.forEach(System.out::println);
+        exibirPaginado("Lista de Clientes", "Nenhum cliente cadastrado.", clienteService::listarClientes);
+    }
+
+    // Uma página por vez, escrita de uma só vez pelo buffer; Enter avança e "q" volta ao menu
+    private static <T> void exibirPaginado(String titulo, String mensagemVazia, BiFunction<String, Integer, Pagina<T>> buscarPagina) {
+        PrintWriter saida = new PrintWriter(new BufferedWriter(new OutputStreamWriter(System.out), 1 << 14));
+        String cursor = null;
+        int numero = 1;
+        while (true) {
+            Pagina<T> pagina = buscarPagina.apply(cursor, ITENS_POR_PAGINA);
+            if (numero == 1 && pagina.isVazia()) {
+                System.out.println(mensagemVazia);
+                return;
+            }
+            saida.println("--- " + titulo + " (página " + numero + ") ---");
+            for (T item : pagina.getItens()) {
+                saida.println(item);
+            }
+            saida.flush();
+            if (!pagina.temProxima()) {
+                return;
+            }
+            System.out.print("Enter para a próxima página ou 'q' para voltar: ");
+            if (scanner.nextLine().trim().equalsIgnoreCase("q")) {
+                return;
+            }
+            cursor = pagina.getProximoCursor();
+            numero++;
         }
     }
 
@@ -261,21 +520,221 @@ public class Main {
         String documento = scanner.nextLine();
         System.out.print("Digite o local do aluguel: ");
         String local = scanner.nextLine();
+        System.out.print("Devolução prevista (dd/MM/aaaa HH:mm, Enter para não informar): ");
+        String devolucao = scanner.nextLine().trim();
 
-        aluguelService.alugarVeiculo(placa, documento, local);
+        ResultadoAluguel resultado;
+        try {
+            resultado = aluguelService.alugarVeiculo(placa, documento, local,
+                    devolucao.isEmpty() ? null : LocalDateTime.parse(devolucao, DATA_HORA));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            System.out.println(e.getMessage());
+            return;
+        }
+        System.out.print(FormatadorRecibo.escreverConfirmacao(resultado, new StringBuilder(128)));
     }
 
     private static void devolverVeiculo() {
         System.out.print("Digite a placa do veículo a ser devolvido: ");
         String placa = scanner.nextLine();
+        System.out.print("Local de devolução (Enter = o mesmo da retirada): ");
+        String local = scanner.nextLine();
+
+        ResultadoDevolucao resultado = aluguelService.devolverVeiculo(placa, local);
+        System.out.print(FormatadorRecibo.escreverRecibo(resultado, new StringBuilder(FormatadorRecibo.TAMANHO_RECIBO)));
+    }
 
-        aluguelService.devolverVeiculo(placa);
+    private static void gerenciarReservas() {
+        while (true) {
+            System.out.println("\n--- Reservas ---");
+            System.out.println("1. Reservar Veículo");
+            System.out.println("2. Cancelar Reserva");
+            System.out.println("3. Veículos Livres em um Período");
+            System.out.println("4. Reservas de um Veículo");
+            System.out.println("5. Voltar ao Menu Principal");
+            System.out.print("Escolha uma opção: ");
+            int opcao = lerOpcao();
+            if (opcao == 5) break;
+
+            try {
+                switch (opcao) {
+                    case 1: reservarVeiculo(); break;
+                    case 2: cancelarReserva(); break;
+                    case 3: buscarVeiculosLivres(); break;
+                    case 4: listarReservasDoVeiculo(); break;
+                    default: System.out.println("Opção inválida.");
+                }
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                System.out.println(e.getMessage());
+            }
+        }
     }
 
+    private static void reservarVeiculo() {
+        System.out.print("Digite a placa do veículo: ");
+        String placa = scanner.nextLine();
+        System.out.print("Digite o documento (CPF/CNPJ) do cliente: ");
+        String documento = scanner.nextLine();
+        LocalDateTime inicio = lerDataHora("Início da reserva (dd/MM/aaaa HH:mm): ");
+        LocalDateTime fim = lerDataHora("Fim da reserva (dd/MM/aaaa HH:mm): ");
+
+        ResultadoReserva resultado = reservaService.reservar(placa, documento, inicio, fim);
+        if (resultado.isSucesso()) {
+            System.out.println("Reserva " + resultado.getReserva().getId() + " confirmada de "
+                    + DATA_HORA.format(inicio) + " a " + DATA_HORA.format(fim) + ".");
+        } else {
+            System.out.println(resultado.getMotivo().getMensagem());
+        }
+    }
+
+    private static void cancelarReserva() {
+        System.out.print("Digite o número da reserva: ");
+        long id = Long.parseLong(scanner.nextLine().trim());
+        System.out.println(reservaService.cancelarReserva(id) ? "Reserva cancelada." : "Reserva não encontrada.");
+    }
+
+    private static void buscarVeiculosLivres() {
+        System.out.print("Digite o tipo (PEQUENO, MEDIO, SUV): ");
+        TipoVeiculo tipo = TipoVeiculo.valueOf(scanner.nextLine().trim().toUpperCase());
+        LocalDateTime inicio = lerDataHora("Início do período (dd/MM/aaaa HH:mm): ");
+        LocalDateTime fim = lerDataHora("Fim do período (dd/MM/aaaa HH:mm): ");
+
+        List<Veiculo> livres = reservaService.buscarVeiculosDisponiveis(tipo, inicio, fim, ITENS_POR_PAGINA);
+        if (livres.isEmpty()) {
+            System.out.println("Nenhum veículo livre nesse período.");
+        } else {
+            System.out.println("--- Veículos Livres (até " + ITENS_POR_PAGINA + ") ---");
+            livres.forEach(System.out::println);
+        }
+    }
+
+    private static void listarReservasDoVeiculo() {
+        System.out.print("Digite a placa do veículo: ");
+        List<Reserva> reservas = reservaService.listarReservasDoVeiculo(scanner.nextLine());
+        if (reservas.isEmpty()) {
+            System.out.println("Nenhuma reserva para este veículo.");
+        }
+        for (Reserva reserva : reservas) {
+            System.out.println(reserva.getId() + ": " + DATA_HORA.format(reserva.getInicio()) + " a "
+                    + DATA_HORA.format(reserva.getFim()) + " - " + reserva.getCliente().getNome());
+        }
+    }
+
+    private static LocalDateTime lerDataHora(String pergunta) {
+        System.out.print(pergunta);
+        return LocalDateTime.parse(scanner.nextLine().trim(), DATA_HORA);
+    }
+
+    // "--importar-veiculos/--importar-clientes <arquivo>" carregam cadastros em massa;
+    // "--exportar-veiculos/--exportar-clientes <arquivo>" gravam os cadastros no mesmo formato.
+    private static void transferirArquivos(String[] args) {
+        ImportacaoService importacao = null;
+        for (int i = 0; i < args.length - 1; i++) {
+            String opcao = args[i];
+            if (!opcao.startsWith("--importar-") && !opcao.startsWith("--exportar-")) {
+                continue;
+            }
+            if (importacao == null) {
+                importacao = new ImportacaoService(veiculoRepository, clienteRepository);
+            }
+            Path arquivo = Path.of(args[i + 1]);
+            try {
+                switch (opcao) {
+                    case "--importar-veiculos":
+                    case "--importar-clientes":
+                        try (Reader entrada = Files.newBufferedReader(arquivo, StandardCharsets.UTF_8)) {
+                            ResultadoImportacao resultado = opcao.endsWith("veiculos")
+                                    ? importacao.importarVeiculos(entrada)
+                                    : importacao.importarClientes(entrada);
+                            System.out.println("Importação de " + arquivo + ": " + resultado);
+                            resultado.getErros().stream().limit(10).forEach(erro -> System.out.println("  " + erro));
+                        }
+                        break;
+                    case "--exportar-veiculos":
+                    case "--exportar-clientes":
+                        try (Writer saida = Files.newBufferedWriter(arquivo, StandardCharsets.UTF_8)) {
+                            long total = opcao.endsWith("veiculos")
+                                    ? importacao.exportarVeiculos(saida)
+                                    : importacao.exportarClientes(saida);
+                            System.out.println(total + " registros exportados para " + arquivo + ".");
+                        }
+                        break;
+                    default:
+                        System.out.println("Opção desconhecida: " + opcao);
+                }
+            } catch (IOException e) {
+                System.out.println("Erro ao processar " + arquivo + ": " + e.getMessage());
+            }
+        }
+    }
+
+    // "--batch <arquivo>" (ou "--batch -" para a entrada padrão) executa os comandos do
+    // LoteComandosService sem menus, mostra o resumo e encerra; "--eco" mostra o resultado de cada comando.
+    private static void executarLote(String[] args) {
+        String origem = null;
+        boolean eco = false;
+        for (int i = 0; i < args.length; i++) {
+            if ("--batch".equals(args[i]) && i < args.length - 1) {
+                origem = args[i + 1];
+            } else if ("--eco".equals(args[i])) {
+                eco = true;
+            }
+        }
+        if (origem == null) {
+            return;
+        }
+        PrintWriter saida = new PrintWriter(new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), 1 << 16));
+        LoteComandosService lote = new LoteComandosService(veiculoService, clienteService, aluguelService, reservaService, eco ? saida : null);
+        int status = 0;
+        try (Reader entrada = "-".equals(origem)
+                ? new InputStreamReader(System.in, StandardCharsets.UTF_8)
+                : Files.newBufferedReader(Path.of(origem), StandardCharsets.UTF_8)) {
+            saida.print(lote.executar(entrada));
+        } catch (IOException e) {
+            saida.println("Erro ao ler " + origem + ": " + e.getMessage());
+            status = 1;
+        }
+        saida.flush();
+        // exit para os shutdown hooks (journal, recibos) rodarem
+        System.exit(status);
+    }
+
+    // "--http <porta>" atende a API JSON do ServidorHttp em vez do menu, até o processo ser encerrado.
+    private static void servirHttp(String[] args) {
+        int porta = -1;
+        for (int i = 0; i < args.length - 1; i++) {
+            if ("--http".equals(args[i])) {
+                porta = Integer.parseInt(args[i + 1]);
+            }
+        }
+        if (porta < 0) {
+            return;
+        }
+        try {
+            ServidorHttp servidor = new ServidorHttp(new InetSocketAddress(porta), veiculoService, clienteService,
+                    aluguelService, reservaService, indicadores, metricas);
+            servidor.iniciar();
+            Runtime.getRuntime().addShutdownHook(new Thread(servidor::close));
+            System.out.println("API HTTP em http://localhost:" + servidor.getPorta() + "/ (Ctrl+C para encerrar).");
+            Thread.currentThread().join();
+        } catch (IOException e) {
+            System.out.println("Erro ao abrir a porta " + porta + ": " + e.getMessage());
+            System.exit(1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Só popula o que veio vazio; com dados persistidos o seed não se repete
     private static void seedDados(){
-        veiculoService.cadastrarVeiculo(new Veiculo("AAA-0A00", "MODELO1", "FABRICANTE1", PEQUENO));
-        veiculoService.cadastrarVeiculo(new Veiculo("BBB-0B00", "MODELO2", "FABRICANTE2", MEDIO));
-        veiculoService.cadastrarVeiculo(new Veiculo("CCC-0C00", "MODELO3", "FABRICANTE3", SUV));
+        if (veiculoService.listarTodosVeiculos().isEmpty()) {
+            veiculoService.cadastrarVeiculo(new Veiculo("AAA-0A00", "MODELO1", "FABRICANTE1", PEQUENO));
+            veiculoService.cadastrarVeiculo(new Veiculo("BBB-0B00", "MODELO2", "FABRICANTE2", MEDIO));
+            veiculoService.cadastrarVeiculo(new Veiculo("CCC-0C00", "MODELO3", "FABRICANTE3", SUV));
+        }
+        if (!clienteService.listarTodosClientes().isEmpty()) {
+            return;
+        }
 
         clienteService.cadastrarCliente(new PessoaFisica("CLIENTE PF1", "pf1@cliente.com.br", "1199999-9999", "999.999.999-99"));
         clienteService.cadastrarCliente(new PessoaFisica("CLIENTE PF2", "pf2@cliente.com.br", "1188888-9999", "888.888.888-88"));
@@ -0,0 +1,276 @@
+package team3.analise;
+
+import team3.domain.enums.TipoCliente;
+import team3.domain.enums.TipoVeiculo;
+import team3.domain.model.Aluguel;
+import team3.domain.model.RegistroAluguel;
+import team3.service.AluguelListener;
+import team3.service.VeiculoService;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Receita e utilização da frota. Como listener do AluguelService, soma cada devolução em
+// contadores LongAdder (sem disputa entre balcões), então ler() não percorre o histórico.
+// recalcular() refaz as contas do zero a partir do histórico, em paralelo, para auditoria ou
+// para um período qualquer.
+public class IndicadoresFrota implements AluguelListener {
+
+    private static final TipoVeiculo[] TIPOS_VEICULO = TipoVeiculo.values();
+    private static final TipoCliente[] TIPOS_CLIENTE = TipoCliente.values();
+
+    private final VeiculoService veiculoService;
+    private final Clock relogio;
+    private final Acumulador total = new Acumulador();
+    private final Acumulador[] porTipoVeiculo = novosAcumuladores(TIPOS_VEICULO.length);
+    private final Acumulador[] porTipoCliente = novosAcumuladores(TIPOS_CLIENTE.length);
+    private final ConcurrentMap<String, Acumulador> porLocal = new ConcurrentHashMap<>();
+    private final LongAdder[] alugadosAgora = new LongAdder[TIPOS_VEICULO.length];
+
+    public IndicadoresFrota(VeiculoService veiculoService) {
+        this(veiculoService, Clock.systemDefaultZone());
+    }
+
+    // O relógio define até quando contam os aluguéis em andamento no recálculo
+    public IndicadoresFrota(VeiculoService veiculoService, Clock relogio) {
+        this.veiculoService = veiculoService;
+        this.relogio = relogio;
+        for (int i = 0; i < alugadosAgora.length; i++) {
+            alugadosAgora[i] = new LongAdder();
+        }
+    }
+
+    // Ponto de partida quando já existe histórico (dados recuperados do disco). Chamar antes de
+    // registrar o listener, com o serviço ainda parado.
+    public void carregar(Collection<RegistroAluguel> historico, Collection<Aluguel> ativos) {
+        historico.forEach(this::acumular);
+        for (Aluguel aluguel : ativos) {
+            aoAlugar(aluguel);
+        }
+    }
+
+    @Override
+    public void aoAlugar(Aluguel aluguel) {
+        alugadosAgora[aluguel.getVeiculo().getTipo().ordinal()].increment();
+    }
+
+    @Override
+    public void aoDevolver(RegistroAluguel registro) {
+        acumular(registro);
+        if (registro.getTipoVeiculo() != null) {
+            alugadosAgora[registro.getTipoVeiculo().ordinal()].decrement();
+        }
+    }
+
+    private void acumular(RegistroAluguel registro) {
+        total.somar(registro);
+        if (registro.getTipoVeiculo() != null) {
+            porTipoVeiculo[registro.getTipoVeiculo().ordinal()].somar(registro);
+        }
+        if (registro.getTipoCliente() != null) {
+            porTipoCliente[registro.getTipoCliente().ordinal()].somar(registro);
+        }
+        porLocal.computeIfAbsent(chaveLocal(registro.getLocal()), chave -> new Acumulador()).somar(registro);
+    }
+
+    // Utilização = alugados agora / (alugados agora + disponíveis) de cada tipo
+    public RelatorioIndicadores ler() {
+        Map<TipoVeiculo, Totais> tipos = new EnumMap<>(TipoVeiculo.class);
+        Map<TipoVeiculo, Double> utilizacao = new EnumMap<>(TipoVeiculo.class);
+        for (TipoVeiculo tipo : TIPOS_VEICULO) {
+            tipos.put(tipo, porTipoVeiculo[tipo.ordinal()].ler());
+            long alugados = alugadosAgora[tipo.ordinal()].sum();
+            long frota = alugados + veiculoService.contarVeiculosDisponiveis(tipo);
+            utilizacao.put(tipo, frota == 0 ? 0.0 : (double) alugados / frota);
+        }
+        Map<TipoCliente, Totais> clientes = new EnumMap<>(TipoCliente.class);
+        for (TipoCliente tipo : TIPOS_CLIENTE) {
+            clientes.put(tipo, porTipoCliente[tipo.ordinal()].ler());
+        }
+        Map<String, Totais> locais = new TreeMap<>();
+        porLocal.forEach((local, acumulador) -> locais.put(local, acumulador.ler()));
+        return new RelatorioIndicadores(null, null, total.ler(), tipos, clientes, locais, utilizacao);
+    }
+
+    // Recalcula com a frota atual (alugados + disponíveis de cada tipo) como base da utilização
+    public RelatorioIndicadores recalcular(Collection<RegistroAluguel> historico, Collection<Aluguel> ativos,
+                                           LocalDateTime inicio, LocalDateTime fim) {
+        Map<TipoVeiculo, Long> frota = new EnumMap<>(TipoVeiculo.class);
+        for (TipoVeiculo tipo : TIPOS_VEICULO) {
+            frota.put(tipo, alugadosAgora[tipo.ordinal()].sum() + veiculoService.contarVeiculosDisponiveis(tipo));
+        }
+        return recalcular(historico, ativos, inicio, fim, frota, LocalDateTime.now(relogio));
+    }
+
+    // A receita conta os aluguéis devolvidos em [inicio, fim); a utilização soma o tempo de cada
+    // aluguel (encerrado ou em andamento até "agora") que cai dentro do período, dividido pelo tempo
+    // do período vezes a frota do tipo. inicio/fim null deixam o período aberto daquele lado, e aí
+    // não há utilização. O histórico é dividido entre as threads do ForkJoinPool comum; cada parte
+    // soma num Coletor próprio e as partes são combinadas no fim.
+    public static RelatorioIndicadores recalcular(Collection<RegistroAluguel> historico, Collection<Aluguel> ativos,
+                                                  LocalDateTime inicio, LocalDateTime fim,
+                                                  Map<TipoVeiculo, Long> frotaPorTipo, LocalDateTime agora) {
+        long inicioSegundo = inicio == null ? Long.MIN_VALUE : segundo(inicio);
+        long fimSegundo = fim == null ? Long.MAX_VALUE : segundo(fim);
+        if (fimSegundo <= inicioSegundo) {
+            throw new IllegalArgumentException("Erro: O fim do período deve ser depois do início.");
+        }
+
+        Coletor coletor = historico.parallelStream().collect(() -> new Coletor(inicioSegundo, fimSegundo),
+                Coletor::acumular, Coletor::combinar);
+        long agoraSegundo = segundo(agora);
+        for (Aluguel aluguel : ativos) {
+            coletor.ocupar(aluguel.getVeiculo().getTipo(), segundo(aluguel.getDataAluguel()), agoraSegundo);
+        }
+
+        Map<TipoVeiculo, Totais> tipos = new EnumMap<>(TipoVeiculo.class);
+        Map<TipoVeiculo, Double> utilizacao = new EnumMap<>(TipoVeiculo.class);
+        boolean periodoFechado = inicio != null && fim != null;
+        for (TipoVeiculo tipo : TIPOS_VEICULO) {
+            tipos.put(tipo, coletor.porTipoVeiculo[tipo.ordinal()].totais());
+            long frota = frotaPorTipo.getOrDefault(tipo, 0L);
+            if (periodoFechado) {
+                double capacidade = (double) frota * (fimSegundo - inicioSegundo);
+                utilizacao.put(tipo, capacidade == 0 ? 0.0 : coletor.segundosAlugados[tipo.ordinal()] / capacidade);
+            }
+        }
+        Map<TipoCliente, Totais> clientes = new EnumMap<>(TipoCliente.class);
+        for (TipoCliente tipo : TIPOS_CLIENTE) {
+            clientes.put(tipo, coletor.porTipoCliente[tipo.ordinal()].totais());
+        }
+        Map<String, Totais> locais = new TreeMap<>();
+        coletor.porLocal.forEach((local, soma) -> locais.put(local, soma.totais()));
+        return new RelatorioIndicadores(inicio, fim, coletor.total.totais(), tipos, clientes, locais, utilizacao);
+    }
+
+    private static String chaveLocal(String local) {
+        return local == null ? "" : local.trim();
+    }
+
+    private static long segundo(LocalDateTime data) {
+        return data.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static Acumulador[] novosAcumuladores(int quantidade) {
+        Acumulador[] acumuladores = new Acumulador[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            acumuladores[i] = new Acumulador();
+        }
+        return acumuladores;
+    }
+
+    // Versão concorrente, usada pelo listener
+    private static final class Acumulador {
+        private final LongAdder alugueis = new LongAdder();
+        private final LongAdder diarias = new LongAdder();
+        private final LongAdder receitaCentavos = new LongAdder();
+        private final LongAdder descontoCentavos = new LongAdder();
+
+        void somar(RegistroAluguel registro) {
+            alugueis.increment();
+            diarias.add(registro.getDiarias());
+            receitaCentavos.add(registro.getValorFinalCentavos());
+            descontoCentavos.add(registro.getDescontoCentavos());
+        }
+
+        Totais ler() {
+            return new Totais(alugueis.sum(), diarias.sum(), receitaCentavos.sum(), descontoCentavos.sum());
+        }
+    }
+
+    // Versão de uma thread só, usada em cada parte do recálculo
+    private static final class Soma {
+        long alugueis;
+        long diarias;
+        long receitaCentavos;
+        long descontoCentavos;
+
+        void somar(RegistroAluguel registro) {
+            alugueis++;
+            diarias += registro.getDiarias();
+            receitaCentavos += registro.getValorFinalCentavos();
+            descontoCentavos += registro.getDescontoCentavos();
+        }
+
+        void somar(Soma outra) {
+            alugueis += outra.alugueis;
+            diarias += outra.diarias;
+            receitaCentavos += outra.receitaCentavos;
+            descontoCentavos += outra.descontoCentavos;
+        }
+
+        Totais totais() {
+            return new Totais(alugueis, diarias, receitaCentavos, descontoCentavos);
+        }
+    }
+
+    private static final class Coletor {
+        private final long inicio;
+        private final long fim;
+        private final Soma total = new Soma();
+        private final Soma[] porTipoVeiculo = novasSomas(TIPOS_VEICULO.length);
+        private final Soma[] porTipoCliente = novasSomas(TIPOS_CLIENTE.length);
+        private final Map<String, Soma> porLocal = new HashMap<>();
+        private final long[] segundosAlugados = new long[TIPOS_VEICULO.length];
+
+        Coletor(long inicio, long fim) {
+            this.inicio = inicio;
+            this.fim = fim;
+        }
+
+        void acumular(RegistroAluguel registro) {
+            long devolucao = segundo(registro.getDataDevolucao());
+            if (registro.getTipoVeiculo() != null) {
+                ocupar(registro.getTipoVeiculo(), segundo(registro.getDataAluguel()), devolucao);
+            }
+            if (devolucao < inicio || devolucao >= fim) {
+                return;
+            }
+            total.somar(registro);
+            if (registro.getTipoVeiculo() != null) {
+                porTipoVeiculo[registro.getTipoVeiculo().ordinal()].somar(registro);
+            }
+            if (registro.getTipoCliente() != null) {
+                porTipoCliente[registro.getTipoCliente().ordinal()].somar(registro);
+            }
+            porLocal.computeIfAbsent(chaveLocal(registro.getLocal()), chave -> new Soma()).somar(registro);
+        }
+
+        // Parte de [de, ate) que cai dentro do período
+        void ocupar(TipoVeiculo tipo, long de, long ate) {
+            long sobreposicao = Math.min(ate, fim) - Math.max(de, inicio);
+            if (sobreposicao > 0) {
+                segundosAlugados[tipo.ordinal()] += sobreposicao;
+            }
+        }
+
+        void combinar(Coletor outro) {
+            total.somar(outro.total);
+            for (int i = 0; i < porTipoVeiculo.length; i++) {
+                porTipoVeiculo[i].somar(outro.porTipoVeiculo[i]);
+                segundosAlugados[i] += outro.segundosAlugados[i];
+            }
+            for (int i = 0; i < porTipoCliente.length; i++) {
+                porTipoCliente[i].somar(outro.porTipoCliente[i]);
+            }
+            outro.porLocal.forEach((local, soma) -> porLocal.computeIfAbsent(local, chave -> new Soma()).somar(soma));
+        }
+
+        private static Soma[] novasSomas(int quantidade) {
+            Soma[] somas = new Soma[quantidade];
+            for (int i = 0; i < quantidade; i++) {
+                somas[i] = new Soma();
+            }
+            return somas;
+        }
+    }
+}
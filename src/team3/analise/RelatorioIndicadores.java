@@ -0,0 +1,81 @@
+package team3.analise;
+
+import team3.domain.enums.TipoCliente;
+import team3.domain.enums.TipoVeiculo;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Map;
+
+// Fotografia dos indicadores da frota. Vindo de IndicadoresFrota.ler(), a utilização é a fração da
+// frota alugada agora; vindo de recalcular(), é a fração do tempo do período em que ela esteve alugada.
+public final class RelatorioIndicadores {
+
+    private final LocalDateTime inicio;
+    private final LocalDateTime fim;
+    private final Totais total;
+    private final Map<TipoVeiculo, Totais> porTipoVeiculo;
+    private final Map<TipoCliente, Totais> porTipoCliente;
+    private final Map<String, Totais> porLocal;
+    private final Map<TipoVeiculo, Double> utilizacao;
+
+    RelatorioIndicadores(LocalDateTime inicio, LocalDateTime fim, Totais total, Map<TipoVeiculo, Totais> porTipoVeiculo,
+                         Map<TipoCliente, Totais> porTipoCliente, Map<String, Totais> porLocal,
+                         Map<TipoVeiculo, Double> utilizacao) {
+        this.inicio = inicio;
+        this.fim = fim;
+        this.total = total;
+        this.porTipoVeiculo = Collections.unmodifiableMap(porTipoVeiculo);
+        this.porTipoCliente = Collections.unmodifiableMap(porTipoCliente);
+        this.porLocal = Collections.unmodifiableMap(porLocal);
+        this.utilizacao = Collections.unmodifiableMap(utilizacao);
+    }
+
+    // null quando o período não tem esse limite
+    public LocalDateTime getInicio() {
+        return inicio;
+    }
+
+    public LocalDateTime getFim() {
+        return fim;
+    }
+
+    public Totais getTotal() {
+        return total;
+    }
+
+    public Map<TipoVeiculo, Totais> getPorTipoVeiculo() {
+        return porTipoVeiculo;
+    }
+
+    // Registros antigos, sem o tipo de cliente, entram só no total
+    public Map<TipoCliente, Totais> getPorTipoCliente() {
+        return porTipoCliente;
+    }
+
+    public Map<String, Totais> getPorLocal() {
+        return porLocal;
+    }
+
+    // Entre 0 e 1; vazio quando não há como calcular (recálculo sem período fechado)
+    public Map<TipoVeiculo, Double> getUtilizacao() {
+        return utilizacao;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder texto = new StringBuilder(512);
+        texto.append("Total: ").append(total).append('\n');
+        porTipoVeiculo.forEach((tipo, totais) -> {
+            texto.append("  ").append(tipo).append(": ").append(totais);
+            Double fracao = utilizacao.get(tipo);
+            if (fracao != null) {
+                texto.append(String.format(", utilização %.1f%%", fracao * 100));
+            }
+            texto.append('\n');
+        });
+        porTipoCliente.forEach((tipo, totais) -> texto.append("  ").append(tipo).append(": ").append(totais).append('\n'));
+        porLocal.forEach((local, totais) -> texto.append("  ").append(local).append(": ").append(totais).append('\n'));
+        return texto.toString();
+    }
+}
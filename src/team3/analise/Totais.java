@@ -0,0 +1,47 @@
+package team3.analise;
+
+import team3.service.preco.MotorPreco;
+
+// Soma dos aluguéis encerrados de um recorte (tipo de veículo, filial, tipo de cliente...)
+public final class Totais {
+
+    public static final Totais VAZIO = new Totais(0, 0, 0, 0);
+
+    private final long alugueis;
+    private final long diarias;
+    private final long receitaCentavos;
+    private final long descontoCentavos;
+
+    public Totais(long alugueis, long diarias, long receitaCentavos, long descontoCentavos) {
+        this.alugueis = alugueis;
+        this.diarias = diarias;
+        this.receitaCentavos = receitaCentavos;
+        this.descontoCentavos = descontoCentavos;
+    }
+
+    public long getAlugueis() {
+        return alugueis;
+    }
+
+    public long getDiarias() {
+        return diarias;
+    }
+
+    public long getReceitaCentavos() {
+        return receitaCentavos;
+    }
+
+    public long getDescontoCentavos() {
+        return descontoCentavos;
+    }
+
+    public long getTicketMedioCentavos() {
+        return alugueis == 0 ? 0 : receitaCentavos / alugueis;
+    }
+
+    @Override
+    public String toString() {
+        return alugueis + " aluguel(éis), " + diarias + " diária(s), receita R$ " + MotorPreco.formatarReais(receitaCentavos)
+                + ", descontos R$ " + MotorPreco.formatarReais(descontoCentavos);
+    }
+}
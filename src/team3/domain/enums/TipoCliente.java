@@ -0,0 +1,6 @@
+package team3.domain.enums;
+
+public enum TipoCliente {
+    PESSOA_FISICA,
+    PESSOA_JURIDICA
+}
@@ -6,12 +6,18 @@ public enum TipoVeiculo {
     SUV(200.00);
 
     private final double valorDiaria;
+    private final long valorDiariaCentavos;
 
     TipoVeiculo(double valorDiaria) {
         this.valorDiaria = valorDiaria;
+        this.valorDiariaCentavos = Math.round(valorDiaria * 100);
     }
 
     public double getValorDiaria() {
         return valorDiaria;
     }
+
+    public long getValorDiariaCentavos() {
+        return valorDiariaCentavos;
+    }
 }
@@ -16,6 +16,13 @@ public class Aluguel {
         this.dataAluguel = LocalDateTime.now(); // Pega a data e hora atuais
     }
 
+    public Aluguel(Veiculo veiculo, Cliente cliente, String local, LocalDateTime dataAluguel) {
+        this.veiculo = veiculo;
+        this.cliente = cliente;
+        this.local = local;
+        this.dataAluguel = dataAluguel;
+    }
+
     public Veiculo getVeiculo() {
         return veiculo;
     }
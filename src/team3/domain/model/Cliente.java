@@ -1,5 +1,7 @@
 package team3.domain.model;
 
+import team3.domain.enums.TipoCliente;
+
 public abstract class Cliente {
     private String nome;
     private String email;
@@ -7,6 +9,8 @@ public abstract class Cliente {
 
     public abstract String getDocumento();
 
+    public abstract TipoCliente getTipo();
+
     public String getNome() {
         return nome;
     }
@@ -1,5 +1,7 @@
 package team3.domain.model;
 
+import team3.domain.enums.TipoCliente;
+
 public class PessoaFisica extends Cliente {
     private final String cpf;
 
@@ -15,6 +17,11 @@ public class PessoaFisica extends Cliente {
         return this.cpf;
     }
 
+    @Override
+    public TipoCliente getTipo() {
+        return TipoCliente.PESSOA_FISICA;
+    }
+
     @Override
     public String toString() {
         return "PessoaFisica {" +
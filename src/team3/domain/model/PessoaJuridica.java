@@ -1,5 +1,7 @@
 package team3.domain.model;
 
+import team3.domain.enums.TipoCliente;
+
 public class PessoaJuridica extends Cliente {
     private final String cnpj;
 
@@ -15,6 +17,11 @@ public class PessoaJuridica extends Cliente {
         return this.cnpj;
     }
 
+    @Override
+    public TipoCliente getTipo() {
+        return TipoCliente.PESSOA_JURIDICA;
+    }
+
     @Override
     public String toString() {
         return "PessoaJuridica {" +
@@ -0,0 +1,127 @@
+package team3.domain.model;
+
+import team3.domain.enums.TipoCliente;
+import team3.domain.enums.TipoVeiculo;
+
+import java.time.LocalDateTime;
+
+// Retrato imutável de um aluguel encerrado, guardado no histórico após a devolução
+public class RegistroAluguel {
+    private final String placa;
+    private final String modelo;
+    private final TipoVeiculo tipoVeiculo;
+    private final String documentoCliente;
+    private final String nomeCliente;
+    // Pode ser null em registros gravados antes de o tipo de cliente ser guardado
+    private final TipoCliente tipoCliente;
+    private final String local;
+    private final LocalDateTime dataAluguel;
+    private final LocalDateTime dataDevolucao;
+    private final long diarias;
+    // Valores em centavos e desconto em pontos-base (100 = 1%)
+    private final long valorBaseCentavos;
+    private final int descontoPontosBase;
+    private final long valorFinalCentavos;
+
+    public RegistroAluguel(Aluguel aluguel, long diarias, long valorBaseCentavos, int descontoPontosBase, long valorFinalCentavos) {
+        this(aluguel.getVeiculo().getPlaca(), aluguel.getVeiculo().getModelo(), aluguel.getVeiculo().getTipo(),
+                aluguel.getCliente().getDocumento(), aluguel.getCliente().getNome(), aluguel.getCliente().getTipo(),
+                aluguel.getLocal(), aluguel.getDataAluguel(), aluguel.getDataDevolucao(), diarias, valorBaseCentavos,
+                descontoPontosBase, valorFinalCentavos);
+    }
+
+    public RegistroAluguel(String placa, String modelo, TipoVeiculo tipoVeiculo, String documentoCliente,
+                           String nomeCliente, String local, LocalDateTime dataAluguel, LocalDateTime dataDevolucao,
+                           long diarias, long valorBaseCentavos, int descontoPontosBase, long valorFinalCentavos) {
+        this(placa, modelo, tipoVeiculo, documentoCliente, nomeCliente, null, local, dataAluguel, dataDevolucao,
+                diarias, valorBaseCentavos, descontoPontosBase, valorFinalCentavos);
+    }
+
+    public RegistroAluguel(String placa, String modelo, TipoVeiculo tipoVeiculo, String documentoCliente,
+                           String nomeCliente, TipoCliente tipoCliente, String local, LocalDateTime dataAluguel,
+                           LocalDateTime dataDevolucao, long diarias, long valorBaseCentavos, int descontoPontosBase,
+                           long valorFinalCentavos) {
+        this.placa = placa;
+        this.modelo = modelo;
+        this.tipoVeiculo = tipoVeiculo;
+        this.documentoCliente = documentoCliente;
+        this.nomeCliente = nomeCliente;
+        this.tipoCliente = tipoCliente;
+        this.local = local;
+        this.dataAluguel = dataAluguel;
+        this.dataDevolucao = dataDevolucao;
+        this.diarias = diarias;
+        this.valorBaseCentavos = valorBaseCentavos;
+        this.descontoPontosBase = descontoPontosBase;
+        this.valorFinalCentavos = valorFinalCentavos;
+    }
+
+    public String getPlaca() {
+        return placa;
+    }
+
+    public String getModelo() {
+        return modelo;
+    }
+
+    public TipoVeiculo getTipoVeiculo() {
+        return tipoVeiculo;
+    }
+
+    public String getDocumentoCliente() {
+        return documentoCliente;
+    }
+
+    public String getNomeCliente() {
+        return nomeCliente;
+    }
+
+    public TipoCliente getTipoCliente() {
+        return tipoCliente;
+    }
+
+    public String getLocal() {
+        return local;
+    }
+
+    public LocalDateTime getDataAluguel() {
+        return dataAluguel;
+    }
+
+    public LocalDateTime getDataDevolucao() {
+        return dataDevolucao;
+    }
+
+    public long getDiarias() {
+        return diarias;
+    }
+
+    public long getValorBaseCentavos() {
+        return valorBaseCentavos;
+    }
+
+    public int getDescontoPontosBase() {
+        return descontoPontosBase;
+    }
+
+    public long getDescontoCentavos() {
+        return valorBaseCentavos - valorFinalCentavos;
+    }
+
+    public long getValorFinalCentavos() {
+        return valorFinalCentavos;
+    }
+
+    @Override
+    public String toString() {
+        return "RegistroAluguel {" +
+                "placa='" + placa + '\'' +
+                ", cliente='" + documentoCliente + '\'' +
+                ", local='" + local + '\'' +
+                ", dataAluguel=" + dataAluguel +
+                ", dataDevolucao=" + dataDevolucao +
+                ", diarias=" + diarias +
+                ", valorFinalCentavos=" + valorFinalCentavos +
+                '}';
+    }
+}
@@ -0,0 +1,51 @@
+package team3.domain.model;
+
+import java.time.LocalDateTime;
+
+// Veículo separado para um cliente no período [inicio, fim)
+public class Reserva {
+    private final long id;
+    private final Veiculo veiculo;
+    private final Cliente cliente;
+    private final LocalDateTime inicio;
+    private final LocalDateTime fim;
+
+    public Reserva(long id, Veiculo veiculo, Cliente cliente, LocalDateTime inicio, LocalDateTime fim) {
+        this.id = id;
+        this.veiculo = veiculo;
+        this.cliente = cliente;
+        this.inicio = inicio;
+        this.fim = fim;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public Veiculo getVeiculo() {
+        return veiculo;
+    }
+
+    public Cliente getCliente() {
+        return cliente;
+    }
+
+    public LocalDateTime getInicio() {
+        return inicio;
+    }
+
+    public LocalDateTime getFim() {
+        return fim;
+    }
+
+    @Override
+    public String toString() {
+        return "Reserva {" +
+                "id=" + id +
+                ", placa='" + veiculo.getPlaca() + '\'' +
+                ", cliente='" + cliente.getDocumento() + '\'' +
+                ", inicio=" + inicio +
+                ", fim=" + fim +
+                '}';
+    }
+}
@@ -2,12 +2,29 @@ package team3.domain.model;
 
 import team3.domain.enums.TipoVeiculo;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
 public class Veiculo {
+    private static final VarHandle DISPONIVEL;
+    private static final VarHandle VERSAO_CADASTRO;
+
+    static {
+        try {
+            DISPONIVEL = MethodHandles.lookup().findVarHandle(Veiculo.class, "disponivel", boolean.class);
+            VERSAO_CADASTRO = MethodHandles.lookup().findVarHandle(Veiculo.class, "versaoCadastro", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
     private final String placa;
     private String modelo;
     private String fabricante;
-    private boolean disponivel = true;
+    private volatile boolean disponivel = true;
     private TipoVeiculo tipo;
+    // Avança a cada setModelo, setFabricante ou setTipo; a disponibilidade não conta
+    private volatile long versaoCadastro;
 
     public Veiculo(String placa, String modelo, String fabricante, TipoVeiculo tipo) {
         this.placa = placa;
@@ -26,6 +43,7 @@ public class Veiculo {
 
     public void setModelo(String modelo) {
         this.modelo = modelo;
+        VERSAO_CADASTRO.getAndAdd(this, 1L);
     }
 
     public String getFabricante() {
@@ -34,6 +52,7 @@ public class Veiculo {
 
     public void setFabricante(String fabricante) {
         this.fabricante = fabricante;
+        VERSAO_CADASTRO.getAndAdd(this, 1L);
     }
 
     public boolean isDisponivel() {
@@ -44,22 +63,33 @@ public class Veiculo {
         this.disponivel = disponivel;
     }
 
+    // Troca disponível -> alugado de forma atômica; false se outro aluguel chegou antes
+    public boolean marcarComoAlugado() {
+        return DISPONIVEL.compareAndSet(this, true, false);
+    }
+
     public TipoVeiculo getTipo() {
         return tipo;
     }
 
     public void setTipo(TipoVeiculo tipo) {
         this.tipo = tipo;
+        VERSAO_CADASTRO.getAndAdd(this, 1L);
+    }
+
+    // Lida antes dos campos, uma versão igual garante que modelo, fabricante e tipo não mudaram
+    public long getVersaoCadastro() {
+        return versaoCadastro;
     }
 
     @Override
     public String toString() {
         return "Veiculo {" +
-                "placa='" + placa + '\'' +
-                ", modelo='" + modelo + '\'' +
-                ", fabricante='" + fabricante + '\'' +
-                ", tipo=" + tipo +
-                ", disponivel=" + (disponivel ? "Sim" : "Não") +
+                "placa='" + getPlaca() + '\'' +
+                ", modelo='" + getModelo() + '\'' +
+                ", fabricante='" + getFabricante() + '\'' +
+                ", tipo=" + getTipo() +
+                ", disponivel=" + (isDisponivel() ? "Sim" : "Não") +
                 '}';
     }
 }
\ No newline at end of file
@@ -0,0 +1,114 @@
+package team3.eventos;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// Uma thread que entrega ao consumidor, em ordem e em lotes, os eventos publicados no barramento.
+// Uma exceção do consumidor é contada em getFalhas e não interrompe a entrega dos seguintes.
+public class Assinatura {
+
+    private final BarramentoEventos barramento;
+    private final String nome;
+    private final ConsumidorEventos consumidor;
+    private final Thread entregador;
+    // Última sequência entregue; o barramento não sobrescreve nada depois dela
+    private volatile long entregue;
+    private volatile boolean ativa = true;
+    private volatile boolean drenar;
+
+    private final LongAdder entregues = new LongAdder();
+    private final LongAdder lotes = new LongAdder();
+    private final LongAdder falhas = new LongAdder();
+
+    Assinatura(BarramentoEventos barramento, String nome, ConsumidorEventos consumidor, long primeira) {
+        this.barramento = barramento;
+        this.nome = nome;
+        this.consumidor = consumidor;
+        this.entregue = primeira - 1;
+        this.entregador = new Thread(this::entregar, "eventos-" + nome);
+        this.entregador.setDaemon(true);
+    }
+
+    void comecarEm(long primeira) {
+        entregue = primeira - 1;
+    }
+
+    void iniciar() {
+        entregador.start();
+    }
+
+    // Para de receber na hora; o que ainda não foi entregue é descartado para esta assinatura
+    public void cancelar() {
+        encerrar(false);
+    }
+
+    void encerrar(boolean drenar) {
+        this.drenar = drenar;
+        ativa = false;
+        if (Thread.currentThread() != entregador) {
+            try {
+                entregador.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        barramento.remover(this);
+    }
+
+    private void entregar() {
+        long proxima = entregue + 1;
+        for (int tentativas = 0; ; ) {
+            long ate = barramento.publicadaAte(proxima);
+            if (ate < proxima) {
+                if (!ativa && (!drenar || barramento.entregouTudo(proxima))) {
+                    return;
+                }
+                BarramentoEventos.esperar(tentativas++);
+                continue;
+            }
+            tentativas = 0;
+            for (long sequencia = proxima; sequencia <= ate; sequencia++) {
+                try {
+                    consumidor.aoReceber(barramento.evento(sequencia), sequencia == ate);
+                } catch (RuntimeException e) {
+                    falhas.increment();
+                }
+            }
+            entregues.add(ate - proxima + 1);
+            lotes.increment();
+            // libera as posições entregues para quem está publicando
+            entregue = ate;
+            proxima = ate + 1;
+            if (!ativa && !drenar) {
+                return;
+            }
+        }
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public long getSequencia() {
+        return entregue;
+    }
+
+    public long getEntregues() {
+        return entregues.sum();
+    }
+
+    public long getLotes() {
+        return lotes.sum();
+    }
+
+    public long getFalhas() {
+        return falhas.sum();
+    }
+
+    @Override
+    public String toString() {
+        long quantidadeLotes = getLotes();
+        return String.format("%s: até #%d, %d entregues em %d lotes (%.1f por lote), %d falhas",
+                nome, entregue, getEntregues(), quantidadeLotes,
+                quantidadeLotes == 0 ? 0.0 : (double) getEntregues() / quantidadeLotes, getFalhas());
+    }
+}
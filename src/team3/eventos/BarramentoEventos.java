@@ -0,0 +1,225 @@
+package team3.eventos;
+
+import java.io.Closeable;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// Barramento de eventos de alteração em um buffer circular com os Evento já alocados. Quem
+// publica reserva a próxima sequência com um getAndIncrement, preenche a posição dela e marca a
+// volta do buffer em que ela foi escrita; não há trava nem alocação por evento. Cada assinatura
+// tem uma thread que entrega em lote tudo o que já foi publicado desde a última entrega.
+// Quem publica nunca passa por cima de um evento que alguma assinatura ainda não recebeu: com o
+// buffer cheio, espera a assinatura mais atrasada (contado em getEsperasPorEspaco). Por isso um
+// consumidor não deve publicar no mesmo barramento de dentro de aoReceber (nem fechá-lo).
+public class BarramentoEventos implements Closeable {
+
+    private static final Assinatura[] NENHUMA = new Assinatura[0];
+
+    private final Evento[] eventos;
+    private final int mascara;
+    private final int bitsVolta;
+    // Volta do buffer em que cada posição foi publicada pela última vez (-1 = nunca)
+    private final AtomicIntegerArray voltaPublicada;
+    // Próxima sequência a reservar
+    private final AtomicLong reservada = new AtomicLong();
+    private volatile Assinatura[] assinaturas = NENHUMA;
+    private volatile boolean fechado;
+    // Publicações que já passaram (ou estão passando) pela conferência de "fechado"
+    private final LongAdder publicando = new LongAdder();
+
+    private final LongAdder esperasPorEspaco = new LongAdder();
+
+    // A capacidade é arredondada para a próxima potência de 2
+    public BarramentoEventos(int capacidade) {
+        if (capacidade <= 0 || capacidade > 1 << 30) {
+            throw new IllegalArgumentException("Erro: A capacidade do barramento deve estar entre 1 e " + (1 << 30) + ".");
+        }
+        int tamanho = Integer.highestOneBit(Math.max(2, capacidade) * 2 - 1);
+        this.eventos = new Evento[tamanho];
+        for (int i = 0; i < tamanho; i++) {
+            eventos[i] = new Evento();
+        }
+        this.mascara = tamanho - 1;
+        this.bitsVolta = Integer.numberOfTrailingZeros(tamanho);
+        int[] nunca = new int[tamanho];
+        Arrays.fill(nunca, -1);
+        this.voltaPublicada = new AtomicIntegerArray(nunca);
+    }
+
+    // Devolve a sequência do evento
+    public long publicar(TipoEvento tipo, String chave, Object dado) {
+        publicando.increment();
+        try {
+            if (fechado) {
+                throw new IllegalStateException("Erro: O barramento de eventos já foi fechado.");
+            }
+            long sequencia = reservada.getAndIncrement();
+            esperarEspaco(sequencia);
+            int posicao = (int) sequencia & mascara;
+            eventos[posicao].preencher(sequencia, tipo, chave, dado);
+            voltaPublicada.set(posicao, volta(sequencia));
+            return sequencia;
+        } finally {
+            publicando.decrement();
+        }
+    }
+
+    // Recebe a partir do próximo evento publicado
+    public Assinatura assinar(String nome, ConsumidorEventos consumidor) {
+        return iniciar(nome, consumidor, reservada.get(), false);
+    }
+
+    // Recebe a partir de "sequencia", que precisa estar entre getSequenciaMaisAntiga() e a próxima a publicar
+    public Assinatura assinar(String nome, ConsumidorEventos consumidor, long sequencia) {
+        return iniciar(nome, consumidor, sequencia, true);
+    }
+
+    private synchronized Assinatura iniciar(String nome, ConsumidorEventos consumidor, long sequencia, boolean conferir) {
+        if (fechado) {
+            throw new IllegalStateException("Erro: O barramento de eventos já foi fechado.");
+        }
+        if (sequencia < 0) {
+            throw new IllegalArgumentException("Erro: Sequência " + sequencia + " inválida.");
+        }
+        Assinatura assinatura = new Assinatura(this, nome, consumidor, sequencia);
+        incluir(assinatura);
+        // Conferido depois de entrar na lista: daqui em diante quem publica já espera por ela,
+        // e quem reservou antes só sobrescreve sequências menores que a mais antiga abaixo
+        long proxima = reservada.get();
+        if (!conferir) {
+            assinatura.comecarEm(proxima);
+        } else if (sequencia > proxima || sequencia < proxima - eventos.length) {
+            remover(assinatura);
+            throw new IllegalArgumentException("Erro: A sequência " + sequencia + " não está no barramento (disponíveis: "
+                    + Math.max(0, proxima - eventos.length) + " a " + proxima + ").");
+        }
+        assinatura.iniciar();
+        return assinatura;
+    }
+
+    // Para de aceitar publicações e encerra as assinaturas depois de entregarem o que já foi publicado
+    @Override
+    public void close() {
+        Assinatura[] ativas;
+        synchronized (this) {
+            if (fechado) {
+                return;
+            }
+            fechado = true;
+            ativas = assinaturas;
+        }
+        // Quem viu "fechado" ainda falso vai reservar e publicar; as assinaturas seguem ativas (e
+        // liberando espaço) até essas publicações terminarem, para a drenagem incluí-las
+        for (int tentativas = 0; publicando.sum() != 0; tentativas++) {
+            esperar(tentativas);
+        }
+        for (Assinatura assinatura : ativas) {
+            assinatura.encerrar(true);
+        }
+    }
+
+    public int getCapacidade() {
+        return eventos.length;
+    }
+
+    // Sequência do último evento reservado, ou -1 se nada foi publicado
+    public long getUltimaSequencia() {
+        return reservada.get() - 1;
+    }
+
+    // A partir desta sequência é possível assinar com replay
+    public long getSequenciaMaisAntiga() {
+        return Math.max(0, reservada.get() - eventos.length);
+    }
+
+    public long getEsperasPorEspaco() {
+        return esperasPorEspaco.sum();
+    }
+
+    public Assinatura[] getAssinaturas() {
+        return assinaturas.clone();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d eventos, buffer de %d, %d esperas por espaço, %d assinaturas",
+                reservada.get(), eventos.length, getEsperasPorEspaco(), assinaturas.length);
+    }
+
+    // Última sequência publicada sem lacunas a partir de "proxima" (proxima - 1 se ela ainda não saiu)
+    long publicadaAte(long proxima) {
+        long limite = reservada.get();
+        long sequencia = proxima;
+        while (sequencia < limite && voltaPublicada.get((int) sequencia & mascara) == volta(sequencia)) {
+            sequencia++;
+        }
+        return sequencia - 1;
+    }
+
+    Evento evento(long sequencia) {
+        return eventos[(int) sequencia & mascara];
+    }
+
+    // Verdadeiro quando todas as reservas feitas até agora já foram entregues a partir de "proxima"
+    boolean entregouTudo(long proxima) {
+        return proxima >= reservada.get();
+    }
+
+    synchronized void remover(Assinatura assinatura) {
+        Assinatura[] atuais = assinaturas;
+        for (int i = 0; i < atuais.length; i++) {
+            if (atuais[i] == assinatura) {
+                Assinatura[] novas = new Assinatura[atuais.length - 1];
+                System.arraycopy(atuais, 0, novas, 0, i);
+                System.arraycopy(atuais, i + 1, novas, i, atuais.length - i - 1);
+                assinaturas = novas;
+                return;
+            }
+        }
+    }
+
+    private void incluir(Assinatura assinatura) {
+        Assinatura[] novas = Arrays.copyOf(assinaturas, assinaturas.length + 1);
+        novas[novas.length - 1] = assinatura;
+        assinaturas = novas;
+    }
+
+    // A posição de "sequencia" guarda a de uma volta antes; só pode ser reescrita quando
+    // todas as assinaturas já passaram dela
+    private void esperarEspaco(long sequencia) {
+        long sobrescrita = sequencia - eventos.length;
+        if (sobrescrita < 0 || menorEntregue() >= sobrescrita) {
+            return;
+        }
+        esperasPorEspaco.increment();
+        for (int tentativas = 0; menorEntregue() < sobrescrita; tentativas++) {
+            esperar(tentativas);
+        }
+    }
+
+    private long menorEntregue() {
+        long menor = Long.MAX_VALUE;
+        for (Assinatura assinatura : assinaturas) {
+            menor = Math.min(menor, assinatura.getSequencia());
+        }
+        return menor;
+    }
+
+    private int volta(long sequencia) {
+        return (int) (sequencia >>> bitsVolta);
+    }
+
+    // Gira um pouco, depois cede a CPU e por fim dorme em passos curtos
+    static void esperar(int tentativas) {
+        if (tentativas < 100) {
+            Thread.onSpinWait();
+        } else if (tentativas < 200) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(50_000);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package team3.eventos;
+
+import team3.domain.model.Cliente;
+import team3.repository.IClienteRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+// CLIENTE_CADASTRADO / CLIENTE_ALTERADO com o documento do cliente como chave
+public class ClienteRepositoryComEventos extends RepositorioComEventos<Cliente, String> implements IClienteRepository {
+
+    private final IClienteRepository repository;
+
+    public ClienteRepositoryComEventos(IClienteRepository repository, BarramentoEventos barramento) {
+        super(repository, barramento, TipoEvento.CLIENTE_CADASTRADO, TipoEvento.CLIENTE_ALTERADO,
+                Cliente::getDocumento);
+        this.repository = repository;
+    }
+
+    @Override
+    public Optional<Cliente> buscarPorEmail(String email) {
+        return repository.buscarPorEmail(email);
+    }
+
+    @Override
+    public List<Cliente> buscarPorTelefone(String telefone) {
+        return repository.buscarPorTelefone(telefone);
+    }
+}
@@ -0,0 +1,8 @@
+package team3.eventos;
+
+// Recebe os eventos de uma assinatura, em ordem de sequência, sempre na mesma thread.
+// Os eventos chegam em lotes (tudo o que já estava publicado); fimDoLote marca o último de
+// cada lote, bom momento para descarregar o que foi acumulado.
+public interface ConsumidorEventos {
+    void aoReceber(Evento evento, boolean fimDoLote);
+}
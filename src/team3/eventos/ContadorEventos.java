@@ -0,0 +1,34 @@
+package team3.eventos;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Consumidor que só conta os eventos recebidos por tipo; útil para acompanhar o barramento
+public class ContadorEventos implements ConsumidorEventos {
+
+    private static final TipoEvento[] TIPOS = TipoEvento.values();
+
+    private final AtomicLongArray porTipo = new AtomicLongArray(TIPOS.length);
+
+    @Override
+    public void aoReceber(Evento evento, boolean fimDoLote) {
+        // uma única thread escreve; lazySet basta para quem só lê os totais
+        int indice = evento.getTipo().ordinal();
+        porTipo.lazySet(indice, porTipo.get(indice) + 1);
+    }
+
+    public long getTotal(TipoEvento tipo) {
+        return porTipo.get(tipo.ordinal());
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder texto = new StringBuilder();
+        for (TipoEvento tipo : TIPOS) {
+            if (texto.length() > 0) {
+                texto.append(", ");
+            }
+            texto.append(tipo).append(": ").append(porTipo.get(tipo.ordinal()));
+        }
+        return texto.toString();
+    }
+}
@@ -0,0 +1,49 @@
+package team3.eventos;
+
+// Uma posição do buffer circular do BarramentoEventos. O mesmo objeto é reaproveitado a cada
+// volta do buffer, então quem recebe o evento copia o que precisar antes de retornar.
+public final class Evento {
+
+    private long sequencia = -1;
+    private TipoEvento tipo;
+    private String chave;
+    private Object dado;
+
+    void preencher(long sequencia, TipoEvento tipo, String chave, Object dado) {
+        this.sequencia = sequencia;
+        this.tipo = tipo;
+        this.chave = chave;
+        this.dado = dado;
+    }
+
+    public long getSequencia() {
+        return sequencia;
+    }
+
+    public TipoEvento getTipo() {
+        return tipo;
+    }
+
+    // Placa normalizada (VeiculoRepository.normalizarPlaca) ou documento do cliente
+    public String getChave() {
+        return chave;
+    }
+
+    public Object getDado() {
+        return dado;
+    }
+
+    // Ex: evento.getDado(Veiculo.class) para VEICULO_CADASTRADO; a classe deve ser a do tipo do evento
+    public <D> D getDado(Class<D> classe) {
+        if (!classe.isAssignableFrom(tipo.getClasseDoDado())) {
+            throw new IllegalArgumentException("Erro: O evento " + tipo + " traz " + tipo.getClasseDoDado().getSimpleName()
+                    + ", não " + classe.getSimpleName() + ".");
+        }
+        return classe.cast(dado);
+    }
+
+    @Override
+    public String toString() {
+        return "#" + sequencia + " " + tipo + " " + chave;
+    }
+}
@@ -0,0 +1,27 @@
+package team3.eventos;
+
+import team3.domain.model.Aluguel;
+import team3.domain.model.RegistroAluguel;
+import team3.repository.VeiculoRepository;
+import team3.service.AluguelListener;
+
+// Registrado no AluguelService: ALUGUEL_INICIADO / ALUGUEL_ENCERRADO com a placa normalizada como chave.
+// A alteração do veículo que acompanha cada aluguel/devolução sai logo depois, como VEICULO_ALTERADO.
+public class PublicadorEventosAluguel implements AluguelListener {
+
+    private final BarramentoEventos barramento;
+
+    public PublicadorEventosAluguel(BarramentoEventos barramento) {
+        this.barramento = barramento;
+    }
+
+    @Override
+    public void aoAlugar(Aluguel aluguel) {
+        barramento.publicar(TipoEvento.ALUGUEL_INICIADO, VeiculoRepository.normalizarPlaca(aluguel.getVeiculo().getPlaca()), aluguel);
+    }
+
+    @Override
+    public void aoDevolver(RegistroAluguel registro) {
+        barramento.publicar(TipoEvento.ALUGUEL_ENCERRADO, VeiculoRepository.normalizarPlaca(registro.getPlaca()), registro);
+    }
+}
@@ -0,0 +1,90 @@
+package team3.eventos;
+
+import team3.repository.Gravacao;
+import team3.repository.IRepository;
+import team3.repository.Pagina;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+// Decorador que publica no barramento um evento para cada cadastro/alteração que o repositório
+// aceitou; se a gravação lança exceção, nada é publicado. Leituras vão direto ao repositório.
+public class RepositorioComEventos<T, ID> implements IRepository<T, ID> {
+
+    private final IRepository<T, ID> repository;
+    private final BarramentoEventos barramento;
+    private final TipoEvento cadastro;
+    private final TipoEvento alteracao;
+    private final Function<? super T, String> chave;
+
+    public RepositorioComEventos(IRepository<T, ID> repository, BarramentoEventos barramento,
+                                 TipoEvento cadastro, TipoEvento alteracao, Function<? super T, String> chave) {
+        this.repository = repository;
+        this.barramento = barramento;
+        this.cadastro = cadastro;
+        this.alteracao = alteracao;
+        this.chave = chave;
+    }
+
+    @Override
+    public void cadastrar(T entidade) {
+        repository.cadastrar(entidade);
+        publicar(cadastro, entidade);
+    }
+
+    @Override
+    public void cadastrarEmLote(List<? extends T> lote) {
+        repository.cadastrarEmLote(lote);
+        for (T entidade : lote) {
+            publicar(cadastro, entidade);
+        }
+    }
+
+    @Override
+    public void alterar(T entidade) {
+        repository.alterar(entidade);
+        publicar(alteracao, entidade);
+    }
+
+    @Override
+    public List<RuntimeException> gravar(List<Gravacao<T>> gravacoes) {
+        List<RuntimeException> falhas = repository.gravar(gravacoes);
+        for (int i = 0; i < gravacoes.size(); i++) {
+            if (falhas.get(i) == null) {
+                Gravacao<T> gravacao = gravacoes.get(i);
+                publicar(gravacao.isCadastro() ? cadastro : alteracao, gravacao.getEntidade());
+            }
+        }
+        return falhas;
+    }
+
+    @Override
+    public Optional<T> buscarPorId(ID id) {
+        return repository.buscarPorId(id);
+    }
+
+    @Override
+    public List<T> listarTodos() {
+        return repository.listarTodos();
+    }
+
+    @Override
+    public void paraCada(Consumer<? super T> acao) {
+        repository.paraCada(acao);
+    }
+
+    @Override
+    public Pagina<T> listarPagina(String cursor, int tamanho) {
+        return repository.listarPagina(cursor, tamanho);
+    }
+
+    public BarramentoEventos getBarramento() {
+        return barramento;
+    }
+
+    private void publicar(TipoEvento tipo, T entidade) {
+        barramento.publicar(tipo, chave.apply(entidade), entidade);
+    }
+}
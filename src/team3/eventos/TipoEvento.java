@@ -0,0 +1,26 @@
+package team3.eventos;
+
+import team3.domain.model.Aluguel;
+import team3.domain.model.Cliente;
+import team3.domain.model.RegistroAluguel;
+import team3.domain.model.Veiculo;
+
+// O que mudou, e de que classe é o dado que acompanha o evento
+public enum TipoEvento {
+    VEICULO_CADASTRADO(Veiculo.class),
+    VEICULO_ALTERADO(Veiculo.class),
+    CLIENTE_CADASTRADO(Cliente.class),
+    CLIENTE_ALTERADO(Cliente.class),
+    ALUGUEL_INICIADO(Aluguel.class),
+    ALUGUEL_ENCERRADO(RegistroAluguel.class);
+
+    private final Class<?> classeDoDado;
+
+    TipoEvento(Class<?> classeDoDado) {
+        this.classeDoDado = classeDoDado;
+    }
+
+    public Class<?> getClasseDoDado() {
+        return classeDoDado;
+    }
+}
@@ -0,0 +1,47 @@
+package team3.eventos;
+
+import team3.domain.enums.TipoVeiculo;
+import team3.domain.model.Veiculo;
+import team3.repository.FiltroVeiculo;
+import team3.repository.IVeiculoRepository;
+import team3.repository.Pagina;
+import team3.repository.VeiculoRepository;
+
+import java.util.List;
+
+// VEICULO_CADASTRADO / VEICULO_ALTERADO com a placa normalizada como chave
+public class VeiculoRepositoryComEventos extends RepositorioComEventos<Veiculo, String> implements IVeiculoRepository {
+
+    private final IVeiculoRepository repository;
+
+    public VeiculoRepositoryComEventos(IVeiculoRepository repository, BarramentoEventos barramento) {
+        super(repository, barramento, TipoEvento.VEICULO_CADASTRADO, TipoEvento.VEICULO_ALTERADO,
+                veiculo -> VeiculoRepository.normalizarPlaca(veiculo.getPlaca()));
+        this.repository = repository;
+    }
+
+    @Override
+    public List<Veiculo> buscarPorParteDoNome(String nome) {
+        return repository.buscarPorParteDoNome(nome);
+    }
+
+    @Override
+    public List<Veiculo> buscarDisponiveisPorTipo(TipoVeiculo tipo, int limite) {
+        return repository.buscarDisponiveisPorTipo(tipo, limite);
+    }
+
+    @Override
+    public int contarDisponiveisPorTipo(TipoVeiculo tipo) {
+        return repository.contarDisponiveisPorTipo(tipo);
+    }
+
+    @Override
+    public Pagina<Veiculo> listarPagina(FiltroVeiculo filtro, String cursor, int tamanho) {
+        return repository.listarPagina(filtro, cursor, tamanho);
+    }
+
+    @Override
+    public Pagina<Veiculo> listarPagina(String cursor, int tamanho) {
+        return repository.listarPagina(cursor, tamanho);
+    }
+}
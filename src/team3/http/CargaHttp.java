@@ -0,0 +1,182 @@
+package team3.http;
+
+import team3.metricas.HistogramaLatencia;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+// Cliente de carga local para o ServidorHttp: cada trabalhador abre uma conexão HTTP/1.1
+// mantida aberta e aluga e devolve o seu próprio veículo em laço; no fim mostra pedidos/s e
+// latências. Fala HTTP direto no socket para o custo medido ser o do servidor, não o do cliente.
+//   java -cp ... team3.http.CargaHttp [--url http://localhost:8080] [--concorrencia 64] [--segundos 10]
+public class CargaHttp {
+
+    private static final String DOCUMENTO_CARGA = "00000000191";
+
+    public static void main(String[] args) throws Exception {
+        String url = "http://localhost:8080";
+        int concorrencia = 64;
+        int segundos = 10;
+        for (int i = 0; i < args.length - 1; i++) {
+            if ("--url".equals(args[i])) {
+                url = args[i + 1];
+            } else if ("--concorrencia".equals(args[i])) {
+                concorrencia = Integer.parseInt(args[i + 1]);
+            } else if ("--segundos".equals(args[i])) {
+                segundos = Integer.parseInt(args[i + 1]);
+            }
+        }
+        URI base = URI.create(url);
+        InetSocketAddress endereco = new InetSocketAddress(base.getHost(), base.getPort() < 0 ? 80 : base.getPort());
+
+        // Cadastro é idempotente aqui: "já existe" de uma rodada anterior não atrapalha
+        try (Conexao conexao = new Conexao(endereco)) {
+            conexao.post("/clientes", "{\"tipo\":\"PJ\",\"documento\":\"" + DOCUMENTO_CARGA
+                    + "\",\"nome\":\"CARGA\",\"email\":\"carga@locatecar.com.br\",\"telefone\":\"1100000-0000\"}");
+            for (int i = 0; i < concorrencia; i++) {
+                conexao.post("/veiculos", "{\"placa\":\"" + placa(i)
+                        + "\",\"modelo\":\"CARGA\",\"fabricante\":\"CARGA\",\"tipo\":\"MEDIO\"}");
+                conexao.post("/devolucoes", "{\"placa\":\"" + placa(i) + "\"}");
+            }
+        }
+
+        HistogramaLatencia latencias = new HistogramaLatencia();
+        LongAdder pedidos = new LongAdder();
+        LongAdder falhas = new LongAdder();
+        long inicio = System.nanoTime();
+        long fim = inicio + segundos * 1_000_000_000L;
+        List<Thread> trabalhadores = new ArrayList<>(concorrencia);
+        for (int i = 0; i < concorrencia; i++) {
+            String placa = placa(i);
+            Thread trabalhador = new Thread(() -> {
+                String alugar = "{\"placa\":\"" + placa + "\",\"documento\":\"" + DOCUMENTO_CARGA + "\",\"local\":\"CARGA\"}";
+                String devolver = "{\"placa\":\"" + placa + "\"}";
+                Conexao conexao = null;
+                while (System.nanoTime() < fim) {
+                    try {
+                        if (conexao == null) {
+                            conexao = new Conexao(endereco);
+                        }
+                        executar(conexao, "/alugueis", alugar, 201, latencias, pedidos, falhas);
+                        executar(conexao, "/devolucoes", devolver, 200, latencias, pedidos, falhas);
+                    } catch (IOException e) {
+                        falhas.increment();
+                        fechar(conexao);
+                        conexao = null;
+                    }
+                }
+                fechar(conexao);
+            }, "carga-" + i);
+            trabalhadores.add(trabalhador);
+            trabalhador.start();
+        }
+        for (Thread trabalhador : trabalhadores) {
+            trabalhador.join();
+        }
+        double duracao = (System.nanoTime() - inicio) / 1e9;
+
+        HistogramaLatencia.Leitura leitura = latencias.ler();
+        System.out.printf("%d pedidos em %.1f s (%.0f pedidos/s), %d falha(s), %d conexões simultâneas%n",
+                pedidos.sum(), duracao, pedidos.sum() / duracao, falhas.sum(), concorrencia);
+        System.out.printf("Latência (ms): p50 %.2f | p99 %.2f | p99,9 %.2f | máx %.2f%n",
+                leitura.percentil(50) / 1e6, leitura.percentil(99) / 1e6, leitura.percentil(99.9) / 1e6,
+                leitura.maximo() / 1e6);
+    }
+
+    private static void executar(Conexao conexao, String caminho, String json, int statusEsperado,
+                                 HistogramaLatencia latencias, LongAdder pedidos, LongAdder falhas) throws IOException {
+        long inicio = System.nanoTime();
+        int status = conexao.post(caminho, json);
+        latencias.registrar(System.nanoTime() - inicio);
+        pedidos.increment();
+        if (status != statusEsperado) {
+            falhas.increment();
+        }
+    }
+
+    private static void fechar(Conexao conexao) {
+        if (conexao == null) {
+            return;
+        }
+        try {
+            conexao.close();
+        } catch (IOException e) {
+            // a conexão já caiu; nada a fazer
+        }
+    }
+
+    private static String placa(int i) {
+        return String.format("CRG%05d", i);
+    }
+
+    // Uma conexão keep-alive: escreve o pedido e lê a resposta pelo Content-Length
+    private static final class Conexao implements AutoCloseable {
+        private final Socket socket;
+        private final String host;
+        private final OutputStream saida;
+        private final InputStream entrada;
+        private final StringBuilder linha = new StringBuilder(128);
+
+        Conexao(InetSocketAddress endereco) throws IOException {
+            socket = new Socket();
+            socket.setTcpNoDelay(true);
+            socket.connect(endereco, 5000);
+            host = endereco.getHostString() + ":" + endereco.getPort();
+            saida = socket.getOutputStream();
+            entrada = new BufferedInputStream(socket.getInputStream(), 8192);
+        }
+
+        int post(String caminho, String json) throws IOException {
+            byte[] corpo = json.getBytes(StandardCharsets.UTF_8);
+            byte[] cabecalho = ("POST " + caminho + " HTTP/1.1\r\nHost: " + host
+                    + "\r\nContent-Type: application/json\r\nContent-Length: " + corpo.length + "\r\n\r\n")
+                    .getBytes(StandardCharsets.US_ASCII);
+            byte[] pedido = new byte[cabecalho.length + corpo.length];
+            System.arraycopy(cabecalho, 0, pedido, 0, cabecalho.length);
+            System.arraycopy(corpo, 0, pedido, cabecalho.length, corpo.length);
+            saida.write(pedido);
+            saida.flush();
+
+            String statusLinha = lerLinha();
+            int status = Integer.parseInt(statusLinha.substring(9, 12));
+            long tamanho = 0;
+            String cabecalhoResposta;
+            while (!(cabecalhoResposta = lerLinha()).isEmpty()) {
+                int doisPontos = cabecalhoResposta.indexOf(':');
+                if (doisPontos > 0 && cabecalhoResposta.substring(0, doisPontos).equalsIgnoreCase("Content-Length")) {
+                    tamanho = Long.parseLong(cabecalhoResposta.substring(doisPontos + 1).trim());
+                }
+            }
+            entrada.skipNBytes(tamanho);
+            return status;
+        }
+
+        private String lerLinha() throws IOException {
+            linha.setLength(0);
+            int c;
+            while ((c = entrada.read()) != '\n') {
+                if (c < 0) {
+                    throw new IOException("Conexão encerrada pelo servidor.");
+                }
+                if (c != '\r') {
+                    linha.append((char) c);
+                }
+            }
+            return linha.toString();
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package team3.http;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// JSON mínimo para a API: escrita direto num StringBuilder e leitura de objetos planos
+// ({"campo": "texto" | número | true | false | null}), que é tudo o que os pedidos usam.
+final class Json {
+
+    private Json() {
+    }
+
+    static StringBuilder texto(StringBuilder destino, String valor) {
+        if (valor == null) {
+            return destino.append("null");
+        }
+        destino.append('"');
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            switch (c) {
+                case '"':
+                    destino.append("\\\"");
+                    break;
+                case '\\':
+                    destino.append("\\\\");
+                    break;
+                case '\n':
+                    destino.append("\\n");
+                    break;
+                case '\r':
+                    destino.append("\\r");
+                    break;
+                case '\t':
+                    destino.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        destino.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        destino.append(c);
+                    }
+            }
+        }
+        return destino.append('"');
+    }
+
+    // Acrescenta "nome": e devolve o destino para o valor ser escrito em seguida
+    static StringBuilder campo(StringBuilder destino, String nome) {
+        char ultimo = destino.length() == 0 ? 0 : destino.charAt(destino.length() - 1);
+        if (ultimo != '{' && ultimo != 0) {
+            destino.append(',');
+        }
+        return texto(destino, nome).append(':');
+    }
+
+    static Map<String, String> lerObjeto(String json) {
+        Leitor leitor = new Leitor(json);
+        Map<String, String> campos = new HashMap<>();
+        leitor.esperar('{');
+        if (!leitor.consumir('}')) {
+            do {
+                String nome = leitor.lerTexto();
+                leitor.esperar(':');
+                campos.put(nome, leitor.lerValor());
+            } while (leitor.consumir(','));
+            leitor.esperar('}');
+        }
+        leitor.pularEspacos();
+        if (!leitor.fim()) {
+            throw leitor.erro();
+        }
+        return campos;
+    }
+
+    private static final class Leitor {
+        private final String json;
+        private int posicao;
+
+        Leitor(String json) {
+            this.json = json;
+        }
+
+        boolean fim() {
+            return posicao >= json.length();
+        }
+
+        void pularEspacos() {
+            while (!fim() && Character.isWhitespace(json.charAt(posicao))) {
+                posicao++;
+            }
+        }
+
+        boolean consumir(char esperado) {
+            pularEspacos();
+            if (!fim() && json.charAt(posicao) == esperado) {
+                posicao++;
+                return true;
+            }
+            return false;
+        }
+
+        void esperar(char esperado) {
+            if (!consumir(esperado)) {
+                throw erro();
+            }
+        }
+
+        String lerValor() {
+            pularEspacos();
+            if (fim()) {
+                throw erro();
+            }
+            if (json.charAt(posicao) == '"') {
+                return lerTexto();
+            }
+            int inicio = posicao;
+            while (!fim() && "-+.eE0123456789truefalsn".indexOf(json.charAt(posicao)) >= 0) {
+                posicao++;
+            }
+            String valor = json.substring(inicio, posicao);
+            if (valor.isEmpty()) {
+                throw erro();
+            }
+            return valor.equals("null") ? null : valor;
+        }
+
+        String lerTexto() {
+            esperar('"');
+            StringBuilder valor = new StringBuilder();
+            while (!fim()) {
+                char c = json.charAt(posicao++);
+                if (c == '"') {
+                    return valor.toString();
+                }
+                if (c != '\\') {
+                    valor.append(c);
+                    continue;
+                }
+                if (fim()) {
+                    break;
+                }
+                char escape = json.charAt(posicao++);
+                switch (escape) {
+                    case 'n':
+                        valor.append('\n');
+                        break;
+                    case 'r':
+                        valor.append('\r');
+                        break;
+                    case 't':
+                        valor.append('\t');
+                        break;
+                    case 'b':
+                        valor.append('\b');
+                        break;
+                    case 'f':
+                        valor.append('\f');
+                        break;
+                    case 'u':
+                        if (posicao + 4 > json.length()) {
+                            throw erro();
+                        }
+                        try {
+                            valor.append((char) Integer.parseInt(json.substring(posicao, posicao + 4), 16));
+                        } catch (NumberFormatException e) {
+                            throw erro();
+                        }
+                        posicao += 4;
+                        break;
+                    default:
+                        valor.append(escape);
+                }
+            }
+            throw erro();
+        }
+
+        IllegalArgumentException erro() {
+            return new IllegalArgumentException("Erro: JSON inválido na posição " + posicao + ".");
+        }
+    }
+}
@@ -0,0 +1,587 @@
+package team3.http;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import team3.analise.IndicadoresFrota;
+import team3.analise.RelatorioIndicadores;
+import team3.analise.Totais;
+import team3.domain.enums.TipoCliente;
+import team3.domain.enums.TipoVeiculo;
+import team3.domain.model.Cliente;
+import team3.domain.model.PessoaFisica;
+import team3.domain.model.PessoaJuridica;
+import team3.domain.model.RegistroAluguel;
+import team3.domain.model.Reserva;
+import team3.domain.model.Veiculo;
+import team3.metricas.MetricasOperacao;
+import team3.metricas.RegistroMetricas;
+import team3.repository.FiltroVeiculo;
+import team3.repository.Pagina;
+import team3.service.AluguelService;
+import team3.service.ClienteService;
+import team3.service.MotivoRecusa;
+import team3.service.ReservaService;
+import team3.service.ResultadoAluguel;
+import team3.service.ResultadoDevolucao;
+import team3.service.ResultadoReserva;
+import team3.service.ResumoFilial;
+import team3.service.VeiculoService;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// API HTTP/JSON sobre os serviços, para balcões e parceiros acessarem ao mesmo tempo.
+//   GET  /veiculos?tipo=&disponivel=&cursor=&tamanho=   página de veículos
+//   GET  /veiculos?modelo=                              busca por parte do modelo
+//   GET  /veiculos?tipo=&inicio=&fim=&tamanho=          veículos sem reserva no período
+//   GET  /veiculos/{placa}        POST /veiculos {placa, modelo, fabricante, tipo}
+//   GET  /clientes?cursor=&tamanho=                     página de clientes
+//   GET  /clientes?email=  |  /clientes?telefone=
+//   GET  /clientes/{documento}    POST /clientes {tipo: PF|PJ (ou o nome do TipoCliente), documento, nome, email, telefone}
+//   POST /alugueis {placa, documento, local, devolucaoPrevista?}   POST /devolucoes {placa, local?}
+//   POST /reservas {placa, documento, inicio, fim}     GET|DELETE /reservas/{número}
+//   GET  /reservas?placa=  |  /reservas?documento=
+//   GET  /indicadores[?inicio=&fim=]   receita e utilização; com período, recalculadas do histórico
+//   GET  /filiais                      disponíveis e alugados por tipo em cada filial
+//   GET  /metricas
+// Datas no formato ISO (2024-05-10T14:30). Cada pedido roda numa virtual thread quando o JDK tem (21+); no 17 cai num pool fixo.
+// As respostas sempre têm Content-Length, então a conexão HTTP/1.1 fica aberta entre pedidos.
+public class ServidorHttp implements Closeable {
+
+    private static final int TAMANHO_MAXIMO_CORPO = 64 * 1024;
+    private static final int TAMANHO_PAGINA_PADRAO = 20;
+
+    private final HttpServer servidor;
+    private final ExecutorService executor;
+    private final VeiculoService veiculoService;
+    private final ClienteService clienteService;
+    private final AluguelService aluguelService;
+    private final ReservaService reservaService;
+    private final IndicadoresFrota indicadores;
+    private final RegistroMetricas metricas;
+
+    public ServidorHttp(InetSocketAddress endereco, VeiculoService veiculoService, ClienteService clienteService,
+                        AluguelService aluguelService, ReservaService reservaService, IndicadoresFrota indicadores,
+                        RegistroMetricas metricas) throws IOException {
+        // Sem nodelay o Nagle segura respostas pequenas em conexões mantidas abertas; o padrão de
+        // 200 conexões ociosas faria o servidor fechar keep-alives de balcões que só pausaram
+        padraoSeAusente("sun.net.httpserver.nodelay", "true");
+        padraoSeAusente("sun.net.httpserver.maxIdleConnections", "10000");
+        this.veiculoService = veiculoService;
+        this.clienteService = clienteService;
+        this.aluguelService = aluguelService;
+        this.reservaService = reservaService;
+        this.indicadores = indicadores;
+        this.metricas = metricas;
+        this.servidor = HttpServer.create(endereco, 1024);
+        this.executor = criarExecutor();
+        servidor.setExecutor(executor);
+        servidor.createContext("/veiculos", troca -> atender(troca, this::veiculos));
+        servidor.createContext("/clientes", troca -> atender(troca, this::clientes));
+        servidor.createContext("/alugueis", troca -> atender(troca, this::alugueis));
+        servidor.createContext("/devolucoes", troca -> atender(troca, this::devolucoes));
+        servidor.createContext("/reservas", troca -> atender(troca, this::reservas));
+        servidor.createContext("/indicadores", troca -> atender(troca, this::indicadores));
+        servidor.createContext("/filiais", troca -> atender(troca, this::filiais));
+        servidor.createContext("/metricas", troca -> atender(troca, this::metricas));
+    }
+
+    private static void padraoSeAusente(String propriedade, String valor) {
+        if (System.getProperty(propriedade) == null) {
+            System.setProperty(propriedade, valor);
+        }
+    }
+
+    public void iniciar() {
+        servidor.start();
+    }
+
+    public int getPorta() {
+        return servidor.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        servidor.stop(1);
+        executor.shutdown();
+    }
+
+    // newVirtualThreadPerTaskExecutor só existe a partir do JDK 21; o build mira o 17
+    static ExecutorService criarExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            AtomicInteger contador = new AtomicInteger();
+            int threads = Math.max(16, Runtime.getRuntime().availableProcessors() * 8);
+            return Executors.newFixedThreadPool(threads, tarefa -> {
+                Thread thread = new Thread(tarefa, "http-" + contador.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    @FunctionalInterface
+    private interface Rota {
+        // Escreve o JSON em "corpo" e devolve o status HTTP
+        int tratar(Pedido pedido, StringBuilder corpo);
+    }
+
+    private static final class Pedido {
+        final String metodo;
+        final String recurso;
+        final Map<String, String> parametros;
+        final String corpo;
+
+        Pedido(String metodo, String recurso, Map<String, String> parametros, String corpo) {
+            this.metodo = metodo;
+            this.recurso = recurso;
+            this.parametros = parametros;
+            this.corpo = corpo;
+        }
+
+        Map<String, String> json() {
+            return Json.lerObjeto(corpo);
+        }
+
+        String parametro(String nome) {
+            return parametros.get(nome);
+        }
+    }
+
+    private void atender(HttpExchange troca, Rota rota) throws IOException {
+        try {
+            StringBuilder corpo = new StringBuilder(256);
+            int status;
+            try {
+                status = rota.tratar(lerPedido(troca), corpo);
+            } catch (IllegalArgumentException e) {
+                corpo.setLength(0);
+                status = erro(corpo, 400, null, e.getMessage());
+            } catch (RuntimeException e) {
+                corpo.setLength(0);
+                status = erro(corpo, 500, null, "Erro interno: " + e);
+            }
+            byte[] resposta = corpo.toString().getBytes(StandardCharsets.UTF_8);
+            troca.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            troca.sendResponseHeaders(status, resposta.length == 0 ? -1 : resposta.length);
+            try (OutputStream saida = troca.getResponseBody()) {
+                saida.write(resposta);
+            }
+        } finally {
+            troca.close();
+        }
+    }
+
+    private static Pedido lerPedido(HttpExchange troca) throws IOException {
+        String caminho = troca.getRequestURI().getRawPath();
+        String contexto = troca.getHttpContext().getPath();
+        String recurso = caminho.length() > contexto.length() + 1
+                ? URLDecoder.decode(caminho.substring(contexto.length() + 1), StandardCharsets.UTF_8)
+                : "";
+
+        Map<String, String> parametros = new HashMap<>();
+        String consulta = troca.getRequestURI().getRawQuery();
+        if (consulta != null) {
+            for (String par : consulta.split("&")) {
+                int igual = par.indexOf('=');
+                if (igual > 0) {
+                    parametros.put(URLDecoder.decode(par.substring(0, igual), StandardCharsets.UTF_8),
+                            URLDecoder.decode(par.substring(igual + 1), StandardCharsets.UTF_8));
+                }
+            }
+        }
+
+        // O corpo é sempre lido até o fim para a conexão poder ser reaproveitada
+        String corpo;
+        try (InputStream entrada = troca.getRequestBody()) {
+            byte[] bytes = entrada.readNBytes(TAMANHO_MAXIMO_CORPO + 1);
+            if (bytes.length > TAMANHO_MAXIMO_CORPO) {
+                throw new IllegalArgumentException("Erro: Corpo do pedido maior que " + TAMANHO_MAXIMO_CORPO + " bytes.");
+            }
+            corpo = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return new Pedido(troca.getRequestMethod(), recurso, parametros, corpo);
+    }
+
+    private int veiculos(Pedido pedido, StringBuilder corpo) {
+        if (pedido.metodo.equals("POST") && pedido.recurso.isEmpty()) {
+            Map<String, String> campos = pedido.json();
+            Veiculo veiculo = new Veiculo(obrigatorio(campos, "placa"), obrigatorio(campos, "modelo"),
+                    obrigatorio(campos, "fabricante"), tipoVeiculo(obrigatorio(campos, "tipo")));
+            veiculoService.cadastrarVeiculo(veiculo);
+            escreverVeiculo(corpo, veiculo);
+            return 201;
+        }
+        if (!pedido.metodo.equals("GET")) {
+            return erro(corpo, 405, null, "Erro: Método " + pedido.metodo + " não suportado.");
+        }
+        if (!pedido.recurso.isEmpty()) {
+            Optional<Veiculo> veiculo = veiculoService.buscarVeiculoPorPlaca(pedido.recurso);
+            if (veiculo.isEmpty()) {
+                return erro(corpo, 404, MotivoRecusa.VEICULO_NAO_ENCONTRADO, MotivoRecusa.VEICULO_NAO_ENCONTRADO.getMensagem());
+            }
+            escreverVeiculo(corpo, veiculo.get());
+            return 200;
+        }
+        if (pedido.parametro("modelo") != null) {
+            escreverLista(corpo, veiculoService.buscarVeiculoPorModelo(pedido.parametro("modelo")), ServidorHttp::escreverVeiculo);
+            return 200;
+        }
+        String tipo = pedido.parametro("tipo");
+        if (pedido.parametro("inicio") != null || pedido.parametro("fim") != null) {
+            if (tipo == null) {
+                throw new IllegalArgumentException("Erro: Informe o tipo junto com o período.");
+            }
+            List<Veiculo> livres = reservaService.buscarVeiculosDisponiveis(tipoVeiculo(tipo),
+                    data(pedido.parametro("inicio")), data(pedido.parametro("fim")), tamanhoPagina(pedido));
+            escreverLista(corpo, livres, ServidorHttp::escreverVeiculo);
+            return 200;
+        }
+        String disponivel = pedido.parametro("disponivel");
+        FiltroVeiculo filtro = new FiltroVeiculo(tipo == null ? null : tipoVeiculo(tipo),
+                disponivel == null ? null : Boolean.valueOf(disponivel));
+        Pagina<Veiculo> pagina = veiculoService.listarVeiculos(filtro, pedido.parametro("cursor"), tamanhoPagina(pedido));
+        escreverPagina(corpo, pagina, ServidorHttp::escreverVeiculo);
+        return 200;
+    }
+
+    private int clientes(Pedido pedido, StringBuilder corpo) {
+        if (pedido.metodo.equals("POST") && pedido.recurso.isEmpty()) {
+            Map<String, String> campos = pedido.json();
+            String tipo = obrigatorio(campos, "tipo").toUpperCase(Locale.ROOT);
+            String nome = obrigatorio(campos, "nome");
+            String email = obrigatorio(campos, "email");
+            String telefone = obrigatorio(campos, "telefone");
+            String documento = obrigatorio(campos, "documento");
+            Cliente cliente;
+            if (tipo.equals("PF") || tipo.equals(TipoCliente.PESSOA_FISICA.name())) {
+                cliente = new PessoaFisica(nome, email, telefone, documento);
+            } else if (tipo.equals("PJ") || tipo.equals(TipoCliente.PESSOA_JURIDICA.name())) {
+                cliente = new PessoaJuridica(nome, email, telefone, documento);
+            } else {
+                throw new IllegalArgumentException("Erro: Tipo de cliente inválido: " + tipo + ".");
+            }
+            clienteService.cadastrarCliente(cliente);
+            escreverCliente(corpo, cliente);
+            return 201;
+        }
+        if (!pedido.metodo.equals("GET")) {
+            return erro(corpo, 405, null, "Erro: Método " + pedido.metodo + " não suportado.");
+        }
+        if (!pedido.recurso.isEmpty() || pedido.parametro("email") != null) {
+            Optional<Cliente> cliente = pedido.recurso.isEmpty()
+                    ? clienteService.buscarClientePorEmail(pedido.parametro("email"))
+                    : clienteService.buscarClientePorDocumento(pedido.recurso);
+            if (cliente.isEmpty()) {
+                return erro(corpo, 404, MotivoRecusa.CLIENTE_NAO_ENCONTRADO, MotivoRecusa.CLIENTE_NAO_ENCONTRADO.getMensagem());
+            }
+            escreverCliente(corpo, cliente.get());
+            return 200;
+        }
+        if (pedido.parametro("telefone") != null) {
+            escreverLista(corpo, clienteService.buscarClientesPorTelefone(pedido.parametro("telefone")), ServidorHttp::escreverCliente);
+            return 200;
+        }
+        escreverPagina(corpo, clienteService.listarClientes(pedido.parametro("cursor"), tamanhoPagina(pedido)),
+                ServidorHttp::escreverCliente);
+        return 200;
+    }
+
+    private int alugueis(Pedido pedido, StringBuilder corpo) {
+        if (!pedido.metodo.equals("POST") || !pedido.recurso.isEmpty()) {
+            return erro(corpo, 405, null, "Erro: Use POST /alugueis.");
+        }
+        Map<String, String> campos = pedido.json();
+        String devolucaoPrevista = campos.get("devolucaoPrevista");
+        ResultadoAluguel resultado = aluguelService.alugarVeiculo(obrigatorio(campos, "placa"),
+                obrigatorio(campos, "documento"), obrigatorio(campos, "local"),
+                devolucaoPrevista == null ? null : data(devolucaoPrevista));
+        if (!resultado.isSucesso()) {
+            return recusa(corpo, resultado.getMotivo());
+        }
+        corpo.append('{');
+        Json.texto(Json.campo(corpo, "placa"), resultado.getPlaca());
+        Json.texto(Json.campo(corpo, "modelo"), resultado.getModelo());
+        Json.texto(Json.campo(corpo, "documentoCliente"), resultado.getDocumentoCliente());
+        Json.texto(Json.campo(corpo, "local"), resultado.getLocal());
+        Json.texto(Json.campo(corpo, "dataAluguel"), resultado.getDataAluguel().toString());
+        corpo.append('}');
+        return 201;
+    }
+
+    private int devolucoes(Pedido pedido, StringBuilder corpo) {
+        if (!pedido.metodo.equals("POST") || !pedido.recurso.isEmpty()) {
+            return erro(corpo, 405, null, "Erro: Use POST /devolucoes.");
+        }
+        Map<String, String> campos = pedido.json();
+        ResultadoDevolucao resultado = aluguelService.devolverVeiculo(obrigatorio(campos, "placa"), campos.get("local"));
+        if (!resultado.isSucesso()) {
+            return recusa(corpo, resultado.getMotivo());
+        }
+        RegistroAluguel recibo = resultado.getRecibo();
+        corpo.append('{');
+        Json.texto(Json.campo(corpo, "placa"), recibo.getPlaca());
+        Json.texto(Json.campo(corpo, "modelo"), recibo.getModelo());
+        Json.texto(Json.campo(corpo, "documentoCliente"), recibo.getDocumentoCliente());
+        Json.texto(Json.campo(corpo, "nomeCliente"), recibo.getNomeCliente());
+        Json.texto(Json.campo(corpo, "local"), recibo.getLocal());
+        Json.texto(Json.campo(corpo, "dataAluguel"), recibo.getDataAluguel().toString());
+        Json.texto(Json.campo(corpo, "dataDevolucao"), recibo.getDataDevolucao().toString());
+        Json.campo(corpo, "diarias").append(recibo.getDiarias());
+        Json.campo(corpo, "valorBaseCentavos").append(recibo.getValorBaseCentavos());
+        Json.campo(corpo, "descontoPontosBase").append(recibo.getDescontoPontosBase());
+        Json.campo(corpo, "descontoCentavos").append(recibo.getDescontoCentavos());
+        Json.campo(corpo, "valorFinalCentavos").append(recibo.getValorFinalCentavos());
+        corpo.append('}');
+        return 200;
+    }
+
+    private int reservas(Pedido pedido, StringBuilder corpo) {
+        if (pedido.metodo.equals("POST") && pedido.recurso.isEmpty()) {
+            Map<String, String> campos = pedido.json();
+            ResultadoReserva resultado = reservaService.reservar(obrigatorio(campos, "placa"), obrigatorio(campos, "documento"),
+                    data(obrigatorio(campos, "inicio")), data(obrigatorio(campos, "fim")));
+            if (!resultado.isSucesso()) {
+                return recusa(corpo, resultado.getMotivo());
+            }
+            escreverReserva(corpo, resultado.getReserva());
+            return 201;
+        }
+        if (!pedido.recurso.isEmpty()) {
+            long id;
+            try {
+                id = Long.parseLong(pedido.recurso);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Erro: Número de reserva inválido: " + pedido.recurso + ".");
+            }
+            if (pedido.metodo.equals("DELETE")) {
+                return reservaService.cancelarReserva(id) ? 204 : erro(corpo, 404, null, "Erro: Reserva não encontrada.");
+            }
+            if (!pedido.metodo.equals("GET")) {
+                return erro(corpo, 405, null, "Erro: Método " + pedido.metodo + " não suportado.");
+            }
+            Optional<Reserva> reserva = reservaService.buscarReserva(id);
+            if (reserva.isEmpty()) {
+                return erro(corpo, 404, null, "Erro: Reserva não encontrada.");
+            }
+            escreverReserva(corpo, reserva.get());
+            return 200;
+        }
+        if (!pedido.metodo.equals("GET")) {
+            return erro(corpo, 405, null, "Erro: Método " + pedido.metodo + " não suportado.");
+        }
+        if (pedido.parametro("placa") != null) {
+            escreverLista(corpo, reservaService.listarReservasDoVeiculo(pedido.parametro("placa")), ServidorHttp::escreverReserva);
+        } else if (pedido.parametro("documento") != null) {
+            escreverLista(corpo, reservaService.listarReservasDoCliente(pedido.parametro("documento")), ServidorHttp::escreverReserva);
+        } else {
+            throw new IllegalArgumentException("Erro: Informe a placa ou o documento.");
+        }
+        return 200;
+    }
+
+    private int indicadores(Pedido pedido, StringBuilder corpo) {
+        if (!pedido.metodo.equals("GET")) {
+            return erro(corpo, 405, null, "Erro: Método " + pedido.metodo + " não suportado.");
+        }
+        String inicio = pedido.parametro("inicio");
+        String fim = pedido.parametro("fim");
+        RelatorioIndicadores relatorio = inicio == null && fim == null
+                ? indicadores.ler()
+                : indicadores.recalcular(aluguelService.listarHistorico(), aluguelService.listarAlugueisAtivos(),
+                        inicio == null ? null : data(inicio), fim == null ? null : data(fim));
+        corpo.append('{');
+        escreverTotais(Json.campo(corpo, "total"), relatorio.getTotal());
+        Json.campo(corpo, "porTipoVeiculo").append('{');
+        relatorio.getPorTipoVeiculo().forEach((tipo, totais) -> escreverTotais(Json.campo(corpo, tipo.name()), totais));
+        corpo.append('}');
+        Json.campo(corpo, "porTipoCliente").append('{');
+        relatorio.getPorTipoCliente().forEach((tipo, totais) -> escreverTotais(Json.campo(corpo, tipo.name()), totais));
+        corpo.append('}');
+        Json.campo(corpo, "porLocal").append('{');
+        relatorio.getPorLocal().forEach((local, totais) -> escreverTotais(Json.campo(corpo, local), totais));
+        corpo.append('}');
+        Json.campo(corpo, "utilizacao").append('{');
+        relatorio.getUtilizacao().forEach((tipo, fracao) -> Json.campo(corpo, tipo.name()).append(fracao));
+        corpo.append("}}");
+        return 200;
+    }
+
+    private static void escreverTotais(StringBuilder corpo, Totais totais) {
+        corpo.append('{');
+        Json.campo(corpo, "alugueis").append(totais.getAlugueis());
+        Json.campo(corpo, "diarias").append(totais.getDiarias());
+        Json.campo(corpo, "receitaCentavos").append(totais.getReceitaCentavos());
+        Json.campo(corpo, "descontoCentavos").append(totais.getDescontoCentavos());
+        corpo.append('}');
+    }
+
+    private int filiais(Pedido pedido, StringBuilder corpo) {
+        if (!pedido.metodo.equals("GET")) {
+            return erro(corpo, 405, null, "Erro: Método " + pedido.metodo + " não suportado.");
+        }
+        corpo.append('[');
+        boolean primeira = true;
+        for (ResumoFilial resumo : aluguelService.listarResumosPorFilial()) {
+            if (!primeira) {
+                corpo.append(',');
+            }
+            primeira = false;
+            corpo.append('{');
+            Json.texto(Json.campo(corpo, "filial"), resumo.getNome());
+            Json.campo(corpo, "disponiveis").append('{');
+            resumo.getDisponiveis().forEach((tipo, quantidade) -> Json.campo(corpo, tipo.name()).append(quantidade));
+            corpo.append('}');
+            Json.campo(corpo, "alugados").append('{');
+            resumo.getAlugados().forEach((tipo, quantidade) -> Json.campo(corpo, tipo.name()).append(quantidade));
+            corpo.append("}}");
+        }
+        corpo.append(']');
+        return 200;
+    }
+
+    private int metricas(Pedido pedido, StringBuilder corpo) {
+        if (!pedido.metodo.equals("GET")) {
+            return erro(corpo, 405, null, "Erro: Método " + pedido.metodo + " não suportado.");
+        }
+        corpo.append('[');
+        boolean primeira = true;
+        for (MetricasOperacao operacao : metricas.listar()) {
+            if (!primeira) {
+                corpo.append(',');
+            }
+            primeira = false;
+            corpo.append('{');
+            Json.texto(Json.campo(corpo, "servico"), operacao.getServico());
+            Json.texto(Json.campo(corpo, "operacao"), operacao.getOperacao());
+            Json.campo(corpo, "chamadas").append(operacao.getChamadas());
+            Json.campo(corpo, "erros").append(operacao.getErros());
+            Json.campo(corpo, "p50Micros").append(operacao.getP50Micros());
+            Json.campo(corpo, "p99Micros").append(operacao.getP99Micros());
+            Json.campo(corpo, "maximaMicros").append(operacao.getMaximaMicros());
+            corpo.append('}');
+        }
+        corpo.append(']');
+        return 200;
+    }
+
+    // Recurso inexistente vira 404; conflito de estado (já alugado, sem aluguel) vira 409
+    private static int recusa(StringBuilder corpo, MotivoRecusa motivo) {
+        boolean naoEncontrado = motivo == MotivoRecusa.VEICULO_NAO_ENCONTRADO || motivo == MotivoRecusa.CLIENTE_NAO_ENCONTRADO;
+        return erro(corpo, naoEncontrado ? 404 : 409, motivo, motivo.getMensagem());
+    }
+
+    private static int erro(StringBuilder corpo, int status, MotivoRecusa motivo, String mensagem) {
+        corpo.append('{');
+        if (motivo != null) {
+            Json.texto(Json.campo(corpo, "motivo"), motivo.name());
+        }
+        Json.texto(Json.campo(corpo, "erro"), mensagem);
+        corpo.append('}');
+        return status;
+    }
+
+    private static String obrigatorio(Map<String, String> campos, String nome) {
+        String valor = campos.get(nome);
+        if (valor == null || valor.isBlank()) {
+            throw new IllegalArgumentException("Erro: Campo \"" + nome + "\" é obrigatório.");
+        }
+        return valor;
+    }
+
+    private static TipoVeiculo tipoVeiculo(String tipo) {
+        try {
+            return TipoVeiculo.valueOf(tipo.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Erro: Tipo de veículo inválido: " + tipo + ".");
+        }
+    }
+
+    private static LocalDateTime data(String texto) {
+        if (texto == null) {
+            throw new IllegalArgumentException("Erro: Informe o início e o fim do período.");
+        }
+        try {
+            return LocalDateTime.parse(texto);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Erro: Data inválida: " + texto + ".");
+        }
+    }
+
+    private static int tamanhoPagina(Pedido pedido) {
+        String tamanho = pedido.parametro("tamanho");
+        try {
+            return tamanho == null ? TAMANHO_PAGINA_PADRAO : Integer.parseInt(tamanho);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Erro: Tamanho de página inválido: " + tamanho + ".");
+        }
+    }
+
+    private interface EscritorJson<T> {
+        void escrever(StringBuilder destino, T item);
+    }
+
+    private static <T> void escreverLista(StringBuilder corpo, List<T> itens, EscritorJson<T> escritor) {
+        corpo.append("{\"itens\":[");
+        for (int i = 0; i < itens.size(); i++) {
+            if (i > 0) {
+                corpo.append(',');
+            }
+            escritor.escrever(corpo, itens.get(i));
+        }
+        corpo.append("]}");
+    }
+
+    private static <T> void escreverPagina(StringBuilder corpo, Pagina<T> pagina, EscritorJson<T> escritor) {
+        escreverLista(corpo, pagina.getItens(), escritor);
+        corpo.setLength(corpo.length() - 1);
+        Json.texto(Json.campo(corpo, "proximoCursor"), pagina.getProximoCursor());
+        corpo.append('}');
+    }
+
+    private static void escreverVeiculo(StringBuilder corpo, Veiculo veiculo) {
+        corpo.append('{');
+        Json.texto(Json.campo(corpo, "placa"), veiculo.getPlaca());
+        Json.texto(Json.campo(corpo, "modelo"), veiculo.getModelo());
+        Json.texto(Json.campo(corpo, "fabricante"), veiculo.getFabricante());
+        Json.texto(Json.campo(corpo, "tipo"), veiculo.getTipo().name());
+        Json.campo(corpo, "disponivel").append(veiculo.isDisponivel());
+        corpo.append('}');
+    }
+
+    private static void escreverReserva(StringBuilder corpo, Reserva reserva) {
+        corpo.append('{');
+        Json.campo(corpo, "id").append(reserva.getId());
+        Json.texto(Json.campo(corpo, "placa"), reserva.getVeiculo().getPlaca());
+        Json.texto(Json.campo(corpo, "documentoCliente"), reserva.getCliente().getDocumento());
+        Json.texto(Json.campo(corpo, "inicio"), reserva.getInicio().toString());
+        Json.texto(Json.campo(corpo, "fim"), reserva.getFim().toString());
+        corpo.append('}');
+    }
+
+    private static void escreverCliente(StringBuilder corpo, Cliente cliente) {
+        corpo.append('{');
+        Json.texto(Json.campo(corpo, "documento"), cliente.getDocumento());
+        Json.texto(Json.campo(corpo, "tipo"), cliente.getTipo().name());
+        Json.texto(Json.campo(corpo, "nome"), cliente.getNome());
+        Json.texto(Json.campo(corpo, "email"), cliente.getEmail());
+        Json.texto(Json.campo(corpo, "telefone"), cliente.getTelefone());
+        corpo.append('}');
+    }
+}
@@ -0,0 +1,109 @@
+package team3.metricas;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Histograma log-linear de durações em nanossegundos: 16 faixas por potência de dois, então o
+// valor devolvido por um percentil erra no máximo ~6% para cima. Cada thread incrementa a sua
+// listra de contadores, e a leitura soma as listras; registrar é um único incremento atômico.
+public final class HistogramaLatencia {
+
+    private static final int BITS_SUBFAIXA = 4;
+    private static final int SUBFAIXAS = 1 << BITS_SUBFAIXA;
+    private static final int FAIXAS = (63 - BITS_SUBFAIXA + 1) * SUBFAIXAS;
+    private static final int LISTRAS = Math.min(16, Integer.highestOneBit(Runtime.getRuntime().availableProcessors()) << 1);
+
+    private final AtomicReferenceArray<AtomicLongArray> listras = new AtomicReferenceArray<>(LISTRAS);
+
+    public void registrar(long nanos) {
+        listra().getAndIncrement(faixa(nanos));
+    }
+
+    public Leitura ler() {
+        long[] contagens = new long[FAIXAS];
+        for (int l = 0; l < LISTRAS; l++) {
+            AtomicLongArray listra = listras.get(l);
+            if (listra == null) {
+                continue;
+            }
+            for (int i = 0; i < FAIXAS; i++) {
+                contagens[i] += listra.get(i);
+            }
+        }
+        return new Leitura(contagens);
+    }
+
+    private AtomicLongArray listra() {
+        long id = Thread.currentThread().getId() * 0x9E3779B97F4A7C15L;
+        int indice = (int) (id >>> 32) & (LISTRAS - 1);
+        AtomicLongArray listra = listras.get(indice);
+        if (listra == null) {
+            listras.compareAndSet(indice, null, new AtomicLongArray(FAIXAS));
+            listra = listras.get(indice);
+        }
+        return listra;
+    }
+
+    static int faixa(long valor) {
+        if (valor < SUBFAIXAS) {
+            return (int) Math.max(valor, 0);
+        }
+        int expoente = 63 - Long.numberOfLeadingZeros(valor);
+        int subfaixa = (int) (valor >>> (expoente - BITS_SUBFAIXA)) & (SUBFAIXAS - 1);
+        return (expoente - BITS_SUBFAIXA + 1) * SUBFAIXAS + subfaixa;
+    }
+
+    // Maior valor que cai na faixa
+    static long limiteSuperior(int faixa) {
+        if (faixa < SUBFAIXAS) {
+            return faixa;
+        }
+        int expoente = faixa / SUBFAIXAS + BITS_SUBFAIXA - 1;
+        long largura = 1L << (expoente - BITS_SUBFAIXA);
+        return (1L << expoente) + (faixa % SUBFAIXAS) * largura + largura - 1;
+    }
+
+    // Cópia consistente o bastante para relatórios: cada faixa é lida uma vez
+    public static final class Leitura {
+        private final long[] contagens;
+        private final long total;
+
+        private Leitura(long[] contagens) {
+            this.contagens = contagens;
+            long soma = 0;
+            for (long contagem : contagens) {
+                soma += contagem;
+            }
+            this.total = soma;
+        }
+
+        public long getTotal() {
+            return total;
+        }
+
+        // percentil entre 0 e 100; 0 quando não há registros
+        public long percentil(double percentil) {
+            if (total == 0) {
+                return 0;
+            }
+            long alvo = Math.max(1, (long) Math.ceil(total * percentil / 100.0));
+            long acumulado = 0;
+            for (int i = 0; i < contagens.length; i++) {
+                acumulado += contagens[i];
+                if (acumulado >= alvo) {
+                    return limiteSuperior(i);
+                }
+            }
+            return maximo();
+        }
+
+        public long maximo() {
+            for (int i = contagens.length - 1; i >= 0; i--) {
+                if (contagens[i] > 0) {
+                    return limiteSuperior(i);
+                }
+            }
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package team3.metricas;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Latência, vazão e erros de uma operação de serviço. Todos os contadores são LongAdder
+// (listrados por thread), então vários balcões registram ao mesmo tempo sem disputar a mesma linha de cache.
+public final class MetricasOperacao implements MetricasOperacaoMXBean {
+
+    private static final int MAXIMO_CAUSAS = 64;
+    private static final String OUTRAS_CAUSAS = "outras";
+
+    private final String servico;
+    private final String operacao;
+    private final long criadaEm = System.nanoTime();
+    private final HistogramaLatencia latencias = new HistogramaLatencia();
+    private final LongAdder chamadas = new LongAdder();
+    private final LongAdder nanosAcumulados = new LongAdder();
+    private final LongAdder erros = new LongAdder();
+    private final ConcurrentMap<String, LongAdder> errosPorCausa = new ConcurrentHashMap<>();
+
+    MetricasOperacao(String servico, String operacao) {
+        this.servico = servico;
+        this.operacao = operacao;
+    }
+
+    public void registrar(long nanos) {
+        latencias.registrar(nanos);
+        chamadas.increment();
+        nanosAcumulados.add(nanos);
+    }
+
+    public void registrarErro(String causa) {
+        erros.increment();
+        LongAdder contador = errosPorCausa.get(causa);
+        if (contador == null) {
+            // Limita a quantidade de causas distintas; o excedente vai para "outras"
+            String chave = errosPorCausa.size() < MAXIMO_CAUSAS ? causa : OUTRAS_CAUSAS;
+            contador = errosPorCausa.computeIfAbsent(chave, c -> new LongAdder());
+        }
+        contador.increment();
+    }
+
+    // A causa é a mensagem sem os valores (placa, documento, email), para agrupar erros iguais
+    public void registrarErro(RuntimeException erro) {
+        registrarErro(causa(erro));
+    }
+
+    public HistogramaLatencia.Leitura lerLatencias() {
+        return latencias.ler();
+    }
+
+    @Override
+    public String getServico() {
+        return servico;
+    }
+
+    @Override
+    public String getOperacao() {
+        return operacao;
+    }
+
+    @Override
+    public long getChamadas() {
+        return chamadas.sum();
+    }
+
+    @Override
+    public long getErros() {
+        return erros.sum();
+    }
+
+    @Override
+    public double getChamadasPorSegundo() {
+        double segundos = (System.nanoTime() - criadaEm) / 1e9;
+        return segundos <= 0 ? 0 : chamadas.sum() / segundos;
+    }
+
+    @Override
+    public double getLatenciaMediaMicros() {
+        long total = chamadas.sum();
+        return total == 0 ? 0 : nanosAcumulados.sum() / 1e3 / total;
+    }
+
+    @Override
+    public double getP50Micros() {
+        return latencias.ler().percentil(50) / 1e3;
+    }
+
+    @Override
+    public double getP99Micros() {
+        return latencias.ler().percentil(99) / 1e3;
+    }
+
+    @Override
+    public double getP999Micros() {
+        return latencias.ler().percentil(99.9) / 1e3;
+    }
+
+    @Override
+    public double getMaximaMicros() {
+        return latencias.ler().maximo() / 1e3;
+    }
+
+    @Override
+    public Map<String, Long> getErrosPorCausa() {
+        Map<String, Long> causas = new TreeMap<>();
+        errosPorCausa.forEach((causa, contador) -> causas.put(causa, contador.sum()));
+        return causas;
+    }
+
+    private static String causa(RuntimeException erro) {
+        String mensagem = erro.getMessage();
+        if (mensagem == null || mensagem.isBlank()) {
+            return erro.getClass().getSimpleName();
+        }
+        if (mensagem.startsWith("Erro: ")) {
+            mensagem = mensagem.substring("Erro: ".length());
+        }
+        StringBuilder causa = new StringBuilder(mensagem.length());
+        for (String palavra : mensagem.split(" ")) {
+            if (causa.length() > 0) {
+                causa.append(' ');
+            }
+            boolean valor = palavra.indexOf('@') >= 0 || palavra.chars().anyMatch(Character::isDigit);
+            causa.append(valor ? "*" : palavra);
+        }
+        return causa.toString();
+    }
+}
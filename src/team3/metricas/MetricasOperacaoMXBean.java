@@ -0,0 +1,18 @@
+package team3.metricas;
+
+import java.util.Map;
+
+// Visão JMX de uma operação (jconsole/VisualVM: team3.locatecar > Operacao)
+public interface MetricasOperacaoMXBean {
+    String getServico();
+    String getOperacao();
+    long getChamadas();
+    long getErros();
+    double getChamadasPorSegundo();
+    double getLatenciaMediaMicros();
+    double getP50Micros();
+    double getP99Micros();
+    double getP999Micros();
+    double getMaximaMicros();
+    Map<String, Long> getErrosPorCausa();
+}
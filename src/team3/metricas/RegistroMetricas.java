@@ -0,0 +1,56 @@
+package team3.metricas;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+// Ponto único onde os serviços pegam suas métricas. Com publicarNoJmx() cada operação vira
+// um MBean "team3.locatecar:type=Operacao,servico=...,name=...".
+public class RegistroMetricas {
+
+    private static final String DOMINIO_JMX = "team3.locatecar";
+
+    private final Map<String, MetricasOperacao> operacoes = new ConcurrentSkipListMap<>();
+    private volatile MBeanServer servidorJmx;
+
+    public MetricasOperacao operacao(String servico, String operacao) {
+        return operacoes.computeIfAbsent(servico + "." + operacao, chave -> {
+            MetricasOperacao metricas = new MetricasOperacao(servico, operacao);
+            if (servidorJmx != null) {
+                registrarNoJmx(servidorJmx, metricas);
+            }
+            return metricas;
+        });
+    }
+
+    public List<MetricasOperacao> listar() {
+        return new ArrayList<>(operacoes.values());
+    }
+
+    public synchronized void publicarNoJmx() {
+        if (servidorJmx != null) {
+            return;
+        }
+        servidorJmx = ManagementFactory.getPlatformMBeanServer();
+        for (MetricasOperacao metricas : operacoes.values()) {
+            registrarNoJmx(servidorJmx, metricas);
+        }
+    }
+
+    private static void registrarNoJmx(MBeanServer servidor, MetricasOperacao metricas) {
+        try {
+            ObjectName nome = new ObjectName(DOMINIO_JMX + ":type=Operacao,servico=" + metricas.getServico()
+                    + ",name=" + metricas.getOperacao());
+            if (!servidor.isRegistered(nome)) {
+                servidor.registerMBean(metricas, nome);
+            }
+        } catch (JMException e) {
+            System.err.println("Erro ao publicar métricas no JMX: " + e.getMessage());
+        }
+    }
+}
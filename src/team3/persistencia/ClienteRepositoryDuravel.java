@@ -0,0 +1,86 @@
+package team3.persistencia;
+
+import team3.domain.model.Cliente;
+import team3.repository.Gravacao;
+import team3.repository.IClienteRepository;
+import team3.repository.Pagina;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+// Repositório de clientes que grava cada cadastro/alteração no journal antes de retornar
+public class ClienteRepositoryDuravel implements IClienteRepository {
+
+    private final IClienteRepository repository;
+    private final PersistenciaJournal persistencia;
+
+    public ClienteRepositoryDuravel(IClienteRepository repository, PersistenciaJournal persistencia) {
+        this.repository = repository;
+        this.persistencia = persistencia;
+    }
+
+    @Override
+    public void cadastrar(Cliente cliente) {
+        persistencia.registrar(() -> repository.cadastrar(cliente), () -> CodecRegistros.cliente(cliente), true);
+    }
+
+    @Override
+    public void cadastrarEmLote(List<? extends Cliente> lote) {
+        persistencia.registrarLote(() -> repository.cadastrarEmLote(lote), lote, CodecRegistros::cliente);
+    }
+
+    @Override
+    public void alterar(Cliente cliente) {
+        if (repository.buscarPorId(cliente.getDocumento()).isEmpty()) {
+            return;
+        }
+        persistencia.registrar(() -> repository.alterar(cliente), () -> CodecRegistros.cliente(cliente), true);
+    }
+
+    // Um registro por gravação aplicada e um único fsync para o lote
+    @Override
+    public List<RuntimeException> gravar(List<Gravacao<Cliente>> gravacoes) {
+        return persistencia.registrarCadaUm(gravacoes, gravacao -> {
+            Cliente cliente = gravacao.getEntidade();
+            if (gravacao.isCadastro()) {
+                repository.cadastrar(cliente);
+            } else if (repository.buscarPorId(cliente.getDocumento()).isPresent()) {
+                repository.alterar(cliente);
+            } else {
+                return null;
+            }
+            return CodecRegistros.cliente(cliente);
+        });
+    }
+
+    @Override
+    public Optional<Cliente> buscarPorId(String documento) {
+        return repository.buscarPorId(documento);
+    }
+
+    @Override
+    public List<Cliente> listarTodos() {
+        return repository.listarTodos();
+    }
+
+    @Override
+    public Pagina<Cliente> listarPagina(String cursor, int tamanho) {
+        return repository.listarPagina(cursor, tamanho);
+    }
+
+    @Override
+    public void paraCada(Consumer<? super Cliente> acao) {
+        repository.paraCada(acao);
+    }
+
+    @Override
+    public Optional<Cliente> buscarPorEmail(String email) {
+        return repository.buscarPorEmail(email);
+    }
+
+    @Override
+    public List<Cliente> buscarPorTelefone(String telefone) {
+        return repository.buscarPorTelefone(telefone);
+    }
+}
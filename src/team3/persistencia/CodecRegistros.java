@@ -0,0 +1,185 @@
+package team3.persistencia;
+
+import team3.domain.enums.TipoCliente;
+import team3.domain.enums.TipoVeiculo;
+import team3.domain.model.Aluguel;
+import team3.domain.model.Cliente;
+import team3.domain.model.PessoaJuridica;
+import team3.domain.model.RegistroAluguel;
+import team3.domain.model.Reserva;
+import team3.domain.model.Veiculo;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+// Formato binário dos registros do journal e do snapshot. O primeiro byte diz o tipo.
+final class CodecRegistros {
+
+    static final byte CABECALHO_SNAPSHOT = 0;
+    static final byte VEICULO = 1;
+    static final byte CLIENTE = 2;
+    static final byte ALUGUEL_INICIADO = 3;
+    // Formato antigo, com os valores em double; continua legível para journals e snapshots existentes
+    static final byte ALUGUEL_ENCERRADO = 4;
+    static final byte ALUGUEL_ENCERRADO_CENTAVOS = 5;
+    // Igual ao 5, com o tipo de cliente no fim
+    static final byte ALUGUEL_ENCERRADO_TIPO_CLIENTE = 6;
+    static final byte RESERVA_INCLUIDA = 7;
+    static final byte RESERVA_REMOVIDA = 8;
+    // Só no snapshot: o último id de reserva entregue
+    static final byte ULTIMO_ID_RESERVA = 9;
+
+    static final byte PESSOA_FISICA = 0;
+    static final byte PESSOA_JURIDICA = 1;
+
+    private CodecRegistros() {
+    }
+
+    static byte[] cabecalhoSnapshot(int versao, long primeiroJournal) {
+        return codificar(CABECALHO_SNAPSHOT, out -> {
+            out.writeInt(versao);
+            out.writeLong(primeiroJournal);
+        });
+    }
+
+    static byte[] veiculo(Veiculo veiculo) {
+        return codificar(VEICULO, out -> {
+            escreverTexto(out, veiculo.getPlaca());
+            escreverTexto(out, veiculo.getModelo());
+            escreverTexto(out, veiculo.getFabricante());
+            out.writeByte(veiculo.getTipo() == null ? -1 : veiculo.getTipo().ordinal());
+            out.writeBoolean(veiculo.isDisponivel());
+        });
+    }
+
+    static byte[] cliente(Cliente cliente) {
+        return codificar(CLIENTE, out -> {
+            out.writeByte(cliente instanceof PessoaJuridica ? PESSOA_JURIDICA : PESSOA_FISICA);
+            escreverTexto(out, cliente.getDocumento());
+            escreverTexto(out, cliente.getNome());
+            escreverTexto(out, cliente.getEmail());
+            escreverTexto(out, cliente.getTelefone());
+        });
+    }
+
+    static byte[] aluguelIniciado(Aluguel aluguel) {
+        return codificar(ALUGUEL_INICIADO, out -> {
+            escreverTexto(out, aluguel.getVeiculo().getPlaca());
+            escreverTexto(out, aluguel.getCliente().getDocumento());
+            escreverTexto(out, aluguel.getLocal());
+            escreverData(out, aluguel.getDataAluguel());
+        });
+    }
+
+    static byte[] reservaIncluida(Reserva reserva) {
+        return codificar(RESERVA_INCLUIDA, out -> {
+            out.writeLong(reserva.getId());
+            escreverTexto(out, reserva.getVeiculo().getPlaca());
+            escreverTexto(out, reserva.getCliente().getDocumento());
+            escreverData(out, reserva.getInicio());
+            escreverData(out, reserva.getFim());
+        });
+    }
+
+    static byte[] reservaRemovida(Reserva reserva) {
+        return codificar(RESERVA_REMOVIDA, out -> out.writeLong(reserva.getId()));
+    }
+
+    static byte[] ultimoIdReserva(long id) {
+        return codificar(ULTIMO_ID_RESERVA, out -> out.writeLong(id));
+    }
+
+    static byte[] aluguelEncerrado(RegistroAluguel registro) {
+        return codificar(ALUGUEL_ENCERRADO_TIPO_CLIENTE, out -> {
+            escreverTexto(out, registro.getPlaca());
+            escreverTexto(out, registro.getModelo());
+            out.writeByte(registro.getTipoVeiculo() == null ? -1 : registro.getTipoVeiculo().ordinal());
+            escreverTexto(out, registro.getDocumentoCliente());
+            escreverTexto(out, registro.getNomeCliente());
+            escreverTexto(out, registro.getLocal());
+            escreverData(out, registro.getDataAluguel());
+            escreverData(out, registro.getDataDevolucao());
+            out.writeLong(registro.getDiarias());
+            out.writeLong(registro.getValorBaseCentavos());
+            out.writeInt(registro.getDescontoPontosBase());
+            out.writeLong(registro.getValorFinalCentavos());
+            out.writeByte(registro.getTipoCliente() == null ? -1 : registro.getTipoCliente().ordinal());
+        });
+    }
+
+    static RegistroAluguel lerAluguelEncerrado(byte tipo, DataInput in) throws IOException {
+        String placa = lerTexto(in);
+        String modelo = lerTexto(in);
+        TipoVeiculo tipoVeiculo = lerTipo(in);
+        String documento = lerTexto(in);
+        String nome = lerTexto(in);
+        String local = lerTexto(in);
+        LocalDateTime dataAluguel = lerData(in);
+        LocalDateTime dataDevolucao = lerData(in);
+        long diarias = in.readLong();
+        if (tipo == ALUGUEL_ENCERRADO) {
+            long valorBase = Math.round(in.readDouble() * 100);
+            int desconto = (int) Math.round(in.readDouble() * 10_000);
+            long valorFinal = Math.round(in.readDouble() * 100);
+            return new RegistroAluguel(placa, modelo, tipoVeiculo, documento, nome, local, dataAluguel, dataDevolucao,
+                    diarias, valorBase, desconto, valorFinal);
+        }
+        long valorBase = in.readLong();
+        int desconto = in.readInt();
+        long valorFinal = in.readLong();
+        TipoCliente tipoCliente = null;
+        if (tipo == ALUGUEL_ENCERRADO_TIPO_CLIENTE) {
+            byte ordinal = in.readByte();
+            tipoCliente = ordinal < 0 ? null : TipoCliente.values()[ordinal];
+        }
+        return new RegistroAluguel(placa, modelo, tipoVeiculo, documento, nome, tipoCliente, local, dataAluguel,
+                dataDevolucao, diarias, valorBase, desconto, valorFinal);
+    }
+
+    static TipoVeiculo lerTipo(DataInput in) throws IOException {
+        byte ordinal = in.readByte();
+        return ordinal < 0 ? null : TipoVeiculo.values()[ordinal];
+    }
+
+    static String lerTexto(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    static LocalDateTime lerData(DataInput in) throws IOException {
+        long segundos = in.readLong();
+        int nanos = in.readInt();
+        return LocalDateTime.ofEpochSecond(segundos, nanos, ZoneOffset.UTC);
+    }
+
+    private static void escreverTexto(DataOutputStream out, String texto) throws IOException {
+        out.writeBoolean(texto != null);
+        if (texto != null) {
+            out.writeUTF(texto);
+        }
+    }
+
+    private static void escreverData(DataOutputStream out, LocalDateTime data) throws IOException {
+        out.writeLong(data.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(data.getNano());
+    }
+
+    private static byte[] codificar(byte tipo, Escrita escrita) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(tipo);
+            escrita.escrever(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private interface Escrita {
+        void escrever(DataOutputStream out) throws IOException;
+    }
+}
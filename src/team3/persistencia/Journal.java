@@ -0,0 +1,166 @@
+package team3.persistencia;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+// Arquivo de log binário só de inclusão, com "group commit": as threads só copiam o registro
+// para um buffer em memória, e uma única thread gravadora escreve tudo o que se acumulou
+// e faz um único fsync por lote. Cada registro: [int tamanho][int crc32][bytes].
+class Journal implements Closeable {
+
+    private final FileChannel canal;
+    private final Thread gravador;
+    private ByteBuffer pendente = ByteBuffer.allocate(64 * 1024);
+    private ByteBuffer emGravacao = ByteBuffer.allocate(64 * 1024);
+    private long ultimoSeqAnexado;
+    private long ultimoSeqGravado;
+    private IOException falha;
+    private boolean fechado;
+
+    Journal(Path arquivo) throws IOException {
+        this.canal = FileChannel.open(arquivo, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        this.gravador = new Thread(this::gravarEmLotes, "journal-" + arquivo.getFileName());
+        this.gravador.setDaemon(true);
+        this.gravador.start();
+    }
+
+    // Copia o registro para o lote atual e devolve o número de sequência dele, sem esperar o disco
+    synchronized long anexar(byte[] registro) {
+        if (fechado) {
+            throw new IllegalStateException("Journal fechado.");
+        }
+        int tamanho = 8 + registro.length;
+        if (pendente.remaining() < tamanho) {
+            ByteBuffer maior = ByteBuffer.allocate(Math.max(pendente.capacity() * 2, pendente.position() + tamanho));
+            pendente.flip();
+            maior.put(pendente);
+            pendente = maior;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(registro);
+        pendente.putInt(registro.length).putInt((int) crc.getValue()).put(registro);
+        notifyAll();
+        return ++ultimoSeqAnexado;
+    }
+
+    // Bloqueia até que o registro 'seq' (e todos os anteriores) tenham passado por fsync
+    synchronized void aguardarGravacao(long seq) {
+        while (ultimoSeqGravado < seq) {
+            if (falha != null) {
+                throw new UncheckedIOException("Falha ao gravar o journal.", falha);
+            }
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrompido aguardando o journal.", e);
+            }
+        }
+    }
+
+    synchronized long quantidadeRegistros() {
+        return ultimoSeqAnexado;
+    }
+
+    // Entrega cada registro íntegro, em ordem. Para no primeiro registro truncado ou corrompido,
+    // que só pode ser a cauda de uma gravação interrompida. Retorna quantos registros leu.
+    static long ler(Path arquivo, Consumer<byte[]> consumidor) throws IOException {
+        long lidos = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(arquivo), 64 * 1024))) {
+            CRC32 crc = new CRC32();
+            while (true) {
+                byte[] registro;
+                int crcEsperado;
+                try {
+                    int tamanho = in.readInt();
+                    crcEsperado = in.readInt();
+                    if (tamanho < 0 || tamanho > (1 << 24)) {
+                        return lidos;
+                    }
+                    registro = new byte[tamanho];
+                    in.readFully(registro);
+                } catch (EOFException e) {
+                    return lidos;
+                }
+                crc.reset();
+                crc.update(registro);
+                if ((int) crc.getValue() != crcEsperado) {
+                    return lidos;
+                }
+                consumidor.accept(registro);
+                lidos++;
+            }
+        }
+    }
+
+    private void gravarEmLotes() {
+        while (true) {
+            long alvo;
+            ByteBuffer lote;
+            synchronized (this) {
+                while (pendente.position() == 0 && !fechado) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (pendente.position() == 0) {
+                    return;
+                }
+                lote = pendente;
+                pendente = emGravacao;
+                emGravacao = lote;
+                alvo = ultimoSeqAnexado;
+            }
+            try {
+                lote.flip();
+                while (lote.hasRemaining()) {
+                    canal.write(lote);
+                }
+                canal.force(false);
+                lote.clear();
+                synchronized (this) {
+                    ultimoSeqGravado = alvo;
+                    notifyAll();
+                }
+            } catch (IOException e) {
+                synchronized (this) {
+                    falha = e;
+                    notifyAll();
+                }
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            fechado = true;
+            notifyAll();
+        }
+        try {
+            gravador.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        canal.close();
+        synchronized (this) {
+            if (falha != null) {
+                throw falha;
+            }
+        }
+    }
+}
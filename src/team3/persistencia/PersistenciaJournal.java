@@ -0,0 +1,473 @@
+package team3.persistencia;
+
+import team3.domain.enums.TipoVeiculo;
+import team3.domain.model.Aluguel;
+import team3.domain.model.Cliente;
+import team3.domain.model.PessoaFisica;
+import team3.domain.model.PessoaJuridica;
+import team3.domain.model.RegistroAluguel;
+import team3.domain.model.Reserva;
+import team3.domain.model.Veiculo;
+import team3.repository.IClienteRepository;
+import team3.repository.IVeiculoRepository;
+import team3.repository.ReservaListener;
+import team3.repository.ReservaRepository;
+import team3.service.AluguelListener;
+import team3.service.AluguelService;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+// Guarda cadastros, alterações, aluguéis, devoluções e reservas em um journal binário e, de
+// tempos em tempos, grava um snapshot compacto do estado inteiro. Na partida: carrega o
+// snapshot e reaplica só os journals posteriores a ele.
+public class PersistenciaJournal implements AluguelListener, ReservaListener, Closeable {
+
+    private static final int VERSAO = 1;
+    private static final String SNAPSHOT = "snapshot.bin";
+    private static final String PREFIXO_JOURNAL = "journal-";
+    private static final String SUFIXO_JOURNAL = ".log";
+    private static final long REGISTROS_POR_SNAPSHOT = 100_000;
+
+    private final Path diretorio;
+    private final long registrosPorSnapshot;
+    // Leitura: mudança + anexo no journal. Escrita: troca de journal para o snapshot.
+    private final ReadWriteLock trava = new ReentrantReadWriteLock();
+    private final AtomicBoolean snapshotEmAndamento = new AtomicBoolean();
+    // Um snapshot por vez: todos gravam no mesmo snapshot.bin.tmp e apagam os journals anteriores
+    private final ReentrantLock travaSnapshot = new ReentrantLock();
+    private final ExecutorService executorSnapshot = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private IVeiculoRepository veiculos;
+    private IClienteRepository clientes;
+    private AluguelService aluguelService;
+    private ReservaRepository reservas;
+    private volatile boolean recuperando;
+    private Journal journal;
+    private long numeroJournal;
+
+    public PersistenciaJournal(Path diretorio) {
+        this(diretorio, REGISTROS_POR_SNAPSHOT);
+    }
+
+    public PersistenciaJournal(Path diretorio, long registrosPorSnapshot) {
+        this.diretorio = diretorio;
+        this.registrosPorSnapshot = registrosPorSnapshot;
+    }
+
+    // Recarrega o estado salvo nos repositórios/serviço e passa a registrar as mudanças.
+    // Retorna a quantidade de registros reaplicados (snapshot + journals).
+    public long recuperar(IVeiculoRepository veiculos, IClienteRepository clientes, AluguelService aluguelService) throws IOException {
+        return recuperar(veiculos, clientes, aluguelService, null);
+    }
+
+    // Como o de cima, guardando também as reservas (sem elas, 'reservas' pode ser null)
+    public long recuperar(IVeiculoRepository veiculos, IClienteRepository clientes, AluguelService aluguelService,
+                          ReservaRepository reservas) throws IOException {
+        this.veiculos = veiculos;
+        this.clientes = clientes;
+        this.aluguelService = aluguelService;
+        this.reservas = reservas;
+        Files.createDirectories(diretorio);
+
+        long lidos = 0;
+        long primeiroJournal = 0;
+        recuperando = true;
+        try {
+            Path snapshot = diretorio.resolve(SNAPSHOT);
+            if (Files.exists(snapshot)) {
+                long[] inicio = new long[1];
+                lidos += Journal.ler(snapshot, registro -> {
+                    if (registro[0] == CodecRegistros.CABECALHO_SNAPSHOT) {
+                        inicio[0] = lerCabecalho(registro);
+                    } else {
+                        aplicar(registro);
+                    }
+                });
+                primeiroJournal = inicio[0];
+            }
+            for (long numero : journalsExistentes()) {
+                if (numero >= primeiroJournal) {
+                    lidos += Journal.ler(arquivoJournal(numero), this::aplicar);
+                }
+                numeroJournal = Math.max(numeroJournal, numero);
+            }
+        } finally {
+            recuperando = false;
+        }
+
+        // Sempre começa um arquivo novo, para nunca anexar depois de uma cauda truncada
+        numeroJournal = Math.max(numeroJournal, primeiroJournal) + 1;
+        journal = new Journal(arquivoJournal(numeroJournal));
+        aluguelService.adicionarListener(this);
+        if (reservas != null) {
+            reservas.adicionarListener(this);
+        }
+        return lidos;
+    }
+
+    // Executa a mudança e anexa o registro dela no journal; com 'aguardar', só retorna depois do fsync
+    void registrar(Runnable mudanca, Supplier<byte[]> registro, boolean aguardar) {
+        if (recuperando || journal == null) {
+            mudanca.run();
+            return;
+        }
+        Journal atual;
+        long seq;
+        trava.readLock().lock();
+        try {
+            mudanca.run();
+            atual = journal;
+            seq = atual.anexar(registro.get());
+        } finally {
+            trava.readLock().unlock();
+        }
+        if (aguardar) {
+            atual.aguardarGravacao(seq);
+        }
+        agendarSnapshotSeNecessario(seq);
+    }
+
+    private void agendarSnapshotSeNecessario(long seq) {
+        if (seq >= registrosPorSnapshot && snapshotEmAndamento.compareAndSet(false, true)) {
+            executorSnapshot.execute(() -> {
+                try {
+                    snapshot();
+                } catch (IOException | UncheckedIOException e) {
+                    System.err.println("Erro ao gravar snapshot: " + e.getMessage());
+                } finally {
+                    snapshotEmAndamento.set(false);
+                }
+            });
+        }
+    }
+
+    // Como registrar(), mas com um registro por item e um único fsync no fim do lote
+    <T> void registrarLote(Runnable mudanca, List<T> itens, Function<T, byte[]> codificador) {
+        if (recuperando || journal == null || itens.isEmpty()) {
+            mudanca.run();
+            return;
+        }
+        Journal atual;
+        long seq = 0;
+        trava.readLock().lock();
+        try {
+            mudanca.run();
+            atual = journal;
+            for (T item : itens) {
+                seq = atual.anexar(codificador.apply(item));
+            }
+        } finally {
+            trava.readLock().unlock();
+        }
+        atual.aguardarGravacao(seq);
+        agendarSnapshotSeNecessario(seq);
+    }
+
+    // Como registrarLote(), mas cada item é aplicado por 'aplicar', que devolve o registro a anexar
+    // (ou null se nada mudou). Uma falha afeta só o próprio item: a posição dela no retorno guarda
+    // a exceção e as demais ficam null. Um único fsync no fim.
+    <T> List<RuntimeException> registrarCadaUm(List<T> itens, Function<T, byte[]> aplicar) {
+        List<RuntimeException> falhas = new ArrayList<>(itens.size());
+        if (recuperando || journal == null) {
+            for (T item : itens) {
+                falhas.add(aplicarItem(item, aplicar, null));
+            }
+            return falhas;
+        }
+        Journal atual;
+        long[] seq = new long[1];
+        trava.readLock().lock();
+        try {
+            atual = journal;
+            for (T item : itens) {
+                falhas.add(aplicarItem(item, aplicar, registro -> seq[0] = atual.anexar(registro)));
+            }
+        } finally {
+            trava.readLock().unlock();
+        }
+        if (seq[0] > 0) {
+            atual.aguardarGravacao(seq[0]);
+            agendarSnapshotSeNecessario(seq[0]);
+        }
+        return falhas;
+    }
+
+    private static <T> RuntimeException aplicarItem(T item, Function<T, byte[]> aplicar, Consumer<byte[]> anexar) {
+        try {
+            byte[] registro = aplicar.apply(item);
+            if (registro != null && anexar != null) {
+                anexar.accept(registro);
+            }
+            return null;
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+
+    @Override
+    public void aoAlugar(Aluguel aluguel) {
+        // O fsync vem junto com o do alterar() do veículo, que o AluguelService chama logo depois
+        registrar(() -> { }, () -> CodecRegistros.aluguelIniciado(aluguel), false);
+    }
+
+    @Override
+    public void aoDevolver(RegistroAluguel registro) {
+        registrar(() -> { }, () -> CodecRegistros.aluguelEncerrado(registro), false);
+    }
+
+    // Chamados com a agenda do veículo travada, então os registros de uma placa saem na ordem das
+    // mudanças. A mudança já foi feita antes da trava do journal: se um snapshot entrar no meio, o
+    // registro vai para o journal novo e a reaplicação ignora o que o snapshot já tem.
+    @Override
+    public void aoIncluir(Reserva reserva) {
+        registrar(() -> { }, () -> CodecRegistros.reservaIncluida(reserva), true);
+    }
+
+    @Override
+    public void aoRemover(Reserva reserva) {
+        registrar(() -> { }, () -> CodecRegistros.reservaRemovida(reserva), true);
+    }
+
+    // Troca o journal rapidamente sob a trava e grava o snapshot fora dela. Os registros de
+    // veículo e cliente são "estado completo", então reaplicar o journal novo sobre um
+    // snapshot um pouco mais recente converge para o mesmo resultado.
+    public void snapshot() throws IOException {
+        travaSnapshot.lock();
+        try {
+            gravarSnapshot();
+        } finally {
+            travaSnapshot.unlock();
+        }
+    }
+
+    private void gravarSnapshot() throws IOException {
+        List<RegistroAluguel> historico;
+        List<Veiculo> listaVeiculos;
+        List<Cliente> listaClientes;
+        List<Aluguel> ativos;
+        List<Reserva> listaReservas;
+        long ultimoIdReserva;
+        Journal anterior;
+        long primeiroJournal;
+        trava.writeLock().lock();
+        try {
+            historico = aluguelService.listarHistorico();
+            listaVeiculos = veiculos.listarTodos();
+            listaClientes = clientes.listarTodos();
+            ativos = aluguelService.listarAlugueisAtivos();
+            listaReservas = reservas != null ? reservas.listarTodas() : List.of();
+            ultimoIdReserva = reservas != null ? reservas.getUltimoId() : 0;
+            anterior = journal;
+            primeiroJournal = ++numeroJournal;
+            journal = new Journal(arquivoJournal(primeiroJournal));
+        } finally {
+            trava.writeLock().unlock();
+        }
+        anterior.close();
+
+        Path temporario = diretorio.resolve(SNAPSHOT + ".tmp");
+        try (FileChannel canal = FileChannel.open(temporario, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+             OutputStream out = new BufferedOutputStream(Channels.newOutputStream(canal), 256 * 1024)) {
+            escreverRegistro(out, CodecRegistros.cabecalhoSnapshot(VERSAO, primeiroJournal));
+            // Histórico primeiro: ao ser reaplicado ele não mexe em veículos que ainda não existem
+            for (RegistroAluguel registro : historico) {
+                escreverRegistro(out, CodecRegistros.aluguelEncerrado(registro));
+            }
+            for (Veiculo veiculo : listaVeiculos) {
+                escreverRegistro(out, CodecRegistros.veiculo(veiculo));
+            }
+            for (Cliente cliente : listaClientes) {
+                escreverRegistro(out, CodecRegistros.cliente(cliente));
+            }
+            for (Aluguel aluguel : ativos) {
+                escreverRegistro(out, CodecRegistros.aluguelIniciado(aluguel));
+            }
+            escreverRegistro(out, CodecRegistros.ultimoIdReserva(ultimoIdReserva));
+            for (Reserva reserva : listaReservas) {
+                escreverRegistro(out, CodecRegistros.reservaIncluida(reserva));
+            }
+            out.flush();
+            canal.force(true);
+        }
+        Files.move(temporario, diretorio.resolve(SNAPSHOT), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        for (long numero : journalsExistentes()) {
+            if (numero < primeiroJournal) {
+                Files.deleteIfExists(arquivoJournal(numero));
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        // Espera o snapshot em segundo plano terminar antes do último
+        executorSnapshot.shutdown();
+        try {
+            executorSnapshot.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (journal != null) {
+            snapshot();
+            journal.close();
+        }
+    }
+
+    private void aplicar(byte[] registro) {
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(registro, 1, registro.length - 1));
+            switch (registro[0]) {
+                case CodecRegistros.VEICULO:
+                    aplicarVeiculo(CodecRegistros.lerTexto(in), CodecRegistros.lerTexto(in), CodecRegistros.lerTexto(in),
+                            CodecRegistros.lerTipo(in), in.readBoolean());
+                    break;
+                case CodecRegistros.CLIENTE:
+                    aplicarCliente(in.readByte(), CodecRegistros.lerTexto(in), CodecRegistros.lerTexto(in),
+                            CodecRegistros.lerTexto(in), CodecRegistros.lerTexto(in));
+                    break;
+                case CodecRegistros.ALUGUEL_INICIADO:
+                    Optional<Veiculo> veiculo = veiculos.buscarPorId(CodecRegistros.lerTexto(in));
+                    Optional<Cliente> cliente = clientes.buscarPorId(CodecRegistros.lerTexto(in));
+                    String local = CodecRegistros.lerTexto(in);
+                    LocalDateTime dataAluguel = CodecRegistros.lerData(in);
+                    if (veiculo.isPresent() && cliente.isPresent()) {
+                        aluguelService.restaurarAluguelAtivo(new Aluguel(veiculo.get(), cliente.get(), local, dataAluguel));
+                    }
+                    break;
+                case CodecRegistros.ALUGUEL_ENCERRADO:
+                case CodecRegistros.ALUGUEL_ENCERRADO_CENTAVOS:
+                case CodecRegistros.ALUGUEL_ENCERRADO_TIPO_CLIENTE:
+                    aluguelService.restaurarDevolucao(CodecRegistros.lerAluguelEncerrado(registro[0], in));
+                    break;
+                case CodecRegistros.RESERVA_INCLUIDA:
+                    aplicarReserva(in.readLong(), CodecRegistros.lerTexto(in), CodecRegistros.lerTexto(in),
+                            CodecRegistros.lerData(in), CodecRegistros.lerData(in));
+                    break;
+                case CodecRegistros.RESERVA_REMOVIDA:
+                    long id = in.readLong();
+                    if (reservas != null) {
+                        reservas.restaurarRemocao(id);
+                    }
+                    break;
+                case CodecRegistros.ULTIMO_ID_RESERVA:
+                    long ultimoId = in.readLong();
+                    if (reservas != null) {
+                        reservas.restaurarUltimoId(ultimoId);
+                    }
+                    break;
+                default:
+                    throw new IOException("Tipo de registro desconhecido: " + registro[0]);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Registro corrompido no journal.", e);
+        }
+    }
+
+    private void aplicarVeiculo(String placa, String modelo, String fabricante, TipoVeiculo tipo, boolean disponivel) {
+        Optional<Veiculo> existente = veiculos.buscarPorId(placa);
+        if (existente.isPresent()) {
+            Veiculo veiculo = existente.get();
+            veiculo.setModelo(modelo);
+            veiculo.setFabricante(fabricante);
+            veiculo.setTipo(tipo);
+            veiculo.setDisponivel(disponivel);
+            veiculos.alterar(veiculo);
+        } else {
+            Veiculo veiculo = new Veiculo(placa, modelo, fabricante, tipo);
+            veiculo.setDisponivel(disponivel);
+            veiculos.cadastrar(veiculo);
+        }
+    }
+
+    private void aplicarCliente(byte tipo, String documento, String nome, String email, String telefone) {
+        Optional<Cliente> existente = clientes.buscarPorId(documento);
+        if (existente.isPresent()) {
+            Cliente cliente = existente.get();
+            cliente.setNome(nome);
+            cliente.setEmail(email);
+            cliente.setTelefone(telefone);
+            clientes.alterar(cliente);
+        } else if (tipo == CodecRegistros.PESSOA_JURIDICA) {
+            clientes.cadastrar(new PessoaJuridica(nome, email, telefone, documento));
+        } else {
+            clientes.cadastrar(new PessoaFisica(nome, email, telefone, documento));
+        }
+    }
+
+    private void aplicarReserva(long id, String placa, String documento, LocalDateTime inicio, LocalDateTime fim) {
+        if (reservas == null) {
+            return;
+        }
+        Optional<Veiculo> veiculo = veiculos.buscarPorId(placa);
+        Optional<Cliente> cliente = clientes.buscarPorId(documento);
+        if (veiculo.isPresent() && cliente.isPresent()) {
+            reservas.restaurar(new Reserva(id, veiculo.get(), cliente.get(), inicio, fim));
+        }
+    }
+
+    private static long lerCabecalho(byte[] registro) {
+        ByteBuffer buffer = ByteBuffer.wrap(registro, 1, registro.length - 1);
+        int versao = buffer.getInt();
+        if (versao != VERSAO) {
+            throw new IllegalStateException("Versão de snapshot não suportada: " + versao);
+        }
+        return buffer.getLong();
+    }
+
+    private static void escreverRegistro(OutputStream out, byte[] registro) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(registro);
+        ByteBuffer prefixo = ByteBuffer.allocate(8).putInt(registro.length).putInt((int) crc.getValue());
+        out.write(prefixo.array());
+        out.write(registro);
+    }
+
+    private List<Long> journalsExistentes() throws IOException {
+        List<Long> numeros = new ArrayList<>();
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            arquivos.map(p -> p.getFileName().toString())
+                    .filter(n -> n.startsWith(PREFIXO_JOURNAL) && n.endsWith(SUFIXO_JOURNAL))
+                    .forEach(n -> numeros.add(Long.parseLong(n.substring(PREFIXO_JOURNAL.length(), n.length() - SUFIXO_JOURNAL.length()))));
+        }
+        numeros.sort(null);
+        return numeros;
+    }
+
+    private Path arquivoJournal(long numero) {
+        return diretorio.resolve(String.format("%s%06d%s", PREFIXO_JOURNAL, numero, SUFIXO_JOURNAL));
+    }
+}
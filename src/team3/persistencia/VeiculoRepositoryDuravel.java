@@ -0,0 +1,93 @@
+package team3.persistencia;
+
+import team3.domain.enums.TipoVeiculo;
+import team3.domain.model.Veiculo;
+import team3.repository.FiltroVeiculo;
+import team3.repository.Gravacao;
+import team3.repository.IVeiculoRepository;
+import team3.repository.Pagina;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+// Repositório de veículos que grava cada cadastro/alteração no journal antes de retornar
+public class VeiculoRepositoryDuravel implements IVeiculoRepository {
+
+    private final IVeiculoRepository repository;
+    private final PersistenciaJournal persistencia;
+
+    public VeiculoRepositoryDuravel(IVeiculoRepository repository, PersistenciaJournal persistencia) {
+        this.repository = repository;
+        this.persistencia = persistencia;
+    }
+
+    @Override
+    public void cadastrar(Veiculo veiculo) {
+        persistencia.registrar(() -> repository.cadastrar(veiculo), () -> CodecRegistros.veiculo(veiculo), true);
+    }
+
+    @Override
+    public void cadastrarEmLote(List<? extends Veiculo> lote) {
+        persistencia.registrarLote(() -> repository.cadastrarEmLote(lote), lote, CodecRegistros::veiculo);
+    }
+
+    @Override
+    public void alterar(Veiculo veiculo) {
+        if (repository.buscarPorId(veiculo.getPlaca()).isEmpty()) {
+            return;
+        }
+        persistencia.registrar(() -> repository.alterar(veiculo), () -> CodecRegistros.veiculo(veiculo), true);
+    }
+
+    // Um registro por gravação aplicada e um único fsync para o lote
+    @Override
+    public List<RuntimeException> gravar(List<Gravacao<Veiculo>> gravacoes) {
+        return persistencia.registrarCadaUm(gravacoes, gravacao -> {
+            Veiculo veiculo = gravacao.getEntidade();
+            if (gravacao.isCadastro()) {
+                repository.cadastrar(veiculo);
+            } else if (repository.buscarPorId(veiculo.getPlaca()).isPresent()) {
+                repository.alterar(veiculo);
+            } else {
+                return null;
+            }
+            return CodecRegistros.veiculo(veiculo);
+        });
+    }
+
+    @Override
+    public Optional<Veiculo> buscarPorId(String placa) {
+        return repository.buscarPorId(placa);
+    }
+
+    @Override
+    public List<Veiculo> listarTodos() {
+        return repository.listarTodos();
+    }
+
+    @Override
+    public Pagina<Veiculo> listarPagina(FiltroVeiculo filtro, String cursor, int tamanho) {
+        return repository.listarPagina(filtro, cursor, tamanho);
+    }
+
+    @Override
+    public void paraCada(Consumer<? super Veiculo> acao) {
+        repository.paraCada(acao);
+    }
+
+    @Override
+    public List<Veiculo> buscarPorParteDoNome(String nome) {
+        return repository.buscarPorParteDoNome(nome);
+    }
+
+    @Override
+    public List<Veiculo> buscarDisponiveisPorTipo(TipoVeiculo tipo, int limite) {
+        return repository.buscarDisponiveisPorTipo(tipo, limite);
+    }
+
+    @Override
+    public int contarDisponiveisPorTipo(TipoVeiculo tipo) {
+        return repository.contarDisponiveisPorTipo(tipo);
+    }
+}
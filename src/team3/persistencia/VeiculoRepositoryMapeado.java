@@ -0,0 +1,446 @@
+package team3.persistencia;
+
+import team3.domain.enums.TipoVeiculo;
+import team3.domain.model.Veiculo;
+import team3.repository.FiltroVeiculo;
+import team3.repository.IVeiculoRepository;
+import team3.repository.Pagina;
+import team3.repository.VeiculoRepository;
+import team3.repository.index.ConcurrentBitSet;
+import team3.repository.index.DicionarioTextos;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+// Frota guardada em um arquivo mapeado em memória, com registros de tamanho fixo:
+//   [0..7] placa em ASCII  [8..11] id do modelo  [12..15] id do fabricante
+//   [16] ordinal do TipoVeiculo (-1 = nenhum)  [17] disponível (0/1)
+// Modelo e fabricante ficam em um dicionário à parte. Os Veiculo devolvidos são visões que
+// leem e escrevem direto no mapeamento; alugar/devolver vira a escrita de um único byte.
+public class VeiculoRepositoryMapeado implements IVeiculoRepository, Closeable {
+
+    private static final int MAGICO = 0x4C435646; // "LCVF"
+    private static final int VERSAO = 1;
+    private static final int CABECALHO = 64;
+    private static final int OFFSET_QUANTIDADE = 8;
+    private static final int TAMANHO_REGISTRO = 24;
+    private static final int TAMANHO_PLACA = 8;
+    private static final int OFFSET_MODELO = 8;
+    private static final int OFFSET_FABRICANTE = 12;
+    private static final int OFFSET_TIPO = 16;
+    private static final int OFFSET_DISPONIVEL = 17;
+    private static final int TRAVAS = 64;
+
+    private final FileChannel canal;
+    private final FileChannel canalDicionario;
+    private final DataOutputStream saidaDicionario;
+    private final DicionarioTextos dicionario = new DicionarioTextos();
+    private final Map<String, Integer> indicePorPlaca = new ConcurrentHashMap<>();
+    private final Map<TipoVeiculo, ConcurrentBitSet> disponiveisPorTipo = new EnumMap<>(TipoVeiculo.class);
+    // Travas por faixa de registros, só para o "testar e marcar" da disponibilidade
+    private final Object[] travas = new Object[TRAVAS];
+    private volatile MappedByteBuffer mapa;
+    private volatile int quantidade;
+    private int textosGravados;
+
+    public VeiculoRepositoryMapeado(Path diretorio) throws IOException {
+        Files.createDirectories(diretorio);
+        for (TipoVeiculo tipo : TipoVeiculo.values()) {
+            disponiveisPorTipo.put(tipo, new ConcurrentBitSet());
+        }
+        for (int i = 0; i < TRAVAS; i++) {
+            travas[i] = new Object();
+        }
+
+        Path arquivoDicionario = diretorio.resolve("veiculos.dic");
+        carregarDicionario(arquivoDicionario);
+        canalDicionario = FileChannel.open(arquivoDicionario, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        saidaDicionario = new DataOutputStream(Channels.newOutputStream(canalDicionario));
+
+        canal = FileChannel.open(diretorio.resolve("veiculos.dat"), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (canal.size() == 0) {
+            mapa = canal.map(FileChannel.MapMode.READ_WRITE, 0, CABECALHO + 1024L * TAMANHO_REGISTRO);
+            mapa.putInt(0, MAGICO).putInt(4, VERSAO).putInt(OFFSET_QUANTIDADE, 0);
+        } else {
+            mapa = canal.map(FileChannel.MapMode.READ_WRITE, 0, canal.size());
+            if (mapa.getInt(0) != MAGICO || mapa.getInt(4) != VERSAO) {
+                throw new IOException("Arquivo de frota inválido.");
+            }
+            quantidade = mapa.getInt(OFFSET_QUANTIDADE);
+        }
+        // Sem desserializar registros: só lê as placas e os bytes de tipo/disponibilidade
+        byte[] placa = new byte[TAMANHO_PLACA];
+        for (int i = 0; i < quantidade; i++) {
+            indicePorPlaca.put(VeiculoRepository.normalizarPlaca(lerPlaca(mapa, offset(i), placa)), i);
+            sincronizarDisponibilidade(i);
+        }
+    }
+
+    @Override
+    public synchronized void cadastrar(Veiculo veiculo) {
+        String chave = VeiculoRepository.normalizarPlaca(veiculo.getPlaca());
+        if (chave.isEmpty() || veiculo.getPlaca().length() > TAMANHO_PLACA) {
+            throw new IllegalArgumentException("Erro: Placa inválida.");
+        }
+        if (indicePorPlaca.containsKey(chave)) {
+            throw new IllegalArgumentException("Erro: Veículo com a placa " + veiculo.getPlaca() + " já existe.");
+        }
+        incluir(veiculo);
+    }
+
+    @Override
+    public synchronized void cadastrarEmLote(List<? extends Veiculo> lote) {
+        Set<String> doLote = new HashSet<>(lote.size() * 2);
+        for (Veiculo veiculo : lote) {
+            String chave = VeiculoRepository.normalizarPlaca(veiculo.getPlaca());
+            if (chave.isEmpty() || veiculo.getPlaca().length() > TAMANHO_PLACA) {
+                throw new IllegalArgumentException("Erro: Placa inválida.");
+            }
+            if (indicePorPlaca.containsKey(chave) || !doLote.add(chave)) {
+                throw new IllegalArgumentException("Erro: Veículo com a placa " + veiculo.getPlaca() + " já existe.");
+            }
+        }
+        garantirCapacidade(quantidade + lote.size());
+        for (Veiculo veiculo : lote) {
+            incluir(veiculo);
+        }
+    }
+
+    private void incluir(Veiculo veiculo) {
+        String chave = VeiculoRepository.normalizarPlaca(veiculo.getPlaca());
+        int registro = quantidade;
+        garantirCapacidade(registro + 1);
+        MappedByteBuffer atual = mapa;
+        int base = offset(registro);
+        byte[] placa = veiculo.getPlaca().getBytes(StandardCharsets.US_ASCII);
+        for (int i = 0; i < TAMANHO_PLACA; i++) {
+            atual.put(base + i, i < placa.length ? placa[i] : 0);
+        }
+        gravarCampos(registro, veiculo);
+        quantidade = registro + 1;
+        atual.putInt(OFFSET_QUANTIDADE, quantidade);
+        indicePorPlaca.put(chave, registro);
+    }
+
+    @Override
+    public void alterar(Veiculo veiculo) {
+        Integer registro = indicePorPlaca.get(VeiculoRepository.normalizarPlaca(veiculo.getPlaca()));
+        if (registro == null) {
+            return;
+        }
+        // Uma visão deste repositório já escreveu no mapeamento; basta atualizar o bitset
+        if (!(veiculo instanceof VeiculoMapeado && ((VeiculoMapeado) veiculo).dono() == this)) {
+            synchronized (this) {
+                gravarCampos(registro, veiculo);
+            }
+        }
+        sincronizarDisponibilidade(registro);
+    }
+
+    @Override
+    public Optional<Veiculo> buscarPorId(String placa) {
+        Integer registro = placa == null ? null : indicePorPlaca.get(VeiculoRepository.normalizarPlaca(placa));
+        return registro == null ? Optional.empty() : Optional.of(visao(registro));
+    }
+
+    @Override
+    public List<Veiculo> listarTodos() {
+        int total = quantidade;
+        List<Veiculo> todos = new ArrayList<>(total);
+        for (int i = 0; i < total; i++) {
+            todos.add(visao(i));
+        }
+        return todos;
+    }
+
+    @Override
+    public void paraCada(Consumer<? super Veiculo> acao) {
+        int total = quantidade;
+        for (int i = 0; i < total; i++) {
+            acao.accept(visao(i));
+        }
+    }
+
+    // Filtra pelos bytes de tipo/disponibilidade do registro; só monta a visão dos que entram na página
+    @Override
+    public Pagina<Veiculo> listarPagina(FiltroVeiculo filtro, String cursor, int tamanho) {
+        Pagina.validarTamanho(tamanho);
+        int registro = Pagina.posicaoDoCursor(cursor);
+        List<Veiculo> itens = new ArrayList<>(Math.min(tamanho, 1024));
+        MappedByteBuffer atual = mapa;
+        int total = quantidade;
+        for (; registro < total; registro++) {
+            int base = offset(registro);
+            if (filtro.getTipo() != null && tipoDoByte(atual.get(base + OFFSET_TIPO)) != filtro.getTipo()) {
+                continue;
+            }
+            if (filtro.getDisponivel() != null && (atual.get(base + OFFSET_DISPONIVEL) != 0) != filtro.getDisponivel()) {
+                continue;
+            }
+            if (itens.size() == tamanho) {
+                break;
+            }
+            itens.add(visao(registro));
+        }
+        return new Pagina<>(itens, registro < total ? Pagina.cursorDaPosicao(registro) : null);
+    }
+
+    // Compara ids de modelo (4 bytes por registro) contra os textos do dicionário que casam
+    @Override
+    public List<Veiculo> buscarPorParteDoNome(String nome) {
+        String consulta = nome.toLowerCase(Locale.ROOT);
+        boolean[] casa = new boolean[dicionario.tamanho()];
+        boolean algum = false;
+        for (int id = 0; id < casa.length; id++) {
+            casa[id] = dicionario.texto(id).toLowerCase(Locale.ROOT).contains(consulta);
+            algum |= casa[id];
+        }
+        List<Veiculo> encontrados = new ArrayList<>();
+        if (!algum) {
+            return encontrados;
+        }
+        MappedByteBuffer atual = mapa;
+        int total = quantidade;
+        for (int i = 0; i < total; i++) {
+            int modelo = atual.getInt(offset(i) + OFFSET_MODELO);
+            if (modelo >= 0 && modelo < casa.length && casa[modelo]) {
+                encontrados.add(visao(i));
+            }
+        }
+        return encontrados;
+    }
+
+    @Override
+    public List<Veiculo> buscarDisponiveisPorTipo(TipoVeiculo tipo, int limite) {
+        ConcurrentBitSet disponiveis = disponiveisPorTipo.get(tipo);
+        List<Veiculo> encontrados = new ArrayList<>(Math.min(limite, 64));
+        for (int i = disponiveis.nextSetBit(0); i >= 0 && encontrados.size() < limite; i = disponiveis.nextSetBit(i + 1)) {
+            Veiculo veiculo = visao(i);
+            if (veiculo.isDisponivel() && veiculo.getTipo() == tipo) {
+                encontrados.add(veiculo);
+            }
+        }
+        return encontrados;
+    }
+
+    @Override
+    public int contarDisponiveisPorTipo(TipoVeiculo tipo) {
+        return disponiveisPorTipo.get(tipo).cardinality();
+    }
+
+    // Pede ao sistema operacional para descarregar no disco as páginas alteradas
+    public void sincronizar() throws IOException {
+        mapa.force();
+        saidaDicionario.flush();
+        canalDicionario.force(false);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        sincronizar();
+        saidaDicionario.close();
+        canal.close();
+    }
+
+    private Veiculo visao(int registro) {
+        return new VeiculoMapeado(registro, lerPlaca(mapa, offset(registro), new byte[TAMANHO_PLACA]));
+    }
+
+    private void gravarCampos(int registro, Veiculo veiculo) {
+        int base = offset(registro);
+        int modelo = idDoTexto(veiculo.getModelo());
+        int fabricante = idDoTexto(veiculo.getFabricante());
+        MappedByteBuffer atual = mapa;
+        atual.putInt(base + OFFSET_MODELO, modelo);
+        atual.putInt(base + OFFSET_FABRICANTE, fabricante);
+        TipoVeiculo tipoAnterior = tipoDoByte(atual.get(base + OFFSET_TIPO));
+        if (tipoAnterior != null && tipoAnterior != veiculo.getTipo()) {
+            disponiveisPorTipo.get(tipoAnterior).set(registro, false);
+        }
+        atual.put(base + OFFSET_TIPO, (byte) (veiculo.getTipo() == null ? -1 : veiculo.getTipo().ordinal()));
+        atual.put(base + OFFSET_DISPONIVEL, (byte) (veiculo.isDisponivel() ? 1 : 0));
+        sincronizarDisponibilidade(registro);
+    }
+
+    private void sincronizarDisponibilidade(int registro) {
+        int base = offset(registro);
+        boolean disponivel;
+        do {
+            TipoVeiculo tipo = tipoDoByte(mapa.get(base + OFFSET_TIPO));
+            disponivel = mapa.get(base + OFFSET_DISPONIVEL) != 0;
+            if (tipo == null) {
+                return;
+            }
+            disponiveisPorTipo.get(tipo).set(registro, disponivel);
+        } while (disponivel != (mapa.get(base + OFFSET_DISPONIVEL) != 0));
+    }
+
+    private int idDoTexto(String texto) {
+        int id = dicionario.id(texto);
+        try {
+            while (textosGravados < dicionario.tamanho()) {
+                byte[] bytes = dicionario.texto(textosGravados).getBytes(StandardCharsets.UTF_8);
+                saidaDicionario.writeInt(bytes.length);
+                saidaDicionario.write(bytes);
+                textosGravados++;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao gravar o dicionário da frota.", e);
+        }
+        return id;
+    }
+
+    private void carregarDicionario(Path arquivo) throws IOException {
+        if (!Files.exists(arquivo)) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(arquivo)))) {
+            while (true) {
+                byte[] bytes;
+                try {
+                    bytes = new byte[in.readInt()];
+                    in.readFully(bytes);
+                } catch (EOFException e) {
+                    break;
+                }
+                dicionario.id(new String(bytes, StandardCharsets.UTF_8));
+                textosGravados++;
+            }
+        }
+    }
+
+    private void garantirCapacidade(int registros) {
+        long necessario = CABECALHO + (long) registros * TAMANHO_REGISTRO;
+        if (necessario <= mapa.capacity()) {
+            return;
+        }
+        long novaCapacidade = Math.max(necessario, CABECALHO + 2L * (mapa.capacity() - CABECALHO));
+        if (novaCapacidade > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Frota maior do que um único mapeamento suporta.");
+        }
+        try {
+            mapa = canal.map(FileChannel.MapMode.READ_WRITE, 0, novaCapacidade);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao aumentar o arquivo da frota.", e);
+        }
+    }
+
+    private static String lerPlaca(ByteBuffer mapa, int base, byte[] destino) {
+        int tamanho = 0;
+        while (tamanho < TAMANHO_PLACA && (destino[tamanho] = mapa.get(base + tamanho)) != 0) {
+            tamanho++;
+        }
+        return new String(destino, 0, tamanho, StandardCharsets.US_ASCII);
+    }
+
+    private static TipoVeiculo tipoDoByte(byte ordinal) {
+        return ordinal < 0 ? null : TipoVeiculo.values()[ordinal];
+    }
+
+    private static int offset(int registro) {
+        return CABECALHO + registro * TAMANHO_REGISTRO;
+    }
+
+    // Visão de um registro: cada getter decodifica na hora, cada setter escreve no mapeamento
+    private final class VeiculoMapeado extends Veiculo {
+        private final int registro;
+        private final int base;
+
+        VeiculoMapeado(int registro, String placa) {
+            super(placa, null, null, null);
+            this.registro = registro;
+            this.base = offset(registro);
+        }
+
+        VeiculoRepositoryMapeado dono() {
+            return VeiculoRepositoryMapeado.this;
+        }
+
+        @Override
+        public String getModelo() {
+            return dicionario.texto(mapa.getInt(base + OFFSET_MODELO));
+        }
+
+        @Override
+        public void setModelo(String modelo) {
+            synchronized (VeiculoRepositoryMapeado.this) {
+                mapa.putInt(base + OFFSET_MODELO, idDoTexto(modelo));
+            }
+        }
+
+        @Override
+        public String getFabricante() {
+            return dicionario.texto(mapa.getInt(base + OFFSET_FABRICANTE));
+        }
+
+        @Override
+        public void setFabricante(String fabricante) {
+            synchronized (VeiculoRepositoryMapeado.this) {
+                mapa.putInt(base + OFFSET_FABRICANTE, idDoTexto(fabricante));
+            }
+        }
+
+        @Override
+        public TipoVeiculo getTipo() {
+            return tipoDoByte(mapa.get(base + OFFSET_TIPO));
+        }
+
+        @Override
+        public void setTipo(TipoVeiculo tipo) {
+            synchronized (VeiculoRepositoryMapeado.this) {
+                TipoVeiculo anterior = getTipo();
+                if (anterior != null && anterior != tipo) {
+                    disponiveisPorTipo.get(anterior).set(registro, false);
+                }
+                mapa.put(base + OFFSET_TIPO, (byte) (tipo == null ? -1 : tipo.ordinal()));
+            }
+        }
+
+        @Override
+        public boolean isDisponivel() {
+            return mapa.get(base + OFFSET_DISPONIVEL) != 0;
+        }
+
+        @Override
+        public void setDisponivel(boolean disponivel) {
+            synchronized (travas[registro % TRAVAS]) {
+                mapa.put(base + OFFSET_DISPONIVEL, (byte) (disponivel ? 1 : 0));
+            }
+        }
+
+        @Override
+        public boolean marcarComoAlugado() {
+            synchronized (travas[registro % TRAVAS]) {
+                if (mapa.get(base + OFFSET_DISPONIVEL) == 0) {
+                    return false;
+                }
+                mapa.put(base + OFFSET_DISPONIVEL, (byte) 0);
+                return true;
+            }
+        }
+    }
+}
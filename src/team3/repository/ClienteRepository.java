@@ -1,40 +1,289 @@
 package team3.repository;
 
 import team3.domain.model.Cliente;
+import team3.repository.index.LongIntHashMap;
+import team3.repository.index.VetorPersistente;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
-public class ClienteRepository implements IRepository<Cliente, String> {
+public class ClienteRepository implements IClienteRepository {
 
-    private static final List<Cliente> clientes = new ArrayList<>();
+    private static final int MAX_DIGITOS_DOCUMENTO = 15;
+
+    // Versão publicada da lista na ordem de cadastro; os índices guardam a posição do cliente nela.
+    // Os elementos são as instâncias vivas: um Cliente alterado no lugar aparece em todas as versões.
+    // Só quem tem a trava de escrita troca a versão, e quem lista lê a versão atual sem trava.
+    private volatile VetorPersistente<Cliente> clientes = VetorPersistente.vazio();
+    private final List<String> emailsIndexados = new ArrayList<>();
+    private final List<String> telefonesIndexados = new ArrayList<>();
+    private final LongIntHashMap indicePorDocumento = new LongIntHashMap();
+    private final Map<String, Integer> indicePorEmail = new HashMap<>();
+    private final Map<String, List<Integer>> indicePorTelefone = new HashMap<>();
+    private final StampedLock trava = new StampedLock();
 
     @Override
     public void cadastrar(Cliente cliente) {
-        if (buscarPorId(cliente.getDocumento()).isPresent()) {
-            throw new IllegalArgumentException("Erro: Cliente com o documento " + cliente.getDocumento() + " já existe.");
+        long chave = chaveDocumento(cliente.getDocumento());
+        if (chave < 0) {
+            throw new IllegalArgumentException("Erro: Documento " + cliente.getDocumento() + " inválido.");
+        }
+        String email = normalizarEmail(cliente.getEmail());
+        String telefone = normalizarTelefone(cliente.getTelefone());
+
+        long stamp = trava.writeLock();
+        try {
+            if (indicePorDocumento.containsKey(chave)) {
+                throw new IllegalArgumentException("Erro: Cliente com o documento " + cliente.getDocumento() + " já existe.");
+            }
+            verificarEmailLivre(email, -1);
+            int posicao = clientes.tamanho();
+            clientes = clientes.adicionar(cliente);
+            indexarNovo(posicao, chave, email, telefone);
+        } finally {
+            trava.unlockWrite(stamp);
+        }
+    }
+
+    // Valida o lote inteiro (documentos e emails já usados ou repetidos no próprio lote)
+    // e só então inclui tudo, com uma única aquisição da trava
+    @Override
+    public void cadastrarEmLote(List<? extends Cliente> lote) {
+        int n = lote.size();
+        long[] chaves = new long[n];
+        String[] emails = new String[n];
+        String[] telefones = new String[n];
+        for (int i = 0; i < n; i++) {
+            Cliente cliente = lote.get(i);
+            chaves[i] = chaveDocumento(cliente.getDocumento());
+            if (chaves[i] < 0) {
+                throw new IllegalArgumentException("Erro: Documento " + cliente.getDocumento() + " inválido.");
+            }
+            emails[i] = normalizarEmail(cliente.getEmail());
+            telefones[i] = normalizarTelefone(cliente.getTelefone());
+        }
+
+        long stamp = trava.writeLock();
+        try {
+            LongIntHashMap documentosDoLote = new LongIntHashMap(n);
+            Set<String> emailsDoLote = new HashSet<>(n * 2);
+            for (int i = 0; i < n; i++) {
+                if (indicePorDocumento.containsKey(chaves[i]) || documentosDoLote.containsKey(chaves[i])) {
+                    throw new IllegalArgumentException("Erro: Cliente com o documento " + lote.get(i).getDocumento() + " já existe.");
+                }
+                documentosDoLote.put(chaves[i], i);
+                verificarEmailLivre(emails[i], -1);
+                if (emails[i] != null && !emailsDoLote.add(emails[i])) {
+                    throw new IllegalArgumentException("Erro: O email " + emails[i] + " já está em uso por outro cliente.");
+                }
+            }
+            // o lote inteiro aparece numa única versão
+            int inicio = clientes.tamanho();
+            clientes = clientes.adicionarTodos(lote);
+            for (int i = 0; i < n; i++) {
+                indexarNovo(inicio + i, chaves[i], emails[i], telefones[i]);
+            }
+        } finally {
+            trava.unlockWrite(stamp);
         }
-        clientes.add(cliente);
     }
 
     @Override
     public void alterar(Cliente clienteAtualizado) {
-        buscarPorId(clienteAtualizado.getDocumento()).ifPresent(clienteExistente -> {
-            clientes.remove(clienteExistente);
-            clientes.add(clienteAtualizado);
-        });
+        long chave = chaveDocumento(clienteAtualizado.getDocumento());
+        String email = normalizarEmail(clienteAtualizado.getEmail());
+        String telefone = normalizarTelefone(clienteAtualizado.getTelefone());
+
+        long stamp = trava.writeLock();
+        try {
+            int posicao = indicePorDocumento.get(chave, -1);
+            if (posicao < 0) {
+                return;
+            }
+            verificarEmailLivre(email, posicao);
+
+            clientes = clientes.substituir(posicao, clienteAtualizado);
+            indexarEmail(posicao, email);
+            indexarTelefone(posicao, telefone);
+        } finally {
+            trava.unlockWrite(stamp);
+        }
     }
 
     @Override
     public Optional<Cliente> buscarPorId(String documento) {
-        return clientes.stream()
-                .filter(c -> c.getDocumento().equals(documento))
-                .findFirst();
+        long chave = chaveDocumento(documento);
+        return ler(() -> {
+            int posicao = indicePorDocumento.get(chave, -1);
+            return posicao < 0 ? Optional.empty() : Optional.of(clientes.get(posicao));
+        });
+    }
+
+    @Override
+    public Optional<Cliente> buscarPorEmail(String email) {
+        String chave = normalizarEmail(email);
+        return ler(() -> {
+            Integer posicao = indicePorEmail.get(chave);
+            return posicao == null ? Optional.empty() : Optional.of(clientes.get(posicao));
+        });
+    }
+
+    @Override
+    public List<Cliente> buscarPorTelefone(String telefone) {
+        String chave = normalizarTelefone(telefone);
+        long stamp = trava.readLock();
+        try {
+            List<Integer> posicoes = indicePorTelefone.getOrDefault(chave, List.of());
+            VetorPersistente<Cliente> versao = clientes;
+            List<Cliente> encontrados = new ArrayList<>(posicoes.size());
+            for (Integer posicao : posicoes) {
+                encontrados.add(versao.get(posicao));
+            }
+            return encontrados;
+        } finally {
+            trava.unlockRead(stamp);
+        }
+    }
+
+    // Percorre a versão vigente no início; cadastros feitos durante a ação não entram
+    @Override
+    public void paraCada(Consumer<? super Cliente> acao) {
+        clientes.comoLista().forEach(acao);
+    }
+
+    @Override
+    public Pagina<Cliente> listarPagina(String cursor, int tamanho) {
+        Pagina.validarTamanho(tamanho);
+        int inicio = Pagina.posicaoDoCursor(cursor);
+        VetorPersistente<Cliente> versao = clientes;
+        int fim = (int) Math.min(versao.tamanho(), (long) inicio + tamanho);
+        if (inicio >= fim) {
+            return new Pagina<>(List.of(), null);
+        }
+        return new Pagina<>(new ArrayList<>(versao.comoLista().subList(inicio, fim)),
+                fim < versao.tamanho() ? Pagina.cursorDaPosicao(fim) : null);
     }
 
+    // Versão atual sem trava e sem cópia; fixa quais clientes e em que ordem, não os dados de cada um
     @Override
     public List<Cliente> listarTodos() {
-        return new ArrayList<>(clientes);
+        return clientes.comoLista();
+    }
+
+    // Leitura otimista sem trava; se um cadastro concorrente invalidar o stamp (ou deixar as
+    // estruturas momentaneamente inconsistentes para esta thread), repete com a trava de leitura
+    private <R> R ler(Supplier<R> leitura) {
+        long stamp = trava.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                R resultado = leitura.get();
+                if (trava.validate(stamp)) {
+                    return resultado;
+                }
+            } catch (RuntimeException e) {
+                // descartado: a releitura com trava abaixo decide o resultado
+            }
+        }
+        stamp = trava.readLock();
+        try {
+            return leitura.get();
+        } finally {
+            trava.unlockRead(stamp);
+        }
+    }
+
+    private void indexarNovo(int posicao, long chave, String email, String telefone) {
+        emailsIndexados.add(null);
+        telefonesIndexados.add(null);
+        indicePorDocumento.put(chave, posicao);
+        indexarEmail(posicao, email);
+        indexarTelefone(posicao, telefone);
+    }
+
+    private void verificarEmailLivre(String email, int posicaoAtual) {
+        if (email == null) {
+            return;
+        }
+        Integer dono = indicePorEmail.get(email);
+        if (dono != null && dono != posicaoAtual) {
+            throw new IllegalArgumentException("Erro: O email " + email + " já está em uso por outro cliente.");
+        }
+    }
+
+    private void indexarEmail(int posicao, String email) {
+        String anterior = emailsIndexados.get(posicao);
+        if (anterior != null) {
+            indicePorEmail.remove(anterior);
+        }
+        if (email != null) {
+            indicePorEmail.put(email, posicao);
+        }
+        emailsIndexados.set(posicao, email);
+    }
+
+    private void indexarTelefone(int posicao, String telefone) {
+        String anterior = telefonesIndexados.get(posicao);
+        if (anterior != null) {
+            List<Integer> posicoes = indicePorTelefone.get(anterior);
+            posicoes.remove(Integer.valueOf(posicao));
+            if (posicoes.isEmpty()) {
+                indicePorTelefone.remove(anterior);
+            }
+        }
+        if (telefone != null) {
+            indicePorTelefone.computeIfAbsent(telefone, t -> new ArrayList<>(1)).add(posicao);
+        }
+        telefonesIndexados.set(posicao, telefone);
+    }
+
+    // "999.999.999-99" e "99999999999" viram a mesma chave. A quantidade de dígitos vai
+    // nos bits altos para que um CPF e um CNPJ com o mesmo valor numérico não colidam.
+    // Retorna -1 se o documento não tiver dígitos ou tiver mais do que o suportado.
+    public static long chaveDocumento(String documento) {
+        if (documento == null) {
+            return -1;
+        }
+        long valor = 0;
+        int digitos = 0;
+        for (int i = 0; i < documento.length(); i++) {
+            char c = documento.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (++digitos > MAX_DIGITOS_DOCUMENTO) {
+                    return -1;
+                }
+                valor = valor * 10 + (c - '0');
+            }
+        }
+        return digitos == 0 ? -1 : ((long) digitos << 50) | valor;
+    }
+
+    static String normalizarEmail(String email) {
+        if (email == null || email.isBlank()) {
+            return null;
+        }
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    static String normalizarTelefone(String telefone) {
+        if (telefone == null) {
+            return null;
+        }
+        StringBuilder digitos = new StringBuilder(telefone.length());
+        for (int i = 0; i < telefone.length(); i++) {
+            char c = telefone.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digitos.append(c);
+            }
+        }
+        return digitos.length() == 0 ? null : digitos.toString();
     }
 }
@@ -0,0 +1,31 @@
+package team3.repository;
+
+import team3.domain.enums.TipoVeiculo;
+import team3.domain.model.Veiculo;
+
+// Filtro da listagem paginada de veículos; tipo ou disponibilidade nulos não filtram nada
+public final class FiltroVeiculo {
+
+    public static final FiltroVeiculo TODOS = new FiltroVeiculo(null, null);
+
+    private final TipoVeiculo tipo;
+    private final Boolean disponivel;
+
+    public FiltroVeiculo(TipoVeiculo tipo, Boolean disponivel) {
+        this.tipo = tipo;
+        this.disponivel = disponivel;
+    }
+
+    public TipoVeiculo getTipo() {
+        return tipo;
+    }
+
+    public Boolean getDisponivel() {
+        return disponivel;
+    }
+
+    public boolean aceita(Veiculo veiculo) {
+        return (tipo == null || veiculo.getTipo() == tipo)
+                && (disponivel == null || veiculo.isDisponivel() == disponivel);
+    }
+}
@@ -0,0 +1,29 @@
+package team3.repository;
+
+// Um cadastrar() ou alterar() pendente, para ser aplicado junto com outros em IRepository.gravar()
+public final class Gravacao<T> {
+
+    private final boolean cadastro;
+    private final T entidade;
+
+    private Gravacao(boolean cadastro, T entidade) {
+        this.cadastro = cadastro;
+        this.entidade = entidade;
+    }
+
+    public static <T> Gravacao<T> cadastro(T entidade) {
+        return new Gravacao<>(true, entidade);
+    }
+
+    public static <T> Gravacao<T> alteracao(T entidade) {
+        return new Gravacao<>(false, entidade);
+    }
+
+    public boolean isCadastro() {
+        return cadastro;
+    }
+
+    public T getEntidade() {
+        return entidade;
+    }
+}
@@ -0,0 +1,123 @@
+package team3.repository;
+
+import team3.domain.model.RegistroAluguel;
+import team3.repository.index.IntList;
+import team3.repository.index.VetorPersistente;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Histórico só de inclusão dos aluguéis encerrados. Os índices guardam a posição de cada
+// registro, então uma consulta percorre apenas os registros do cliente/placa/dia pedidos.
+// A lista em si é uma versão imutável republicada a cada registro, lida sem trava.
+public class HistoricoAluguelRepository {
+
+    private volatile VetorPersistente<RegistroAluguel> registros = VetorPersistente.vazio();
+    private final Map<Long, IntList> indicePorCliente = new HashMap<>();
+    private final Map<String, IntList> indicePorPlaca = new HashMap<>();
+    private final NavigableMap<LocalDate, IntList> indicePorDataDevolucao = new TreeMap<>();
+    private final ReadWriteLock trava = new ReentrantReadWriteLock();
+
+    public void registrar(RegistroAluguel registro) {
+        trava.writeLock().lock();
+        try {
+            int posicao = registros.tamanho();
+            registros = registros.adicionar(registro);
+            indicePorCliente.computeIfAbsent(ClienteRepository.chaveDocumento(registro.getDocumentoCliente()), c -> new IntList()).add(posicao);
+            indicePorPlaca.computeIfAbsent(VeiculoRepository.normalizarPlaca(registro.getPlaca()), p -> new IntList()).add(posicao);
+            indicePorDataDevolucao.computeIfAbsent(registro.getDataDevolucao().toLocalDate(), d -> new IntList()).add(posicao);
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    public List<RegistroAluguel> buscarPorCliente(String documento) {
+        return buscarPorCliente(documento, LocalDateTime.MIN, LocalDateTime.MAX);
+    }
+
+    // Aluguéis do cliente devolvidos em [inicio, fim)
+    public List<RegistroAluguel> buscarPorCliente(String documento, LocalDateTime inicio, LocalDateTime fim) {
+        trava.readLock().lock();
+        try {
+            return filtrar(indicePorCliente.get(ClienteRepository.chaveDocumento(documento)), inicio, fim);
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    public List<RegistroAluguel> buscarPorPlaca(String placa) {
+        trava.readLock().lock();
+        try {
+            return filtrar(indicePorPlaca.get(VeiculoRepository.normalizarPlaca(placa)), LocalDateTime.MIN, LocalDateTime.MAX);
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    // Aluguéis devolvidos em [inicio, fim), de qualquer cliente
+    public List<RegistroAluguel> buscarPorPeriodo(LocalDateTime inicio, LocalDateTime fim) {
+        if (!fim.isAfter(inicio)) {
+            return new ArrayList<>();
+        }
+        trava.readLock().lock();
+        try {
+            List<RegistroAluguel> encontrados = new ArrayList<>();
+            for (IntList posicoes : indicePorDataDevolucao.subMap(inicio.toLocalDate(), true, fim.toLocalDate(), true).values()) {
+                encontrados.addAll(filtrar(posicoes, inicio, fim));
+            }
+            return encontrados;
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    // Verdadeiro se o aluguel da placa iniciado em dataAluguel já está no histórico
+    public boolean contem(String placa, LocalDateTime dataAluguel) {
+        trava.readLock().lock();
+        try {
+            IntList posicoes = indicePorPlaca.get(VeiculoRepository.normalizarPlaca(placa));
+            if (posicoes == null) {
+                return false;
+            }
+            for (int i = posicoes.size() - 1; i >= 0; i--) {
+                if (registros.get(posicoes.get(i)).getDataAluguel().equals(dataAluguel)) {
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    public List<RegistroAluguel> listarTodos() {
+        return registros.comoLista();
+    }
+
+    public int quantidade() {
+        return registros.tamanho();
+    }
+
+    private List<RegistroAluguel> filtrar(IntList posicoes, LocalDateTime inicio, LocalDateTime fim) {
+        if (posicoes == null) {
+            return new ArrayList<>();
+        }
+        List<RegistroAluguel> encontrados = new ArrayList<>(posicoes.size());
+        for (int i = 0; i < posicoes.size(); i++) {
+            RegistroAluguel registro = registros.get(posicoes.get(i));
+            LocalDateTime devolucao = registro.getDataDevolucao();
+            if (!devolucao.isBefore(inicio) && devolucao.isBefore(fim)) {
+                encontrados.add(registro);
+            }
+        }
+        return encontrados;
+    }
+}
@@ -0,0 +1,11 @@
+package team3.repository;
+
+import team3.domain.model.Cliente;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface IClienteRepository extends IRepository<Cliente, String> {
+    Optional<Cliente> buscarPorEmail(String email);
+    List<Cliente> buscarPorTelefone(String telefone);
+}
@@ -1,7 +1,10 @@
 package team3.repository;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 // T é o tipo da entidade (ex: Veiculo)
 // ID é o tipo do identificador (ex: String para a placa)
@@ -10,4 +13,53 @@ public interface IRepository<T, ID> {
     void alterar(T entidade);
     Optional<T> buscarPorId(ID id);
     List<T> listarTodos();
+
+    // Cadastra vários de uma vez; as implementações podem validar o lote inteiro antes de gravar
+    default void cadastrarEmLote(List<? extends T> entidades) {
+        for (T entidade : entidades) {
+            cadastrar(entidade);
+        }
+    }
+
+    // Aplica as gravações em ordem. Cada uma falha sozinha: a posição dela no retorno guarda a
+    // exceção lançada, ou null se deu certo. Os repositórios duráveis esperam o disco uma vez só.
+    default List<RuntimeException> gravar(List<Gravacao<T>> gravacoes) {
+        List<RuntimeException> falhas = new ArrayList<>(gravacoes.size());
+        for (Gravacao<T> gravacao : gravacoes) {
+            try {
+                if (gravacao.isCadastro()) {
+                    cadastrar(gravacao.getEntidade());
+                } else {
+                    alterar(gravacao.getEntidade());
+                }
+                falhas.add(null);
+            } catch (RuntimeException e) {
+                falhas.add(e);
+            }
+        }
+        return falhas;
+    }
+
+    // Percorre todas as entidades na ordem de cadastro sem montar uma cópia da lista inteira
+    default void paraCada(Consumer<? super T> acao) {
+        listarTodos().forEach(acao);
+    }
+
+    // Até "tamanho" entidades a partir do cursor (null = início), na ordem de cadastro.
+    // Esta versão copia a lista inteira; os repositórios concretos leem só a faixa pedida.
+    default Pagina<T> listarPagina(String cursor, int tamanho) {
+        Pagina.validarTamanho(tamanho);
+        int inicio = Pagina.posicaoDoCursor(cursor);
+        List<T> todos = listarTodos();
+        int fim = (int) Math.min(todos.size(), (long) inicio + tamanho);
+        if (inicio >= fim) {
+            return new Pagina<>(List.of(), null);
+        }
+        return new Pagina<>(new ArrayList<>(todos.subList(inicio, fim)), fim < todos.size() ? Pagina.cursorDaPosicao(fim) : null);
+    }
+
+    // Percorre o repositório página a página, sem montar a lista inteira
+    default Stream<T> stream() {
+        return Pagina.emStream(this::listarPagina);
+    }
 }
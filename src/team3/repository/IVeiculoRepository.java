@@ -0,0 +1,23 @@
+package team3.repository;
+
+import team3.domain.enums.TipoVeiculo;
+import team3.domain.model.Veiculo;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface IVeiculoRepository extends IRepository<Veiculo, String> {
+    List<Veiculo> buscarPorParteDoNome(String nome);
+    List<Veiculo> buscarDisponiveisPorTipo(TipoVeiculo tipo, int limite);
+    int contarDisponiveisPorTipo(TipoVeiculo tipo);
+    Pagina<Veiculo> listarPagina(FiltroVeiculo filtro, String cursor, int tamanho);
+
+    @Override
+    default Pagina<Veiculo> listarPagina(String cursor, int tamanho) {
+        return listarPagina(FiltroVeiculo.TODOS, cursor, tamanho);
+    }
+
+    default Stream<Veiculo> stream(FiltroVeiculo filtro) {
+        return Pagina.emStream((cursor, tamanho) -> listarPagina(filtro, cursor, tamanho));
+    }
+}
@@ -0,0 +1,93 @@
+package team3.repository;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+// Um trecho de uma listagem. O cursor é opaco para quem chama: basta devolvê-lo ao repositório
+// para receber a página seguinte; null quando não há mais nada.
+public final class Pagina<T> {
+
+    static final int TAMANHO_PADRAO_STREAM = 1024;
+
+    private final List<T> itens;
+    private final String proximoCursor;
+
+    public Pagina(List<T> itens, String proximoCursor) {
+        this.itens = Collections.unmodifiableList(itens);
+        this.proximoCursor = proximoCursor;
+    }
+
+    public List<T> getItens() {
+        return itens;
+    }
+
+    public String getProximoCursor() {
+        return proximoCursor;
+    }
+
+    public boolean temProxima() {
+        return proximoCursor != null;
+    }
+
+    public boolean isVazia() {
+        return itens.isEmpty();
+    }
+
+    // Os repositórios em memória usam a posição de cadastro como cursor
+    public static int posicaoDoCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0;
+        }
+        try {
+            int posicao = Integer.parseInt(cursor, Character.MAX_RADIX);
+            if (posicao >= 0) {
+                return posicao;
+            }
+        } catch (NumberFormatException e) {
+            // cai no erro abaixo
+        }
+        throw new IllegalArgumentException("Erro: Cursor inválido.");
+    }
+
+    public static String cursorDaPosicao(int posicao) {
+        return Integer.toString(posicao, Character.MAX_RADIX);
+    }
+
+    public static void validarTamanho(int tamanho) {
+        if (tamanho < 1) {
+            throw new IllegalArgumentException("Erro: O tamanho da página deve ser positivo.");
+        }
+    }
+
+    // Stream preguiçoso: só busca a próxima página quando a anterior foi consumida
+    public static <T> Stream<T> emStream(BiFunction<String, Integer, Pagina<T>> buscarPagina) {
+        Spliterator<T> paginas = new Spliterators.AbstractSpliterator<T>(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            private Iterator<T> atual = Collections.emptyIterator();
+            private String cursor;
+            private boolean fim;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super T> acao) {
+                while (!atual.hasNext()) {
+                    if (fim) {
+                        return false;
+                    }
+                    Pagina<T> pagina = buscarPagina.apply(cursor, TAMANHO_PADRAO_STREAM);
+                    atual = pagina.getItens().iterator();
+                    cursor = pagina.getProximoCursor();
+                    fim = cursor == null;
+                }
+                acao.accept(atual.next());
+                return true;
+            }
+        };
+        return StreamSupport.stream(paginas, false);
+    }
+}
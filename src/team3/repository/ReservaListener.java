@@ -0,0 +1,10 @@
+package team3.repository;
+
+import team3.domain.model.Reserva;
+
+// Notificado pelo ReservaRepository, ainda com a agenda do veículo travada, depois que uma
+// reserva entra ou sai dela
+public interface ReservaListener {
+    void aoIncluir(Reserva reserva);
+    void aoRemover(Reserva reserva);
+}
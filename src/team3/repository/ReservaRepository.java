@@ -0,0 +1,191 @@
+package team3.repository;
+
+import team3.domain.model.Reserva;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+// Reservas indexadas por veículo. Cada veículo tem uma Agenda com os períodos ordenados pelo
+// início; como os períodos de um veículo nunca se sobrepõem, os fins ficam na mesma ordem e o
+// único candidato a conflito com [inicio, fim) é o último período que começa antes de "fim":
+// uma busca O(log n) no TreeMap.
+public class ReservaRepository {
+
+    private final ConcurrentMap<String, Agenda> agendas = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, Reserva> porId = new ConcurrentHashMap<>();
+    private final AtomicLong ultimoId = new AtomicLong();
+    private final List<ReservaListener> listeners = new CopyOnWriteArrayList<>();
+
+    public long proximoId() {
+        return ultimoId.incrementAndGet();
+    }
+
+    public long getUltimoId() {
+        return ultimoId.get();
+    }
+
+    // Usado na recuperação: ids já entregues, mesmo de reservas removidas, não se repetem
+    public void restaurarUltimoId(long id) {
+        ultimoId.accumulateAndGet(id, Math::max);
+    }
+
+    // Executa a operação com a agenda do veículo travada. Quem precisa decidir algo junto com a
+    // agenda (por exemplo, marcar o veículo como alugado) faz isso dentro da operação.
+    public <T> T naAgenda(String placa, Function<Agenda, T> operacao) {
+        Agenda agenda = agendas.computeIfAbsent(VeiculoRepository.normalizarPlaca(placa), chave -> new Agenda());
+        synchronized (agenda) {
+            return operacao.apply(agenda);
+        }
+    }
+
+    public boolean estaLivre(String placa, LocalDateTime inicio, LocalDateTime fim) {
+        Agenda agenda = agendas.get(VeiculoRepository.normalizarPlaca(placa));
+        if (agenda == null) {
+            return true;
+        }
+        synchronized (agenda) {
+            return agenda.primeiroConflito(inicio, fim) == null;
+        }
+    }
+
+    public Optional<Reserva> buscarPorId(long id) {
+        return Optional.ofNullable(porId.get(id));
+    }
+
+    public List<Reserva> listarPorVeiculo(String placa) {
+        Agenda agenda = agendas.get(VeiculoRepository.normalizarPlaca(placa));
+        if (agenda == null) {
+            return new ArrayList<>();
+        }
+        synchronized (agenda) {
+            return new ArrayList<>(agenda.porInicio.values());
+        }
+    }
+
+    public List<Reserva> listarPorCliente(String documento) {
+        long chave = ClienteRepository.chaveDocumento(documento);
+        List<Reserva> resultado = new ArrayList<>();
+        for (Reserva reserva : porId.values()) {
+            if (ClienteRepository.chaveDocumento(reserva.getCliente().getDocumento()) == chave) {
+                resultado.add(reserva);
+            }
+        }
+        resultado.sort((a, b) -> a.getInicio().compareTo(b.getInicio()));
+        return resultado;
+    }
+
+    public boolean remover(long id) {
+        Reserva reserva = porId.get(id);
+        return reserva != null && naAgenda(reserva.getVeiculo().getPlaca(), agenda -> agenda.remover(reserva));
+    }
+
+    public int contar() {
+        return porId.size();
+    }
+
+    public List<Reserva> listarTodas() {
+        return new ArrayList<>(porId.values());
+    }
+
+    public void adicionarListener(ReservaListener listener) {
+        listeners.add(listener);
+    }
+
+    // Recoloca uma reserva salva sem avisar os listeners; os próximos ids continuam depois dela.
+    // Devolve false se ela já estava lá ou se o período foi ocupado por outra.
+    public boolean restaurar(Reserva reserva) {
+        restaurarUltimoId(reserva.getId());
+        if (porId.containsKey(reserva.getId())) {
+            return false;
+        }
+        return naAgenda(reserva.getVeiculo().getPlaca(), agenda -> agenda.colocar(reserva));
+    }
+
+    // Tira uma reserva salva sem avisar os listeners
+    public boolean restaurarRemocao(long id) {
+        Reserva reserva = porId.get(id);
+        return reserva != null && naAgenda(reserva.getVeiculo().getPlaca(), agenda -> agenda.retirar(reserva));
+    }
+
+    static long segundo(LocalDateTime data) {
+        return data.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    // Períodos de um veículo. Só deve ser usada dentro de naAgenda, que segura a trava.
+    public final class Agenda {
+        private final TreeMap<Long, Reserva> porInicio = new TreeMap<>();
+
+        private Agenda() {
+        }
+
+        // A reserva que começa por último antes de "fim", se ela ainda não terminou em "inicio"
+        public Reserva primeiroConflito(LocalDateTime inicio, LocalDateTime fim) {
+            Map.Entry<Long, Reserva> anterior = porInicio.lowerEntry(segundo(fim));
+            if (anterior == null || segundo(anterior.getValue().getFim()) <= segundo(inicio)) {
+                return null;
+            }
+            return anterior.getValue();
+        }
+
+        // Todas as reservas que cruzam [inicio, fim), da mais tardia para a mais cedo
+        public List<Reserva> conflitos(LocalDateTime inicio, LocalDateTime fim) {
+            List<Reserva> conflitos = new ArrayList<>(1);
+            long limite = segundo(inicio);
+            for (Reserva reserva : porInicio.headMap(segundo(fim), false).descendingMap().values()) {
+                if (segundo(reserva.getFim()) <= limite) {
+                    break;
+                }
+                conflitos.add(reserva);
+            }
+            return conflitos;
+        }
+
+        // Inclui a reserva se o período estiver livre; senão devolve false
+        public boolean incluir(Reserva reserva) {
+            if (!colocar(reserva)) {
+                return false;
+            }
+            for (ReservaListener listener : listeners) {
+                listener.aoIncluir(reserva);
+            }
+            return true;
+        }
+
+        public boolean remover(Reserva reserva) {
+            if (!retirar(reserva)) {
+                return false;
+            }
+            for (ReservaListener listener : listeners) {
+                listener.aoRemover(reserva);
+            }
+            return true;
+        }
+
+        private boolean colocar(Reserva reserva) {
+            if (primeiroConflito(reserva.getInicio(), reserva.getFim()) != null) {
+                return false;
+            }
+            porInicio.put(segundo(reserva.getInicio()), reserva);
+            porId.put(reserva.getId(), reserva);
+            return true;
+        }
+
+        private boolean retirar(Reserva reserva) {
+            if (!porInicio.remove(segundo(reserva.getInicio()), reserva)) {
+                return false;
+            }
+            porId.remove(reserva.getId());
+            return true;
+        }
+    }
+}
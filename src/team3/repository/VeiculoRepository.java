@@ -1,46 +1,319 @@
 package team3.repository;
 
+import team3.domain.enums.TipoVeiculo;
 import team3.domain.model.Veiculo;
+import team3.repository.index.ConcurrentBitSet;
+import team3.repository.index.NGramIndex;
+import team3.repository.index.VetorPersistente;
+
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+public class VeiculoRepository implements IVeiculoRepository {
 
-public class VeiculoRepository implements IRepository<Veiculo, String> {
+    private static final int BLOCO_ITERACAO = 1024;
+    // Nenhuma versão de cadastro é negativa
+    private static final long SEM_VERSAO = -1;
 
-    private static final List<Veiculo> veiculos = new ArrayList<>();
+    // Buscas por placa não usam trava; a trava protege a ordem de cadastro e o índice de modelos
+    private final Map<String, Entrada> indicePorPlaca = new ConcurrentHashMap<>();
+    private final ArrayList<Entrada> entradas = new ArrayList<>();
+    // Quais veículos existem e em que ordem de cadastro, trocado só sob a trava de escrita. Guarda as
+    // próprias instâncias: disponibilidade e demais campos alterados nelas aparecem em toda versão.
+    private volatile VetorPersistente<Veiculo> veiculos = VetorPersistente.vazio();
+    private final NGramIndex indicePorModelo = new NGramIndex();
+    // Um bit por posição de cadastro, ligado enquanto o veículo daquele tipo está disponível
+    private final Map<TipoVeiculo, ConcurrentBitSet> disponiveisPorTipo = new EnumMap<>(TipoVeiculo.class);
+    private final ReadWriteLock trava = new ReentrantReadWriteLock();
+
+    public VeiculoRepository() {
+        for (TipoVeiculo tipo : TipoVeiculo.values()) {
+            disponiveisPorTipo.put(tipo, new ConcurrentBitSet());
+        }
+    }
 
     @Override
     public void cadastrar(Veiculo veiculo) {
-        if (buscarPorId(veiculo.getPlaca()).isPresent()) {
-            throw new IllegalArgumentException("Erro: Veículo com a placa " + veiculo.getPlaca() + " já existe.");
+        String chave = normalizarPlaca(veiculo.getPlaca());
+        if (chave.isEmpty()) {
+            throw new IllegalArgumentException("Erro: Placa inválida.");
+        }
+        trava.writeLock().lock();
+        try {
+            if (indicePorPlaca.containsKey(chave)) {
+                throw new IllegalArgumentException("Erro: Veículo com a placa " + veiculo.getPlaca() + " já existe.");
+            }
+            incluir(chave, veiculo);
+            veiculos = veiculos.adicionar(veiculo);
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    // Valida o lote inteiro (placas vazias, já cadastradas ou repetidas no próprio lote)
+    // e só então inclui tudo, com uma única aquisição da trava
+    @Override
+    public void cadastrarEmLote(List<? extends Veiculo> lote) {
+        String[] chaves = new String[lote.size()];
+        for (int i = 0; i < chaves.length; i++) {
+            chaves[i] = normalizarPlaca(lote.get(i).getPlaca());
+            if (chaves[i].isEmpty()) {
+                throw new IllegalArgumentException("Erro: Placa inválida.");
+            }
+        }
+        trava.writeLock().lock();
+        try {
+            Set<String> doLote = new HashSet<>(chaves.length * 2);
+            for (int i = 0; i < chaves.length; i++) {
+                if (indicePorPlaca.containsKey(chaves[i]) || !doLote.add(chaves[i])) {
+                    throw new IllegalArgumentException("Erro: Veículo com a placa " + lote.get(i).getPlaca() + " já existe.");
+                }
+            }
+            entradas.ensureCapacity(entradas.size() + chaves.length);
+            for (int i = 0; i < chaves.length; i++) {
+                incluir(chaves[i], lote.get(i));
+            }
+            veiculos = veiculos.adicionarTodos(lote);
+        } finally {
+            trava.writeLock().unlock();
         }
-        veiculos.add(veiculo);
     }
 
     @Override
     public void alterar(Veiculo veiculoAtualizado) {
-        buscarPorId(veiculoAtualizado.getPlaca()).ifPresent(veiculoExistente -> {
-            veiculos.remove(veiculoExistente);
-            veiculos.add(veiculoAtualizado);
-        });
+        Entrada entrada = indicePorPlaca.get(normalizarPlaca(veiculoAtualizado.getPlaca()));
+        if (entrada == null) {
+            return;
+        }
+        // Caso comum no aluguel/devolução: mesma instância e nenhum setModelo/setTipo/setFabricante
+        // desde a última indexação, então só a disponibilidade pode ter mudado
+        if (entrada.veiculo == veiculoAtualizado && entrada.versaoIndexada == veiculoAtualizado.getVersaoCadastro()) {
+            sincronizarDisponibilidade(entrada);
+            return;
+        }
+        trava.writeLock().lock();
+        try {
+            long versao = veiculoAtualizado.getVersaoCadastro();
+            // Enquanto tipo e índices mudam, ninguém pode tomar o caminho sem trava por esta entrada
+            entrada.versaoIndexada = SEM_VERSAO;
+            if (entrada.veiculo != veiculoAtualizado) {
+                veiculos = veiculos.substituir(entrada.posicao, veiculoAtualizado);
+            }
+            entrada.veiculo = veiculoAtualizado;
+            TipoVeiculo tipoAnterior = entrada.tipoIndexado;
+            if (tipoAnterior != veiculoAtualizado.getTipo()) {
+                // o tipo novo vai primeiro: ver sincronizarDisponibilidade
+                entrada.tipoIndexado = veiculoAtualizado.getTipo();
+                if (tipoAnterior != null) {
+                    disponiveisPorTipo.get(tipoAnterior).set(entrada.posicao, false);
+                }
+            }
+            sincronizarDisponibilidade(entrada);
+            String modelo = normalizarModelo(veiculoAtualizado.getModelo());
+            if (!modelo.equals(entrada.modeloIndexado)) {
+                indicePorModelo.remover(entrada.posicao, entrada.modeloIndexado);
+                indicePorModelo.indexar(entrada.posicao, modelo);
+                entrada.modeloIndexado = modelo;
+            }
+            entrada.versaoIndexada = versao;
+        } finally {
+            trava.writeLock().unlock();
+        }
     }
 
     @Override
     public Optional<Veiculo> buscarPorId(String placa) {
-        return veiculos.stream()
-                .filter(v -> v.getPlaca().equalsIgnoreCase(placa))
-                .findFirst();
+        if (placa == null) {
+            return Optional.empty();
+        }
+        Entrada entrada = indicePorPlaca.get(normalizarPlaca(placa));
+        return entrada == null ? Optional.empty() : Optional.of(entrada.veiculo);
     }
 
+    @Override
     public List<Veiculo> buscarPorParteDoNome(String nome) {
-        return veiculos.stream()
-                .filter(v -> v.getModelo().toLowerCase().contains(nome.toLowerCase()))
-                .collect(Collectors.toList());
+        String consulta = normalizarModelo(nome);
+        boolean confirmar = consulta.length() > NGramIndex.N;
+
+        trava.readLock().lock();
+        try {
+            int[] candidatos = indicePorModelo.candidatos(consulta);
+            List<Veiculo> encontrados = new ArrayList<>(candidatos.length);
+            for (int posicao : candidatos) {
+                Entrada entrada = entradas.get(posicao);
+                if (!confirmar || entrada.modeloIndexado.contains(consulta)) {
+                    encontrados.add(entrada.veiculo);
+                }
+            }
+            return encontrados;
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    // Primeiros 'limite' veículos disponíveis do tipo, na ordem de cadastro, lidos direto do bitset
+    @Override
+    public List<Veiculo> buscarDisponiveisPorTipo(TipoVeiculo tipo, int limite) {
+        ConcurrentBitSet disponiveis = disponiveisPorTipo.get(tipo);
+        List<Veiculo> encontrados = new ArrayList<>(Math.min(limite, 64));
+        trava.readLock().lock();
+        try {
+            int total = entradas.size();
+            for (int i = disponiveis.nextSetBit(0); i >= 0 && i < total && encontrados.size() < limite;
+                 i = disponiveis.nextSetBit(i + 1)) {
+                Veiculo veiculo = entradas.get(i).veiculo;
+                // o bit pode ter acabado de mudar; confirma no próprio veículo
+                if (veiculo.isDisponivel() && veiculo.getTipo() == tipo) {
+                    encontrados.add(veiculo);
+                }
+            }
+            return encontrados;
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int contarDisponiveisPorTipo(TipoVeiculo tipo) {
+        return disponiveisPorTipo.get(tipo).cardinality();
+    }
+
+    // Percorre a versão vigente no início; cadastros feitos durante a ação não entram
+    @Override
+    public void paraCada(Consumer<? super Veiculo> acao) {
+        veiculos.comoLista().forEach(acao);
     }
 
+    @Override
+    public Pagina<Veiculo> listarPagina(FiltroVeiculo filtro, String cursor, int tamanho) {
+        Pagina.validarTamanho(tamanho);
+        int posicao = Pagina.posicaoDoCursor(cursor);
+        List<Veiculo> itens = new ArrayList<>(Math.min(tamanho, BLOCO_ITERACAO));
+        trava.readLock().lock();
+        try {
+            posicao = proximaPosicao(filtro, posicao);
+            while (posicao >= 0 && itens.size() < tamanho) {
+                itens.add(entradas.get(posicao).veiculo);
+                posicao = proximaPosicao(filtro, posicao + 1);
+            }
+        } finally {
+            trava.readLock().unlock();
+        }
+        return new Pagina<>(itens, posicao < 0 ? null : Pagina.cursorDaPosicao(posicao));
+    }
+
+    // Sem trava e sem cópia: quais veículos e em que ordem não muda na lista devolvida, mas cada
+    // Veiculo é a instância viva e reflete aluguéis e alterações posteriores
     @Override
     public List<Veiculo> listarTodos() {
-        return new ArrayList<>(veiculos);
+        return veiculos.comoLista();
+    }
+
+    private void incluir(String chave, Veiculo veiculo) {
+        Entrada entrada = new Entrada(entradas.size(), veiculo);
+        entradas.add(entrada);
+        indicePorModelo.indexar(entrada.posicao, entrada.modeloIndexado);
+        sincronizarDisponibilidade(entrada);
+        indicePorPlaca.put(chave, entrada);
+    }
+
+    // Próxima entrada aceita pelo filtro a partir de "inicio", ou -1. Para "somente disponíveis"
+    // salta pelos bitsets; o filtro é reaplicado porque o bit pode estar um passo atrás do veículo.
+    private int proximaPosicao(FiltroVeiculo filtro, int inicio) {
+        if (Boolean.TRUE.equals(filtro.getDisponivel())) {
+            while (true) {
+                int proxima = -1;
+                for (TipoVeiculo tipo : TipoVeiculo.values()) {
+                    if (filtro.getTipo() != null && filtro.getTipo() != tipo) {
+                        continue;
+                    }
+                    int posicao = disponiveisPorTipo.get(tipo).nextSetBit(inicio);
+                    if (posicao >= 0 && (proxima < 0 || posicao < proxima)) {
+                        proxima = posicao;
+                    }
+                }
+                if (proxima < 0 || proxima >= entradas.size()) {
+                    return -1;
+                }
+                if (filtro.aceita(entradas.get(proxima).veiculo)) {
+                    return proxima;
+                }
+                inicio = proxima + 1;
+            }
+        }
+        for (int i = inicio; i < entradas.size(); i++) {
+            if (filtro.aceita(entradas.get(i).veiculo)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // Aluguel e devolução podem se cruzar; repete até o bit refletir o estado atual do veículo.
+    // Se o tipo trocou no meio (alterar() com trava), o bit pode ter sido ligado no bitset antigo
+    // depois de quem trocou limpá-lo; como o tipo novo é gravado antes dessa limpeza, basta
+    // conferir o tipo de novo e desligar o bit antigo.
+    private void sincronizarDisponibilidade(Entrada entrada) {
+        TipoVeiculo tipo = entrada.tipoIndexado;
+        if (tipo == null) {
+            return;
+        }
+        ConcurrentBitSet disponiveis = disponiveisPorTipo.get(tipo);
+        boolean disponivel;
+        do {
+            disponivel = entrada.veiculo.isDisponivel();
+            disponiveis.set(entrada.posicao, disponivel);
+        } while (disponivel != entrada.veiculo.isDisponivel());
+        if (entrada.tipoIndexado != tipo) {
+            disponiveis.set(entrada.posicao, false);
+        }
+    }
+
+    private static String normalizarModelo(String modelo) {
+        return modelo == null ? "" : modelo.toLowerCase(Locale.ROOT);
+    }
+
+    // "aaa-0a00", "AAA0A00" e "AAA 0A00" viram a mesma chave: "AAA0A00"
+    public static String normalizarPlaca(String placa) {
+        if (placa == null) {
+            return "";
+        }
+        StringBuilder chave = new StringBuilder(placa.length());
+        for (int i = 0; i < placa.length(); i++) {
+            char c = placa.charAt(i);
+            if (c != '-' && !Character.isWhitespace(c)) {
+                chave.append(Character.toUpperCase(c));
+            }
+        }
+        return chave.toString();
+    }
+
+    // Posição fixa na ordem de cadastro + modelo e tipo com que o veículo foi indexado,
+    // já que o chamador costuma alterar a própria instância antes de chamar alterar().
+    // versaoIndexada é a versão de cadastro do veículo lida antes de indexar.
+    private static final class Entrada {
+        final int posicao;
+        volatile Veiculo veiculo;
+        volatile long versaoIndexada;
+        volatile TipoVeiculo tipoIndexado;
+        String modeloIndexado;
+
+        Entrada(int posicao, Veiculo veiculo) {
+            this.posicao = posicao;
+            this.veiculo = veiculo;
+            this.versaoIndexada = veiculo.getVersaoCadastro();
+            this.tipoIndexado = veiculo.getTipo();
+            this.modeloIndexado = normalizarModelo(veiculo.getModelo());
+        }
     }
 }
@@ -0,0 +1,425 @@
+package team3.repository;
+
+import team3.domain.enums.TipoVeiculo;
+import team3.domain.model.Veiculo;
+import team3.repository.index.ConcurrentBitSet;
+import team3.repository.index.DicionarioTextos;
+import team3.repository.index.LongIntHashMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+// Frota em colunas de tipos primitivos, uma posição por veículo na ordem de cadastro:
+// placa compactada num long, modelo e fabricante como ids de um DicionarioTextos, tipo como byte
+// e a disponibilidade num bitset. Nenhum Veiculo fica guardado: buscas e listagens devolvem
+// visões que leem e escrevem direto nas colunas, então alugar/devolver é a troca de um bit.
+// Com um milhão de veículos ocupa uma fração da memória do VeiculoRepository.
+public class VeiculoRepositoryColunar implements IVeiculoRepository {
+
+    private static final int BASE_PLACA = 37;
+    private static final int MAX_CARACTERES_PLACA = 11;
+    // 37^11 cabe em 58 bits; os 4 seguintes guardam onde estava o hífen (0 = sem hífen)
+    private static final int BITS_PLACA = 58;
+    private static final long MASCARA_PLACA = (1L << BITS_PLACA) - 1;
+    private static final byte SEM_TIPO = -1;
+    private static final TipoVeiculo[] TIPOS = TipoVeiculo.values();
+
+    private volatile long[] placas = new long[1024];
+    private volatile int[] modelos = new int[1024];
+    private volatile int[] fabricantes = new int[1024];
+    private volatile byte[] tipos = new byte[1024];
+    private final ConcurrentBitSet disponiveis = new ConcurrentBitSet();
+    private final Map<TipoVeiculo, ConcurrentBitSet> disponiveisPorTipo = new EnumMap<>(TipoVeiculo.class);
+    private final DicionarioTextos dicionario = new DicionarioTextos();
+    // Placa compactada (sem a marca do hífen) -> posição
+    private final LongIntHashMap indicePorPlaca = new LongIntHashMap();
+    private final StampedLock trava = new StampedLock();
+    private volatile int quantidade;
+
+    public VeiculoRepositoryColunar() {
+        for (TipoVeiculo tipo : TIPOS) {
+            disponiveisPorTipo.put(tipo, new ConcurrentBitSet());
+        }
+    }
+
+    @Override
+    public void cadastrar(Veiculo veiculo) {
+        long placa = compactarPlaca(veiculo.getPlaca());
+        long stamp = trava.writeLock();
+        try {
+            if (indicePorPlaca.containsKey(placa & MASCARA_PLACA)) {
+                throw new IllegalArgumentException("Erro: Veículo com a placa " + veiculo.getPlaca() + " já existe.");
+            }
+            garantirCapacidade(quantidade + 1);
+            incluir(placa, veiculo);
+        } finally {
+            trava.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void cadastrarEmLote(List<? extends Veiculo> lote) {
+        long[] chaves = new long[lote.size()];
+        for (int i = 0; i < chaves.length; i++) {
+            chaves[i] = compactarPlaca(lote.get(i).getPlaca());
+        }
+        long stamp = trava.writeLock();
+        try {
+            LongIntHashMap doLote = new LongIntHashMap(chaves.length);
+            for (int i = 0; i < chaves.length; i++) {
+                long chave = chaves[i] & MASCARA_PLACA;
+                if (indicePorPlaca.containsKey(chave) || doLote.containsKey(chave)) {
+                    throw new IllegalArgumentException("Erro: Veículo com a placa " + lote.get(i).getPlaca() + " já existe.");
+                }
+                doLote.put(chave, i);
+            }
+            garantirCapacidade(quantidade + chaves.length);
+            for (int i = 0; i < chaves.length; i++) {
+                incluir(chaves[i], lote.get(i));
+            }
+        } finally {
+            trava.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void alterar(Veiculo veiculo) {
+        int posicao = posicaoDaPlaca(veiculo.getPlaca());
+        if (posicao < 0) {
+            return;
+        }
+        // Uma visão deste repositório já escreveu nas colunas; basta acertar o índice por tipo
+        if (!(veiculo instanceof VeiculoColunar && ((VeiculoColunar) veiculo).dono() == this)) {
+            long stamp = trava.writeLock();
+            try {
+                modelos[posicao] = dicionario.id(veiculo.getModelo());
+                fabricantes[posicao] = dicionario.id(veiculo.getFabricante());
+                trocarTipo(posicao, veiculo.getTipo());
+                disponiveis.set(posicao, veiculo.isDisponivel());
+            } finally {
+                trava.unlockWrite(stamp);
+            }
+        }
+        sincronizarDisponibilidade(posicao);
+    }
+
+    @Override
+    public Optional<Veiculo> buscarPorId(String placa) {
+        int posicao = posicaoDaPlaca(placa);
+        return posicao < 0 ? Optional.empty() : Optional.of(visao(posicao));
+    }
+
+    // Compara ids de modelo contra os textos do dicionário que contêm a consulta
+    @Override
+    public List<Veiculo> buscarPorParteDoNome(String nome) {
+        String consulta = nome.toLowerCase(Locale.ROOT);
+        boolean[] casa = new boolean[dicionario.tamanho()];
+        boolean algum = false;
+        for (int id = 0; id < casa.length; id++) {
+            casa[id] = dicionario.texto(id).toLowerCase(Locale.ROOT).contains(consulta);
+            algum |= casa[id];
+        }
+        List<Veiculo> encontrados = new ArrayList<>();
+        if (!algum) {
+            return encontrados;
+        }
+        int total = quantidade;
+        int[] modelosAtuais = modelos;
+        for (int i = 0; i < total; i++) {
+            int modelo = modelosAtuais[i];
+            if (modelo >= 0 && modelo < casa.length && casa[modelo]) {
+                encontrados.add(visao(i));
+            }
+        }
+        return encontrados;
+    }
+
+    @Override
+    public List<Veiculo> buscarDisponiveisPorTipo(TipoVeiculo tipo, int limite) {
+        ConcurrentBitSet disponiveisDoTipo = disponiveisPorTipo.get(tipo);
+        List<Veiculo> encontrados = new ArrayList<>(Math.min(limite, 64));
+        int total = quantidade;
+        for (int i = disponiveisDoTipo.nextSetBit(0); i >= 0 && i < total && encontrados.size() < limite;
+             i = disponiveisDoTipo.nextSetBit(i + 1)) {
+            // o bit pode ter acabado de mudar; confirma nas colunas
+            if (disponiveis.get(i) && tipos[i] == tipo.ordinal()) {
+                encontrados.add(visao(i));
+            }
+        }
+        return encontrados;
+    }
+
+    @Override
+    public int contarDisponiveisPorTipo(TipoVeiculo tipo) {
+        return disponiveisPorTipo.get(tipo).cardinality();
+    }
+
+    // Filtra pelas colunas de tipo e disponibilidade; só monta a visão dos que entram na página
+    @Override
+    public Pagina<Veiculo> listarPagina(FiltroVeiculo filtro, String cursor, int tamanho) {
+        Pagina.validarTamanho(tamanho);
+        int posicao = Pagina.posicaoDoCursor(cursor);
+        List<Veiculo> itens = new ArrayList<>(Math.min(tamanho, 1024));
+        int total = quantidade;
+        byte[] tiposAtuais = tipos;
+        for (; posicao < total; posicao++) {
+            if (filtro.getTipo() != null && tiposAtuais[posicao] != filtro.getTipo().ordinal()) {
+                continue;
+            }
+            if (filtro.getDisponivel() != null && disponiveis.get(posicao) != filtro.getDisponivel()) {
+                continue;
+            }
+            if (itens.size() == tamanho) {
+                break;
+            }
+            itens.add(visao(posicao));
+        }
+        return new Pagina<>(itens, posicao < total ? Pagina.cursorDaPosicao(posicao) : null);
+    }
+
+    @Override
+    public void paraCada(Consumer<? super Veiculo> acao) {
+        int total = quantidade;
+        for (int i = 0; i < total; i++) {
+            acao.accept(visao(i));
+        }
+    }
+
+    @Override
+    public List<Veiculo> listarTodos() {
+        int total = quantidade;
+        List<Veiculo> todos = new ArrayList<>(total);
+        for (int i = 0; i < total; i++) {
+            todos.add(visao(i));
+        }
+        return todos;
+    }
+
+    public int quantidade() {
+        return quantidade;
+    }
+
+    // Placa normalizada (maiúsculas, sem hífen nem espaços) em base 37, um caractere por dígito:
+    // 0 marca o fim, 1-10 são os algarismos e 11-36 as letras. A posição do primeiro hífen vai nos
+    // bits altos, para a placa voltar como foi digitada ("AAA-0A00" e "AAA0A00" são a mesma chave).
+    public static long compactarPlaca(String placa) {
+        if (placa == null) {
+            throw new IllegalArgumentException("Erro: Placa inválida.");
+        }
+        long valor = 0;
+        int caracteres = 0;
+        int hifen = 0;
+        for (int i = 0; i < placa.length(); i++) {
+            char c = placa.charAt(i);
+            int digito;
+            if (c >= '0' && c <= '9') {
+                digito = 1 + c - '0';
+            } else if (c >= 'A' && c <= 'Z') {
+                digito = 11 + c - 'A';
+            } else if (c >= 'a' && c <= 'z') {
+                digito = 11 + c - 'a';
+            } else if (c == '-' || Character.isWhitespace(c)) {
+                if (c == '-' && hifen == 0 && caracteres > 0) {
+                    hifen = caracteres;
+                }
+                continue;
+            } else {
+                throw new IllegalArgumentException("Erro: Placa inválida.");
+            }
+            if (++caracteres > MAX_CARACTERES_PLACA) {
+                throw new IllegalArgumentException("Erro: Placa inválida.");
+            }
+            valor = valor * BASE_PLACA + digito;
+        }
+        if (caracteres == 0) {
+            throw new IllegalArgumentException("Erro: Placa inválida.");
+        }
+        return ((long) hifen << BITS_PLACA) | valor;
+    }
+
+    public static String expandirPlaca(long compactada) {
+        long valor = compactada & MASCARA_PLACA;
+        int hifen = (int) (compactada >>> BITS_PLACA);
+        char[] caracteres = new char[MAX_CARACTERES_PLACA + 1];
+        int fim = caracteres.length;
+        while (valor != 0) {
+            int digito = (int) (valor % BASE_PLACA);
+            caracteres[--fim] = digito <= 10 ? (char) ('0' + digito - 1) : (char) ('A' + digito - 11);
+            valor /= BASE_PLACA;
+        }
+        StringBuilder placa = new StringBuilder(caracteres.length - fim + 1);
+        for (int i = fim; i < caracteres.length; i++) {
+            if (hifen > 0 && i - fim == hifen) {
+                placa.append('-');
+            }
+            placa.append(caracteres[i]);
+        }
+        return placa.toString();
+    }
+
+    private int posicaoDaPlaca(String placa) {
+        long chave;
+        try {
+            chave = compactarPlaca(placa) & MASCARA_PLACA;
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+        return ler(() -> indicePorPlaca.get(chave, -1));
+    }
+
+    private Veiculo visao(int posicao) {
+        return new VeiculoColunar(posicao, expandirPlaca(placas[posicao]));
+    }
+
+    private void incluir(long placa, Veiculo veiculo) {
+        int posicao = quantidade;
+        placas[posicao] = placa;
+        modelos[posicao] = dicionario.id(veiculo.getModelo());
+        fabricantes[posicao] = dicionario.id(veiculo.getFabricante());
+        tipos[posicao] = veiculo.getTipo() == null ? SEM_TIPO : (byte) veiculo.getTipo().ordinal();
+        disponiveis.set(posicao, veiculo.isDisponivel());
+        sincronizarDisponibilidade(posicao);
+        indicePorPlaca.put(placa & MASCARA_PLACA, posicao);
+        quantidade = posicao + 1;
+    }
+
+    private void garantirCapacidade(int necessario) {
+        int capacidade = placas.length;
+        if (necessario <= capacidade) {
+            return;
+        }
+        int nova = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(necessario, capacidade + (long) (capacidade >> 1)));
+        placas = Arrays.copyOf(placas, nova);
+        modelos = Arrays.copyOf(modelos, nova);
+        fabricantes = Arrays.copyOf(fabricantes, nova);
+        tipos = Arrays.copyOf(tipos, nova);
+    }
+
+    // Chamado com a trava de escrita
+    private void trocarTipo(int posicao, TipoVeiculo tipo) {
+        byte anterior = tipos[posicao];
+        byte novo = tipo == null ? SEM_TIPO : (byte) tipo.ordinal();
+        if (anterior != novo && anterior != SEM_TIPO) {
+            disponiveisPorTipo.get(TIPOS[anterior]).set(posicao, false);
+        }
+        tipos[posicao] = novo;
+    }
+
+    // Aluguel e devolução podem se cruzar; repete até o bit do tipo refletir a disponibilidade atual
+    private void sincronizarDisponibilidade(int posicao) {
+        byte tipo = tipos[posicao];
+        if (tipo == SEM_TIPO) {
+            return;
+        }
+        ConcurrentBitSet disponiveisDoTipo = disponiveisPorTipo.get(TIPOS[tipo]);
+        boolean disponivel;
+        do {
+            disponivel = disponiveis.get(posicao);
+            disponiveisDoTipo.set(posicao, disponivel);
+        } while (disponivel != disponiveis.get(posicao));
+    }
+
+    // Leitura otimista sem trava, como no ClienteRepository
+    private <R> R ler(Supplier<R> leitura) {
+        long stamp = trava.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                R resultado = leitura.get();
+                if (trava.validate(stamp)) {
+                    return resultado;
+                }
+            } catch (RuntimeException e) {
+                // descartado: a releitura com trava abaixo decide o resultado
+            }
+        }
+        stamp = trava.readLock();
+        try {
+            return leitura.get();
+        } finally {
+            trava.unlockRead(stamp);
+        }
+    }
+
+    // Visão de uma posição: cada getter lê a coluna na hora, cada setter escreve nela
+    private final class VeiculoColunar extends Veiculo {
+        private final int posicao;
+
+        VeiculoColunar(int posicao, String placa) {
+            super(placa, null, null, null);
+            this.posicao = posicao;
+        }
+
+        VeiculoRepositoryColunar dono() {
+            return VeiculoRepositoryColunar.this;
+        }
+
+        @Override
+        public String getModelo() {
+            return dicionario.texto(modelos[posicao]);
+        }
+
+        @Override
+        public void setModelo(String modelo) {
+            long stamp = trava.writeLock();
+            try {
+                modelos[posicao] = dicionario.id(modelo);
+            } finally {
+                trava.unlockWrite(stamp);
+            }
+        }
+
+        @Override
+        public String getFabricante() {
+            return dicionario.texto(fabricantes[posicao]);
+        }
+
+        @Override
+        public void setFabricante(String fabricante) {
+            long stamp = trava.writeLock();
+            try {
+                fabricantes[posicao] = dicionario.id(fabricante);
+            } finally {
+                trava.unlockWrite(stamp);
+            }
+        }
+
+        @Override
+        public TipoVeiculo getTipo() {
+            byte tipo = tipos[posicao];
+            return tipo == SEM_TIPO ? null : TIPOS[tipo];
+        }
+
+        @Override
+        public void setTipo(TipoVeiculo tipo) {
+            long stamp = trava.writeLock();
+            try {
+                trocarTipo(posicao, tipo);
+            } finally {
+                trava.unlockWrite(stamp);
+            }
+        }
+
+        @Override
+        public boolean isDisponivel() {
+            return disponiveis.get(posicao);
+        }
+
+        @Override
+        public void setDisponivel(boolean disponivel) {
+            disponiveis.set(posicao, disponivel);
+        }
+
+        @Override
+        public boolean marcarComoAlugado() {
+            return disponiveis.compareAndSet(posicao, true, false);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package team3.repository.assincrono;
+
+import team3.domain.model.Cliente;
+import team3.repository.ClienteRepository;
+import team3.repository.IClienteRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+// IClienteRepository cujas gravações passam pela fila de um RepositorioAssincrono
+public class ClienteRepositorySincrono extends RepositorioSincrono<Cliente, String> implements IClienteRepository {
+
+    private final IClienteRepository repository;
+
+    public ClienteRepositorySincrono(IClienteRepository repository) {
+        super(new RepositorioAssincrono<>(repository, ClienteRepositorySincrono::chave, Cliente::getDocumento,
+                Runnable::run, "gravador-clientes"));
+        this.repository = repository;
+    }
+
+    @Override
+    public Optional<Cliente> buscarPorEmail(String email) {
+        return repository.buscarPorEmail(email);
+    }
+
+    @Override
+    public List<Cliente> buscarPorTelefone(String telefone) {
+        return repository.buscarPorTelefone(telefone);
+    }
+
+    private static Long chave(String documento) {
+        long chave = ClienteRepository.chaveDocumento(documento);
+        return chave < 0 ? null : chave;
+    }
+}
@@ -0,0 +1,18 @@
+package team3.repository.assincrono;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+// Versão do IRepository que não bloqueia quem chama: cada operação devolve um CompletableFuture.
+// As gravações são aplicadas na ordem em que foram pedidas, e uma busca feita depois de um
+// cadastrar/alterar já enxerga a entidade gravada, mesmo que ela ainda esteja na fila.
+public interface IRepositoryAssincrono<T, ID> {
+    CompletableFuture<Void> cadastrar(T entidade);
+    CompletableFuture<Void> alterar(T entidade);
+    // Valida e cadastra o lote inteiro de uma vez, como IRepository.cadastrarEmLote
+    CompletableFuture<Void> cadastrarEmLote(List<? extends T> entidades);
+    CompletableFuture<Optional<T>> buscarPorId(ID id);
+    // Lista depois de aplicar tudo o que já estava na fila
+    CompletableFuture<List<T>> listarTodos();
+}
@@ -0,0 +1,288 @@
+package team3.repository.assincrono;
+
+import team3.repository.Gravacao;
+import team3.repository.IRepository;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+// IRepositoryAssincrono sobre um IRepository comum. As gravações entram numa fila limitada e uma
+// única thread gravadora junta tudo o que se acumulou num lote para IRepository.gravar(), que nos
+// repositórios duráveis custa um só fsync. Enquanto uma gravação espera na fila, a entidade fica
+// num mapa de pendentes pela chave normalizada, e buscarPorId responde com ela.
+// As buscas rodam no executor de leituras (por padrão, na própria thread de quem chama).
+public class RepositorioAssincrono<T, ID> implements IRepositoryAssincrono<T, ID>, Closeable {
+
+    private static final int CAPACIDADE_FILA = 64 * 1024;
+    private static final int MAXIMO_LOTE = 4096;
+
+    private final IRepository<T, ID> armazenamento;
+    private final Function<? super ID, ?> chaveDoId;
+    private final Function<? super T, ? extends ID> idDaEntidade;
+    private final Executor leituras;
+    private final BlockingQueue<Operacao<T>> fila = new ArrayBlockingQueue<>(CAPACIDADE_FILA);
+    private final Map<Object, Pendente<T>> pendentes = new ConcurrentHashMap<>();
+    private final Thread gravador;
+    private volatile boolean fechado;
+    // Leitura: conferir "fechado" e enfileirar. Escrita: fechar. Assim nada entra na fila
+    // depois que close() decidiu fechar, e close() espera quem já estava enfileirando.
+    private final ReadWriteLock entrada = new ReentrantReadWriteLock();
+
+    private final LongAdder gravacoes = new LongAdder();
+    private final LongAdder lotes = new LongAdder();
+
+    public RepositorioAssincrono(IRepository<T, ID> armazenamento, Function<? super ID, ?> chaveDoId,
+                                 Function<? super T, ? extends ID> idDaEntidade) {
+        this(armazenamento, chaveDoId, idDaEntidade, Runnable::run, "gravador");
+    }
+
+    public RepositorioAssincrono(IRepository<T, ID> armazenamento, Function<? super ID, ?> chaveDoId,
+                                 Function<? super T, ? extends ID> idDaEntidade, Executor leituras, String nome) {
+        this.armazenamento = armazenamento;
+        this.chaveDoId = chaveDoId;
+        this.idDaEntidade = idDaEntidade;
+        this.leituras = leituras;
+        this.gravador = new Thread(this::gravarEmLotes, nome);
+        this.gravador.setDaemon(true);
+        this.gravador.start();
+    }
+
+    @Override
+    public CompletableFuture<Void> cadastrar(T entidade) {
+        return enfileirar(Gravacao.cadastro(entidade));
+    }
+
+    @Override
+    public CompletableFuture<Void> alterar(T entidade) {
+        return enfileirar(Gravacao.alteracao(entidade));
+    }
+
+    @Override
+    public CompletableFuture<Void> cadastrarEmLote(List<? extends T> entidades) {
+        return enfileirar(new Operacao<>(null, () -> armazenamento.cadastrarEmLote(entidades)));
+    }
+
+    @Override
+    public CompletableFuture<Optional<T>> buscarPorId(ID id) {
+        Object chave = id == null ? null : chaveDoId.apply(id);
+        Pendente<T> pendente = chave == null ? null : pendentes.get(chave);
+        if (pendente != null) {
+            return CompletableFuture.completedFuture(Optional.of(pendente.entidade));
+        }
+        return CompletableFuture.supplyAsync(() -> buscarNoArmazenamento(id, chave), leituras);
+    }
+
+    @Override
+    public CompletableFuture<List<T>> listarTodos() {
+        return sincronizar().thenApplyAsync(v -> armazenamento.listarTodos(), leituras);
+    }
+
+    // Completa quando tudo o que foi enfileirado antes já foi aplicado
+    public CompletableFuture<Void> sincronizar() {
+        return enfileirar(new Operacao<>(null, () -> { }));
+    }
+
+    public IRepository<T, ID> getArmazenamento() {
+        return armazenamento;
+    }
+
+    public long getGravacoes() {
+        return gravacoes.sum();
+    }
+
+    public long getLotes() {
+        return lotes.sum();
+    }
+
+    // Aplica o que já estava na fila e encerra a thread gravadora; o que chegar depois falha
+    @Override
+    public void close() {
+        entrada.writeLock().lock();
+        try {
+            if (fechado) {
+                return;
+            }
+            fechado = true;
+        } finally {
+            entrada.writeLock().unlock();
+        }
+        try {
+            fila.put(new Operacao<>(null, null));
+            gravador.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<Operacao<T>> restantes = new ArrayList<>();
+        fila.drainTo(restantes);
+        recusar(restantes, 0);
+    }
+
+    // Um cadastro pode ser aplicado entre a consulta aos pendentes e a leitura; por isso,
+    // se o armazenamento não achar nada, os pendentes são consultados de novo
+    private Optional<T> buscarNoArmazenamento(ID id, Object chave) {
+        Optional<T> encontrado = armazenamento.buscarPorId(id);
+        if (encontrado.isEmpty() && chave != null) {
+            Pendente<T> pendente = pendentes.get(chave);
+            if (pendente != null) {
+                return Optional.of(pendente.entidade);
+            }
+        }
+        return encontrado;
+    }
+
+    private CompletableFuture<Void> enfileirar(Gravacao<T> gravacao) {
+        ID id = gravacao.getEntidade() == null ? null : idDaEntidade.apply(gravacao.getEntidade());
+        Object chave = id == null ? null : chaveDoId.apply(id);
+        Operacao<T> operacao = new Operacao<>(gravacao, null);
+        operacao.chave = chave;
+        if (chave != null) {
+            pendentes.compute(chave, (k, pendente) -> {
+                if (pendente == null) {
+                    return new Pendente<>(gravacao.getEntidade());
+                }
+                pendente.entidade = gravacao.getEntidade();
+                pendente.quantidade++;
+                return pendente;
+            });
+        }
+        CompletableFuture<Void> resultado = enfileirar(operacao);
+        if (resultado.isCompletedExceptionally() && chave != null) {
+            liberar(chave);
+        }
+        return resultado;
+    }
+
+    private CompletableFuture<Void> enfileirar(Operacao<T> operacao) {
+        entrada.readLock().lock();
+        try {
+            if (fechado) {
+                return CompletableFuture.failedFuture(new IllegalStateException("Erro: Repositório fechado."));
+            }
+            fila.put(operacao);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(e);
+        } finally {
+            entrada.readLock().unlock();
+        }
+        return operacao.resultado;
+    }
+
+    private void liberar(Object chave) {
+        pendentes.computeIfPresent(chave, (k, pendente) -> --pendente.quantidade == 0 ? null : pendente);
+    }
+
+    private void gravarEmLotes() {
+        List<Operacao<T>> lote = new ArrayList<>(MAXIMO_LOTE);
+        List<Operacao<T>> seguidas = new ArrayList<>(MAXIMO_LOTE);
+        List<Gravacao<T>> gravacoesSeguidas = new ArrayList<>(MAXIMO_LOTE);
+        while (true) {
+            try {
+                lote.add(fila.take());
+            } catch (InterruptedException e) {
+                continue;
+            }
+            fila.drainTo(lote, MAXIMO_LOTE - 1);
+            // Gravações seguidas vão juntas para o armazenamento; as demais operações rodam sozinhas, na ordem
+            for (int i = 0; i < lote.size(); i++) {
+                Operacao<T> operacao = lote.get(i);
+                if (operacao.gravacao != null) {
+                    seguidas.add(operacao);
+                    gravacoesSeguidas.add(operacao.gravacao);
+                    continue;
+                }
+                aplicar(seguidas, gravacoesSeguidas);
+                if (operacao.acao == null) {
+                    recusar(lote, i + 1);
+                    return;
+                }
+                try {
+                    operacao.acao.run();
+                    operacao.resultado.complete(null);
+                } catch (RuntimeException e) {
+                    operacao.resultado.completeExceptionally(e);
+                }
+            }
+            aplicar(seguidas, gravacoesSeguidas);
+            lote.clear();
+        }
+    }
+
+    private void recusar(List<Operacao<T>> operacoes, int inicio) {
+        for (int i = inicio; i < operacoes.size(); i++) {
+            Operacao<T> operacao = operacoes.get(i);
+            if (operacao.chave != null) {
+                liberar(operacao.chave);
+            }
+            operacao.resultado.completeExceptionally(new IllegalStateException("Erro: Repositório fechado."));
+        }
+    }
+
+    private void aplicar(List<Operacao<T>> operacoes, List<Gravacao<T>> gravacoesDoLote) {
+        if (operacoes.isEmpty()) {
+            return;
+        }
+        List<RuntimeException> falhas;
+        try {
+            falhas = armazenamento.gravar(gravacoesDoLote);
+        } catch (RuntimeException e) {
+            falhas = null;
+            for (Operacao<T> operacao : operacoes) {
+                operacao.resultado.completeExceptionally(e);
+            }
+        }
+        for (int i = 0; i < operacoes.size(); i++) {
+            Operacao<T> operacao = operacoes.get(i);
+            if (operacao.chave != null) {
+                liberar(operacao.chave);
+            }
+            if (falhas != null) {
+                if (falhas.get(i) == null) {
+                    operacao.resultado.complete(null);
+                } else {
+                    operacao.resultado.completeExceptionally(falhas.get(i));
+                }
+            }
+        }
+        gravacoes.add(operacoes.size());
+        lotes.increment();
+        operacoes.clear();
+        gravacoesDoLote.clear();
+    }
+
+    // Uma gravação (que pode ir num lote), uma ação que roda sozinha na thread gravadora
+    // ou, sem nenhuma das duas, o aviso de encerramento
+    private static final class Operacao<T> {
+        final Gravacao<T> gravacao;
+        final Runnable acao;
+        final CompletableFuture<Void> resultado = new CompletableFuture<>();
+        Object chave;
+
+        Operacao(Gravacao<T> gravacao, Runnable acao) {
+            this.gravacao = gravacao;
+            this.acao = acao;
+        }
+    }
+
+    // Versão mais recente enfileirada para uma chave e quantas gravações dela ainda estão na fila
+    private static final class Pendente<T> {
+        volatile T entidade;
+        int quantidade = 1;
+
+        Pendente(T entidade) {
+            this.entidade = entidade;
+        }
+    }
+}
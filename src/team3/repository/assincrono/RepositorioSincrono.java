@@ -0,0 +1,81 @@
+package team3.repository.assincrono;
+
+import team3.repository.IRepository;
+import team3.repository.Pagina;
+
+import java.io.Closeable;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+
+// IRepository bloqueante por cima de um RepositorioAssincrono, para os serviços existentes: cada
+// gravação espera o próprio future, mas gravações de threads diferentes vão juntas no mesmo lote.
+// Como quem chama só continua depois de gravar, as consultas podem ir direto ao armazenamento.
+public class RepositorioSincrono<T, ID> implements IRepository<T, ID>, Closeable {
+
+    private final RepositorioAssincrono<T, ID> assincrono;
+    private final IRepository<T, ID> armazenamento;
+
+    public RepositorioSincrono(RepositorioAssincrono<T, ID> assincrono) {
+        this.assincrono = assincrono;
+        this.armazenamento = assincrono.getArmazenamento();
+    }
+
+    public RepositorioAssincrono<T, ID> getAssincrono() {
+        return assincrono;
+    }
+
+    @Override
+    public void cadastrar(T entidade) {
+        aguardar(assincrono.cadastrar(entidade));
+    }
+
+    @Override
+    public void cadastrarEmLote(List<? extends T> entidades) {
+        aguardar(assincrono.cadastrarEmLote(entidades));
+    }
+
+    @Override
+    public void alterar(T entidade) {
+        aguardar(assincrono.alterar(entidade));
+    }
+
+    @Override
+    public Optional<T> buscarPorId(ID id) {
+        return aguardar(assincrono.buscarPorId(id));
+    }
+
+    @Override
+    public List<T> listarTodos() {
+        return armazenamento.listarTodos();
+    }
+
+    @Override
+    public void paraCada(Consumer<? super T> acao) {
+        armazenamento.paraCada(acao);
+    }
+
+    @Override
+    public Pagina<T> listarPagina(String cursor, int tamanho) {
+        return armazenamento.listarPagina(cursor, tamanho);
+    }
+
+    @Override
+    public void close() {
+        assincrono.close();
+    }
+
+    // Devolve a exceção original (normalmente um IllegalArgumentException com a mensagem para o usuário)
+    static <V> V aguardar(CompletableFuture<V> futuro) {
+        try {
+            return futuro.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
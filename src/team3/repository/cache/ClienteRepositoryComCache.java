@@ -0,0 +1,34 @@
+package team3.repository.cache;
+
+import team3.domain.model.Cliente;
+import team3.repository.ClienteRepository;
+import team3.repository.IClienteRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+// Cache de buscas por documento; e-mail e telefone vão direto ao repositório
+public class ClienteRepositoryComCache extends RepositorioComCache<Cliente, String> implements IClienteRepository {
+
+    private final IClienteRepository repository;
+
+    public ClienteRepositoryComCache(IClienteRepository repository, int capacidade) {
+        super(repository, capacidade, ClienteRepositoryComCache::chave, Cliente::getDocumento);
+        this.repository = repository;
+    }
+
+    @Override
+    public Optional<Cliente> buscarPorEmail(String email) {
+        return repository.buscarPorEmail(email);
+    }
+
+    @Override
+    public List<Cliente> buscarPorTelefone(String telefone) {
+        return repository.buscarPorTelefone(telefone);
+    }
+
+    private static Long chave(String documento) {
+        long chave = ClienteRepository.chaveDocumento(documento);
+        return chave < 0 ? null : chave;
+    }
+}
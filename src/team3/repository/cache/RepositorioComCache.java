@@ -0,0 +1,358 @@
+package team3.repository.cache;
+
+import team3.repository.Gravacao;
+import team3.repository.IRepository;
+import team3.repository.Pagina;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+// Decorador que guarda os últimos buscarPorId de qualquer IRepository, até "capacidade" entradas.
+// A política de despejo é a W-TinyLFU: quem chega entra numa janela LRU pequena (1%); ao sair da
+// janela só fica no cache se tiver sido pedido mais vezes (pelo SketchFrequencia) do que a entrada
+// mais antiga da área principal. A área principal é uma LRU segmentada: na "prova" até ser lida de
+// novo, depois "protegida" (80%). Assim uma varredura de chaves lidas uma vez só não tira do cache
+// as chaves quentes. Listagens e paginação vão direto ao repositório e não passam pelo cache.
+// cadastrar/alterar gravam no repositório e invalidam a chave; buscas que não encontram nada não
+// são guardadas.
+public class RepositorioComCache<T, ID> implements IRepository<T, ID> {
+
+    private static final byte FORA = 0;
+    private static final byte JANELA = 1;
+    private static final byte PROVA = 2;
+    private static final byte PROTEGIDO = 3;
+
+    private final IRepository<T, ID> repository;
+    private final Function<? super ID, ?> chaveDoId;
+    private final Function<? super T, ? extends ID> idDaEntidade;
+    private final int capacidade;
+    private final int maximoJanela;
+    private final int maximoProtegido;
+
+    private final Map<Object, No<T>> entradas = new ConcurrentHashMap<>();
+    private final SketchFrequencia frequencias;
+    // A ordem das filas fica sob a trava; leituras que não conseguem a trava na hora
+    // só deixam de atualizar a ordem (a frequência é contada mesmo assim)
+    private final ReentrantLock trava = new ReentrantLock();
+    private final Fila<T> janela = new Fila<>();
+    private final Fila<T> prova = new Fila<>();
+    private final Fila<T> protegido = new Fila<>();
+    // Muda a cada invalidação; uma busca que começou antes não guarda o que leu
+    private final AtomicLong geracao = new AtomicLong();
+
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder falhas = new LongAdder();
+    private final LongAdder despejos = new LongAdder();
+    private final LongAdder invalidacoes = new LongAdder();
+
+    // chaveDoId normaliza o identificador (null = não usar o cache para esse id);
+    // idDaEntidade extrai o identificador da entidade gravada, para invalidar
+    public RepositorioComCache(IRepository<T, ID> repository, int capacidade,
+                               Function<? super ID, ?> chaveDoId, Function<? super T, ? extends ID> idDaEntidade) {
+        if (capacidade <= 0) {
+            throw new IllegalArgumentException("Erro: A capacidade do cache deve ser positiva.");
+        }
+        this.repository = repository;
+        this.chaveDoId = chaveDoId;
+        this.idDaEntidade = idDaEntidade;
+        this.capacidade = capacidade;
+        this.maximoJanela = Math.max(1, capacidade / 100);
+        this.maximoProtegido = (capacidade - maximoJanela) * 8 / 10;
+        this.frequencias = new SketchFrequencia(capacidade);
+    }
+
+    @Override
+    public void cadastrar(T entidade) {
+        try {
+            repository.cadastrar(entidade);
+        } finally {
+            invalidar(entidade);
+        }
+    }
+
+    @Override
+    public void cadastrarEmLote(List<? extends T> lote) {
+        try {
+            repository.cadastrarEmLote(lote);
+        } finally {
+            for (T entidade : lote) {
+                invalidar(entidade);
+            }
+        }
+    }
+
+    @Override
+    public void alterar(T entidade) {
+        try {
+            repository.alterar(entidade);
+        } finally {
+            invalidar(entidade);
+        }
+    }
+
+    @Override
+    public List<RuntimeException> gravar(List<Gravacao<T>> gravacoes) {
+        try {
+            return repository.gravar(gravacoes);
+        } finally {
+            for (Gravacao<T> gravacao : gravacoes) {
+                invalidar(gravacao.getEntidade());
+            }
+        }
+    }
+
+    @Override
+    public Optional<T> buscarPorId(ID id) {
+        Object chave = id == null ? null : chaveDoId.apply(id);
+        if (chave == null) {
+            return repository.buscarPorId(id);
+        }
+        frequencias.registrar(chave.hashCode());
+        No<T> no = entradas.get(chave);
+        if (no != null) {
+            acertos.increment();
+            if (trava.tryLock()) {
+                try {
+                    acessar(no);
+                } finally {
+                    trava.unlock();
+                }
+            }
+            return Optional.of(no.valor);
+        }
+
+        falhas.increment();
+        long geracaoDaBusca = geracao.get();
+        Optional<T> encontrado = repository.buscarPorId(id);
+        if (encontrado.isPresent()) {
+            trava.lock();
+            try {
+                if (geracao.get() == geracaoDaBusca && !entradas.containsKey(chave)) {
+                    no = new No<>(chave, encontrado.get());
+                    entradas.put(chave, no);
+                    incluir(no);
+                }
+            } finally {
+                trava.unlock();
+            }
+        }
+        return encontrado;
+    }
+
+    @Override
+    public List<T> listarTodos() {
+        return repository.listarTodos();
+    }
+
+    @Override
+    public void paraCada(Consumer<? super T> acao) {
+        repository.paraCada(acao);
+    }
+
+    @Override
+    public Pagina<T> listarPagina(String cursor, int tamanho) {
+        return repository.listarPagina(cursor, tamanho);
+    }
+
+    // Descarta tudo o que está em cache (as estatísticas continuam)
+    public void limpar() {
+        trava.lock();
+        try {
+            geracao.incrementAndGet();
+            for (No<T> no : entradas.values()) {
+                no.regiao = FORA;
+            }
+            entradas.clear();
+            janela.limpar();
+            prova.limpar();
+            protegido.limpar();
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    public int getCapacidade() {
+        return capacidade;
+    }
+
+    public int getTamanho() {
+        return entradas.size();
+    }
+
+    public long getAcertos() {
+        return acertos.sum();
+    }
+
+    public long getFalhas() {
+        return falhas.sum();
+    }
+
+    public long getDespejos() {
+        return despejos.sum();
+    }
+
+    public long getInvalidacoes() {
+        return invalidacoes.sum();
+    }
+
+    public double getTaxaAcerto() {
+        long acertos = getAcertos();
+        long total = acertos + getFalhas();
+        return total == 0 ? 0 : (double) acertos / total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d/%d entradas | acertos %.1f%% (%d de %d) | despejos %d | invalidações %d",
+                getTamanho(), capacidade, getTaxaAcerto() * 100, getAcertos(), getAcertos() + getFalhas(),
+                getDespejos(), getInvalidacoes());
+    }
+
+    private void invalidar(T entidade) {
+        ID id = entidade == null ? null : idDaEntidade.apply(entidade);
+        Object chave = id == null ? null : chaveDoId.apply(id);
+        if (chave == null) {
+            return;
+        }
+        trava.lock();
+        try {
+            geracao.incrementAndGet();
+            No<T> no = entradas.remove(chave);
+            if (no != null) {
+                retirar(no);
+                invalidacoes.increment();
+            }
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    // As operações abaixo rodam com a trava
+
+    private void acessar(No<T> no) {
+        switch (no.regiao) {
+            case JANELA:
+                janela.moverParaOFim(no);
+                break;
+            case PROVA:
+                prova.remover(no);
+                protegido.adicionar(no);
+                no.regiao = PROTEGIDO;
+                if (protegido.tamanho > maximoProtegido) {
+                    No<T> rebaixado = protegido.primeiro();
+                    protegido.remover(rebaixado);
+                    prova.adicionar(rebaixado);
+                    rebaixado.regiao = PROVA;
+                }
+                break;
+            case PROTEGIDO:
+                protegido.moverParaOFim(no);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void incluir(No<T> no) {
+        janela.adicionar(no);
+        no.regiao = JANELA;
+        if (janela.tamanho <= maximoJanela) {
+            return;
+        }
+        No<T> candidato = janela.primeiro();
+        janela.remover(candidato);
+        prova.adicionar(candidato);
+        candidato.regiao = PROVA;
+        if (janela.tamanho + prova.tamanho + protegido.tamanho <= capacidade) {
+            return;
+        }
+        // Cache cheio: o candidato que saiu da janela disputa com a vítima mais antiga da prova
+        No<T> vitima = prova.primeiro();
+        if (vitima != candidato
+                && frequencias.frequencia(candidato.chave.hashCode()) > frequencias.frequencia(vitima.chave.hashCode())) {
+            despejar(vitima);
+        } else {
+            despejar(candidato);
+        }
+    }
+
+    private void despejar(No<T> no) {
+        retirar(no);
+        entradas.remove(no.chave, no);
+        despejos.increment();
+    }
+
+    private void retirar(No<T> no) {
+        switch (no.regiao) {
+            case JANELA: janela.remover(no); break;
+            case PROVA: prova.remover(no); break;
+            case PROTEGIDO: protegido.remover(no); break;
+            default: break;
+        }
+        no.regiao = FORA;
+    }
+
+    private static final class No<T> {
+        final Object chave;
+        final T valor;
+        byte regiao = FORA;
+        No<T> anterior;
+        No<T> proximo;
+
+        No(Object chave, T valor) {
+            this.chave = chave;
+            this.valor = valor;
+        }
+    }
+
+    // Lista duplamente ligada com sentinela; o primeiro é o mais antigo
+    private static final class Fila<T> {
+        private final No<T> sentinela = new No<>(null, null);
+        int tamanho;
+
+        Fila() {
+            sentinela.anterior = sentinela;
+            sentinela.proximo = sentinela;
+        }
+
+        No<T> primeiro() {
+            return sentinela.proximo == sentinela ? null : sentinela.proximo;
+        }
+
+        void adicionar(No<T> no) {
+            no.anterior = sentinela.anterior;
+            no.proximo = sentinela;
+            sentinela.anterior.proximo = no;
+            sentinela.anterior = no;
+            tamanho++;
+        }
+
+        void remover(No<T> no) {
+            no.anterior.proximo = no.proximo;
+            no.proximo.anterior = no.anterior;
+            no.anterior = null;
+            no.proximo = null;
+            tamanho--;
+        }
+
+        void moverParaOFim(No<T> no) {
+            if (sentinela.anterior != no) {
+                remover(no);
+                adicionar(no);
+            }
+        }
+
+        void limpar() {
+            sentinela.anterior = sentinela;
+            sentinela.proximo = sentinela;
+            tamanho = 0;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package team3.repository.cache;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Count-min sketch com contadores de 4 bits (16 por long) para estimar quantas vezes cada chave
+// foi pedida recentemente. Cada chave ocupa um contador em 4 longs diferentes e a estimativa é o
+// menor deles. Depois de 10 incrementos por entrada do cache todos os contadores caem pela
+// metade, então a frequência "envelhece" e chaves que esfriaram perdem a vez.
+final class SketchFrequencia {
+
+    private static final long[] SEMENTES = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L};
+    private static final long METADE = 0x7777_7777_7777_7777L;
+    private static final int MAXIMO = 15;
+
+    private final AtomicLongArray tabela;
+    private final int mascara;
+    private final int amostra;
+    private final AtomicInteger incrementos = new AtomicInteger();
+
+    SketchFrequencia(int capacidade) {
+        int tamanho = Integer.highestOneBit(Math.max(16, capacidade - 1) << 1);
+        this.tabela = new AtomicLongArray(tamanho);
+        this.mascara = tamanho - 1;
+        this.amostra = (int) Math.min(Integer.MAX_VALUE / 2, 10L * Math.max(16, capacidade));
+    }
+
+    void registrar(int hash) {
+        boolean incrementou = false;
+        for (int linha = 0; linha < SEMENTES.length; linha++) {
+            long h = espalhar(hash, linha);
+            int indice = indice(h);
+            int deslocamento = deslocamento(h, linha);
+            while (true) {
+                long atual = tabela.get(indice);
+                if (((atual >>> deslocamento) & MAXIMO) == MAXIMO) {
+                    break;
+                }
+                if (tabela.compareAndSet(indice, atual, atual + (1L << deslocamento))) {
+                    incrementou = true;
+                    break;
+                }
+            }
+        }
+        if (incrementou && incrementos.incrementAndGet() == amostra) {
+            envelhecer();
+        }
+    }
+
+    int frequencia(int hash) {
+        int menor = MAXIMO;
+        for (int linha = 0; linha < SEMENTES.length; linha++) {
+            long h = espalhar(hash, linha);
+            menor = Math.min(menor, (int) ((tabela.get(indice(h)) >>> deslocamento(h, linha)) & MAXIMO));
+        }
+        return menor;
+    }
+
+    // Só a thread que completou a amostra chega aqui; as outras continuam contando enquanto isso
+    private void envelhecer() {
+        for (int i = 0; i < tabela.length(); i++) {
+            long atual;
+            do {
+                atual = tabela.get(i);
+            } while (!tabela.compareAndSet(i, atual, (atual >>> 1) & METADE));
+        }
+        incrementos.addAndGet(-amostra / 2);
+    }
+
+    private static long espalhar(int hash, int linha) {
+        long h = (hash + SEMENTES[linha]) * SEMENTES[linha];
+        return h ^ (h >>> 29);
+    }
+
+    private int indice(long h) {
+        return (int) (h >>> 32) & mascara;
+    }
+
+    // Cada linha usa um quarteto diferente de contadores dentro do long
+    private static int deslocamento(long h, int linha) {
+        return ((linha << 2) + (int) (h & 3)) << 2;
+    }
+}
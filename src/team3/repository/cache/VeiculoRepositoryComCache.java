@@ -0,0 +1,51 @@
+package team3.repository.cache;
+
+import team3.domain.enums.TipoVeiculo;
+import team3.domain.model.Veiculo;
+import team3.repository.FiltroVeiculo;
+import team3.repository.IVeiculoRepository;
+import team3.repository.Pagina;
+import team3.repository.VeiculoRepository;
+
+import java.util.List;
+
+// Cache de buscas por placa; as demais consultas vão direto ao repositório
+public class VeiculoRepositoryComCache extends RepositorioComCache<Veiculo, String> implements IVeiculoRepository {
+
+    private final IVeiculoRepository repository;
+
+    public VeiculoRepositoryComCache(IVeiculoRepository repository, int capacidade) {
+        super(repository, capacidade, VeiculoRepositoryComCache::chave, Veiculo::getPlaca);
+        this.repository = repository;
+    }
+
+    @Override
+    public List<Veiculo> buscarPorParteDoNome(String nome) {
+        return repository.buscarPorParteDoNome(nome);
+    }
+
+    @Override
+    public List<Veiculo> buscarDisponiveisPorTipo(TipoVeiculo tipo, int limite) {
+        return repository.buscarDisponiveisPorTipo(tipo, limite);
+    }
+
+    @Override
+    public int contarDisponiveisPorTipo(TipoVeiculo tipo) {
+        return repository.contarDisponiveisPorTipo(tipo);
+    }
+
+    @Override
+    public Pagina<Veiculo> listarPagina(FiltroVeiculo filtro, String cursor, int tamanho) {
+        return repository.listarPagina(filtro, cursor, tamanho);
+    }
+
+    @Override
+    public Pagina<Veiculo> listarPagina(String cursor, int tamanho) {
+        return repository.listarPagina(cursor, tamanho);
+    }
+
+    private static String chave(String placa) {
+        String chave = VeiculoRepository.normalizarPlaca(placa);
+        return chave.isEmpty() ? null : chave;
+    }
+}
@@ -0,0 +1,99 @@
+package team3.repository.index;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Bitset que aceita set/clear concorrentes sem trava. Os bits ficam em blocos fixos que nunca
+// são copiados; crescer só troca o diretório de blocos, então nenhuma escrita se perde.
+public class ConcurrentBitSet {
+
+    private static final int BITS_POR_BLOCO = 1 << 16;
+    private static final int PALAVRAS_POR_BLOCO = BITS_POR_BLOCO >>> 6;
+
+    private volatile AtomicLongArray[] blocos = new AtomicLongArray[0];
+
+    public void set(int indice, boolean valor) {
+        AtomicLongArray bloco = bloco(indice >>> 16);
+        int palavra = (indice >>> 6) & (PALAVRAS_POR_BLOCO - 1);
+        long mascara = 1L << indice;
+        long antigo;
+        long novo;
+        do {
+            antigo = bloco.get(palavra);
+            novo = valor ? antigo | mascara : antigo & ~mascara;
+        } while (antigo != novo && !bloco.compareAndSet(palavra, antigo, novo));
+    }
+
+    // Liga/desliga o bit só se ele ainda estiver em 'esperado'; false se já estava diferente
+    public boolean compareAndSet(int indice, boolean esperado, boolean novo) {
+        AtomicLongArray bloco = bloco(indice >>> 16);
+        int palavra = (indice >>> 6) & (PALAVRAS_POR_BLOCO - 1);
+        long mascara = 1L << indice;
+        while (true) {
+            long antigo = bloco.get(palavra);
+            if (((antigo & mascara) != 0) != esperado) {
+                return false;
+            }
+            if (esperado == novo || bloco.compareAndSet(palavra, antigo, novo ? antigo | mascara : antigo & ~mascara)) {
+                return true;
+            }
+        }
+    }
+
+    public boolean get(int indice) {
+        AtomicLongArray[] atual = blocos;
+        int b = indice >>> 16;
+        return b < atual.length && (atual[b].get((indice >>> 6) & (PALAVRAS_POR_BLOCO - 1)) & (1L << indice)) != 0;
+    }
+
+    public int cardinality() {
+        int total = 0;
+        for (AtomicLongArray bloco : blocos) {
+            for (int i = 0; i < PALAVRAS_POR_BLOCO; i++) {
+                total += Long.bitCount(bloco.get(i));
+            }
+        }
+        return total;
+    }
+
+    // Próximo bit ligado a partir de 'inicio' (inclusive), ou -1
+    public int nextSetBit(int inicio) {
+        AtomicLongArray[] atual = blocos;
+        int b = inicio >>> 16;
+        if (b >= atual.length) {
+            return -1;
+        }
+        int palavra = (inicio >>> 6) & (PALAVRAS_POR_BLOCO - 1);
+        long bits = atual[b].get(palavra) & (-1L << inicio);
+        while (true) {
+            if (bits != 0) {
+                return b * BITS_POR_BLOCO + palavra * 64 + Long.numberOfTrailingZeros(bits);
+            }
+            if (++palavra == PALAVRAS_POR_BLOCO) {
+                palavra = 0;
+                if (++b == atual.length) {
+                    return -1;
+                }
+            }
+            bits = atual[b].get(palavra);
+        }
+    }
+
+    private AtomicLongArray bloco(int b) {
+        AtomicLongArray[] atual = blocos;
+        return b < atual.length ? atual[b] : crescer(b);
+    }
+
+    private synchronized AtomicLongArray crescer(int b) {
+        AtomicLongArray[] atual = blocos;
+        if (b >= atual.length) {
+            AtomicLongArray[] novo = Arrays.copyOf(atual, b + 1);
+            for (int i = atual.length; i < novo.length; i++) {
+                novo[i] = new AtomicLongArray(PALAVRAS_POR_BLOCO);
+            }
+            blocos = novo;
+            atual = novo;
+        }
+        return atual[b];
+    }
+}
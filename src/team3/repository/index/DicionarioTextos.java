@@ -0,0 +1,54 @@
+package team3.repository.index;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Codifica textos repetidos (modelo, fabricante) como ids int sequenciais. Leituras por id não usam trava.
+public class DicionarioTextos {
+
+    public static final int NULO = -1;
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private volatile String[] textos = new String[16];
+    private volatile int tamanho;
+
+    public int id(String texto) {
+        if (texto == null) {
+            return NULO;
+        }
+        Integer id = ids.get(texto);
+        return id != null ? id : adicionar(texto);
+    }
+
+    // Id já existente ou NULO, sem cadastrar o texto
+    public int idExistente(String texto) {
+        Integer id = texto == null ? null : ids.get(texto);
+        return id == null ? NULO : id;
+    }
+
+    public String texto(int id) {
+        return id == NULO ? null : textos[id];
+    }
+
+    public int tamanho() {
+        return tamanho;
+    }
+
+    private synchronized int adicionar(String texto) {
+        Integer existente = ids.get(texto);
+        if (existente != null) {
+            return existente;
+        }
+        int id = tamanho;
+        String[] atual = textos;
+        if (id == atual.length) {
+            atual = Arrays.copyOf(atual, id * 2);
+        }
+        atual[id] = texto;
+        textos = atual;
+        tamanho = id + 1;
+        ids.put(texto, id);
+        return id;
+    }
+}
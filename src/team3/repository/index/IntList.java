@@ -0,0 +1,36 @@
+package team3.repository.index;
+
+import java.util.Arrays;
+
+// Lista de int que só cresce, sem boxing
+public class IntList {
+
+    private int[] valores;
+    private int tamanho;
+
+    public IntList() {
+        this(4);
+    }
+
+    public IntList(int capacidadeInicial) {
+        valores = new int[Math.max(1, capacidadeInicial)];
+    }
+
+    public void add(int valor) {
+        if (tamanho == valores.length) {
+            valores = Arrays.copyOf(valores, tamanho * 2);
+        }
+        valores[tamanho++] = valor;
+    }
+
+    public int get(int indice) {
+        if (indice >= tamanho) {
+            throw new IndexOutOfBoundsException(indice);
+        }
+        return valores[indice];
+    }
+
+    public int size() {
+        return tamanho;
+    }
+}
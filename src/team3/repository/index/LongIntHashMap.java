@@ -0,0 +1,119 @@
+package team3.repository.index;
+
+import java.util.Arrays;
+
+// Mapa long -> int com endereçamento aberto (sondagem linear), sem boxing das chaves
+public class LongIntHashMap {
+
+    private static final long VAZIO = 0L;
+    private static final float FATOR_CARGA = 0.6f;
+
+    private long[] chaves;
+    private int[] valores;
+    private int tamanho;
+    private boolean temChaveZero;
+    private int valorChaveZero;
+
+    public LongIntHashMap() {
+        this(16);
+    }
+
+    public LongIntHashMap(int capacidadeInicial) {
+        int capacidade = Integer.highestOneBit(Math.max(4, (int) (capacidadeInicial / FATOR_CARGA)) - 1) << 1;
+        chaves = new long[capacidade];
+        valores = new int[capacidade];
+    }
+
+    public int get(long chave, int valorPadrao) {
+        if (chave == VAZIO) {
+            return temChaveZero ? valorChaveZero : valorPadrao;
+        }
+        long[] ks = chaves;
+        int mascara = ks.length - 1;
+        int i = indice(chave) & mascara;
+        while (ks[i] != VAZIO) {
+            if (ks[i] == chave) {
+                return valores[i];
+            }
+            i = (i + 1) & mascara;
+        }
+        return valorPadrao;
+    }
+
+    public boolean containsKey(long chave) {
+        if (chave == VAZIO) {
+            return temChaveZero;
+        }
+        int mascara = chaves.length - 1;
+        int i = indice(chave) & mascara;
+        while (chaves[i] != VAZIO) {
+            if (chaves[i] == chave) {
+                return true;
+            }
+            i = (i + 1) & mascara;
+        }
+        return false;
+    }
+
+    public void put(long chave, int valor) {
+        if (chave == VAZIO) {
+            if (!temChaveZero) {
+                temChaveZero = true;
+                tamanho++;
+            }
+            valorChaveZero = valor;
+            return;
+        }
+        if (tamanho + 1 > chaves.length * FATOR_CARGA) {
+            redimensionar(chaves.length << 1);
+        }
+        int mascara = chaves.length - 1;
+        int i = indice(chave) & mascara;
+        while (chaves[i] != VAZIO) {
+            if (chaves[i] == chave) {
+                valores[i] = valor;
+                return;
+            }
+            i = (i + 1) & mascara;
+        }
+        chaves[i] = chave;
+        valores[i] = valor;
+        tamanho++;
+    }
+
+    public int size() {
+        return tamanho;
+    }
+
+    public void clear() {
+        Arrays.fill(chaves, VAZIO);
+        tamanho = 0;
+        temChaveZero = false;
+    }
+
+    private void redimensionar(int novaCapacidade) {
+        long[] chavesAntigas = chaves;
+        int[] valoresAntigos = valores;
+        long[] novasChaves = new long[novaCapacidade];
+        int[] novosValores = new int[novaCapacidade];
+        int mascara = novaCapacidade - 1;
+        for (int j = 0; j < chavesAntigas.length; j++) {
+            long chave = chavesAntigas[j];
+            if (chave != VAZIO) {
+                int i = indice(chave) & mascara;
+                while (novasChaves[i] != VAZIO) {
+                    i = (i + 1) & mascara;
+                }
+                novasChaves[i] = chave;
+                novosValores[i] = valoresAntigos[j];
+            }
+        }
+        valores = novosValores;
+        chaves = novasChaves;
+    }
+
+    private static int indice(long chave) {
+        long h = chave * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
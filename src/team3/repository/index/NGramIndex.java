@@ -0,0 +1,148 @@
+package team3.repository.index;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+// Índice invertido de n-gramas (1 a 3 caracteres) para buscas do tipo "contém".
+// Cada n-grama aponta para a lista ordenada dos ids que o contêm.
+public class NGramIndex {
+
+    public static final int N = 3;
+
+    private final Map<Long, PostingList> postings = new HashMap<>();
+    private int totalIds;
+
+    public void indexar(int id, String texto) {
+        for (long gram : gramasDistintos(texto)) {
+            postings.computeIfAbsent(gram, g -> new PostingList()).adicionar(id);
+        }
+        totalIds = Math.max(totalIds, id + 1);
+    }
+
+    public void remover(int id, String texto) {
+        for (long gram : gramasDistintos(texto)) {
+            PostingList lista = postings.get(gram);
+            if (lista != null && lista.remover(id) && lista.tamanho == 0) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    // Ids candidatos em ordem crescente. Para consultas de até N caracteres o resultado
+    // é exato; para consultas maiores o chamador precisa confirmar cada candidato.
+    public int[] candidatos(String consulta) {
+        if (consulta.isEmpty()) {
+            int[] todos = new int[totalIds];
+            Arrays.setAll(todos, i -> i);
+            return todos;
+        }
+        if (consulta.length() <= N) {
+            PostingList lista = postings.get(gram(consulta, 0, consulta.length()));
+            return lista == null ? new int[0] : Arrays.copyOf(lista.ids, lista.tamanho);
+        }
+
+        PostingList[] listas = new PostingList[consulta.length() - N + 1];
+        for (int i = 0; i < listas.length; i++) {
+            listas[i] = postings.get(gram(consulta, i, N));
+            if (listas[i] == null) {
+                return new int[0];
+            }
+        }
+        Arrays.sort(listas, (a, b) -> Integer.compare(a.tamanho, b.tamanho));
+        return intersectar(listas);
+    }
+
+    private static int[] intersectar(PostingList[] listas) {
+        PostingList menor = listas[0];
+        int[] resultado = new int[menor.tamanho];
+        int[] cursores = new int[listas.length];
+        int encontrados = 0;
+
+        proximo:
+        for (int k = 0; k < menor.tamanho; k++) {
+            int id = menor.ids[k];
+            for (int j = 1; j < listas.length; j++) {
+                PostingList outra = listas[j];
+                int pos = Arrays.binarySearch(outra.ids, cursores[j], outra.tamanho, id);
+                if (pos < 0) {
+                    cursores[j] = -pos - 1;
+                    if (cursores[j] >= outra.tamanho) {
+                        break proximo;
+                    }
+                    continue proximo;
+                }
+                cursores[j] = pos + 1;
+            }
+            resultado[encontrados++] = id;
+        }
+        return Arrays.copyOf(resultado, encontrados);
+    }
+
+    private static long[] gramasDistintos(String texto) {
+        int n = texto.length();
+        int capacidade = 0;
+        for (int tamanho = 1; tamanho <= N; tamanho++) {
+            capacidade += Math.max(0, n - tamanho + 1);
+        }
+        long[] gramas = new long[capacidade];
+        int total = 0;
+        for (int tamanho = 1; tamanho <= N; tamanho++) {
+            for (int i = 0; i + tamanho <= n; i++) {
+                gramas[total++] = gram(texto, i, tamanho);
+            }
+        }
+        Arrays.sort(gramas, 0, total);
+        int distintos = 0;
+        for (int i = 0; i < total; i++) {
+            if (distintos == 0 || gramas[distintos - 1] != gramas[i]) {
+                gramas[distintos++] = gramas[i];
+            }
+        }
+        return Arrays.copyOf(gramas, distintos);
+    }
+
+    private static long gram(String texto, int inicio, int tamanho) {
+        long chave = tamanho;
+        for (int i = 0; i < tamanho; i++) {
+            chave = (chave << 16) | texto.charAt(inicio + i);
+        }
+        return chave;
+    }
+
+    private static final class PostingList {
+        private int[] ids = new int[4];
+        private int tamanho;
+
+        void adicionar(int id) {
+            if (tamanho > 0 && ids[tamanho - 1] >= id) {
+                int pos = Arrays.binarySearch(ids, 0, tamanho, id);
+                if (pos >= 0) {
+                    return;
+                }
+                inserirEm(-pos - 1, id);
+                return;
+            }
+            inserirEm(tamanho, id);
+        }
+
+        boolean remover(int id) {
+            int pos = Arrays.binarySearch(ids, 0, tamanho, id);
+            if (pos < 0) {
+                return false;
+            }
+            System.arraycopy(ids, pos + 1, ids, pos, tamanho - pos - 1);
+            tamanho--;
+            return true;
+        }
+
+        private void inserirEm(int pos, int id) {
+            if (tamanho == ids.length) {
+                ids = Arrays.copyOf(ids, tamanho * 2);
+            }
+            System.arraycopy(ids, pos, ids, pos + 1, tamanho - pos);
+            ids[pos] = id;
+            tamanho++;
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package team3.repository.index;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+// Vetor imutável em árvore de 32 posições por nó, com os últimos até 32 elementos numa cauda
+// separada. Cada versão compartilha com a anterior tudo o que não mudou: adicionar copia só a
+// cauda (e, a cada 32, um caminho da raiz), substituir copia só o caminho até a folha.
+public final class VetorPersistente<T> {
+
+    private static final int BITS = 5;
+    private static final int LARGURA = 1 << BITS;
+    private static final int MASCARA = LARGURA - 1;
+    private static final Object[] VAZIO_NO = new Object[0];
+    private static final VetorPersistente<?> VAZIO = new VetorPersistente<>(0, BITS, new Object[LARGURA], VAZIO_NO);
+
+    private final int tamanho;
+    private final int nivel;
+    private final Object[] raiz;
+    private final Object[] cauda;
+
+    private VetorPersistente(int tamanho, int nivel, Object[] raiz, Object[] cauda) {
+        this.tamanho = tamanho;
+        this.nivel = nivel;
+        this.raiz = raiz;
+        this.cauda = cauda;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> VetorPersistente<T> vazio() {
+        return (VetorPersistente<T>) VAZIO;
+    }
+
+    public int tamanho() {
+        return tamanho;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T get(int indice) {
+        if (indice < 0 || indice >= tamanho) {
+            throw new IndexOutOfBoundsException(indice);
+        }
+        return (T) folhaDe(indice)[indice & MASCARA];
+    }
+
+    public VetorPersistente<T> adicionar(T valor) {
+        int naCauda = tamanho - inicioDaCauda(tamanho);
+        if (naCauda < LARGURA) {
+            Object[] novaCauda = Arrays.copyOf(cauda, naCauda + 1);
+            novaCauda[naCauda] = valor;
+            return new VetorPersistente<>(tamanho + 1, nivel, raiz, novaCauda);
+        }
+        Object[] novaRaiz;
+        int novoNivel = nivel;
+        // árvore cheia: a raiz atual vira o primeiro filho de uma nova raiz
+        if ((tamanho >>> BITS) > (1 << nivel)) {
+            novaRaiz = new Object[LARGURA];
+            novaRaiz[0] = raiz;
+            novaRaiz[1] = novoCaminho(nivel, cauda);
+            novoNivel += BITS;
+        } else {
+            novaRaiz = empurrarCauda(tamanho, nivel, raiz, cauda);
+        }
+        return new VetorPersistente<>(tamanho + 1, novoNivel, novaRaiz, new Object[]{valor});
+    }
+
+    // Equivale a adicionar um a um, mas só monta folhas cheias e copia um caminho a cada 32
+    public VetorPersistente<T> adicionarTodos(List<? extends T> valores) {
+        VetorPersistente<T> atual = this;
+        int i = 0;
+        // completa a cauda atual antes de passar a folhas inteiras
+        while (i < valores.size() && atual.tamanho - inicioDaCauda(atual.tamanho) < LARGURA) {
+            atual = atual.adicionar(valores.get(i++));
+        }
+        while (valores.size() - i > LARGURA) {
+            Object[] folha = new Object[LARGURA];
+            for (int j = 0; j < LARGURA; j++) {
+                folha[j] = valores.get(i + j);
+            }
+            i += LARGURA;
+            // a cauda cheia desce para a árvore e a folha nova assume o lugar dela
+            VetorPersistente<T> comCauda = atual.adicionar(null);
+            atual = new VetorPersistente<>(comCauda.tamanho - 1 + LARGURA, comCauda.nivel, comCauda.raiz, folha);
+        }
+        while (i < valores.size()) {
+            atual = atual.adicionar(valores.get(i++));
+        }
+        return atual;
+    }
+
+    public VetorPersistente<T> substituir(int indice, T valor) {
+        if (indice < 0 || indice >= tamanho) {
+            throw new IndexOutOfBoundsException(indice);
+        }
+        if (indice >= inicioDaCauda(tamanho)) {
+            Object[] novaCauda = cauda.clone();
+            novaCauda[indice & MASCARA] = valor;
+            return new VetorPersistente<>(tamanho, nivel, raiz, novaCauda);
+        }
+        return new VetorPersistente<>(tamanho, nivel, substituirNo(nivel, raiz, indice, valor), cauda);
+    }
+
+    // Visão somente leitura desta versão, em O(1). O que está em cada posição nunca muda, mesmo com
+    // novas versões publicadas; o estado dos próprios elementos é responsabilidade de quem os guarda.
+    public List<T> comoLista() {
+        return new Visao<>(this);
+    }
+
+    private Object[] folhaDe(int indice) {
+        if (indice >= inicioDaCauda(tamanho)) {
+            return cauda;
+        }
+        Object[] no = raiz;
+        for (int n = nivel; n > 0; n -= BITS) {
+            no = (Object[]) no[(indice >>> n) & MASCARA];
+        }
+        return no;
+    }
+
+    private static int inicioDaCauda(int tamanho) {
+        return tamanho < LARGURA ? 0 : ((tamanho - 1) >>> BITS) << BITS;
+    }
+
+    private static Object[] empurrarCauda(int tamanho, int nivel, Object[] pai, Object[] folha) {
+        Object[] copia = pai.clone();
+        int filho = ((tamanho - 1) >>> nivel) & MASCARA;
+        if (nivel == BITS) {
+            copia[filho] = folha;
+        } else {
+            Object[] existente = (Object[]) pai[filho];
+            copia[filho] = existente != null
+                    ? empurrarCauda(tamanho, nivel - BITS, existente, folha)
+                    : novoCaminho(nivel - BITS, folha);
+        }
+        return copia;
+    }
+
+    private static Object[] novoCaminho(int nivel, Object[] folha) {
+        if (nivel == 0) {
+            return folha;
+        }
+        Object[] no = new Object[LARGURA];
+        no[0] = novoCaminho(nivel - BITS, folha);
+        return no;
+    }
+
+    private static Object[] substituirNo(int nivel, Object[] no, int indice, Object valor) {
+        Object[] copia = no.clone();
+        if (nivel == 0) {
+            copia[indice & MASCARA] = valor;
+        } else {
+            int filho = (indice >>> nivel) & MASCARA;
+            copia[filho] = substituirNo(nivel - BITS, (Object[]) no[filho], indice, valor);
+        }
+        return copia;
+    }
+
+    // Percorre folha a folha em vez de descer a árvore a cada elemento
+    private static final class Visao<T> extends AbstractList<T> implements RandomAccess {
+
+        private final VetorPersistente<T> vetor;
+
+        Visao(VetorPersistente<T> vetor) {
+            this.vetor = vetor;
+        }
+
+        @Override
+        public T get(int indice) {
+            return vetor.get(indice);
+        }
+
+        @Override
+        public int size() {
+            return vetor.tamanho;
+        }
+
+        @Override
+        public void forEach(Consumer<? super T> acao) {
+            percorrer(vetor, 0, vetor.tamanho, acao);
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            return new Iterator<>() {
+                private int posicao;
+                private Object[] folha;
+
+                @Override
+                public boolean hasNext() {
+                    return posicao < vetor.tamanho;
+                }
+
+                @Override
+                @SuppressWarnings("unchecked")
+                public T next() {
+                    if (posicao >= vetor.tamanho) {
+                        throw new NoSuchElementException();
+                    }
+                    if ((posicao & MASCARA) == 0 || folha == null) {
+                        folha = vetor.folhaDe(posicao);
+                    }
+                    return (T) folha[posicao++ & MASCARA];
+                }
+            };
+        }
+
+        @Override
+        public Spliterator<T> spliterator() {
+            return new Divisor<>(vetor, 0, vetor.tamanho);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> void percorrer(VetorPersistente<T> vetor, int inicio, int fim, Consumer<? super T> acao) {
+        int posicao = inicio;
+        while (posicao < fim) {
+            Object[] folha = vetor.folhaDe(posicao);
+            int ate = Math.min(fim, (posicao | MASCARA) + 1);
+            for (; posicao < ate; posicao++) {
+                acao.accept((T) folha[posicao & MASCARA]);
+            }
+        }
+    }
+
+    // Divide por faixas de índice alinhadas às folhas, para streams paralelos sobre o snapshot
+    private static final class Divisor<T> implements Spliterator<T> {
+
+        private final VetorPersistente<T> vetor;
+        private int posicao;
+        private final int fim;
+
+        Divisor(VetorPersistente<T> vetor, int posicao, int fim) {
+            this.vetor = vetor;
+            this.posicao = posicao;
+            this.fim = fim;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> acao) {
+            if (posicao >= fim) {
+                return false;
+            }
+            acao.accept(vetor.get(posicao++));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> acao) {
+            int inicio = posicao;
+            posicao = fim;
+            percorrer(vetor, inicio, fim, acao);
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            int meio = ((posicao + fim) >>> 1) & ~MASCARA;
+            if (meio <= posicao) {
+                return null;
+            }
+            Divisor<T> prefixo = new Divisor<>(vetor, posicao, meio);
+            posicao = meio;
+            return prefixo;
+        }
+
+        @Override
+        public long estimateSize() {
+            return fim - posicao;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | IMMUTABLE;
+        }
+    }
+}
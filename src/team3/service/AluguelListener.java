@@ -0,0 +1,13 @@
+package team3.service;
+
+import team3.domain.model.Aluguel;
+import team3.domain.model.RegistroAluguel;
+
+// Notificado pelo AluguelService depois que um aluguel começa ou termina
+public interface AluguelListener {
+    void aoAlugar(Aluguel aluguel);
+    void aoDevolver(RegistroAluguel registro);
+
+    default void aoRecusar(MotivoRecusa motivo) {
+    }
+}
@@ -1,115 +1,322 @@
 package team3.service;
 
+import team3.domain.enums.TipoVeiculo;
 import team3.domain.model.*;
+import team3.repository.ClienteRepository;
+import team3.repository.HistoricoAluguelRepository;
+import team3.repository.IVeiculoRepository;
+import team3.repository.ReservaRepository;
 import team3.repository.VeiculoRepository;
+import team3.service.preco.LoteCotacao;
+import team3.service.preco.MotorPreco;
 
-import java.time.Duration;
+import java.time.Clock;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class AluguelService {
 
-    private final VeiculoRepository veiculoRepository;
+    private final IVeiculoRepository veiculoRepository;
     private final ClienteService clienteService;
-    private final List<Aluguel> alugueisAtivos = new ArrayList<>();
-    private final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+    private final HistoricoAluguelRepository historicoRepository;
+    private final MotorPreco motorPreco;
+    private final ReservaRepository reservaRepository;
+    // Fonte de "agora" para datas de aluguel e devolução; trocável em simulações
+    private final Clock relogio;
+    // Aluguéis em andamento e veículos parados, divididos pela filial (local) de cada balcão
+    private final ParticoesFilial filiais = new ParticoesFilial();
+    private final List<AluguelListener> listeners = new CopyOnWriteArrayList<>();
 
-    public AluguelService(VeiculoRepository veiculoRepository, ClienteService clienteService) {
+    public AluguelService(IVeiculoRepository veiculoRepository, ClienteService clienteService) {
+        this(veiculoRepository, clienteService, new HistoricoAluguelRepository());
+    }
+
+    public AluguelService(IVeiculoRepository veiculoRepository, ClienteService clienteService,
+                          HistoricoAluguelRepository historicoRepository) {
+        this(veiculoRepository, clienteService, historicoRepository, MotorPreco.padrao());
+    }
+
+    public AluguelService(IVeiculoRepository veiculoRepository, ClienteService clienteService,
+                          HistoricoAluguelRepository historicoRepository, MotorPreco motorPreco) {
+        this(veiculoRepository, clienteService, historicoRepository, motorPreco, new ReservaRepository());
+    }
+
+    // As reservas feitas pelo ReservaService precisam estar no mesmo ReservaRepository
+    public AluguelService(IVeiculoRepository veiculoRepository, ClienteService clienteService,
+                          HistoricoAluguelRepository historicoRepository, MotorPreco motorPreco,
+                          ReservaRepository reservaRepository) {
+        this(veiculoRepository, clienteService, historicoRepository, motorPreco, reservaRepository, Clock.systemDefaultZone());
+    }
+
+    public AluguelService(IVeiculoRepository veiculoRepository, ClienteService clienteService,
+                          HistoricoAluguelRepository historicoRepository, MotorPreco motorPreco,
+                          ReservaRepository reservaRepository, Clock relogio) {
         this.veiculoRepository = veiculoRepository;
         this.clienteService = clienteService;
+        this.historicoRepository = historicoRepository;
+        this.motorPreco = motorPreco;
+        this.reservaRepository = reservaRepository;
+        this.relogio = relogio;
     }
 
-    public void alugarVeiculo(String placa, String documentoCliente, String local) {
+    public ResultadoAluguel alugarVeiculo(String placa, String documentoCliente, String local) {
+        return alugarVeiculo(placa, documentoCliente, local, null);
+    }
+
+    // O aluguel de balcão respeita as reservas: com devolucaoPrevista, o período até ela não pode
+    // cruzar reserva de outro cliente; sem ela, o momento atual não pode estar reservado para outro
+    // e o aluguel sem data só sai se nenhum outro cliente tiver reserva mais adiante. Reserva do
+    // próprio cliente no período conferido é a retirada do carro e deixa de existir.
+    public ResultadoAluguel alugarVeiculo(String placa, String documentoCliente, String local, LocalDateTime devolucaoPrevista) {
+        LocalDateTime agora = LocalDateTime.now(relogio);
+        if (devolucaoPrevista != null && !devolucaoPrevista.isAfter(agora)) {
+            throw new IllegalArgumentException("Erro: A devolução prevista deve ser depois do aluguel.");
+        }
+        LocalDateTime fimConferido = devolucaoPrevista != null ? devolucaoPrevista : agora.plusSeconds(1);
+
         Optional<Veiculo> veiculoOpt = veiculoRepository.buscarPorId(placa);
         if (veiculoOpt.isEmpty()) {
-            System.out.println("Erro: Veículo não encontrado.");
-            return;
+            return ResultadoAluguel.recusado(recusar(MotivoRecusa.VEICULO_NAO_ENCONTRADO));
         }
 
         Veiculo veiculo = veiculoOpt.get();
         if (!veiculo.isDisponivel()) {
-            System.out.println("Erro: Veículo já está alugado.");
-            return;
+            return ResultadoAluguel.recusado(recusar(MotivoRecusa.VEICULO_JA_ALUGADO));
         }
 
         Optional<Cliente> clienteOpt = clienteService.buscarClientePorDocumento(documentoCliente);
         if (clienteOpt.isEmpty()) {
-            System.out.println("Erro: Cliente não encontrado.");
-            return;
+            return ResultadoAluguel.recusado(recusar(MotivoRecusa.CLIENTE_NAO_ENCONTRADO));
         }
 
-        veiculo.setDisponivel(false);
-        veiculoRepository.alterar(veiculo);
+        long chaveCliente = ClienteRepository.chaveDocumento(clienteOpt.get().getDocumento());
+        MotivoRecusa motivo = reservaRepository.naAgenda(placa, agenda -> {
+            List<Reserva> conflitos = agenda.conflitos(agora, fimConferido);
+            for (Reserva reserva : conflitos) {
+                if (ClienteRepository.chaveDocumento(reserva.getCliente().getDocumento()) != chaveCliente) {
+                    return MotivoRecusa.PERIODO_RESERVADO;
+                }
+            }
+            if (devolucaoPrevista == null) {
+                for (Reserva reserva : agenda.conflitos(agora, LocalDateTime.MAX)) {
+                    if (ClienteRepository.chaveDocumento(reserva.getCliente().getDocumento()) != chaveCliente) {
+                        return MotivoRecusa.DEVOLUCAO_PREVISTA_OBRIGATORIA;
+                    }
+                }
+            }
+            if (!veiculo.marcarComoAlugado()) {
+                return MotivoRecusa.VEICULO_JA_ALUGADO;
+            }
+            conflitos.forEach(agenda::remover);
+            return null;
+        });
+        if (motivo != null) {
+            return ResultadoAluguel.recusado(recusar(motivo));
+        }
 
-        Aluguel novoAluguel = new Aluguel(veiculo, clienteOpt.get(), local);
-        alugueisAtivos.add(novoAluguel);
+        Aluguel novoAluguel = new Aluguel(veiculo, clienteOpt.get(), local, agora);
+        filiais.registrarRetirada(VeiculoRepository.normalizarPlaca(veiculo.getPlaca()), veiculo.getTipo(), novoAluguel,
+                filiais.filial(local));
+        for (AluguelListener listener : listeners) {
+            listener.aoAlugar(novoAluguel);
+        }
+        veiculoRepository.alterar(veiculo);
+        return ResultadoAluguel.confirmado(novoAluguel);
+    }
 
-        System.out.println("Veículo alugado com sucesso!");
-        System.out.println("Data e hora do aluguel: " + novoAluguel.getDataAluguel().format(formatter));
+    // O recibo vem no resultado; para imprimi-lo ou gravá-lo, ver FormatadorRecibo e EscritorRecibos
+    public ResultadoDevolucao devolverVeiculo(String placa) {
+        return devolverVeiculo(placa, null);
     }
 
-    public void devolverVeiculo(String placa) {
-        Optional<Aluguel> aluguelOpt = alugueisAtivos.stream()
-                .filter(a -> a.getVeiculo().getPlaca().equalsIgnoreCase(placa))
-                .findFirst();
+    // Devolução em 'localDevolucao' (null ou vazio = na filial da retirada). O aluguel sai da filial
+    // de retirada e o veículo entra no pátio da filial de devolução de uma vez só; entre duas
+    // devoluções concorrentes da mesma placa, só uma fica com o aluguel.
+    public ResultadoDevolucao devolverVeiculo(String placa, String localDevolucao) {
+        Aluguel aluguel = filiais.registrarDevolucao(VeiculoRepository.normalizarPlaca(placa),
+                localDevolucao == null || localDevolucao.isBlank() ? null : filiais.filial(localDevolucao));
+        if (aluguel == null) {
+            return ResultadoDevolucao.recusada(recusar(MotivoRecusa.SEM_ALUGUEL_ATIVO));
+        }
+
+        aluguel.setDataDevolucao(LocalDateTime.now(relogio));
 
-        if (aluguelOpt.isEmpty()) {
-            System.out.println("Erro: Não há um aluguel ativo para este veículo.");
-            return;
+        long diarias = motorPreco.diarias(aluguel.getDataAluguel(), aluguel.getDataDevolucao());
+        long valorBase = motorPreco.valorBaseCentavos(aluguel.getVeiculo().getTipo(), diarias);
+        int desconto = motorPreco.descontoPontosBase(aluguel.getCliente().getTipo(), diarias);
+        long valorFinal = valorBase - MotorPreco.descontoCentavos(valorBase, desconto);
+
+        RegistroAluguel registro = new RegistroAluguel(aluguel, diarias, valorBase, desconto, valorFinal);
+        historicoRepository.registrar(registro);
+        // O aluguel já saiu das filiais: mesmo que um listener falhe, o veículo precisa voltar a ficar
+        // disponível. Os listeners vêm antes para o journal gravar a devolução junto com o veículo.
+        Veiculo veiculo = aluguel.getVeiculo();
+        try {
+            for (AluguelListener listener : listeners) {
+                listener.aoDevolver(registro);
+            }
+        } finally {
+            veiculo.setDisponivel(true);
+            veiculoRepository.alterar(veiculo);
         }
+        return ResultadoDevolucao.concluida(registro);
+    }
 
-        Aluguel aluguel = aluguelOpt.get();
-        aluguel.setDataDevolucao(LocalDateTime.now());
-
-        long diarias = calcularDiarias(aluguel.getDataAluguel(), aluguel.getDataDevolucao());
-        double valorBase = diarias * aluguel.getVeiculo().getTipo().getValorDiaria();
-        double desconto = calcularDesconto(aluguel.getCliente(), diarias);
-        double valorFinal = valorBase * (1 - desconto);
-
-        System.out.println("--- Recibo de Devolução ---");
-        System.out.println("Veículo: " + aluguel.getVeiculo().getModelo() + " | Placa: " + aluguel.getVeiculo().getPlaca());
-        System.out.println("Cliente: " + aluguel.getCliente().getNome());
-        System.out.println("Data do Aluguel: " + aluguel.getDataAluguel().format(formatter));
-        System.out.println("Data da Devolução: " + aluguel.getDataDevolucao().format(formatter));
-        System.out.println("Total de diárias: " + diarias);
-        System.out.println("Valor base (R$): " + String.format("%.2f", valorBase));
-        if (desconto > 0) {
-            System.out.println("Desconto aplicado (" + (int)(desconto * 100) + "%): R$ " + String.format("%.2f", valorBase * desconto));
+    private MotivoRecusa recusar(MotivoRecusa motivo) {
+        for (AluguelListener listener : listeners) {
+            listener.aoRecusar(motivo);
         }
-        System.out.println("Valor final a pagar (R$): " + String.format("%.2f", valorFinal));
-        System.out.println("---------------------------");
+        return motivo;
+    }
 
+    public void adicionarListener(AluguelListener listener) {
+        listeners.add(listener);
+    }
 
-        Veiculo veiculo = aluguel.getVeiculo();
-        veiculo.setDisponivel(true);
-        veiculoRepository.alterar(veiculo);
+    // Usado na recuperação do estado salvo: recoloca o aluguel em andamento sem notificar ninguém
+    public void restaurarAluguelAtivo(Aluguel aluguel) {
+        aluguel.getVeiculo().setDisponivel(false);
+        filiais.registrarRetirada(VeiculoRepository.normalizarPlaca(aluguel.getVeiculo().getPlaca()),
+                aluguel.getVeiculo().getTipo(), aluguel, filiais.filial(aluguel.getLocal()));
+        veiculoRepository.alterar(aluguel.getVeiculo());
+    }
 
-        alugueisAtivos.remove(aluguel);
+    // Usado na recuperação do estado salvo: encerra o aluguel da placa e guarda o registro no histórico
+    public void restaurarDevolucao(RegistroAluguel registro) {
+        String chave = VeiculoRepository.normalizarPlaca(registro.getPlaca());
+        Aluguel aluguel = filiais.registrarDevolucao(chave, null);
+        if (!historicoRepository.contem(registro.getPlaca(), registro.getDataAluguel())) {
+            historicoRepository.registrar(registro);
+        }
+        Veiculo veiculo = aluguel != null ? aluguel.getVeiculo() : veiculoRepository.buscarPorId(chave).orElse(null);
+        if (veiculo != null) {
+            veiculo.setDisponivel(true);
+            veiculoRepository.alterar(veiculo);
+        }
     }
 
-    private long calcularDiarias(LocalDateTime inicio, LocalDateTime fim) {
-        Duration duracao = Duration.between(inicio, fim);
-        long horas = duracao.toHours();
-        if (duracao.toMinutes() % 60 > 0 || horas == 0) {
-            horas++;
+    public List<Aluguel> listarAlugueisAtivos() {
+        List<Aluguel> ativos = new ArrayList<>();
+        filiais.paraCadaAtivo(ativos::add);
+        return ativos;
+    }
+
+    public List<Aluguel> listarAlugueisAtivos(String local) {
+        return new ArrayList<>(filiais.filial(local).ativos.values());
+    }
+
+    // Coloca um veículo que não está alugado no pátio da filial 'local'; false se ele está alugado
+    public boolean posicionarVeiculo(String placa, String local) {
+        Veiculo veiculo = veiculoRepository.buscarPorId(placa)
+                .orElseThrow(() -> new IllegalArgumentException("Erro: Veículo com a placa " + placa + " não encontrado."));
+        return filiais.posicionar(VeiculoRepository.normalizarPlaca(veiculo.getPlaca()), veiculo.getTipo(), filiais.filial(local));
+    }
+
+    // Um resumo por filial, lido sob a trava de cada uma (não é uma fotografia única de todas).
+    // Os disponíveis que nunca passaram por uma filial entram no resumo de nome vazio: a contagem
+    // do repositório menos os que estão em algum pátio.
+    public List<ResumoFilial> listarResumosPorFilial() {
+        List<ResumoFilial> resumos = filiais.resumos();
+        int[] semFilial = new int[TipoVeiculo.values().length];
+        boolean algum = false;
+        for (TipoVeiculo tipo : TipoVeiculo.values()) {
+            int emPatios = 0;
+            for (ResumoFilial resumo : resumos) {
+                emPatios += resumo.getDisponiveis().get(tipo);
+            }
+            semFilial[tipo.ordinal()] = Math.max(0, veiculoRepository.contarDisponiveisPorTipo(tipo) - emPatios);
+            algum |= semFilial[tipo.ordinal()] > 0;
         }
-        long diarias = (horas / 24);
-        if (horas % 24 > 0 || diarias == 0) {
-            diarias++;
+        if (algum) {
+            int[] alugados = new int[semFilial.length];
+            for (int i = 0; i < resumos.size(); i++) {
+                ResumoFilial resumo = resumos.get(i);
+                if (resumo.getNome().isEmpty()) {
+                    resumos.remove(i);
+                    for (TipoVeiculo tipo : TipoVeiculo.values()) {
+                        semFilial[tipo.ordinal()] += resumo.getDisponiveis().get(tipo);
+                        alugados[tipo.ordinal()] = resumo.getAlugados().get(tipo);
+                    }
+                    break;
+                }
+            }
+            resumos.add(new ResumoFilial("", semFilial, alugados));
         }
-        return diarias;
+        return resumos;
+    }
+
+    // Totais da frota somando os resumos das filiais, sem percorrer veículos nem aluguéis
+    public Map<TipoVeiculo, Integer> contarDisponiveisPorTipo() {
+        return somarPorTipo(listarResumosPorFilial(), true);
+    }
+
+    public Map<TipoVeiculo, Integer> contarAlugadosPorTipo() {
+        return somarPorTipo(filiais.resumos(), false);
     }
 
-    private double calcularDesconto(Cliente cliente, long diarias) {
-        if (cliente instanceof PessoaFisica && diarias > 5) {
-            return 0.05; // 5%
+    private static Map<TipoVeiculo, Integer> somarPorTipo(List<ResumoFilial> resumos, boolean disponiveis) {
+        Map<TipoVeiculo, Integer> total = new EnumMap<>(TipoVeiculo.class);
+        for (TipoVeiculo tipo : TipoVeiculo.values()) {
+            total.put(tipo, 0);
         }
-        if (cliente instanceof PessoaJuridica && diarias > 3) {
-            return 0.10; // 10%
+        for (ResumoFilial resumo : resumos) {
+            (disponiveis ? resumo.getDisponiveis() : resumo.getAlugados()).forEach((tipo, quantidade) -> total.merge(tipo, quantidade, Integer::sum));
         }
-        return 0.0;
+        return total;
+    }
+
+    public List<RegistroAluguel> listarHistorico() {
+        return historicoRepository.listarTodos();
+    }
+
+    public Optional<Aluguel> buscarAluguelAtivo(String placa) {
+        String chave = VeiculoRepository.normalizarPlaca(placa);
+        ParticoesFilial.Filial filial = filiais.filialDoVeiculo(chave);
+        return filial == null ? Optional.empty() : Optional.ofNullable(filial.ativo(chave));
+    }
+
+    public Clock getRelogio() {
+        return relogio;
+    }
+
+    // Quanto cada aluguel em andamento custaria se fosse devolvido agora
+    public LoteCotacao<Aluguel> cotarAlugueisAtivos(LoteCotacao<Aluguel> lote) {
+        return cotarAlugueisAtivos(LocalDateTime.now(relogio), lote);
+    }
+
+    // Quanto cada aluguel em andamento custaria se fosse devolvido em "momento". O lote é limpo e
+    // reaproveitado, então consultas repetidas sobre a frota inteira não alocam por aluguel.
+    public LoteCotacao<Aluguel> cotarAlugueisAtivos(LocalDateTime momento, LoteCotacao<Aluguel> lote) {
+        lote.limpar();
+        filiais.paraCadaAtivo(aluguel -> {
+            // fim conta a partir do início, para a duração sair da diferença real (ver MotorPreco.minutosEntre)
+            long inicio = MotorPreco.minutoEpoch(aluguel.getDataAluguel());
+            lote.adicionar(aluguel.getVeiculo().getTipo(), aluguel.getCliente().getTipo(), inicio,
+                    inicio + MotorPreco.minutosEntre(aluguel.getDataAluguel(), momento), aluguel);
+        });
+        motorPreco.cotar(lote);
+        return lote;
+    }
+
+    // Cotação de aluguéis hipotéticos montados por quem chama
+    public void cotar(LoteCotacao<?> lote) {
+        motorPreco.cotar(lote);
+    }
+
+    public List<RegistroAluguel> buscarHistoricoPorCliente(String documento, LocalDateTime inicio, LocalDateTime fim) {
+        return historicoRepository.buscarPorCliente(documento, inicio, fim);
+    }
+
+    public List<RegistroAluguel> buscarHistoricoPorPlaca(String placa) {
+        return historicoRepository.buscarPorPlaca(placa);
+    }
+
+    public List<RegistroAluguel> buscarHistoricoPorPeriodo(LocalDateTime inicio, LocalDateTime fim) {
+        return historicoRepository.buscarPorPeriodo(inicio, fim);
     }
 }
@@ -0,0 +1,92 @@
+package team3.service;
+
+import team3.domain.model.Aluguel;
+import team3.metricas.MetricasOperacao;
+import team3.metricas.RegistroMetricas;
+import team3.repository.HistoricoAluguelRepository;
+import team3.repository.IVeiculoRepository;
+import team3.repository.ReservaRepository;
+import team3.service.preco.LoteCotacao;
+import team3.service.preco.MotorPreco;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+
+// Mede aluguel, devolução e cotação; as recusas são contadas pelo motivo que vem no resultado
+public class AluguelServiceInstrumentado extends AluguelService {
+
+    private static final String SERVICO = "AluguelService";
+
+    private final MetricasOperacao alugar;
+    private final MetricasOperacao devolver;
+    private final MetricasOperacao cotarAtivos;
+
+    public AluguelServiceInstrumentado(IVeiculoRepository veiculoRepository, ClienteService clienteService,
+                                       HistoricoAluguelRepository historicoRepository, MotorPreco motorPreco,
+                                       RegistroMetricas metricas) {
+        this(veiculoRepository, clienteService, historicoRepository, motorPreco, new ReservaRepository(), metricas);
+    }
+
+    public AluguelServiceInstrumentado(IVeiculoRepository veiculoRepository, ClienteService clienteService,
+                                       HistoricoAluguelRepository historicoRepository, MotorPreco motorPreco,
+                                       ReservaRepository reservaRepository, RegistroMetricas metricas) {
+        this(veiculoRepository, clienteService, historicoRepository, motorPreco, reservaRepository,
+                Clock.systemDefaultZone(), metricas);
+    }
+
+    public AluguelServiceInstrumentado(IVeiculoRepository veiculoRepository, ClienteService clienteService,
+                                       HistoricoAluguelRepository historicoRepository, MotorPreco motorPreco,
+                                       ReservaRepository reservaRepository, Clock relogio, RegistroMetricas metricas) {
+        super(veiculoRepository, clienteService, historicoRepository, motorPreco, reservaRepository, relogio);
+        alugar = metricas.operacao(SERVICO, "alugarVeiculo");
+        devolver = metricas.operacao(SERVICO, "devolverVeiculo");
+        cotarAtivos = metricas.operacao(SERVICO, "cotarAlugueisAtivos");
+    }
+
+    @Override
+    public ResultadoAluguel alugarVeiculo(String placa, String documentoCliente, String local, LocalDateTime devolucaoPrevista) {
+        long inicio = System.nanoTime();
+        try {
+            ResultadoAluguel resultado = super.alugarVeiculo(placa, documentoCliente, local, devolucaoPrevista);
+            if (!resultado.isSucesso()) {
+                alugar.registrarErro(resultado.getMotivo().name());
+            }
+            return resultado;
+        } catch (RuntimeException e) {
+            alugar.registrarErro(e);
+            throw e;
+        } finally {
+            alugar.registrar(System.nanoTime() - inicio);
+        }
+    }
+
+    @Override
+    public ResultadoDevolucao devolverVeiculo(String placa, String localDevolucao) {
+        long inicio = System.nanoTime();
+        try {
+            ResultadoDevolucao resultado = super.devolverVeiculo(placa, localDevolucao);
+            if (!resultado.isSucesso()) {
+                devolver.registrarErro(resultado.getMotivo().name());
+            }
+            return resultado;
+        } catch (RuntimeException e) {
+            devolver.registrarErro(e);
+            throw e;
+        } finally {
+            devolver.registrar(System.nanoTime() - inicio);
+        }
+    }
+
+    @Override
+    public LoteCotacao<Aluguel> cotarAlugueisAtivos(LocalDateTime momento, LoteCotacao<Aluguel> lote) {
+        long inicio = System.nanoTime();
+        try {
+            return super.cotarAlugueisAtivos(momento, lote);
+        } catch (RuntimeException e) {
+            cotarAtivos.registrarErro(e);
+            throw e;
+        } finally {
+            cotarAtivos.registrar(System.nanoTime() - inicio);
+        }
+    }
+}
@@ -1,16 +1,17 @@
 package team3.service;
 
 import team3.domain.model.Cliente;
-import team3.repository.ClienteRepository;
+import team3.repository.IClienteRepository;
+import team3.repository.Pagina;
 
 import java.util.List;
 import java.util.Optional;
 
 public class ClienteService {
 
-    private final ClienteRepository clienteRepository;
+    private final IClienteRepository clienteRepository;
 
-    public ClienteService(ClienteRepository clienteRepository) {
+    public ClienteService(IClienteRepository clienteRepository) {
         this.clienteRepository = clienteRepository;
     }
 
@@ -26,7 +27,19 @@ public class ClienteService {
         return clienteRepository.buscarPorId(documento);
     }
 
+    public Optional<Cliente> buscarClientePorEmail(String email) {
+        return clienteRepository.buscarPorEmail(email);
+    }
+
+    public List<Cliente> buscarClientesPorTelefone(String telefone) {
+        return clienteRepository.buscarPorTelefone(telefone);
+    }
+
     public List<Cliente> listarTodosClientes() {
         return clienteRepository.listarTodos();
     }
+
+    public Pagina<Cliente> listarClientes(String cursor, int tamanho) {
+        return clienteRepository.listarPagina(cursor, tamanho);
+    }
 }
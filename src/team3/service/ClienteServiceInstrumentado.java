@@ -0,0 +1,119 @@
+package team3.service;
+
+import team3.domain.model.Cliente;
+import team3.metricas.MetricasOperacao;
+import team3.metricas.RegistroMetricas;
+import team3.repository.IClienteRepository;
+import team3.repository.Pagina;
+
+import java.util.List;
+import java.util.Optional;
+
+// Mede cada operação do ClienteService; erros (exceções) são contados por causa e relançados
+public class ClienteServiceInstrumentado extends ClienteService {
+
+    private static final String SERVICO = "ClienteService";
+
+    private final MetricasOperacao cadastrar;
+    private final MetricasOperacao alterar;
+    private final MetricasOperacao buscarPorDocumento;
+    private final MetricasOperacao buscarPorEmail;
+    private final MetricasOperacao buscarPorTelefone;
+    private final MetricasOperacao listar;
+
+    public ClienteServiceInstrumentado(IClienteRepository clienteRepository, RegistroMetricas metricas) {
+        super(clienteRepository);
+        cadastrar = metricas.operacao(SERVICO, "cadastrarCliente");
+        alterar = metricas.operacao(SERVICO, "alterarCliente");
+        buscarPorDocumento = metricas.operacao(SERVICO, "buscarClientePorDocumento");
+        buscarPorEmail = metricas.operacao(SERVICO, "buscarClientePorEmail");
+        buscarPorTelefone = metricas.operacao(SERVICO, "buscarClientesPorTelefone");
+        listar = metricas.operacao(SERVICO, "listarClientes");
+    }
+
+    @Override
+    public void cadastrarCliente(Cliente cliente) {
+        long inicio = System.nanoTime();
+        try {
+            super.cadastrarCliente(cliente);
+        } catch (RuntimeException e) {
+            cadastrar.registrarErro(e);
+            throw e;
+        } finally {
+            cadastrar.registrar(System.nanoTime() - inicio);
+        }
+    }
+
+    @Override
+    public void alterarCliente(Cliente cliente) {
+        long inicio = System.nanoTime();
+        try {
+            super.alterarCliente(cliente);
+        } catch (RuntimeException e) {
+            alterar.registrarErro(e);
+            throw e;
+        } finally {
+            alterar.registrar(System.nanoTime() - inicio);
+        }
+    }
+
+    @Override
+    public Optional<Cliente> buscarClientePorDocumento(String documento) {
+        long inicio = System.nanoTime();
+        try {
+            Optional<Cliente> cliente = super.buscarClientePorDocumento(documento);
+            if (cliente.isEmpty()) {
+                buscarPorDocumento.registrarErro(MotivoRecusa.CLIENTE_NAO_ENCONTRADO.name());
+            }
+            return cliente;
+        } catch (RuntimeException e) {
+            buscarPorDocumento.registrarErro(e);
+            throw e;
+        } finally {
+            buscarPorDocumento.registrar(System.nanoTime() - inicio);
+        }
+    }
+
+    @Override
+    public Optional<Cliente> buscarClientePorEmail(String email) {
+        long inicio = System.nanoTime();
+        try {
+            Optional<Cliente> cliente = super.buscarClientePorEmail(email);
+            if (cliente.isEmpty()) {
+                buscarPorEmail.registrarErro(MotivoRecusa.CLIENTE_NAO_ENCONTRADO.name());
+            }
+            return cliente;
+        } catch (RuntimeException e) {
+            buscarPorEmail.registrarErro(e);
+            throw e;
+        } finally {
+            buscarPorEmail.registrar(System.nanoTime() - inicio);
+        }
+    }
+
+    @Override
+    public List<Cliente> buscarClientesPorTelefone(String telefone) {
+        long inicio = System.nanoTime();
+        try {
+            return super.buscarClientesPorTelefone(telefone);
+        } catch (RuntimeException e) {
+            buscarPorTelefone.registrarErro(e);
+            throw e;
+        } finally {
+            buscarPorTelefone.registrar(System.nanoTime() - inicio);
+        }
+    }
+
+    @Override
+    public Pagina<Cliente> listarClientes(String cursor, int tamanho) {
+        long inicio = System.nanoTime();
+        try {
+            return super.listarClientes(cursor, tamanho);
+        } catch (RuntimeException e) {
+            listar.registrarErro(e);
+            throw e;
+        } finally {
+            listar.registrar(System.nanoTime() - inicio);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package team3.service;
+
+import team3.domain.model.Aluguel;
+import team3.domain.model.RegistroAluguel;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Escreve os recibos de devolução fora do caminho da devolução: o AluguelService só enfileira,
+// e uma thread própria junta o que estiver na fila, monta tudo em um buffer e faz uma escrita por lote.
+// Fila cheia segura quem devolve (nenhum recibo enfileirado é descartado).
+public class EscritorRecibos implements AluguelListener, Closeable {
+
+    private static final int CAPACIDADE_FILA = 8192;
+    private static final int MAXIMO_POR_LOTE = 256;
+
+    private final BlockingQueue<RegistroAluguel> fila = new ArrayBlockingQueue<>(CAPACIDADE_FILA);
+    private final Writer saida;
+    private final boolean fecharSaida;
+    private final Thread escritor;
+    private volatile boolean fechado;
+    // Leitura: conferir "fechado" e enfileirar. Escrita: fechar. Quem já passou da conferência
+    // termina o put antes de "fechado" mudar, então a thread só sai com esse recibo gravado.
+    private final ReadWriteLock entrada = new ReentrantReadWriteLock();
+
+    private EscritorRecibos(Writer saida, boolean fecharSaida) {
+        this.saida = saida;
+        this.fecharSaida = fecharSaida;
+        this.escritor = new Thread(this::escrever, "escritor-recibos");
+        this.escritor.setDaemon(true);
+        this.escritor.start();
+    }
+
+    public static EscritorRecibos paraConsole() {
+        return new EscritorRecibos(new OutputStreamWriter(System.out), false);
+    }
+
+    // Acrescenta ao fim do arquivo; o arquivo é criado se não existir
+    public static EscritorRecibos paraArquivo(Path arquivo) throws IOException {
+        return new EscritorRecibos(Files.newBufferedWriter(arquivo, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE), true);
+    }
+
+    @Override
+    public void aoAlugar(Aluguel aluguel) {
+    }
+
+    // A devolução já aconteceu quando chega aqui: depois do close(), o recibo é avisado em
+    // System.err e descartado em vez de derrubar quem devolveu
+    @Override
+    public void aoDevolver(RegistroAluguel registro) {
+        try {
+            enfileirar(registro);
+        } catch (IllegalStateException e) {
+            System.err.println("Recibo da devolução de " + registro.getPlaca() + " não gravado: " + e.getMessage());
+        }
+    }
+
+    public void enfileirar(RegistroAluguel registro) {
+        entrada.readLock().lock();
+        try {
+            if (fechado) {
+                throw new IllegalStateException("Escritor de recibos já foi fechado.");
+            }
+            fila.put(registro);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido ao enfileirar o recibo.", e);
+        } finally {
+            entrada.readLock().unlock();
+        }
+    }
+
+    private void escrever() {
+        List<RegistroAluguel> lote = new ArrayList<>(MAXIMO_POR_LOTE);
+        StringBuilder buffer = new StringBuilder(MAXIMO_POR_LOTE * FormatadorRecibo.TAMANHO_RECIBO);
+        while (true) {
+            RegistroAluguel primeiro;
+            try {
+                primeiro = fila.poll(100, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                primeiro = fila.poll();
+            }
+            if (primeiro == null) {
+                if (fechado && fila.isEmpty()) {
+                    return;
+                }
+                continue;
+            }
+            lote.add(primeiro);
+            fila.drainTo(lote, MAXIMO_POR_LOTE - 1);
+            for (RegistroAluguel registro : lote) {
+                FormatadorRecibo.escreverRecibo(registro, buffer);
+            }
+            try {
+                saida.append(buffer);
+                saida.flush();
+            } catch (IOException e) {
+                System.err.println("Erro ao gravar " + lote.size() + " recibo(s): " + e.getMessage());
+            }
+            lote.clear();
+            buffer.setLength(0);
+        }
+    }
+
+    // Espera a fila esvaziar antes de fechar a saída
+    @Override
+    public void close() throws IOException {
+        entrada.writeLock().lock();
+        try {
+            fechado = true;
+        } finally {
+            entrada.writeLock().unlock();
+        }
+        try {
+            escritor.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (fecharSaida) {
+            saida.close();
+        } else {
+            saida.flush();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package team3.service;
+
+import team3.domain.model.RegistroAluguel;
+import team3.service.preco.MotorPreco;
+
+import java.time.format.DateTimeFormatter;
+
+// Monta os textos de confirmação e de recibo direto no StringBuilder de quem chama,
+// sem String.format nem concatenações intermediárias
+public final class FormatadorRecibo {
+
+    // Tamanho que cabe um recibo típico sem o StringBuilder crescer
+    public static final int TAMANHO_RECIBO = 512;
+
+    private static final DateTimeFormatter DATA = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+
+    private FormatadorRecibo() {
+    }
+
+    public static StringBuilder escreverConfirmacao(ResultadoAluguel resultado, StringBuilder destino) {
+        if (!resultado.isSucesso()) {
+            return destino.append("Erro: ").append(resultado.getMotivo().getMensagem()).append('\n');
+        }
+        destino.append("Veículo alugado com sucesso!\n");
+        destino.append("Data e hora do aluguel: ");
+        DATA.formatTo(resultado.getDataAluguel(), destino);
+        return destino.append('\n');
+    }
+
+    public static StringBuilder escreverRecibo(ResultadoDevolucao resultado, StringBuilder destino) {
+        if (!resultado.isSucesso()) {
+            return destino.append("Erro: ").append(resultado.getMotivo().getMensagem()).append('\n');
+        }
+        return escreverRecibo(resultado.getRecibo(), destino);
+    }
+
+    public static StringBuilder escreverRecibo(RegistroAluguel recibo, StringBuilder destino) {
+        destino.append("--- Recibo de Devolução ---\n");
+        destino.append("Veículo: ").append(recibo.getModelo()).append(" | Placa: ").append(recibo.getPlaca()).append('\n');
+        destino.append("Cliente: ").append(recibo.getNomeCliente()).append('\n');
+        destino.append("Data do Aluguel: ");
+        DATA.formatTo(recibo.getDataAluguel(), destino);
+        destino.append("\nData da Devolução: ");
+        DATA.formatTo(recibo.getDataDevolucao(), destino);
+        destino.append("\nTotal de diárias: ").append(recibo.getDiarias()).append('\n');
+        destino.append("Valor base (R$): ");
+        MotorPreco.formatarReais(destino, recibo.getValorBaseCentavos()).append('\n');
+        if (recibo.getDescontoPontosBase() > 0) {
+            destino.append("Desconto aplicado (").append(MotorPreco.formatarPercentual(recibo.getDescontoPontosBase())).append("%): R$ ");
+            MotorPreco.formatarReais(destino, recibo.getDescontoCentavos()).append('\n');
+        }
+        destino.append("Valor final a pagar (R$): ");
+        MotorPreco.formatarReais(destino, recibo.getValorFinalCentavos()).append('\n');
+        return destino.append("---------------------------\n");
+    }
+}
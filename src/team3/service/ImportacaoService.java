@@ -0,0 +1,333 @@
+package team3.service;
+
+import team3.domain.enums.TipoVeiculo;
+import team3.domain.model.Cliente;
+import team3.domain.model.PessoaFisica;
+import team3.domain.model.PessoaJuridica;
+import team3.domain.model.Veiculo;
+import team3.repository.ClienteRepository;
+import team3.repository.IClienteRepository;
+import team3.repository.IRepository;
+import team3.repository.IVeiculoRepository;
+import team3.repository.VeiculoRepository;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+// Importação/exportação em massa de arquivos texto, um registro por linha, campos separados por ';'.
+//   Veículos: placa;modelo;fabricante;tipo[;disponivel]
+//   Clientes: PF|PJ;documento;nome;email;telefone
+// Linhas em branco ou começando com '#' são ignoradas. A leitura é feita em blocos de linhas
+// interpretados em paralelo; a checagem de duplicidade e a gravação em lotes ficam na thread
+// chamadora, na ordem do arquivo.
+public class ImportacaoService {
+
+    private static final int LINHAS_POR_BLOCO = 8192;
+    private static final int TAMANHO_LOTE = 16384;
+    private static final String SEPARADOR = ";";
+
+    private final IVeiculoRepository veiculoRepository;
+    private final IClienteRepository clienteRepository;
+    private final ExecutorService executor;
+    private final int blocosEmVoo;
+
+    public ImportacaoService(IVeiculoRepository veiculoRepository, IClienteRepository clienteRepository) {
+        this.veiculoRepository = veiculoRepository;
+        this.clienteRepository = clienteRepository;
+        this.executor = ForkJoinPool.commonPool();
+        this.blocosEmVoo = Math.max(2, ForkJoinPool.getCommonPoolParallelism() * 2);
+    }
+
+    public ResultadoImportacao importarVeiculos(Reader entrada) throws IOException {
+        Set<String> placasDoArquivo = new HashSet<>();
+        return importar(entrada, ImportacaoService::lerVeiculo, veiculo -> {
+            String chave = VeiculoRepository.normalizarPlaca(veiculo.getPlaca());
+            if (!placasDoArquivo.add(chave) || veiculoRepository.buscarPorId(chave).isPresent()) {
+                return "Veículo com a placa " + veiculo.getPlaca() + " já existe.";
+            }
+            return null;
+        }, veiculoRepository);
+    }
+
+    public ResultadoImportacao importarClientes(Reader entrada) throws IOException {
+        Set<Long> documentosDoArquivo = new HashSet<>();
+        Set<String> emailsDoArquivo = new HashSet<>();
+        return importar(entrada, ImportacaoService::lerCliente, cliente -> {
+            if (!documentosDoArquivo.add(ClienteRepository.chaveDocumento(cliente.getDocumento()))
+                    || clienteRepository.buscarPorId(cliente.getDocumento()).isPresent()) {
+                return "Cliente com o documento " + cliente.getDocumento() + " já existe.";
+            }
+            String email = cliente.getEmail() == null ? "" : cliente.getEmail().trim().toLowerCase(Locale.ROOT);
+            if (!email.isEmpty() && (!emailsDoArquivo.add(email) || clienteRepository.buscarPorEmail(email).isPresent())) {
+                documentosDoArquivo.remove(ClienteRepository.chaveDocumento(cliente.getDocumento()));
+                return "O email " + email + " já está em uso por outro cliente.";
+            }
+            return null;
+        }, clienteRepository);
+    }
+
+    // Escreve no mesmo formato da importação, percorrendo o repositório sem copiar a lista
+    public long exportarVeiculos(Writer saida) throws IOException {
+        saida.write("# placa;modelo;fabricante;tipo;disponivel\n");
+        StringBuilder linha = new StringBuilder(64);
+        long[] total = new long[1];
+        exportar(saida, veiculoRepository, veiculo -> {
+            linha.setLength(0);
+            campo(linha, veiculo.getPlaca()).append(SEPARADOR);
+            campo(linha, veiculo.getModelo()).append(SEPARADOR);
+            campo(linha, veiculo.getFabricante()).append(SEPARADOR);
+            campo(linha, veiculo.getTipo() == null ? null : veiculo.getTipo().name()).append(SEPARADOR);
+            linha.append(veiculo.isDisponivel() ? 'S' : 'N').append('\n');
+            total[0]++;
+            return linha;
+        });
+        return total[0];
+    }
+
+    public long exportarClientes(Writer saida) throws IOException {
+        saida.write("# tipo;documento;nome;email;telefone\n");
+        StringBuilder linha = new StringBuilder(96);
+        long[] total = new long[1];
+        exportar(saida, clienteRepository, cliente -> {
+            linha.setLength(0);
+            linha.append(cliente instanceof PessoaJuridica ? "PJ" : "PF").append(SEPARADOR);
+            campo(linha, cliente.getDocumento()).append(SEPARADOR);
+            campo(linha, cliente.getNome()).append(SEPARADOR);
+            campo(linha, cliente.getEmail()).append(SEPARADOR);
+            campo(linha, cliente.getTelefone()).append('\n');
+            total[0]++;
+            return linha;
+        });
+        return total[0];
+    }
+
+    private <T> ResultadoImportacao importar(Reader entrada, Function<String[], T> interpretador,
+                                             Function<T, String> verificarDuplicidade, IRepository<T, String> repositorio) throws IOException {
+        long inicio = System.nanoTime();
+        ResultadoImportacao resultado = new ResultadoImportacao();
+        Gravacao<T> gravacao = new Gravacao<>(repositorio, verificarDuplicidade, resultado);
+        Deque<Future<List<LinhaLida<T>>>> pendentes = new ArrayDeque<>();
+
+        BufferedReader leitor = entrada instanceof BufferedReader ? (BufferedReader) entrada : new BufferedReader(entrada, 1 << 16);
+        long numeroLinha = 0;
+        while (true) {
+            List<String> linhas = new ArrayList<>(LINHAS_POR_BLOCO);
+            long primeiraLinha = numeroLinha + 1;
+            String linha;
+            while (linhas.size() < LINHAS_POR_BLOCO && (linha = leitor.readLine()) != null) {
+                linhas.add(linha);
+            }
+            numeroLinha += linhas.size();
+            if (!linhas.isEmpty()) {
+                pendentes.add(executor.submit(() -> interpretarBloco(linhas, primeiraLinha, interpretador)));
+            }
+            while (!pendentes.isEmpty() && (linhas.isEmpty() || pendentes.size() >= blocosEmVoo)) {
+                gravacao.consumir(aguardar(pendentes.poll()));
+            }
+            if (linhas.isEmpty()) {
+                break;
+            }
+        }
+        gravacao.gravarLote();
+        resultado.setDuracaoMillis((System.nanoTime() - inicio) / 1_000_000);
+        return resultado;
+    }
+
+    private static <T> List<LinhaLida<T>> interpretarBloco(List<String> linhas, long primeiraLinha, Function<String[], T> interpretador) {
+        List<LinhaLida<T>> lidas = new ArrayList<>(linhas.size());
+        for (int i = 0; i < linhas.size(); i++) {
+            String linha = linhas.get(i);
+            if (linha.isBlank() || linha.startsWith("#")) {
+                continue;
+            }
+            long numero = primeiraLinha + i;
+            try {
+                lidas.add(new LinhaLida<>(numero, interpretador.apply(linha.split(SEPARADOR, -1)), null));
+            } catch (IllegalArgumentException e) {
+                lidas.add(new LinhaLida<>(numero, null, e.getMessage()));
+            }
+        }
+        return lidas;
+    }
+
+    private static <T> List<LinhaLida<T>> aguardar(Future<List<LinhaLida<T>>> bloco) throws IOException {
+        try {
+            return bloco.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Importação interrompida.", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Erro ao interpretar o arquivo.", e.getCause());
+        }
+    }
+
+    private static <T> void exportar(Writer saida, IRepository<T, String> repositorio, Function<T, CharSequence> formatar) throws IOException {
+        try {
+            repositorio.paraCada(entidade -> {
+                try {
+                    saida.append(formatar.apply(entidade));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        saida.flush();
+    }
+
+    private static Veiculo lerVeiculo(String[] campos) {
+        if (campos.length < 4 || campos.length > 5) {
+            throw new IllegalArgumentException("Esperado placa;modelo;fabricante;tipo[;disponivel], encontrado " + campos.length + " campos.");
+        }
+        String placa = campos[0].trim();
+        if (VeiculoRepository.normalizarPlaca(placa).isEmpty()) {
+            throw new IllegalArgumentException("Placa vazia.");
+        }
+        Veiculo veiculo = new Veiculo(placa, campos[1].trim(), campos[2].trim(), lerTipo(campos[3]));
+        if (campos.length == 5) {
+            veiculo.setDisponivel(lerDisponivel(campos[4]));
+        }
+        return veiculo;
+    }
+
+    private static Cliente lerCliente(String[] campos) {
+        if (campos.length != 5) {
+            throw new IllegalArgumentException("Esperado PF|PJ;documento;nome;email;telefone, encontrado " + campos.length + " campos.");
+        }
+        String documento = campos[1].trim();
+        if (ClienteRepository.chaveDocumento(documento) < 0) {
+            throw new IllegalArgumentException("Documento inválido: '" + documento + "'.");
+        }
+        String tipo = campos[0].trim().toUpperCase(Locale.ROOT);
+        String nome = campos[2].trim();
+        String email = campos[3].trim();
+        String telefone = campos[4].trim();
+        if (tipo.equals("PF")) {
+            return new PessoaFisica(nome, email, telefone, documento);
+        }
+        if (tipo.equals("PJ")) {
+            return new PessoaJuridica(nome, email, telefone, documento);
+        }
+        throw new IllegalArgumentException("Tipo de cliente inválido: '" + campos[0] + "' (use PF ou PJ).");
+    }
+
+    private static TipoVeiculo lerTipo(String campo) {
+        String tipo = campo.trim().toUpperCase(Locale.ROOT);
+        for (TipoVeiculo valor : TipoVeiculo.values()) {
+            if (valor.name().equals(tipo)) {
+                return valor;
+            }
+        }
+        throw new IllegalArgumentException("Tipo de veículo inválido: '" + campo + "'.");
+    }
+
+    private static boolean lerDisponivel(String campo) {
+        switch (campo.trim().toUpperCase(Locale.ROOT)) {
+            case "":
+            case "S":
+            case "SIM":
+            case "TRUE":
+                return true;
+            case "N":
+            case "NAO":
+            case "NÃO":
+            case "FALSE":
+                return false;
+            default:
+                throw new IllegalArgumentException("Disponibilidade inválida: '" + campo + "' (use S ou N).");
+        }
+    }
+
+    // ';' e quebras de linha não cabem no formato; viram espaço na exportação
+    private static StringBuilder campo(StringBuilder linha, String valor) {
+        if (valor == null) {
+            return linha;
+        }
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            linha.append(c == ';' || c == '\n' || c == '\r' ? ' ' : c);
+        }
+        return linha;
+    }
+
+    private static final class LinhaLida<T> {
+        final long numero;
+        final T valor;
+        final String erro;
+
+        LinhaLida(long numero, T valor, String erro) {
+            this.numero = numero;
+            this.valor = valor;
+            this.erro = erro;
+        }
+    }
+
+    // Acumula as linhas válidas e grava em lotes; se o lote for recusado (outro cadastro
+    // concorrente, por exemplo), refaz um a um para apontar exatamente a linha com problema
+    private static final class Gravacao<T> {
+        private final IRepository<T, String> repositorio;
+        private final Function<T, String> verificarDuplicidade;
+        private final ResultadoImportacao resultado;
+        private final List<T> lote = new ArrayList<>(TAMANHO_LOTE);
+        private final List<Long> linhasDoLote = new ArrayList<>(TAMANHO_LOTE);
+
+        Gravacao(IRepository<T, String> repositorio, Function<T, String> verificarDuplicidade, ResultadoImportacao resultado) {
+            this.repositorio = repositorio;
+            this.verificarDuplicidade = verificarDuplicidade;
+            this.resultado = resultado;
+        }
+
+        void consumir(List<LinhaLida<T>> linhas) {
+            for (LinhaLida<T> linha : linhas) {
+                resultado.contarLinha();
+                String erro = linha.erro != null ? linha.erro : verificarDuplicidade.apply(linha.valor);
+                if (erro != null) {
+                    resultado.registrarErro(linha.numero, erro);
+                    continue;
+                }
+                lote.add(linha.valor);
+                linhasDoLote.add(linha.numero);
+                if (lote.size() == TAMANHO_LOTE) {
+                    gravarLote();
+                }
+            }
+        }
+
+        void gravarLote() {
+            if (lote.isEmpty()) {
+                return;
+            }
+            try {
+                repositorio.cadastrarEmLote(lote);
+                resultado.contarImportados(lote.size());
+            } catch (IllegalArgumentException loteRecusado) {
+                for (int i = 0; i < lote.size(); i++) {
+                    try {
+                        repositorio.cadastrar(lote.get(i));
+                        resultado.contarImportados(1);
+                    } catch (IllegalArgumentException e) {
+                        resultado.registrarErro(linhasDoLote.get(i), e.getMessage());
+                    }
+                }
+            }
+            lote.clear();
+            linhasDoLote.clear();
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package team3.service;
+
+import team3.domain.enums.TipoVeiculo;
+import team3.domain.model.Aluguel;
+import team3.domain.model.Cliente;
+import team3.domain.model.PessoaFisica;
+import team3.domain.model.PessoaJuridica;
+import team3.domain.model.Veiculo;
+import team3.service.preco.LoteCotacao;
+import team3.service.preco.MotorPreco;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+// Executa uma sequência de comandos, um por linha, direto nos serviços (sem menus nem prompts).
+// O arquivo é lido linha a linha, então o tamanho não importa. Argumentos são separados por
+// espaço; use aspas para argumentos com espaço. Linhas em branco ou com '#' são ignoradas.
+//   ALUGAR <placa> <documento> <local> [devolução prevista]
+//   DEVOLVER <placa> [local de devolução]
+//   CAD_VEICULO <placa> <modelo> <fabricante> <PEQUENO|MEDIO|SUV>
+//   ALT_VEICULO <placa> <modelo> <fabricante>
+//   CAD_CLIENTE <PF|PJ> <documento> <nome> <email> <telefone>
+//   BUSCAR_PLACA <placa>
+//   BUSCAR_MODELO <parte do modelo>
+//   BUSCAR_CLIENTE <documento>
+//   COTAR_ATIVOS
+//   RESERVAR <placa> <documento> <início> <fim>
+//   CANCELAR_RESERVA <número>
+//   LIVRES <PEQUENO|MEDIO|SUV> <início> <fim> [quantidade]
+// Datas no formato ISO, sem espaço: 2024-05-10T14:30
+public class LoteComandosService {
+
+    private final VeiculoService veiculoService;
+    private final ClienteService clienteService;
+    private final AluguelService aluguelService;
+    private final ReservaService reservaService;
+    private final Appendable eco;
+    private final List<String> argumentos = new ArrayList<>(8);
+    private final StringBuilder saida = new StringBuilder(FormatadorRecibo.TAMANHO_RECIBO);
+    private final LoteCotacao<Aluguel> cotacoes = new LoteCotacao<>(1024);
+
+    public LoteComandosService(VeiculoService veiculoService, ClienteService clienteService, AluguelService aluguelService,
+                               ReservaService reservaService) {
+        this(veiculoService, clienteService, aluguelService, reservaService, null);
+    }
+
+    // Com "eco" não nulo, o resultado de cada comando também é escrito nele
+    public LoteComandosService(VeiculoService veiculoService, ClienteService clienteService, AluguelService aluguelService,
+                               ReservaService reservaService, Appendable eco) {
+        this.veiculoService = veiculoService;
+        this.clienteService = clienteService;
+        this.aluguelService = aluguelService;
+        this.reservaService = reservaService;
+        this.eco = eco;
+    }
+
+    public ResumoLote executar(Reader entrada) throws IOException {
+        ResumoLote resumo = new ResumoLote();
+        BufferedReader leitor = entrada instanceof BufferedReader ? (BufferedReader) entrada : new BufferedReader(entrada, 1 << 16);
+        long inicio = System.nanoTime();
+        long numeroLinha = 0;
+        String linha;
+        while ((linha = leitor.readLine()) != null) {
+            numeroLinha++;
+            if (!separar(linha)) {
+                continue;
+            }
+            String comando = argumentos.get(0).toUpperCase(Locale.ROOT);
+            resumo.contarComando(comando);
+            saida.setLength(0);
+            String falha;
+            try {
+                falha = executar(comando);
+            } catch (RuntimeException e) {
+                // As mensagens dos serviços já vêm com "Erro: ", que o eco acrescenta de novo
+                falha = e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage().replaceFirst("^Erro: ", "");
+            }
+            if (falha != null) {
+                resumo.registrarFalha(numeroLinha, comando, falha);
+            }
+            if (eco != null) {
+                eco.append(falha != null ? "Erro: " + falha + "\n" : saida);
+            }
+        }
+        resumo.setDuracaoNanos(System.nanoTime() - inicio);
+        return resumo;
+    }
+
+    // Devolve null se deu certo, ou a causa da falha
+    private String executar(String comando) {
+        switch (comando) {
+            case "ALUGAR": {
+                if (argumentos.size() != 4 && argumentos.size() != 5) {
+                    return uso("ALUGAR <placa> <documento> <local> [devolução prevista]");
+                }
+                ResultadoAluguel resultado = aluguelService.alugarVeiculo(argumentos.get(1), argumentos.get(2), argumentos.get(3),
+                        argumentos.size() == 5 ? data(argumentos.get(4)) : null);
+                if (!resultado.isSucesso()) {
+                    return resultado.getMotivo().name();
+                }
+                if (eco != null) {
+                    FormatadorRecibo.escreverConfirmacao(resultado, saida);
+                }
+                return null;
+            }
+            case "DEVOLVER": {
+                if (argumentos.size() < 2 || argumentos.size() > 3) {
+                    return uso("DEVOLVER <placa> [local]");
+                }
+                ResultadoDevolucao resultado = aluguelService.devolverVeiculo(argumentos.get(1),
+                        argumentos.size() == 3 ? argumentos.get(2) : null);
+                if (!resultado.isSucesso()) {
+                    return resultado.getMotivo().name();
+                }
+                if (eco != null) {
+                    FormatadorRecibo.escreverRecibo(resultado, saida);
+                }
+                return null;
+            }
+            case "CAD_VEICULO": {
+                if (argumentos.size() != 5) {
+                    return uso("CAD_VEICULO <placa> <modelo> <fabricante> <PEQUENO|MEDIO|SUV>");
+                }
+                TipoVeiculo tipo = TipoVeiculo.valueOf(argumentos.get(4).toUpperCase(Locale.ROOT));
+                veiculoService.cadastrarVeiculo(new Veiculo(argumentos.get(1), argumentos.get(2), argumentos.get(3), tipo));
+                saida.append("Veículo cadastrado com sucesso!\n");
+                return null;
+            }
+            case "ALT_VEICULO": {
+                if (argumentos.size() != 4) {
+                    return uso("ALT_VEICULO <placa> <modelo> <fabricante>");
+                }
+                Optional<Veiculo> veiculo = veiculoService.buscarVeiculoPorPlaca(argumentos.get(1));
+                if (veiculo.isEmpty()) {
+                    return MotivoRecusa.VEICULO_NAO_ENCONTRADO.name();
+                }
+                veiculo.get().setModelo(argumentos.get(2));
+                veiculo.get().setFabricante(argumentos.get(3));
+                veiculoService.alterarVeiculo(veiculo.get());
+                saida.append("Veículo alterado com sucesso!\n");
+                return null;
+            }
+            case "CAD_CLIENTE": {
+                if (argumentos.size() != 6) {
+                    return uso("CAD_CLIENTE <PF|PJ> <documento> <nome> <email> <telefone>");
+                }
+                String tipo = argumentos.get(1).toUpperCase(Locale.ROOT);
+                Cliente cliente;
+                if (tipo.equals("PF")) {
+                    cliente = new PessoaFisica(argumentos.get(3), argumentos.get(4), argumentos.get(5), argumentos.get(2));
+                } else if (tipo.equals("PJ")) {
+                    cliente = new PessoaJuridica(argumentos.get(3), argumentos.get(4), argumentos.get(5), argumentos.get(2));
+                } else {
+                    return "Tipo de cliente inválido: " + argumentos.get(1);
+                }
+                clienteService.cadastrarCliente(cliente);
+                saida.append("Cliente cadastrado com sucesso!\n");
+                return null;
+            }
+            case "BUSCAR_PLACA": {
+                if (argumentos.size() != 2) {
+                    return uso("BUSCAR_PLACA <placa>");
+                }
+                Optional<Veiculo> veiculo = veiculoService.buscarVeiculoPorPlaca(argumentos.get(1));
+                if (veiculo.isEmpty()) {
+                    return MotivoRecusa.VEICULO_NAO_ENCONTRADO.name();
+                }
+                saida.append(veiculo.get()).append('\n');
+                return null;
+            }
+            case "BUSCAR_MODELO": {
+                if (argumentos.size() != 2) {
+                    return uso("BUSCAR_MODELO <parte do modelo>");
+                }
+                List<Veiculo> veiculos = veiculoService.buscarVeiculoPorModelo(argumentos.get(1));
+                saida.append(veiculos.size()).append(" veículo(s) encontrado(s)\n");
+                return null;
+            }
+            case "BUSCAR_CLIENTE": {
+                if (argumentos.size() != 2) {
+                    return uso("BUSCAR_CLIENTE <documento>");
+                }
+                Optional<Cliente> cliente = clienteService.buscarClientePorDocumento(argumentos.get(1));
+                if (cliente.isEmpty()) {
+                    return MotivoRecusa.CLIENTE_NAO_ENCONTRADO.name();
+                }
+                saida.append(cliente.get()).append('\n');
+                return null;
+            }
+            case "COTAR_ATIVOS": {
+                aluguelService.cotarAlugueisAtivos(cotacoes);
+                saida.append(cotacoes.tamanho()).append(" aluguel(éis) ativo(s), total R$ ");
+                MotorPreco.formatarReais(saida, cotacoes.totalCentavos()).append('\n');
+                return null;
+            }
+            case "RESERVAR": {
+                if (argumentos.size() != 5) {
+                    return uso("RESERVAR <placa> <documento> <início> <fim>");
+                }
+                ResultadoReserva resultado = reservaService.reservar(argumentos.get(1), argumentos.get(2),
+                        data(argumentos.get(3)), data(argumentos.get(4)));
+                if (!resultado.isSucesso()) {
+                    return resultado.getMotivo().name();
+                }
+                saida.append("Reserva ").append(resultado.getReserva().getId()).append(" confirmada\n");
+                return null;
+            }
+            case "CANCELAR_RESERVA": {
+                if (argumentos.size() != 2) {
+                    return uso("CANCELAR_RESERVA <número>");
+                }
+                if (!reservaService.cancelarReserva(Long.parseLong(argumentos.get(1)))) {
+                    return "Reserva não encontrada";
+                }
+                saida.append("Reserva cancelada\n");
+                return null;
+            }
+            case "LIVRES": {
+                if (argumentos.size() != 4 && argumentos.size() != 5) {
+                    return uso("LIVRES <PEQUENO|MEDIO|SUV> <início> <fim> [quantidade]");
+                }
+                TipoVeiculo tipo = TipoVeiculo.valueOf(argumentos.get(1).toUpperCase(Locale.ROOT));
+                int quantidade = argumentos.size() == 5 ? Integer.parseInt(argumentos.get(4)) : Integer.MAX_VALUE;
+                List<Veiculo> livres = reservaService.buscarVeiculosDisponiveis(tipo, data(argumentos.get(2)),
+                        data(argumentos.get(3)), quantidade);
+                saida.append(livres.size()).append(" veículo(s) livre(s)\n");
+                return null;
+            }
+            default:
+                return "Comando desconhecido";
+        }
+    }
+
+    private static LocalDateTime data(String texto) {
+        try {
+            return LocalDateTime.parse(texto);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Data inválida: " + texto);
+        }
+    }
+
+    private static String uso(String sintaxe) {
+        return "Argumentos inválidos; uso: " + sintaxe;
+    }
+
+    // Quebra a linha em argumentos (aspas agrupam); false para linha vazia ou comentário
+    private boolean separar(String linha) {
+        argumentos.clear();
+        int i = 0;
+        int n = linha.length();
+        while (i < n) {
+            char c = linha.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+                continue;
+            }
+            if (argumentos.isEmpty() && c == '#') {
+                return false;
+            }
+            if (c == '"') {
+                int fim = linha.indexOf('"', i + 1);
+                if (fim < 0) {
+                    fim = n;
+                }
+                argumentos.add(linha.substring(i + 1, fim));
+                i = fim + 1;
+            } else {
+                int fim = i;
+                while (fim < n && !Character.isWhitespace(linha.charAt(fim))) {
+                    fim++;
+                }
+                argumentos.add(linha.substring(i, fim));
+                i = fim;
+            }
+        }
+        return !argumentos.isEmpty();
+    }
+}
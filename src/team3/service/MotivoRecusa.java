@@ -0,0 +1,21 @@
+package team3.service;
+
+// Por que um aluguel, uma devolução ou uma reserva não foi feito
+public enum MotivoRecusa {
+    VEICULO_NAO_ENCONTRADO("Veículo não encontrado."),
+    VEICULO_JA_ALUGADO("Veículo já está alugado."),
+    CLIENTE_NAO_ENCONTRADO("Cliente não encontrado."),
+    SEM_ALUGUEL_ATIVO("Não há um aluguel ativo para este veículo."),
+    PERIODO_RESERVADO("Veículo reservado para outro cliente nesse período."),
+    DEVOLUCAO_PREVISTA_OBRIGATORIA("Veículo tem reserva futura de outro cliente; informe a devolução prevista.");
+
+    private final String mensagem;
+
+    MotivoRecusa(String mensagem) {
+        this.mensagem = mensagem;
+    }
+
+    public String getMensagem() {
+        return mensagem;
+    }
+}
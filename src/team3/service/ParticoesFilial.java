@@ -0,0 +1,219 @@
+package team3.service;
+
+import team3.domain.enums.TipoVeiculo;
+import team3.domain.model.Aluguel;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+// Estado de frota e aluguéis dividido por filial (o "local" do aluguel). Cada filial tem a
+// própria trava, os aluguéis retirados nela e os veículos disponíveis parados nela, com contagens
+// por tipo; filiais diferentes não disputam trava. Uma operação que envolve duas filiais
+// (devolver em outra filial, reposicionar um veículo) trava as duas sempre na mesma ordem.
+// Veículos que nunca passaram por uma filial não aparecem em nenhuma partição.
+class ParticoesFilial {
+
+    private static final int TIPOS = TipoVeiculo.values().length;
+
+    private final Map<String, Filial> filiais = new ConcurrentHashMap<>();
+    // Placa normalizada -> filial onde o veículo está parado ou de onde saiu alugado
+    private final Map<String, Filial> filialDoVeiculo = new ConcurrentHashMap<>();
+    private final AtomicInteger proximaOrdem = new AtomicInteger();
+
+    Filial filial(String local) {
+        String nome = local == null ? "" : local.trim().toUpperCase(Locale.ROOT);
+        Filial filial = filiais.get(nome);
+        return filial != null ? filial : filiais.computeIfAbsent(nome, n -> new Filial(n, proximaOrdem.getAndIncrement()));
+    }
+
+    Filial filialDoVeiculo(String chave) {
+        return filialDoVeiculo.get(chave);
+    }
+
+    // O veículo sai da filial onde está parado (se estiver em alguma) e passa a constar como
+    // alugado em 'retirada'
+    void registrarRetirada(String chave, TipoVeiculo tipo, Aluguel aluguel, Filial retirada) {
+        while (true) {
+            Filial origem = filialDoVeiculo.get(chave);
+            travar(origem, retirada);
+            try {
+                if (filialDoVeiculo.get(chave) != origem) {
+                    continue;
+                }
+                if (origem != null) {
+                    origem.tirarDoPatio(chave);
+                    // a mesma retirada registrada de novo (ex: replay do journal) substitui a anterior
+                    if (origem != retirada) {
+                        origem.devolver(chave);
+                    }
+                }
+                retirada.alugar(chave, tipo, aluguel);
+                filialDoVeiculo.put(chave, retirada);
+                return;
+            } finally {
+                destravar(origem, retirada);
+            }
+        }
+    }
+
+    // Tira o aluguel da filial de retirada e estaciona o veículo em 'destino' (ou na própria
+    // filial de retirada, se for null), numa única seção com as duas travas. Null se a placa não
+    // tem aluguel em andamento ou se outra devolução chegou antes.
+    Aluguel registrarDevolucao(String chave, Filial destino) {
+        while (true) {
+            Filial retirada = filialDoVeiculo.get(chave);
+            if (retirada == null) {
+                return null;
+            }
+            Filial chegada = destino != null ? destino : retirada;
+            travar(retirada, chegada);
+            try {
+                if (filialDoVeiculo.get(chave) != retirada) {
+                    continue;
+                }
+                Aluguel aluguel = retirada.devolver(chave);
+                if (aluguel == null) {
+                    return null;
+                }
+                chegada.estacionar(chave, aluguel.getVeiculo().getTipo());
+                filialDoVeiculo.put(chave, chegada);
+                return aluguel;
+            } finally {
+                destravar(retirada, chegada);
+            }
+        }
+    }
+
+    // Leva um veículo que não está alugado para o pátio de 'destino'
+    boolean posicionar(String chave, TipoVeiculo tipo, Filial destino) {
+        while (true) {
+            Filial origem = filialDoVeiculo.get(chave);
+            travar(origem, destino);
+            try {
+                if (filialDoVeiculo.get(chave) != origem) {
+                    continue;
+                }
+                if (origem != null && origem.ativos.containsKey(chave)) {
+                    return false;
+                }
+                if (origem != null) {
+                    origem.tirarDoPatio(chave);
+                }
+                destino.estacionar(chave, tipo);
+                filialDoVeiculo.put(chave, destino);
+                return true;
+            } finally {
+                destravar(origem, destino);
+            }
+        }
+    }
+
+    void paraCadaAtivo(Consumer<Aluguel> acao) {
+        for (Filial filial : filiais.values()) {
+            filial.ativos.values().forEach(acao);
+        }
+    }
+
+    List<ResumoFilial> resumos() {
+        List<ResumoFilial> resumos = new ArrayList<>(filiais.size());
+        for (Filial filial : filiais.values()) {
+            resumos.add(filial.resumo());
+        }
+        return resumos;
+    }
+
+    private static void travar(Filial a, Filial b) {
+        if (a == null || a == b) {
+            b.trava.lock();
+        } else if (a.ordem < b.ordem) {
+            a.trava.lock();
+            b.trava.lock();
+        } else {
+            b.trava.lock();
+            a.trava.lock();
+        }
+    }
+
+    private static void destravar(Filial a, Filial b) {
+        b.trava.unlock();
+        if (a != null && a != b) {
+            a.trava.unlock();
+        }
+    }
+
+    static final class Filial {
+        final String nome;
+        final int ordem;
+        final ReentrantLock trava = new ReentrantLock();
+        // Leituras sem trava (buscarAluguelAtivo, listagens); escritas só com a trava
+        final Map<String, Aluguel> ativos = new ConcurrentHashMap<>();
+        // Os campos abaixo só com a trava. Os tipos guardados são os do momento da retirada ou da
+        // chegada ao pátio, para a contagem sair do mesmo tipo em que entrou.
+        private final Map<String, TipoVeiculo> patio = new HashMap<>();
+        private final Map<String, TipoVeiculo> tipoAlugado = new HashMap<>();
+        private final int[] disponiveis = new int[TIPOS];
+        private final int[] alugados = new int[TIPOS];
+
+        Filial(String nome, int ordem) {
+            this.nome = nome;
+            this.ordem = ordem;
+        }
+
+        Aluguel ativo(String chave) {
+            return ativos.get(chave);
+        }
+
+        ResumoFilial resumo() {
+            trava.lock();
+            try {
+                return new ResumoFilial(nome, disponiveis.clone(), alugados.clone());
+            } finally {
+                trava.unlock();
+            }
+        }
+
+        private void alugar(String chave, TipoVeiculo tipo, Aluguel aluguel) {
+            ativos.put(chave, aluguel);
+            TipoVeiculo anterior = tipo != null ? tipoAlugado.put(chave, tipo) : tipoAlugado.remove(chave);
+            if (anterior != null) {
+                alugados[anterior.ordinal()]--;
+            }
+            if (tipo != null) {
+                alugados[tipo.ordinal()]++;
+            }
+        }
+
+        private Aluguel devolver(String chave) {
+            Aluguel aluguel = ativos.remove(chave);
+            TipoVeiculo tipo = tipoAlugado.remove(chave);
+            if (tipo != null) {
+                alugados[tipo.ordinal()]--;
+            }
+            return aluguel;
+        }
+
+        private void estacionar(String chave, TipoVeiculo tipo) {
+            TipoVeiculo anterior = patio.put(chave, tipo);
+            if (anterior != null) {
+                disponiveis[anterior.ordinal()]--;
+            }
+            if (tipo != null) {
+                disponiveis[tipo.ordinal()]++;
+            }
+        }
+
+        private void tirarDoPatio(String chave) {
+            TipoVeiculo tipo = patio.remove(chave);
+            if (tipo != null) {
+                disponiveis[tipo.ordinal()]--;
+            }
+        }
+    }
+}
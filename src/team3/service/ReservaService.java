@@ -0,0 +1,107 @@
+package team3.service;
+
+import team3.domain.enums.TipoVeiculo;
+import team3.domain.model.Cliente;
+import team3.domain.model.Reserva;
+import team3.domain.model.Veiculo;
+import team3.repository.FiltroVeiculo;
+import team3.repository.IVeiculoRepository;
+import team3.repository.ReservaRepository;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+// Reservas de veículos para períodos futuros. Divide o ReservaRepository com o AluguelService,
+// que confere as reservas antes de um aluguel de balcão.
+public class ReservaService {
+
+    private final IVeiculoRepository veiculoRepository;
+    private final ClienteService clienteService;
+    private final ReservaRepository reservaRepository;
+    private final Clock relogio;
+
+    public ReservaService(IVeiculoRepository veiculoRepository, ClienteService clienteService,
+                          ReservaRepository reservaRepository) {
+        this(veiculoRepository, clienteService, reservaRepository, Clock.systemDefaultZone());
+    }
+
+    // Use o mesmo relógio do AluguelService, para "agora" ser o mesmo nos dois
+    public ReservaService(IVeiculoRepository veiculoRepository, ClienteService clienteService,
+                          ReservaRepository reservaRepository, Clock relogio) {
+        this.veiculoRepository = veiculoRepository;
+        this.clienteService = clienteService;
+        this.reservaRepository = reservaRepository;
+        this.relogio = relogio;
+    }
+
+    public ResultadoReserva reservar(String placa, String documentoCliente, LocalDateTime inicio, LocalDateTime fim) {
+        LocalDateTime agora = LocalDateTime.now(relogio);
+        validarPeriodo(inicio, fim, agora);
+        if (veiculoRepository.buscarPorId(placa).isEmpty()) {
+            return ResultadoReserva.recusada(MotivoRecusa.VEICULO_NAO_ENCONTRADO);
+        }
+        Optional<Cliente> cliente = clienteService.buscarClientePorDocumento(documentoCliente);
+        if (cliente.isEmpty()) {
+            return ResultadoReserva.recusada(MotivoRecusa.CLIENTE_NAO_ENCONTRADO);
+        }
+
+        return reservaRepository.naAgenda(placa, agenda -> {
+            // Relido com a agenda travada: o aluguel de balcão marca o veículo dentro da mesma trava
+            Veiculo veiculo = veiculoRepository.buscarPorId(placa).orElse(null);
+            if (veiculo == null) {
+                return ResultadoReserva.recusada(MotivoRecusa.VEICULO_NAO_ENCONTRADO);
+            }
+            // Aluguel em andamento não tem data de devolução; só dá para reservar a partir de depois de agora
+            if (!veiculo.isDisponivel() && !inicio.isAfter(agora)) {
+                return ResultadoReserva.recusada(MotivoRecusa.VEICULO_JA_ALUGADO);
+            }
+            Reserva reserva = new Reserva(reservaRepository.proximoId(), veiculo, cliente.get(), inicio, fim);
+            return agenda.incluir(reserva)
+                    ? ResultadoReserva.confirmada(reserva)
+                    : ResultadoReserva.recusada(MotivoRecusa.PERIODO_RESERVADO);
+        });
+    }
+
+    public boolean cancelarReserva(long id) {
+        return reservaRepository.remover(id);
+    }
+
+    public Optional<Reserva> buscarReserva(long id) {
+        return reservaRepository.buscarPorId(id);
+    }
+
+    public List<Reserva> listarReservasDoVeiculo(String placa) {
+        return reservaRepository.listarPorVeiculo(placa);
+    }
+
+    public List<Reserva> listarReservasDoCliente(String documento) {
+        return reservaRepository.listarPorCliente(documento);
+    }
+
+    // Veículos do tipo sem reserva em [inicio, fim). Se o período já começou, os alugados agora
+    // ficam de fora; cada veículo custa uma busca O(log n) na sua agenda, e a busca para ao
+    // achar "quantidade" veículos.
+    public List<Veiculo> buscarVeiculosDisponiveis(TipoVeiculo tipo, LocalDateTime inicio, LocalDateTime fim, int quantidade) {
+        LocalDateTime agora = LocalDateTime.now(relogio);
+        validarPeriodo(inicio, fim, agora);
+        Boolean disponivelAgora = inicio.isAfter(agora) ? null : Boolean.TRUE;
+        return veiculoRepository.stream(new FiltroVeiculo(tipo, disponivelAgora))
+                .filter(veiculo -> reservaRepository.estaLivre(veiculo.getPlaca(), inicio, fim))
+                .limit(quantidade)
+                .collect(Collectors.toList());
+    }
+
+    private static void validarPeriodo(LocalDateTime inicio, LocalDateTime fim, LocalDateTime agora) {
+        // As agendas trabalham em segundos; um período mais curto que isso não ocupa nada
+        if (inicio == null || fim == null || !fim.truncatedTo(ChronoUnit.SECONDS).isAfter(inicio.truncatedTo(ChronoUnit.SECONDS))) {
+            throw new IllegalArgumentException("Erro: O fim do período deve ser depois do início.");
+        }
+        if (!fim.isAfter(agora)) {
+            throw new IllegalArgumentException("Erro: O período informado já terminou.");
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package team3.service;
+
+import team3.domain.model.Aluguel;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+
+// Retorno imutável de alugarVeiculo: a confirmação do aluguel ou o motivo da recusa
+public final class ResultadoAluguel {
+
+    private static final Map<MotivoRecusa, ResultadoAluguel> RECUSAS = new EnumMap<>(MotivoRecusa.class);
+
+    static {
+        for (MotivoRecusa motivo : MotivoRecusa.values()) {
+            RECUSAS.put(motivo, new ResultadoAluguel(motivo, null, null, null, null, null));
+        }
+    }
+
+    private final MotivoRecusa motivo;
+    private final String placa;
+    private final String modelo;
+    private final String documentoCliente;
+    private final String local;
+    private final LocalDateTime dataAluguel;
+
+    private ResultadoAluguel(MotivoRecusa motivo, String placa, String modelo, String documentoCliente,
+                             String local, LocalDateTime dataAluguel) {
+        this.motivo = motivo;
+        this.placa = placa;
+        this.modelo = modelo;
+        this.documentoCliente = documentoCliente;
+        this.local = local;
+        this.dataAluguel = dataAluguel;
+    }
+
+    static ResultadoAluguel confirmado(Aluguel aluguel) {
+        return new ResultadoAluguel(null, aluguel.getVeiculo().getPlaca(), aluguel.getVeiculo().getModelo(),
+                aluguel.getCliente().getDocumento(), aluguel.getLocal(), aluguel.getDataAluguel());
+    }
+
+    // Recusas não carregam dados; uma instância por motivo basta
+    static ResultadoAluguel recusado(MotivoRecusa motivo) {
+        return RECUSAS.get(motivo);
+    }
+
+    public boolean isSucesso() {
+        return motivo == null;
+    }
+
+    public MotivoRecusa getMotivo() {
+        return motivo;
+    }
+
+    public String getPlaca() {
+        return placa;
+    }
+
+    public String getModelo() {
+        return modelo;
+    }
+
+    public String getDocumentoCliente() {
+        return documentoCliente;
+    }
+
+    public String getLocal() {
+        return local;
+    }
+
+    public LocalDateTime getDataAluguel() {
+        return dataAluguel;
+    }
+
+    @Override
+    public String toString() {
+        if (!isSucesso()) {
+            return "ResultadoAluguel {motivo=" + motivo + '}';
+        }
+        return "ResultadoAluguel {" +
+                "placa='" + placa + '\'' +
+                ", cliente='" + documentoCliente + '\'' +
+                ", local='" + local + '\'' +
+                ", dataAluguel=" + dataAluguel +
+                '}';
+    }
+}
@@ -0,0 +1,51 @@
+package team3.service;
+
+import team3.domain.model.RegistroAluguel;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+// Retorno imutável de devolverVeiculo: o recibo (diárias, valor base, desconto e valor final) ou o motivo da recusa
+public final class ResultadoDevolucao {
+
+    private static final Map<MotivoRecusa, ResultadoDevolucao> RECUSAS = new EnumMap<>(MotivoRecusa.class);
+
+    static {
+        for (MotivoRecusa motivo : MotivoRecusa.values()) {
+            RECUSAS.put(motivo, new ResultadoDevolucao(motivo, null));
+        }
+    }
+
+    private final MotivoRecusa motivo;
+    private final RegistroAluguel recibo;
+
+    private ResultadoDevolucao(MotivoRecusa motivo, RegistroAluguel recibo) {
+        this.motivo = motivo;
+        this.recibo = recibo;
+    }
+
+    static ResultadoDevolucao concluida(RegistroAluguel recibo) {
+        return new ResultadoDevolucao(null, recibo);
+    }
+
+    static ResultadoDevolucao recusada(MotivoRecusa motivo) {
+        return RECUSAS.get(motivo);
+    }
+
+    public boolean isSucesso() {
+        return motivo == null;
+    }
+
+    public MotivoRecusa getMotivo() {
+        return motivo;
+    }
+
+    public RegistroAluguel getRecibo() {
+        return recibo;
+    }
+
+    @Override
+    public String toString() {
+        return isSucesso() ? "ResultadoDevolucao {" + recibo + '}' : "ResultadoDevolucao {motivo=" + motivo + '}';
+    }
+}
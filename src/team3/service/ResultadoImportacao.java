@@ -0,0 +1,78 @@
+package team3.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class ResultadoImportacao {
+
+    private long linhasLidas;
+    private long importados;
+    private long duracaoMillis;
+    private final List<ErroImportacao> erros = new ArrayList<>();
+
+    void contarLinha() {
+        linhasLidas++;
+    }
+
+    void contarImportados(int quantidade) {
+        importados += quantidade;
+    }
+
+    void registrarErro(long linha, String motivo) {
+        erros.add(new ErroImportacao(linha, motivo));
+    }
+
+    void setDuracaoMillis(long duracaoMillis) {
+        this.duracaoMillis = duracaoMillis;
+    }
+
+    public long getLinhasLidas() {
+        return linhasLidas;
+    }
+
+    public long getImportados() {
+        return importados;
+    }
+
+    public long getDuracaoMillis() {
+        return duracaoMillis;
+    }
+
+    public List<ErroImportacao> getErros() {
+        return Collections.unmodifiableList(erros);
+    }
+
+    @Override
+    public String toString() {
+        return "ResultadoImportacao {" +
+                "linhasLidas=" + linhasLidas +
+                ", importados=" + importados +
+                ", erros=" + erros.size() +
+                ", duracaoMillis=" + duracaoMillis +
+                '}';
+    }
+
+    public static class ErroImportacao {
+        private final long linha;
+        private final String motivo;
+
+        ErroImportacao(long linha, String motivo) {
+            this.linha = linha;
+            this.motivo = motivo;
+        }
+
+        public long getLinha() {
+            return linha;
+        }
+
+        public String getMotivo() {
+            return motivo;
+        }
+
+        @Override
+        public String toString() {
+            return "Linha " + linha + ": " + motivo;
+        }
+    }
+}
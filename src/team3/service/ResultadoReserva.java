@@ -0,0 +1,51 @@
+package team3.service;
+
+import team3.domain.model.Reserva;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+// Retorno imutável de reservar: a reserva feita ou o motivo da recusa
+public final class ResultadoReserva {
+
+    private static final Map<MotivoRecusa, ResultadoReserva> RECUSAS = new EnumMap<>(MotivoRecusa.class);
+
+    static {
+        for (MotivoRecusa motivo : MotivoRecusa.values()) {
+            RECUSAS.put(motivo, new ResultadoReserva(motivo, null));
+        }
+    }
+
+    private final MotivoRecusa motivo;
+    private final Reserva reserva;
+
+    private ResultadoReserva(MotivoRecusa motivo, Reserva reserva) {
+        this.motivo = motivo;
+        this.reserva = reserva;
+    }
+
+    static ResultadoReserva confirmada(Reserva reserva) {
+        return new ResultadoReserva(null, reserva);
+    }
+
+    static ResultadoReserva recusada(MotivoRecusa motivo) {
+        return RECUSAS.get(motivo);
+    }
+
+    public boolean isSucesso() {
+        return motivo == null;
+    }
+
+    public MotivoRecusa getMotivo() {
+        return motivo;
+    }
+
+    public Reserva getReserva() {
+        return reserva;
+    }
+
+    @Override
+    public String toString() {
+        return isSucesso() ? "ResultadoReserva {" + reserva + '}' : "ResultadoReserva {motivo=" + motivo + '}';
+    }
+}
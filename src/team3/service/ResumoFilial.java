@@ -0,0 +1,55 @@
+package team3.service;
+
+import team3.domain.enums.TipoVeiculo;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+// Fotografia de uma filial: veículos disponíveis parados nela e aluguéis retirados nela, por tipo
+public class ResumoFilial {
+
+    private final String nome;
+    private final Map<TipoVeiculo, Integer> disponiveis;
+    private final Map<TipoVeiculo, Integer> alugados;
+
+    ResumoFilial(String nome, int[] disponiveis, int[] alugados) {
+        this.nome = nome;
+        this.disponiveis = Collections.unmodifiableMap(porTipo(disponiveis));
+        this.alugados = Collections.unmodifiableMap(porTipo(alugados));
+    }
+
+    // Nome normalizado; vazio para os veículos que ainda não passaram por nenhuma filial
+    public String getNome() {
+        return nome;
+    }
+
+    public Map<TipoVeiculo, Integer> getDisponiveis() {
+        return disponiveis;
+    }
+
+    public Map<TipoVeiculo, Integer> getAlugados() {
+        return alugados;
+    }
+
+    public int getTotalDisponiveis() {
+        return disponiveis.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    public int getTotalAlugados() {
+        return alugados.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    @Override
+    public String toString() {
+        return (nome.isEmpty() ? "(sem filial)" : nome) + ": disponíveis " + disponiveis + " | alugados " + alugados;
+    }
+
+    private static Map<TipoVeiculo, Integer> porTipo(int[] contagem) {
+        Map<TipoVeiculo, Integer> mapa = new EnumMap<>(TipoVeiculo.class);
+        for (TipoVeiculo tipo : TipoVeiculo.values()) {
+            mapa.put(tipo, contagem[tipo.ordinal()]);
+        }
+        return mapa;
+    }
+}
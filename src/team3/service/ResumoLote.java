@@ -0,0 +1,80 @@
+package team3.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Totais de uma execução do LoteComandosService
+public class ResumoLote {
+
+    private static final int MAXIMO_FALHAS_GUARDADAS = 20;
+
+    private long comandos;
+    private long falhas;
+    private long duracaoNanos;
+    private final Map<String, Long> porComando = new TreeMap<>();
+    private final Map<String, Long> falhasPorCausa = new TreeMap<>();
+    private final List<String> primeirasFalhas = new ArrayList<>();
+
+    void contarComando(String comando) {
+        comandos++;
+        porComando.merge(comando, 1L, Long::sum);
+    }
+
+    void registrarFalha(long linha, String comando, String causa) {
+        falhas++;
+        falhasPorCausa.merge(comando + ": " + causa, 1L, Long::sum);
+        if (primeirasFalhas.size() < MAXIMO_FALHAS_GUARDADAS) {
+            primeirasFalhas.add("Linha " + linha + ": " + comando + " - " + causa);
+        }
+    }
+
+    void setDuracaoNanos(long duracaoNanos) {
+        this.duracaoNanos = duracaoNanos;
+    }
+
+    public long getComandos() {
+        return comandos;
+    }
+
+    public long getFalhas() {
+        return falhas;
+    }
+
+    public long getDuracaoNanos() {
+        return duracaoNanos;
+    }
+
+    public double getComandosPorSegundo() {
+        return duracaoNanos == 0 ? 0 : comandos * 1e9 / duracaoNanos;
+    }
+
+    public Map<String, Long> getPorComando() {
+        return Collections.unmodifiableMap(porComando);
+    }
+
+    public Map<String, Long> getFalhasPorCausa() {
+        return Collections.unmodifiableMap(falhasPorCausa);
+    }
+
+    public List<String> getPrimeirasFalhas() {
+        return Collections.unmodifiableList(primeirasFalhas);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder texto = new StringBuilder(256);
+        texto.append(comandos).append(" comandos em ").append(duracaoNanos / 1_000_000).append(" ms (")
+                .append(Math.round(getComandosPorSegundo())).append(" comandos/s), ").append(falhas).append(" falha(s)\n");
+        porComando.forEach((comando, total) -> texto.append("  ").append(comando).append(": ").append(total).append('\n'));
+        if (!falhasPorCausa.isEmpty()) {
+            texto.append("Falhas por causa:\n");
+            falhasPorCausa.forEach((causa, total) -> texto.append("  ").append(causa).append(": ").append(total).append('\n'));
+            texto.append("Primeiras falhas:\n");
+            primeirasFalhas.forEach(falha -> texto.append("  ").append(falha).append('\n'));
+        }
+        return texto.toString();
+    }
+}
@@ -1,16 +1,19 @@
 package team3.service;
 
+import team3.domain.enums.TipoVeiculo;
 import team3.domain.model.Veiculo;
-import team3.repository.VeiculoRepository;
+import team3.repository.FiltroVeiculo;
+import team3.repository.IVeiculoRepository;
+import team3.repository.Pagina;
 
 import java.util.List;
 import java.util.Optional;
 
 public class VeiculoService {
 
-    private final VeiculoRepository veiculoRepository;
+    private final IVeiculoRepository veiculoRepository;
 
-    public VeiculoService(VeiculoRepository veiculoRepository) {
+    public VeiculoService(IVeiculoRepository veiculoRepository) {
         this.veiculoRepository = veiculoRepository;
     }
 
@@ -30,7 +33,19 @@ public class VeiculoService {
         return veiculoRepository.buscarPorId(placa);
     }
 
+    public List<Veiculo> buscarVeiculosDisponiveis(TipoVeiculo tipo, int quantidade) {
+        return veiculoRepository.buscarDisponiveisPorTipo(tipo, quantidade);
+    }
+
+    public int contarVeiculosDisponiveis(TipoVeiculo tipo) {
+        return veiculoRepository.contarDisponiveisPorTipo(tipo);
+    }
+
     public List<Veiculo> listarTodosVeiculos() {
         return veiculoRepository.listarTodos();
     }
+
+    public Pagina<Veiculo> listarVeiculos(FiltroVeiculo filtro, String cursor, int tamanho) {
+        return veiculoRepository.listarPagina(filtro, cursor, tamanho);
+    }
 }
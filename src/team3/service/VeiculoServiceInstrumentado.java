@@ -0,0 +1,117 @@
+package team3.service;
+
+import team3.domain.enums.TipoVeiculo;
+import team3.domain.model.Veiculo;
+import team3.metricas.MetricasOperacao;
+import team3.metricas.RegistroMetricas;
+import team3.repository.FiltroVeiculo;
+import team3.repository.IVeiculoRepository;
+import team3.repository.Pagina;
+
+import java.util.List;
+import java.util.Optional;
+
+// Mede cada operação do VeiculoService; erros (exceções) são contados por causa e relançados
+public class VeiculoServiceInstrumentado extends VeiculoService {
+
+    private static final String SERVICO = "VeiculoService";
+
+    private final MetricasOperacao cadastrar;
+    private final MetricasOperacao alterar;
+    private final MetricasOperacao buscarPorModelo;
+    private final MetricasOperacao buscarPorPlaca;
+    private final MetricasOperacao buscarDisponiveis;
+    private final MetricasOperacao listar;
+
+    public VeiculoServiceInstrumentado(IVeiculoRepository veiculoRepository, RegistroMetricas metricas) {
+        super(veiculoRepository);
+        cadastrar = metricas.operacao(SERVICO, "cadastrarVeiculo");
+        alterar = metricas.operacao(SERVICO, "alterarVeiculo");
+        buscarPorModelo = metricas.operacao(SERVICO, "buscarVeiculoPorModelo");
+        buscarPorPlaca = metricas.operacao(SERVICO, "buscarVeiculoPorPlaca");
+        buscarDisponiveis = metricas.operacao(SERVICO, "buscarVeiculosDisponiveis");
+        listar = metricas.operacao(SERVICO, "listarVeiculos");
+    }
+
+    @Override
+    public void cadastrarVeiculo(Veiculo veiculo) {
+        long inicio = System.nanoTime();
+        try {
+            super.cadastrarVeiculo(veiculo);
+        } catch (RuntimeException e) {
+            cadastrar.registrarErro(e);
+            throw e;
+        } finally {
+            cadastrar.registrar(System.nanoTime() - inicio);
+        }
+    }
+
+    @Override
+    public void alterarVeiculo(Veiculo veiculo) {
+        long inicio = System.nanoTime();
+        try {
+            super.alterarVeiculo(veiculo);
+        } catch (RuntimeException e) {
+            alterar.registrarErro(e);
+            throw e;
+        } finally {
+            alterar.registrar(System.nanoTime() - inicio);
+        }
+    }
+
+    @Override
+    public List<Veiculo> buscarVeiculoPorModelo(String modelo) {
+        long inicio = System.nanoTime();
+        try {
+            return super.buscarVeiculoPorModelo(modelo);
+        } catch (RuntimeException e) {
+            buscarPorModelo.registrarErro(e);
+            throw e;
+        } finally {
+            buscarPorModelo.registrar(System.nanoTime() - inicio);
+        }
+    }
+
+    @Override
+    public Optional<Veiculo> buscarVeiculoPorPlaca(String placa) {
+        long inicio = System.nanoTime();
+        try {
+            Optional<Veiculo> veiculo = super.buscarVeiculoPorPlaca(placa);
+            if (veiculo.isEmpty()) {
+                buscarPorPlaca.registrarErro(MotivoRecusa.VEICULO_NAO_ENCONTRADO.name());
+            }
+            return veiculo;
+        } catch (RuntimeException e) {
+            buscarPorPlaca.registrarErro(e);
+            throw e;
+        } finally {
+            buscarPorPlaca.registrar(System.nanoTime() - inicio);
+        }
+    }
+
+    @Override
+    public List<Veiculo> buscarVeiculosDisponiveis(TipoVeiculo tipo, int quantidade) {
+        long inicio = System.nanoTime();
+        try {
+            return super.buscarVeiculosDisponiveis(tipo, quantidade);
+        } catch (RuntimeException e) {
+            buscarDisponiveis.registrarErro(e);
+            throw e;
+        } finally {
+            buscarDisponiveis.registrar(System.nanoTime() - inicio);
+        }
+    }
+
+    @Override
+    public Pagina<Veiculo> listarVeiculos(FiltroVeiculo filtro, String cursor, int tamanho) {
+        long inicio = System.nanoTime();
+        try {
+            return super.listarVeiculos(filtro, cursor, tamanho);
+        } catch (RuntimeException e) {
+            listar.registrarErro(e);
+            throw e;
+        } finally {
+            listar.registrar(System.nanoTime() - inicio);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package team3.service.preco;
+
+import team3.domain.enums.TipoCliente;
+import team3.domain.enums.TipoVeiculo;
+
+import java.util.Arrays;
+
+// Cotações em colunas de primitivos, reaproveitáveis entre chamadas: depois que a capacidade
+// se estabiliza, adicionar e cotar não alocam nada. "referencia" é livre para quem monta o lote
+// (ex: o Aluguel cotado).
+public final class LoteCotacao<R> {
+
+    private byte[] tiposVeiculo;
+    private byte[] tiposCliente;
+    private long[] inicios;
+    private long[] fins;
+    private Object[] referencias;
+    long[] diarias;
+    long[] valoresBase;
+    int[] descontosPontos;
+    long[] valoresFinais;
+    private int tamanho;
+
+    public LoteCotacao(int capacidadeInicial) {
+        int capacidade = Math.max(capacidadeInicial, 16);
+        tiposVeiculo = new byte[capacidade];
+        tiposCliente = new byte[capacidade];
+        inicios = new long[capacidade];
+        fins = new long[capacidade];
+        referencias = new Object[capacidade];
+        diarias = new long[capacidade];
+        valoresBase = new long[capacidade];
+        descontosPontos = new int[capacidade];
+        valoresFinais = new long[capacidade];
+    }
+
+    // Devolve o índice da cotação; inicio e fim em minutos desde a época (ver MotorPreco.minutoEpoch)
+    public int adicionar(TipoVeiculo tipoVeiculo, TipoCliente tipoCliente, long inicioMinuto, long fimMinuto, R referencia) {
+        if (tamanho == tiposVeiculo.length) {
+            crescer();
+        }
+        int i = tamanho++;
+        tiposVeiculo[i] = (byte) tipoVeiculo.ordinal();
+        tiposCliente[i] = (byte) tipoCliente.ordinal();
+        inicios[i] = inicioMinuto;
+        fins[i] = fimMinuto;
+        referencias[i] = referencia;
+        return i;
+    }
+
+    public void limpar() {
+        Arrays.fill(referencias, 0, tamanho, null);
+        tamanho = 0;
+    }
+
+    public int tamanho() {
+        return tamanho;
+    }
+
+    @SuppressWarnings("unchecked")
+    public R getReferencia(int i) {
+        return (R) referencias[i];
+    }
+
+    public long getDiarias(int i) {
+        return diarias[i];
+    }
+
+    public long getValorBaseCentavos(int i) {
+        return valoresBase[i];
+    }
+
+    public int getDescontoPontosBase(int i) {
+        return descontosPontos[i];
+    }
+
+    public long getDescontoCentavos(int i) {
+        return valoresBase[i] - valoresFinais[i];
+    }
+
+    public long getValorFinalCentavos(int i) {
+        return valoresFinais[i];
+    }
+
+    public long totalCentavos() {
+        long total = 0;
+        for (int i = 0; i < tamanho; i++) {
+            total += valoresFinais[i];
+        }
+        return total;
+    }
+
+    int tipoVeiculo(int i) {
+        return tiposVeiculo[i];
+    }
+
+    int tipoCliente(int i) {
+        return tiposCliente[i];
+    }
+
+    long inicio(int i) {
+        return inicios[i];
+    }
+
+    long fim(int i) {
+        return fins[i];
+    }
+
+    private void crescer() {
+        int capacidade = tiposVeiculo.length * 2;
+        tiposVeiculo = Arrays.copyOf(tiposVeiculo, capacidade);
+        tiposCliente = Arrays.copyOf(tiposCliente, capacidade);
+        inicios = Arrays.copyOf(inicios, capacidade);
+        fins = Arrays.copyOf(fins, capacidade);
+        referencias = Arrays.copyOf(referencias, capacidade);
+        diarias = Arrays.copyOf(diarias, capacidade);
+        valoresBase = Arrays.copyOf(valoresBase, capacidade);
+        descontosPontos = Arrays.copyOf(descontosPontos, capacidade);
+        valoresFinais = Arrays.copyOf(valoresFinais, capacidade);
+    }
+}
@@ -0,0 +1,156 @@
+package team3.service.preco;
+
+import team3.domain.enums.TipoCliente;
+import team3.domain.enums.TipoVeiculo;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+// Precificação em inteiros: tempo em minutos desde a época, dinheiro em centavos e desconto em
+// pontos-base. Nenhuma cotação aloca objetos nem acumula erro de arredondamento.
+public final class MotorPreco {
+
+    public static final long MINUTOS_POR_DIA = 24 * 60;
+    private static final int PONTOS_BASE_INTEIRO = 10_000;
+
+    private final long[] diariaCentavos;
+    // Por ordinal de TipoCliente: limites de diárias em ordem crescente e o desconto de cada faixa
+    private final long[][] diariasMinimas;
+    private final int[][] pontosBase;
+
+    public MotorPreco(List<RegraDesconto> regras) {
+        TipoVeiculo[] tiposVeiculo = TipoVeiculo.values();
+        diariaCentavos = new long[tiposVeiculo.length];
+        for (TipoVeiculo tipo : tiposVeiculo) {
+            diariaCentavos[tipo.ordinal()] = tipo.getValorDiariaCentavos();
+        }
+
+        TipoCliente[] tiposCliente = TipoCliente.values();
+        diariasMinimas = new long[tiposCliente.length][];
+        pontosBase = new int[tiposCliente.length][];
+        for (TipoCliente tipo : tiposCliente) {
+            List<RegraDesconto> doTipo = new ArrayList<>();
+            for (RegraDesconto regra : regras) {
+                if (regra.getTipoCliente() == tipo) {
+                    doTipo.add(regra);
+                }
+            }
+            doTipo.sort(Comparator.comparingLong(RegraDesconto::getDiariasMinimas));
+            diariasMinimas[tipo.ordinal()] = new long[doTipo.size()];
+            pontosBase[tipo.ordinal()] = new int[doTipo.size()];
+            for (int i = 0; i < doTipo.size(); i++) {
+                if (i > 0 && doTipo.get(i).getDiariasMinimas() == doTipo.get(i - 1).getDiariasMinimas()) {
+                    throw new IllegalArgumentException("Erro: Duas regras de desconto para " + tipo + " a partir de "
+                            + doTipo.get(i).getDiariasMinimas() + " diárias.");
+                }
+                diariasMinimas[tipo.ordinal()][i] = doTipo.get(i).getDiariasMinimas();
+                pontosBase[tipo.ordinal()][i] = doTipo.get(i).getPontosBase();
+            }
+        }
+    }
+
+    // Pessoa física: 5% acima de 5 diárias. Pessoa jurídica: 10% acima de 3 diárias.
+    public static MotorPreco padrao() {
+        return new MotorPreco(List.of(
+                new RegraDesconto(TipoCliente.PESSOA_FISICA, 6, 500),
+                new RegraDesconto(TipoCliente.PESSOA_JURIDICA, 4, 1_000)));
+    }
+
+    public static long minutoEpoch(LocalDateTime data) {
+        return Math.floorDiv(data.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+
+    // Minutos inteiros da duração real entre as datas. Os segundos são descartados uma vez só, na
+    // diferença; subtrair dois minutoEpoch pode contar um minuto a mais (e uma diária a mais).
+    // Mesmo resultado de Duration.between(inicio, fim).toMinutes(), só com aritmética de long.
+    public static long minutosEntre(LocalDateTime inicio, LocalDateTime fim) {
+        long segundos = fim.toEpochSecond(ZoneOffset.UTC) - inicio.toEpochSecond(ZoneOffset.UTC)
+                + Math.floorDiv(fim.getNano() - inicio.getNano(), 1_000_000_000);
+        return segundos / 60;
+    }
+
+    public long diarias(LocalDateTime inicio, LocalDateTime fim) {
+        return diarias(0, minutosEntre(inicio, fim));
+    }
+
+    // Cada período de 24h iniciado conta uma diária; no mínimo uma
+    public long diarias(long inicioMinuto, long fimMinuto) {
+        long minutos = fimMinuto - inicioMinuto;
+        if (minutos <= 0) {
+            return 1;
+        }
+        return (minutos + MINUTOS_POR_DIA - 1) / MINUTOS_POR_DIA;
+    }
+
+    public long valorBaseCentavos(TipoVeiculo tipo, long diarias) {
+        return Math.multiplyExact(diarias, diariaCentavos[tipo.ordinal()]);
+    }
+
+    public int descontoPontosBase(TipoCliente tipo, long diarias) {
+        return descontoPontosBase(tipo.ordinal(), diarias);
+    }
+
+    // Meio centavo arredonda para cima
+    public static long descontoCentavos(long valorBaseCentavos, int pontosBase) {
+        return (Math.multiplyExact(valorBaseCentavos, (long) pontosBase) + PONTOS_BASE_INTEIRO / 2) / PONTOS_BASE_INTEIRO;
+    }
+
+    public long valorFinalCentavos(TipoVeiculo tipoVeiculo, TipoCliente tipoCliente, long inicioMinuto, long fimMinuto) {
+        long diarias = diarias(inicioMinuto, fimMinuto);
+        long valorBase = valorBaseCentavos(tipoVeiculo, diarias);
+        return valorBase - descontoCentavos(valorBase, descontoPontosBase(tipoCliente, diarias));
+    }
+
+    public void cotar(LoteCotacao<?> lote) {
+        for (int i = 0, n = lote.tamanho(); i < n; i++) {
+            long diarias = diarias(lote.inicio(i), lote.fim(i));
+            long valorBase = Math.multiplyExact(diarias, diariaCentavos[lote.tipoVeiculo(i)]);
+            int pontos = descontoPontosBase(lote.tipoCliente(i), diarias);
+            lote.diarias[i] = diarias;
+            lote.valoresBase[i] = valorBase;
+            lote.descontosPontos[i] = pontos;
+            lote.valoresFinais[i] = valorBase - descontoCentavos(valorBase, pontos);
+        }
+    }
+
+    // "12345" -> "123,45"; escreve direto no StringBuilder de quem chama
+    public static StringBuilder formatarReais(StringBuilder destino, long centavos) {
+        if (centavos < 0) {
+            destino.append('-');
+            centavos = -centavos;
+        }
+        long reais = centavos / 100;
+        int resto = (int) (centavos % 100);
+        return destino.append(reais).append(',').append((char) ('0' + resto / 10)).append((char) ('0' + resto % 10));
+    }
+
+    public static String formatarReais(long centavos) {
+        return formatarReais(new StringBuilder(16), centavos).toString();
+    }
+
+    // 500 -> "5", 1250 -> "12,5"
+    public static String formatarPercentual(int pontosBase) {
+        StringBuilder texto = new StringBuilder(8).append(pontosBase / 100);
+        int fracao = pontosBase % 100;
+        if (fracao != 0) {
+            texto.append(',').append(fracao / 10);
+            if (fracao % 10 != 0) {
+                texto.append(fracao % 10);
+            }
+        }
+        return texto.toString();
+    }
+
+    // Maior faixa alcançada pelas diárias; as faixas são poucas, então a busca é linear
+    private int descontoPontosBase(int tipoCliente, long diarias) {
+        long[] limites = diariasMinimas[tipoCliente];
+        int pontos = 0;
+        for (int i = 0; i < limites.length && limites[i] <= diarias; i++) {
+            pontos = pontosBase[tipoCliente][i];
+        }
+        return pontos;
+    }
+}
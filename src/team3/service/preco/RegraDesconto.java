@@ -0,0 +1,35 @@
+package team3.service.preco;
+
+import team3.domain.enums.TipoCliente;
+
+// Desconto, em pontos-base (100 = 1%), para aluguéis do tipo de cliente com pelo menos "diariasMinimas"
+public final class RegraDesconto {
+
+    private final TipoCliente tipoCliente;
+    private final long diariasMinimas;
+    private final int pontosBase;
+
+    public RegraDesconto(TipoCliente tipoCliente, long diariasMinimas, int pontosBase) {
+        if (tipoCliente == null) {
+            throw new IllegalArgumentException("Erro: A regra de desconto precisa de um tipo de cliente.");
+        }
+        if (diariasMinimas < 1 || pontosBase < 0 || pontosBase > 10_000) {
+            throw new IllegalArgumentException("Erro: Regra de desconto inválida.");
+        }
+        this.tipoCliente = tipoCliente;
+        this.diariasMinimas = diariasMinimas;
+        this.pontosBase = pontosBase;
+    }
+
+    public TipoCliente getTipoCliente() {
+        return tipoCliente;
+    }
+
+    public long getDiariasMinimas() {
+        return diariasMinimas;
+    }
+
+    public int getPontosBase() {
+        return pontosBase;
+    }
+}
@@ -0,0 +1,70 @@
+package team3.simulacao;
+
+import java.util.Arrays;
+
+// Fila de prioridade de devoluções (instante em segundos + índice do veículo) num único long[],
+// para milhões de eventos pendentes não virarem milhões de objetos.
+final class HeapEventos {
+
+    static final int BITS_VEICULO = 24;
+    private static final long MASCARA_VEICULO = (1L << BITS_VEICULO) - 1;
+
+    private long[] heap;
+    private int tamanho;
+
+    HeapEventos(int capacidadeInicial) {
+        heap = new long[Math.max(16, capacidadeInicial)];
+    }
+
+    boolean vazio() {
+        return tamanho == 0;
+    }
+
+    int tamanho() {
+        return tamanho;
+    }
+
+    void agendar(long segundo, int veiculo) {
+        if (tamanho == heap.length) {
+            heap = Arrays.copyOf(heap, tamanho * 2);
+        }
+        long evento = (segundo << BITS_VEICULO) | veiculo;
+        int i = tamanho++;
+        while (i > 0) {
+            int pai = (i - 1) >>> 1;
+            if (heap[pai] <= evento) {
+                break;
+            }
+            heap[i] = heap[pai];
+            i = pai;
+        }
+        heap[i] = evento;
+    }
+
+    long segundoDoPrimeiro() {
+        return heap[0] >>> BITS_VEICULO;
+    }
+
+    // Remove o evento mais cedo e devolve o índice do veículo
+    int removerPrimeiro() {
+        int veiculo = (int) (heap[0] & MASCARA_VEICULO);
+        long ultimo = heap[--tamanho];
+        int i = 0;
+        while (true) {
+            int filho = 2 * i + 1;
+            if (filho >= tamanho) {
+                break;
+            }
+            if (filho + 1 < tamanho && heap[filho + 1] < heap[filho]) {
+                filho++;
+            }
+            if (ultimo <= heap[filho]) {
+                break;
+            }
+            heap[i] = heap[filho];
+            i = filho;
+        }
+        heap[i] = ultimo;
+        return veiculo;
+    }
+}
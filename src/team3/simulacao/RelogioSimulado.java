@@ -0,0 +1,52 @@
+package team3.simulacao;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+// Relógio que só anda quando mandam. Passado aos serviços no lugar do relógio do sistema, deixa
+// um aluguel de vários dias acontecer em microssegundos.
+public final class RelogioSimulado extends Clock {
+
+    private final ZoneId zona;
+    private volatile Instant agora;
+
+    public RelogioSimulado(Instant inicio) {
+        this(inicio, ZoneOffset.UTC);
+    }
+
+    public RelogioSimulado(Instant inicio, ZoneId zona) {
+        this.agora = inicio;
+        this.zona = zona;
+    }
+
+    // O tempo não volta: datas de devolução anteriores ao aluguel não fazem sentido para os serviços
+    public void ajustar(Instant momento) {
+        if (momento.isBefore(agora)) {
+            throw new IllegalArgumentException("Erro: O relógio simulado não pode voltar no tempo.");
+        }
+        agora = momento;
+    }
+
+    public void avancar(Duration duracao) {
+        ajustar(agora.plus(duracao));
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return zona;
+    }
+
+    // Cópia parada no mesmo instante; os ajustes feitos depois nesta não chegam nela
+    @Override
+    public Clock withZone(ZoneId zona) {
+        return new RelogioSimulado(agora, zona);
+    }
+
+    @Override
+    public Instant instant() {
+        return agora;
+    }
+}
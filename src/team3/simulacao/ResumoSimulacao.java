@@ -0,0 +1,112 @@
+package team3.simulacao;
+
+import team3.analise.RelatorioIndicadores;
+import team3.domain.model.RegistroAluguel;
+import team3.service.preco.MotorPreco;
+
+// Números de uma execução do SimuladorFrota
+public class ResumoSimulacao {
+
+    private final int clientes;
+    private final int veiculos;
+    private final int dias;
+    long duracaoCadastroNanos;
+    long duracaoSimulacaoNanos;
+    long alugueis;
+    long devolucoes;
+    long alugueisEmAndamento;
+    long procuraPerdida;
+    long recusas;
+    long diarias;
+    long valorBaseCentavos;
+    long descontoCentavos;
+    long valorFinalCentavos;
+    long memoriaCadastrosBytes;
+    long memoriaFinalBytes;
+    RelatorioIndicadores indicadores;
+    RelatorioIndicadores periodo;
+
+    ResumoSimulacao(int clientes, int veiculos, int dias) {
+        this.clientes = clientes;
+        this.veiculos = veiculos;
+        this.dias = dias;
+    }
+
+    void somarDevolucao(RegistroAluguel recibo) {
+        devolucoes++;
+        diarias += recibo.getDiarias();
+        valorBaseCentavos += recibo.getValorBaseCentavos();
+        descontoCentavos += recibo.getDescontoCentavos();
+        valorFinalCentavos += recibo.getValorFinalCentavos();
+    }
+
+    public long getEventos() {
+        return alugueis + devolucoes;
+    }
+
+    public double getEventosPorSegundo() {
+        return duracaoSimulacaoNanos == 0 ? 0 : getEventos() * 1e9 / duracaoSimulacaoNanos;
+    }
+
+    public long getAlugueis() {
+        return alugueis;
+    }
+
+    public long getDevolucoes() {
+        return devolucoes;
+    }
+
+    public long getRecusas() {
+        return recusas;
+    }
+
+    public long getProcuraPerdida() {
+        return procuraPerdida;
+    }
+
+    public long getValorFinalCentavos() {
+        return valorFinalCentavos;
+    }
+
+    public long getMemoriaFinalBytes() {
+        return memoriaFinalBytes;
+    }
+
+    // Indicadores mantidos pelo listener durante a simulação
+    public RelatorioIndicadores getIndicadores() {
+        return indicadores;
+    }
+
+    // Recalculados do histórico para o período simulado inteiro
+    public RelatorioIndicadores getPeriodo() {
+        return periodo;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder texto = new StringBuilder(1024);
+        texto.append(String.format("Simulação: %d clientes, %d veículos, %d dias%n", clientes, veiculos, dias));
+        texto.append(String.format("Cadastros: %d ms%n", duracaoCadastroNanos / 1_000_000));
+        texto.append(String.format("Eventos: %d em %d ms (%.0f eventos/s)%n", getEventos(),
+                duracaoSimulacaoNanos / 1_000_000, getEventosPorSegundo()));
+        texto.append(String.format("Aluguéis: %d | devoluções: %d | em andamento no fim: %d | procura sem veículo livre: %d | recusas: %d%n",
+                alugueis, devolucoes, alugueisEmAndamento, procuraPerdida, recusas));
+        texto.append(String.format("Diárias: %d | base R$ %s | descontos R$ %s | receita R$ %s%n", diarias,
+                MotorPreco.formatarReais(valorBaseCentavos), MotorPreco.formatarReais(descontoCentavos),
+                MotorPreco.formatarReais(valorFinalCentavos)));
+        if (indicadores != null) {
+            texto.append("Receita pelos indicadores ").append(
+                    indicadores.getTotal().getReceitaCentavos() == valorFinalCentavos ? "confere" : "NÃO confere").append('\n');
+        }
+        if (periodo != null) {
+            texto.append("Utilização no período:");
+            periodo.getUtilizacao().forEach((tipo, fracao) -> texto.append(String.format(" %s %.1f%%", tipo, fracao * 100)));
+            texto.append('\n');
+        }
+        long registros = Math.max(1, devolucoes);
+        texto.append(String.format("Memória: cadastros %d MB (%d bytes por cliente+veículo), fim %d MB (+%d bytes por aluguel encerrado)%n",
+                memoriaCadastrosBytes >> 20, memoriaCadastrosBytes / Math.max(1, clientes + veiculos),
+                memoriaFinalBytes >> 20, (memoriaFinalBytes - memoriaCadastrosBytes) / registros));
+        return texto.toString();
+    }
+}
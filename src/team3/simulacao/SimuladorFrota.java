@@ -0,0 +1,239 @@
+package team3.simulacao;
+
+import team3.analise.IndicadoresFrota;
+import team3.domain.enums.TipoVeiculo;
+import team3.domain.model.Cliente;
+import team3.domain.model.PessoaFisica;
+import team3.domain.model.PessoaJuridica;
+import team3.domain.model.RegistroAluguel;
+import team3.domain.model.Veiculo;
+import team3.repository.ClienteRepository;
+import team3.repository.HistoricoAluguelRepository;
+import team3.repository.ReservaRepository;
+import team3.repository.VeiculoRepository;
+import team3.service.AluguelService;
+import team3.service.ClienteService;
+import team3.service.ResultadoAluguel;
+import team3.service.ResultadoDevolucao;
+import team3.service.VeiculoService;
+import team3.service.preco.MotorPreco;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+// Simulação de eventos discretos da locadora: gera clientes e frota sintéticos e passa meses de
+// aluguéis e devoluções pelo AluguelService de verdade, com um RelogioSimulado no lugar do
+// relógio do sistema. As chegadas de clientes seguem um processo de Poisson e a duração de cada
+// aluguel é exponencial; as devoluções pendentes ficam numa HeapEventos. Roda numa thread só, em
+// ordem de tempo, então a mesma semente sempre dá o mesmo resultado.
+//   java -cp ... team3.simulacao.SimuladorFrota [--clientes 1000000] [--veiculos 50000] [--dias 90]
+//        [--alugueis-dia N] [--duracao-media-horas 72] [--semente 42]
+public class SimuladorFrota {
+
+    private static final Instant INICIO = LocalDateTime.of(2024, 1, 1, 0, 0).toInstant(ZoneOffset.UTC);
+    private static final TipoVeiculo[] TIPOS = TipoVeiculo.values();
+    // Em cada 10 veículos (e em cada 10 pedidos): 5 pequenos, 3 médios e 2 SUVs
+    private static final int[] TIPO_POR_DECIMO = {0, 0, 0, 0, 0, 1, 1, 1, 2, 2};
+    private static final int TAMANHO_LOTE = 10_000;
+    private static final double OCUPACAO_ALVO = 0.6;
+
+    private final int clientes;
+    private final int veiculos;
+    private final int dias;
+    private final double alugueisPorDia;
+    private final double duracaoMediaHoras;
+    private final long semente;
+
+    public SimuladorFrota(int clientes, int veiculos, int dias, double alugueisPorDia, double duracaoMediaHoras, long semente) {
+        if (clientes <= 0 || veiculos <= 0 || dias <= 0 || alugueisPorDia <= 0 || duracaoMediaHoras <= 0) {
+            throw new IllegalArgumentException("Erro: Os parâmetros da simulação devem ser positivos.");
+        }
+        if (veiculos > (1 << HeapEventos.BITS_VEICULO)) {
+            throw new IllegalArgumentException("Erro: No máximo " + (1 << HeapEventos.BITS_VEICULO) + " veículos.");
+        }
+        this.clientes = clientes;
+        this.veiculos = veiculos;
+        this.dias = dias;
+        this.alugueisPorDia = alugueisPorDia;
+        this.duracaoMediaHoras = duracaoMediaHoras;
+        this.semente = semente;
+    }
+
+    // Procura que ocupa ~60% da frota com a duração média informada
+    public static double alugueisPorDiaPadrao(int veiculos, double duracaoMediaHoras) {
+        return OCUPACAO_ALVO * veiculos * 24 / duracaoMediaHoras;
+    }
+
+    public static void main(String[] args) {
+        int clientes = 1_000_000;
+        int veiculos = 50_000;
+        int dias = 90;
+        double duracaoMediaHoras = 72;
+        double alugueisPorDia = -1;
+        long semente = 42;
+        for (int i = 0; i < args.length - 1; i++) {
+            switch (args[i]) {
+                case "--clientes": clientes = Integer.parseInt(args[i + 1]); break;
+                case "--veiculos": veiculos = Integer.parseInt(args[i + 1]); break;
+                case "--dias": dias = Integer.parseInt(args[i + 1]); break;
+                case "--alugueis-dia": alugueisPorDia = Double.parseDouble(args[i + 1]); break;
+                case "--duracao-media-horas": duracaoMediaHoras = Double.parseDouble(args[i + 1]); break;
+                case "--semente": semente = Long.parseLong(args[i + 1]); break;
+                default: break;
+            }
+        }
+        if (alugueisPorDia < 0) {
+            alugueisPorDia = alugueisPorDiaPadrao(veiculos, duracaoMediaHoras);
+        }
+        System.out.print(new SimuladorFrota(clientes, veiculos, dias, alugueisPorDia, duracaoMediaHoras, semente).executar());
+    }
+
+    public ResumoSimulacao executar() {
+        ResumoSimulacao resumo = new ResumoSimulacao(clientes, veiculos, dias);
+        long memoriaInicial = memoriaUsada();
+
+        RelogioSimulado relogio = new RelogioSimulado(INICIO);
+        VeiculoRepository veiculoRepository = new VeiculoRepository();
+        ClienteRepository clienteRepository = new ClienteRepository();
+        VeiculoService veiculoService = new VeiculoService(veiculoRepository);
+        ClienteService clienteService = new ClienteService(clienteRepository);
+        AluguelService aluguelService = new AluguelService(veiculoRepository, clienteService, new HistoricoAluguelRepository(),
+                MotorPreco.padrao(), new ReservaRepository(), relogio);
+        IndicadoresFrota indicadores = new IndicadoresFrota(veiculoService, relogio);
+        aluguelService.adicionarListener(indicadores);
+
+        long inicioCadastro = System.nanoTime();
+        String[] placas = cadastrarFrota(veiculoRepository);
+        String[] documentos = cadastrarClientes(clienteRepository);
+        resumo.duracaoCadastroNanos = System.nanoTime() - inicioCadastro;
+        resumo.memoriaCadastrosBytes = memoriaUsada() - memoriaInicial;
+
+        // Veículos livres de cada tipo, como pilhas de índices
+        int[][] livres = new int[TIPOS.length][];
+        int[] quantidadeLivres = new int[TIPOS.length];
+        for (int t = 0; t < TIPOS.length; t++) {
+            livres[t] = new int[veiculos];
+        }
+        for (int v = 0; v < veiculos; v++) {
+            int tipo = tipoDoVeiculo(v);
+            livres[tipo][quantidadeLivres[tipo]++] = v;
+        }
+
+        SplittableRandom aleatorio = new SplittableRandom(semente);
+        HeapEventos devolucoes = new HeapEventos(veiculos);
+        long fim = dias * 86_400L;
+        double intervaloMedio = 86_400.0 / alugueisPorDia;
+        double duracaoMedia = duracaoMediaHoras * 3_600;
+        double proximaChegada = exponencial(aleatorio, intervaloMedio);
+        long inicioSegundo = INICIO.getEpochSecond();
+
+        long inicioSimulacao = System.nanoTime();
+        while (true) {
+            long proximaDevolucao = devolucoes.vazio() ? Long.MAX_VALUE : devolucoes.segundoDoPrimeiro();
+            if (proximaChegada >= fim && proximaDevolucao >= fim) {
+                break;
+            }
+            if (proximaDevolucao <= proximaChegada) {
+                int v = devolucoes.removerPrimeiro();
+                relogio.ajustar(Instant.ofEpochSecond(inicioSegundo + proximaDevolucao));
+                ResultadoDevolucao resultado = aluguelService.devolverVeiculo(placas[v]);
+                if (resultado.isSucesso()) {
+                    resumo.somarDevolucao(resultado.getRecibo());
+                } else {
+                    resumo.recusas++;
+                }
+                int tipo = tipoDoVeiculo(v);
+                livres[tipo][quantidadeLivres[tipo]++] = v;
+                continue;
+            }
+
+            long agora = (long) proximaChegada;
+            proximaChegada += exponencial(aleatorio, intervaloMedio);
+            relogio.ajustar(Instant.ofEpochSecond(inicioSegundo + agora));
+            int tipo = TIPO_POR_DECIMO[aleatorio.nextInt(10)];
+            if (quantidadeLivres[tipo] == 0) {
+                resumo.procuraPerdida++;
+                continue;
+            }
+            int posicao = aleatorio.nextInt(quantidadeLivres[tipo]);
+            int v = livres[tipo][posicao];
+            livres[tipo][posicao] = livres[tipo][--quantidadeLivres[tipo]];
+
+            ResultadoAluguel resultado = aluguelService.alugarVeiculo(placas[v], documentos[aleatorio.nextInt(clientes)],
+                    "FILIAL " + (v % 20));
+            if (!resultado.isSucesso()) {
+                resumo.recusas++;
+                livres[tipo][quantidadeLivres[tipo]++] = v;
+                continue;
+            }
+            resumo.alugueis++;
+            long duracao = Math.max(3_600, (long) exponencial(aleatorio, duracaoMedia));
+            devolucoes.agendar(agora + duracao, v);
+        }
+        resumo.duracaoSimulacaoNanos = System.nanoTime() - inicioSimulacao;
+        resumo.alugueisEmAndamento = devolucoes.tamanho();
+        resumo.memoriaFinalBytes = memoriaUsada() - memoriaInicial;
+
+        relogio.ajustar(Instant.ofEpochSecond(inicioSegundo + fim));
+        resumo.indicadores = indicadores.ler();
+        resumo.periodo = indicadores.recalcular(aluguelService.listarHistorico(), aluguelService.listarAlugueisAtivos(),
+                LocalDateTime.ofInstant(INICIO, ZoneOffset.UTC), LocalDateTime.now(relogio));
+        return resumo;
+    }
+
+    private String[] cadastrarFrota(VeiculoRepository repositorio) {
+        String[] placas = new String[veiculos];
+        List<Veiculo> lote = new ArrayList<>(TAMANHO_LOTE);
+        for (int v = 0; v < veiculos; v++) {
+            placas[v] = String.format("SIM%07d", v);
+            lote.add(new Veiculo(placas[v], "MODELO " + (v % 40), "FABRICANTE " + (v % 8), TIPOS[tipoDoVeiculo(v)]));
+            if (lote.size() == TAMANHO_LOTE || v == veiculos - 1) {
+                repositorio.cadastrarEmLote(lote);
+                lote.clear();
+            }
+        }
+        return placas;
+    }
+
+    // 4 em cada 5 clientes são pessoas físicas (11 dígitos); os demais, jurídicas (14 dígitos)
+    private String[] cadastrarClientes(ClienteRepository repositorio) {
+        String[] documentos = new String[clientes];
+        List<Cliente> lote = new ArrayList<>(TAMANHO_LOTE);
+        for (int c = 0; c < clientes; c++) {
+            String email = "cliente" + c + "@simulacao.locatecar";
+            String telefone = "11" + (900_000_000 + c);
+            if (c % 5 == 4) {
+                documentos[c] = Long.toString(10_000_000_000_000L + c);
+                lote.add(new PessoaJuridica("EMPRESA " + c, email, telefone, documentos[c]));
+            } else {
+                documentos[c] = Long.toString(10_000_000_000L + c);
+                lote.add(new PessoaFisica("CLIENTE " + c, email, telefone, documentos[c]));
+            }
+            if (lote.size() == TAMANHO_LOTE || c == clientes - 1) {
+                repositorio.cadastrarEmLote(lote);
+                lote.clear();
+            }
+        }
+        return documentos;
+    }
+
+    private static int tipoDoVeiculo(int v) {
+        return TIPO_POR_DECIMO[v % 10];
+    }
+
+    private static double exponencial(SplittableRandom aleatorio, double media) {
+        return -media * Math.log(1 - aleatorio.nextDouble());
+    }
+
+    private static long memoriaUsada() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}